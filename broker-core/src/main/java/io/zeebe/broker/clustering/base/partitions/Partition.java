@@ -24,6 +24,9 @@ import io.zeebe.raft.state.RaftState;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
 
 /** Service representing a partition. */
 public class Partition implements Service<Partition> {
@@ -37,6 +40,8 @@ public class Partition implements Service<Partition> {
 
   private final Injector<StateStorageFactory> stateStorageFactoryInjector = new Injector<>();
 
+  private final List<LongSupplier> retainedPositionSuppliers = new CopyOnWriteArrayList<>();
+
   private final PartitionInfo info;
 
   private final RaftState state;
@@ -84,4 +89,18 @@ public class Partition implements Service<Partition> {
   public Injector<StateStorageFactory> getStateStorageFactoryInjector() {
     return stateStorageFactoryInjector;
   }
+
+  /**
+   * Registers a consumer of the log stream which reads the log independently of the stream
+   * processors, e.g. an exporter. The log is not compacted beyond the position which is returned by
+   * the supplier, or at all if it returns a negative value. The supplier is invoked concurrently
+   * and is discarded together with the partition.
+   */
+  public void addRetainedPositionSupplier(final LongSupplier positionSupplier) {
+    retainedPositionSuppliers.add(positionSupplier);
+  }
+
+  public List<LongSupplier> getRetainedPositionSuppliers() {
+    return retainedPositionSuppliers;
+  }
 }
@@ -33,11 +33,14 @@ import io.zeebe.broker.clustering.base.topology.PartitionInfo;
 import io.zeebe.broker.logstreams.state.StateStorageFactory;
 import io.zeebe.broker.logstreams.state.StateStorageFactoryService;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.logstreams.LogStreams;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogSyncMode;
 import io.zeebe.raft.Raft;
 import io.zeebe.raft.RaftStateListener;
 import io.zeebe.raft.controller.MemberReplicateLogController;
+import io.zeebe.raft.snapshot.RaftSnapshotStorage;
 import io.zeebe.raft.state.RaftState;
 import io.zeebe.servicecontainer.CompositeServiceBuilder;
 import io.zeebe.servicecontainer.Injector;
@@ -45,6 +48,8 @@ import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.transport.ClientTransport;
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.DurationUtil;
 import io.zeebe.util.sched.channel.OneToOneRingBufferChannel;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
@@ -101,11 +106,17 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
         startContext.createComposite(raftInstallServiceName);
 
     final String snapshotPath = configuration.getSnapshotsDirectory().getAbsolutePath();
+    final DataCfg dataCfg = brokerCfg.getData();
 
     logStreamServiceName =
         LogStreams.createFsLogStream(partitionId)
             .logDirectory(configuration.getLogDirectory().getAbsolutePath())
             .logSegmentSize((int) configuration.getLogSegmentSize())
+            .syncMode(LogSyncMode.valueOf(dataCfg.getLogSyncMode().toUpperCase()))
+            .groupCommitInterval(DurationUtil.parse(dataCfg.getGroupCommitInterval()))
+            .groupCommitSize((int) new ByteValue(dataCfg.getGroupCommitSize()).toBytes())
+            .memoryMappedReads(dataCfg.isMemoryMappedReads())
+            .preallocatedSegmentCount(dataCfg.getPreallocatedLogSegments())
             .logName(logName)
             .snapshotStorage(LogStreams.createFsSnapshotStore(snapshotPath).build())
             .buildWith(partitionInstall);
@@ -131,6 +142,7 @@ public class PartitionInstallService implements Service<Void>, RaftStateListener
             brokerCfg.getCluster().getNodeId(),
             clientTransport,
             configuration,
+            new RaftSnapshotStorage(configuration.getStatesDirectory()),
             messageBuffer,
             this);
 
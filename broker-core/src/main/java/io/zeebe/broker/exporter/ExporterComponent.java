@@ -23,8 +23,10 @@ import static io.zeebe.broker.logstreams.LogStreamServiceNames.STREAM_PROCESSOR_
 
 import io.zeebe.broker.system.Component;
 import io.zeebe.broker.system.SystemContext;
+import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.broker.system.configuration.ExporterCfg;
 import io.zeebe.servicecontainer.ServiceContainer;
+import io.zeebe.util.ByteValue;
 import java.util.List;
 
 public class ExporterComponent implements Component {
@@ -36,7 +38,13 @@ public class ExporterComponent implements Component {
     final List<ExporterCfg> exporters = context.getBrokerConfiguration().getExporters();
 
     if (!exporters.isEmpty()) {
-      final ExporterManagerService exporterManagerService = new ExporterManagerService(exporters);
+      final DataCfg dataCfg = context.getBrokerConfiguration().getData();
+      final ExporterManagerService exporterManagerService =
+          new ExporterManagerService(
+              exporters,
+              dataCfg.getExportBatchSize(),
+              (int) new ByteValue(dataCfg.getExportBatchBytes()).toBytes(),
+              dataCfg.isIsolatedExporters());
 
       serviceContainer
           .createService(EXPORTER_MANAGER, exporterManagerService)
@@ -35,6 +35,7 @@ import io.zeebe.servicecontainer.ServiceGroupReference;
 import io.zeebe.servicecontainer.ServiceName;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class ExporterManagerService implements Service<ExporterManagerService> {
   public static final int EXPORTER_PROCESSOR_ID = 1003;
@@ -48,11 +49,21 @@ public class ExporterManagerService implements Service<ExporterManagerService> {
 
   private final List<ExporterCfg> exporterCfgs;
   private final ExporterRepository exporterRepository;
+  private final int exportBatchSize;
+  private final int exportBatchBytes;
+  private final boolean isolatedExporters;
 
   private StreamProcessorServiceFactory streamProcessorServiceFactory;
 
-  public ExporterManagerService(List<ExporterCfg> exporterCfgs) {
+  public ExporterManagerService(
+      List<ExporterCfg> exporterCfgs,
+      int exportBatchSize,
+      int exportBatchBytes,
+      boolean isolatedExporters) {
     this.exporterCfgs = exporterCfgs;
+    this.exportBatchSize = exportBatchSize;
+    this.exportBatchBytes = exportBatchBytes;
+    this.isolatedExporters = isolatedExporters;
     this.exporterRepository = new ExporterRepository();
   }
 
@@ -82,17 +93,32 @@ public class ExporterManagerService implements Service<ExporterManagerService> {
         new StateSnapshotController(
             DefaultZeebeDbFactory.defaultFactory(ExporterColumnFamilies.class), stateStorage);
 
+    // the log must not be compacted before the records are exported
+    final AtomicReference<ExporterStreamProcessor> processorRef = new AtomicReference<>();
+    partition.addRetainedPositionSupplier(
+        () -> {
+          final ExporterStreamProcessor processor = processorRef.get();
+          return processor != null ? processor.getLowestExportedPosition() : -1;
+        });
+
     streamProcessorServiceFactory
         .createService(partition, partitionName)
         .processorId(EXPORTER_PROCESSOR_ID)
         .processorName(PROCESSOR_NAME)
         .snapshotController(snapshotController)
         .streamProcessorFactory(
-            (zeebeDb) ->
-                new ExporterStreamProcessor(
-                    zeebeDb,
-                    partition.getInfo().getPartitionId(),
-                    exporterRepository.getExporters().values()))
+            (zeebeDb) -> {
+              final ExporterStreamProcessor processor =
+                  new ExporterStreamProcessor(
+                      zeebeDb,
+                      partition.getInfo().getPartitionId(),
+                      exporterRepository.getExporters().values(),
+                      exportBatchSize,
+                      exportBatchBytes,
+                      isolatedExporters);
+              processorRef.set(processor);
+              return processor;
+            })
         .build();
   }
 
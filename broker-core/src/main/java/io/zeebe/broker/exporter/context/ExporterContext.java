@@ -22,9 +22,13 @@ import io.zeebe.exporter.context.Context;
 import org.slf4j.Logger;
 
 public class ExporterContext implements Context {
+  private static final RecordFilter ACCEPT_ALL = new RecordFilter() {};
+
   private final Logger logger;
   private final Configuration configuration;
 
+  private RecordFilter filter = ACCEPT_ALL;
+
   public ExporterContext(final Logger logger, final Configuration configuration) {
     this.logger = logger;
     this.configuration = configuration;
@@ -39,4 +43,13 @@ public class ExporterContext implements Context {
   public Configuration getConfiguration() {
     return configuration;
   }
+
+  public RecordFilter getFilter() {
+    return filter;
+  }
+
+  @Override
+  public void setFilter(final RecordFilter filter) {
+    this.filter = filter != null ? filter : ACCEPT_ALL;
+  }
 }
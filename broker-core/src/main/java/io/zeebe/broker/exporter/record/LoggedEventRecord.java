@@ -0,0 +1,155 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.stream.ExporterRecordMapper;
+import io.zeebe.exporter.record.Record;
+import io.zeebe.exporter.record.RecordMetadata;
+import io.zeebe.exporter.record.RecordValue;
+import io.zeebe.logstreams.impl.LoggedEventImpl;
+import java.time.Instant;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * Flyweight record which is reused for the records passed to the exporters. It keeps a copy of the
+ * logged event, so it stays valid while the log stream reader moves on, and decodes the fields only
+ * when they are accessed. The value is mapped on first access and kept until the next record is
+ * wrapped.
+ *
+ * <p>A wrapped record is only valid until the next call of {@link #wrap(LoggedEventImpl)}; use
+ * {@link #copy()} to get a record which can be kept.
+ */
+@JsonAutoDetect(fieldVisibility = Visibility.NONE, getterVisibility = Visibility.PUBLIC_ONLY)
+public class LoggedEventRecord<T extends RecordValue> implements Record<T> {
+  private final ExpandableArrayBuffer eventBuffer = new ExpandableArrayBuffer();
+  private final LoggedEventImpl event = new LoggedEventImpl();
+
+  private final ExporterObjectMapper objectMapper;
+  private final ExporterRecordMapper recordMapper;
+  private final LoggedEventRecordMetadata metadata;
+
+  private T value;
+
+  public LoggedEventRecord(
+      final ExporterObjectMapper objectMapper,
+      final ExporterRecordMapper recordMapper,
+      final int partitionId) {
+    this.objectMapper = objectMapper;
+    this.recordMapper = recordMapper;
+    this.metadata = new LoggedEventRecordMetadata(objectMapper, partitionId);
+  }
+
+  public void wrap(final LoggedEventImpl loggedEvent) {
+    final int fragmentLength = loggedEvent.getFragmentLength();
+    eventBuffer.putBytes(
+        0, loggedEvent.getBuffer(), loggedEvent.getFragmentOffset(), fragmentLength);
+    event.wrap(eventBuffer, 0);
+
+    metadata.wrap(event);
+    value = null;
+  }
+
+  @Override
+  public long getPosition() {
+    return event.getPosition();
+  }
+
+  @Override
+  public int getRaftTerm() {
+    return event.getRaftTerm();
+  }
+
+  @Override
+  public long getSourceRecordPosition() {
+    return event.getSourceEventPosition();
+  }
+
+  @Override
+  public int getProducerId() {
+    return event.getProducerId();
+  }
+
+  @Override
+  public long getKey() {
+    return event.getKey();
+  }
+
+  @Override
+  public Instant getTimestamp() {
+    return Instant.ofEpochMilli(event.getTimestamp());
+  }
+
+  @Override
+  public RecordMetadata getMetadata() {
+    return metadata;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T getValue() {
+    if (value == null) {
+      value = (T) recordMapper.mapValue(event, metadata.getValueType());
+    }
+
+    return value;
+  }
+
+  @Override
+  public String toJson() {
+    return objectMapper.toJson(this);
+  }
+
+  @Override
+  public RecordImpl<T> copy() {
+    return new RecordImpl<>(
+        objectMapper,
+        getKey(),
+        getPosition(),
+        getTimestamp(),
+        getRaftTerm(),
+        getProducerId(),
+        getSourceRecordPosition(),
+        metadata.copy(),
+        getValue());
+  }
+
+  @Override
+  public String toString() {
+    return "LoggedEventRecord{"
+        + "key="
+        + getKey()
+        + ", position="
+        + getPosition()
+        + ", timestamp="
+        + getTimestamp()
+        + ", raftTerm="
+        + getRaftTerm()
+        + ", producerId="
+        + getProducerId()
+        + ", sourceRecordPosition="
+        + getSourceRecordPosition()
+        + ", metadata="
+        + metadata
+        + ", value="
+        + getValue()
+        + '}';
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.record;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.exporter.record.RecordMetadata;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.util.buffer.BufferUtil;
+
+/**
+ * Reusable view on the metadata of a {@link LoggedEventRecord}. The metadata is decoded on first
+ * access, the rejection reason only when it is requested.
+ */
+@JsonAutoDetect(fieldVisibility = Visibility.NONE, getterVisibility = Visibility.PUBLIC_ONLY)
+@JsonInclude(Include.NON_NULL)
+public class LoggedEventRecordMetadata implements RecordMetadata {
+  private final io.zeebe.protocol.impl.record.RecordMetadata metadata =
+      new io.zeebe.protocol.impl.record.RecordMetadata();
+
+  private final ExporterObjectMapper objectMapper;
+  private final int partitionId;
+
+  private LoggedEvent event;
+  private boolean isDecoded;
+  private String rejectionReason;
+
+  public LoggedEventRecordMetadata(final ExporterObjectMapper objectMapper, final int partitionId) {
+    this.objectMapper = objectMapper;
+    this.partitionId = partitionId;
+  }
+
+  public void wrap(final LoggedEvent event) {
+    this.event = event;
+    this.isDecoded = false;
+    this.rejectionReason = null;
+  }
+
+  private io.zeebe.protocol.impl.record.RecordMetadata decoded() {
+    if (!isDecoded) {
+      event.readMetadata(metadata);
+      isDecoded = true;
+    }
+
+    return metadata;
+  }
+
+  @Override
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  @Override
+  public Intent getIntent() {
+    return decoded().getIntent();
+  }
+
+  @Override
+  public RecordType getRecordType() {
+    return decoded().getRecordType();
+  }
+
+  @Override
+  public RejectionType getRejectionType() {
+    return decoded().getRejectionType();
+  }
+
+  @Override
+  public String getRejectionReason() {
+    if (rejectionReason == null) {
+      rejectionReason = BufferUtil.bufferAsString(decoded().getRejectionReason());
+    }
+
+    return rejectionReason;
+  }
+
+  @Override
+  public ValueType getValueType() {
+    return decoded().getValueType();
+  }
+
+  @Override
+  public String toJson() {
+    return objectMapper.toJson(this);
+  }
+
+  /** @return an immutable copy of the metadata */
+  public RecordMetadataImpl copy() {
+    return new RecordMetadataImpl(
+        objectMapper,
+        partitionId,
+        getIntent(),
+        getRecordType(),
+        getRejectionType(),
+        getRejectionReason(),
+        getValueType());
+  }
+
+  @Override
+  public String toString() {
+    return "LoggedEventRecordMetadata{"
+        + "partitionId="
+        + partitionId
+        + ", intent="
+        + getIntent()
+        + ", recordType="
+        + getRecordType()
+        + ", rejectionType="
+        + getRejectionType()
+        + ", rejectionReason='"
+        + getRejectionReason()
+        + '\''
+        + ", valueType="
+        + getValueType()
+        + '}';
+  }
+}
@@ -22,25 +22,41 @@ import io.zeebe.broker.exporter.ExporterObjectMapper;
 import io.zeebe.exporter.record.RecordValueWithPayload;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public abstract class RecordValueWithPayloadImpl extends RecordValueImpl
     implements RecordValueWithPayload {
-  protected final String payload;
+  private final Supplier<String> payloadSupplier;
+  private String payload;
 
   public RecordValueWithPayloadImpl(final ExporterObjectMapper objectMapper, final String payload) {
+    this(objectMapper, () -> payload);
+  }
+
+  /**
+   * @param objectMapper the object mapper of the record
+   * @param payloadSupplier creates the JSON payload on first access, as most exporters don't need
+   *     it for every record
+   */
+  public RecordValueWithPayloadImpl(
+      final ExporterObjectMapper objectMapper, final Supplier<String> payloadSupplier) {
     super(objectMapper);
-    this.payload = payload;
+    this.payloadSupplier = payloadSupplier;
   }
 
   @Override
   public String getPayload() {
+    if (payload == null) {
+      payload = payloadSupplier.get();
+    }
+
     return payload;
   }
 
   @Override
   @JsonIgnore
   public Map<String, Object> getPayloadAsMap() {
-    return objectMapper.fromJsonAsMap(payload);
+    return objectMapper.fromJsonAsMap(getPayload());
   }
 
   @Override
@@ -52,11 +68,11 @@ public abstract class RecordValueWithPayloadImpl extends RecordValueImpl
       return false;
     }
     final RecordValueWithPayloadImpl that = (RecordValueWithPayloadImpl) o;
-    return Objects.equals(payload, that.payload);
+    return Objects.equals(getPayload(), that.getPayload());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(payload);
+    return Objects.hash(getPayload());
   }
 }
@@ -25,6 +25,7 @@ import io.zeebe.exporter.record.value.job.Headers;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public class JobRecordValueImpl extends RecordValueWithPayloadImpl implements JobRecordValue {
   private final String type;
@@ -45,6 +46,28 @@ public class JobRecordValueImpl extends RecordValueWithPayloadImpl implements Jo
       final Map<String, Object> customHeaders,
       final int retries,
       final String errorMessage) {
+    this(
+        objectMapper,
+        () -> payload,
+        type,
+        worker,
+        deadline,
+        headers,
+        customHeaders,
+        retries,
+        errorMessage);
+  }
+
+  public JobRecordValueImpl(
+      final ExporterObjectMapper objectMapper,
+      final Supplier<String> payload,
+      final String type,
+      final String worker,
+      final Instant deadline,
+      final HeadersImpl headers,
+      final Map<String, Object> customHeaders,
+      final int retries,
+      final String errorMessage) {
     super(objectMapper, payload);
     this.type = type;
     this.worker = worker;
@@ -138,7 +161,7 @@ public class JobRecordValueImpl extends RecordValueWithPayloadImpl implements Jo
         + errorMessage
         + '\''
         + ", payload='"
-        + payload
+        + getPayload()
         + '\''
         + '}';
   }
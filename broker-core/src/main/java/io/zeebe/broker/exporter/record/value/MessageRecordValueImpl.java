@@ -21,6 +21,7 @@ import io.zeebe.broker.exporter.ExporterObjectMapper;
 import io.zeebe.broker.exporter.record.RecordValueWithPayloadImpl;
 import io.zeebe.exporter.record.value.MessageRecordValue;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public class MessageRecordValueImpl extends RecordValueWithPayloadImpl
     implements MessageRecordValue {
@@ -36,6 +37,16 @@ public class MessageRecordValueImpl extends RecordValueWithPayloadImpl
       final String messageId,
       final String correlationKey,
       final long timeToLive) {
+    this(objectMapper, () -> payload, name, messageId, correlationKey, timeToLive);
+  }
+
+  public MessageRecordValueImpl(
+      final ExporterObjectMapper objectMapper,
+      final Supplier<String> payload,
+      final String name,
+      final String messageId,
+      final String correlationKey,
+      final long timeToLive) {
     super(objectMapper, payload);
     this.name = name;
     this.messageId = messageId;
@@ -101,7 +112,7 @@ public class MessageRecordValueImpl extends RecordValueWithPayloadImpl
         + ", timeToLive="
         + timeToLive
         + ", payload='"
-        + payload
+        + getPayload()
         + '\''
         + '}';
   }
@@ -21,6 +21,7 @@ import io.zeebe.broker.exporter.ExporterObjectMapper;
 import io.zeebe.broker.exporter.record.RecordValueWithPayloadImpl;
 import io.zeebe.exporter.record.value.WorkflowInstanceRecordValue;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public class WorkflowInstanceRecordValueImpl extends RecordValueWithPayloadImpl
     implements WorkflowInstanceRecordValue {
@@ -40,6 +41,26 @@ public class WorkflowInstanceRecordValueImpl extends RecordValueWithPayloadImpl
       final long workflowKey,
       final long workflowInstanceKey,
       final long scopeInstanceKey) {
+    this(
+        objectMapper,
+        () -> payload,
+        bpmnProcessId,
+        elementId,
+        version,
+        workflowKey,
+        workflowInstanceKey,
+        scopeInstanceKey);
+  }
+
+  public WorkflowInstanceRecordValueImpl(
+      final ExporterObjectMapper objectMapper,
+      final Supplier<String> payload,
+      final String bpmnProcessId,
+      final String elementId,
+      final int version,
+      final long workflowKey,
+      final long workflowInstanceKey,
+      final long scopeInstanceKey) {
     super(objectMapper, payload);
     this.bpmnProcessId = bpmnProcessId;
     this.elementId = elementId;
@@ -129,7 +150,7 @@ public class WorkflowInstanceRecordValueImpl extends RecordValueWithPayloadImpl
         + ", scopeInstanceKey="
         + scopeInstanceKey
         + ", payload='"
-        + payload
+        + getPayload()
         + '\''
         + '}';
   }
@@ -21,6 +21,7 @@ import io.zeebe.broker.exporter.ExporterObjectMapper;
 import io.zeebe.broker.exporter.record.RecordValueWithPayloadImpl;
 import io.zeebe.exporter.record.value.WorkflowInstanceSubscriptionRecordValue;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public class WorkflowInstanceSubscriptionRecordValueImpl extends RecordValueWithPayloadImpl
     implements WorkflowInstanceSubscriptionRecordValue {
@@ -34,6 +35,15 @@ public class WorkflowInstanceSubscriptionRecordValueImpl extends RecordValueWith
       final String messageName,
       final long workflowInstanceKey,
       final long elementInstanceKey) {
+    this(objectMapper, () -> payload, messageName, workflowInstanceKey, elementInstanceKey);
+  }
+
+  public WorkflowInstanceSubscriptionRecordValueImpl(
+      final ExporterObjectMapper objectMapper,
+      final Supplier<String> payload,
+      final String messageName,
+      final long workflowInstanceKey,
+      final long elementInstanceKey) {
     super(objectMapper, payload);
     this.messageName = messageName;
     this.workflowInstanceKey = workflowInstanceKey;
@@ -89,7 +99,7 @@ public class WorkflowInstanceSubscriptionRecordValueImpl extends RecordValueWith
         + ", elementInstanceKey="
         + elementInstanceKey
         + ", payload='"
-        + payload
+        + getPayload()
         + '\''
         + '}';
   }
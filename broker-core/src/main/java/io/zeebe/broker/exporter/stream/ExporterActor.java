@@ -0,0 +1,169 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamReader;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorCondition;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Runs a single exporter with its own reader of the log, so it makes progress independently of the
+ * other exporters of the partition. If the export fails then it is retried with an exponential
+ * backoff.
+ */
+class ExporterActor extends Actor {
+  private static final Duration INITIAL_RETRY_BACKOFF = Duration.ofMillis(100);
+  private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(10);
+
+  private final RecordMetadata rawMetadata = new RecordMetadata();
+  private final LogStreamReader logStreamReader = new BufferedLogStreamReader();
+
+  private final ExporterContainer container;
+  private final LogStream logStream;
+  private final ActorControl stateActor;
+  private final ExporterBatch batch;
+  private final String name;
+
+  private ActorCondition onCommitPositionUpdatedCondition;
+  private Duration retryBackoff = INITIAL_RETRY_BACKOFF;
+  private boolean isRetryScheduled;
+
+  ExporterActor(
+      final ExporterContainer container,
+      final LogStream logStream,
+      final ActorControl stateActor,
+      final int maxBatchSize,
+      final int maxBatchBytes) {
+    this.container = container;
+    this.logStream = logStream;
+    this.stateActor = stateActor;
+
+    final int partitionId = logStream.getPartitionId();
+    this.batch =
+        new ExporterBatch(
+            partitionId, Collections.singletonList(container), maxBatchSize, maxBatchBytes);
+    this.name = String.format("exporter-%s-%d", container.getId(), partitionId);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  public ActorFuture<Void> close() {
+    return actor.close();
+  }
+
+  @Override
+  protected void onActorStarting() {
+    logStreamReader.wrap(logStream);
+    ExporterStreamProcessor.seekToNextRecord(logStreamReader, container.position);
+
+    container.open(stateActor, actor);
+  }
+
+  @Override
+  protected void onActorStarted() {
+    onCommitPositionUpdatedCondition =
+        actor.onCondition(getName() + "-on-commit-position-updated", this::exportNextBatch);
+    logStream.registerOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
+
+    actor.submit(this::exportNextBatch);
+  }
+
+  @Override
+  protected void onActorClosing() {
+    logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
+    onCommitPositionUpdatedCondition = null;
+
+    container.close();
+    logStreamReader.close();
+  }
+
+  private void exportNextBatch() {
+    if (isRetryScheduled) {
+      return;
+    }
+
+    if (batch.isEmpty()) {
+      readNextBatch();
+
+      if (batch.isEmpty()) {
+        container.updatePositionLag();
+        return;
+      }
+    }
+
+    try {
+      batch.export(0);
+    } catch (final Exception e) {
+      container
+          .context
+          .getLogger()
+          .error(
+              "Error exporting {} records from position {}, retry in {}",
+              batch.getSize(),
+              batch.getFirstPosition(),
+              retryBackoff,
+              e);
+
+      scheduleRetry();
+      return;
+    }
+
+    batch.clear();
+    retryBackoff = INITIAL_RETRY_BACKOFF;
+    container.updatePositionLag();
+
+    if (logStreamReader.hasNext()) {
+      actor.submit(this::exportNextBatch);
+    }
+  }
+
+  private void readNextBatch() {
+    while (!batch.isFull() && logStreamReader.hasNext()) {
+      final LoggedEvent event = logStreamReader.next();
+      event.readMetadata(rawMetadata);
+
+      batch.add(event, rawMetadata);
+    }
+  }
+
+  private void scheduleRetry() {
+    isRetryScheduled = true;
+    container.updatePositionLag();
+
+    actor.runDelayed(
+        retryBackoff,
+        () -> {
+          isRetryScheduled = false;
+          exportNextBatch();
+        });
+
+    final Duration nextBackoff = retryBackoff.multipliedBy(2);
+    retryBackoff = nextBackoff.compareTo(MAX_RETRY_BACKOFF) < 0 ? nextBackoff : MAX_RETRY_BACKOFF;
+  }
+}
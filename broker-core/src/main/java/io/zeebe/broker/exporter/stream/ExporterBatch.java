@@ -0,0 +1,159 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import io.zeebe.broker.exporter.ExporterObjectMapper;
+import io.zeebe.broker.exporter.record.LoggedEventRecord;
+import io.zeebe.exporter.record.Record;
+import io.zeebe.logstreams.impl.LoggedEventImpl;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of records which are exported together. The records are flyweights which are reused for
+ * the next batch, and a record is only wrapped if at least one exporter accepts it.
+ */
+class ExporterBatch {
+  private final ExporterObjectMapper objectMapper = new ExporterObjectMapper();
+  private final ExporterRecordMapper recordMapper = new ExporterRecordMapper(objectMapper);
+
+  private final int partitionId;
+  private final List<ExporterContainer> containers;
+  private final int maxBatchSize;
+  private final int maxBatchBytes;
+
+  private final LoggedEventRecord[] records;
+  // a record is not exported if it is not accepted by any exporter
+  private final boolean[] isExported;
+  private final long[] positions;
+  private final boolean[][] acceptedBy;
+
+  private final List<Record> exporterBatch = new ArrayList<>();
+
+  private int batchSize;
+  private int batchBytes;
+
+  ExporterBatch(
+      final int partitionId,
+      final List<ExporterContainer> containers,
+      final int maxBatchSize,
+      final int maxBatchBytes) {
+    this.partitionId = partitionId;
+    this.containers = containers;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchBytes = maxBatchBytes;
+
+    records = new LoggedEventRecord[maxBatchSize];
+    isExported = new boolean[maxBatchSize];
+    positions = new long[maxBatchSize];
+    acceptedBy = new boolean[containers.size()][maxBatchSize];
+  }
+
+  void clear() {
+    batchSize = 0;
+    batchBytes = 0;
+  }
+
+  boolean isEmpty() {
+    return batchSize == 0;
+  }
+
+  boolean isFull() {
+    return batchSize >= maxBatchSize || batchBytes >= maxBatchBytes;
+  }
+
+  long getFirstPosition() {
+    return positions[0];
+  }
+
+  int getSize() {
+    return batchSize;
+  }
+
+  void add(final LoggedEvent event, final RecordMetadata rawMetadata) {
+    // apply the filters on the raw metadata to avoid copying records which are not exported
+    final boolean isExporterRecord = rawMetadata.getValueType() == ValueType.EXPORTER;
+    boolean isAccepted = false;
+
+    for (int i = 0; i < containers.size(); i++) {
+      final boolean accepts = !isExporterRecord && containers.get(i).accepts(rawMetadata);
+      acceptedBy[i][batchSize] = accepts;
+      isAccepted |= accepts;
+    }
+
+    isAccepted &= recordMapper.canMap(rawMetadata.getValueType());
+    if (isAccepted) {
+      recordAt(batchSize).wrap((LoggedEventImpl) event);
+    }
+
+    isExported[batchSize] = isAccepted;
+    positions[batchSize] = event.getPosition();
+    batchSize += 1;
+    batchBytes += event.getMetadataLength() + event.getValueLength();
+  }
+
+  /**
+   * Passes the records of the batch which are accepted by the given exporter and not exported yet
+   * to the exporter.
+   *
+   * @param containerIndex the index of the exporter
+   */
+  void export(final int containerIndex) {
+    final ExporterContainer container = containers.get(containerIndex);
+    final boolean[] accepted = acceptedBy[containerIndex];
+    final long exportedPosition = container.position;
+
+    exporterBatch.clear();
+    for (int i = 0; i < batchSize; i++) {
+      if (positions[i] > exportedPosition && isExported(accepted, i)) {
+        exporterBatch.add(records[i]);
+      }
+    }
+
+    if (!exporterBatch.isEmpty()) {
+      container.exporter.exportBatch(exporterBatch);
+    }
+
+    for (int i = 0; i < batchSize; i++) {
+      if (positions[i] > exportedPosition) {
+        if (isExported(accepted, i)) {
+          container.onExported(positions[i]);
+        } else {
+          container.onSkipped(positions[i]);
+        }
+      }
+    }
+  }
+
+  private boolean isExported(final boolean[] accepted, final int index) {
+    return accepted[index] && isExported[index];
+  }
+
+  private LoggedEventRecord recordAt(final int index) {
+    LoggedEventRecord record = records[index];
+    if (record == null) {
+      record = new LoggedEventRecord(objectMapper, recordMapper, partitionId);
+      records[index] = record;
+    }
+
+    return record;
+  }
+}
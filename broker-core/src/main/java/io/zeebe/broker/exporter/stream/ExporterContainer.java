@@ -0,0 +1,159 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import io.zeebe.broker.exporter.context.ExporterContext;
+import io.zeebe.broker.exporter.repo.ExporterDescriptor;
+import io.zeebe.exporter.context.Context.RecordFilter;
+import io.zeebe.exporter.context.Controller;
+import io.zeebe.exporter.spi.Exporter;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.util.sched.ActorControl;
+import java.time.Duration;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds an exporter together with its position. The exporter is called by the exporter actor, which
+ * is either the actor of the exporter stream processor or a separate actor. The position is stored
+ * in the state by the actor of the exporter stream processor.
+ */
+class ExporterContainer implements Controller {
+  private static final String LOGGER_NAME_FORMAT = "io.zeebe.broker.exporter.%s";
+
+  final ExporterContext context;
+  final Exporter exporter;
+  volatile long position;
+
+  private final ExporterStreamProcessorState state;
+
+  private LogStream logStream;
+  private ExporterMetrics metrics;
+  private ActorControl stateActor;
+  private ActorControl exporterActor;
+
+  // only accessed by the exporter actor
+  private long lastExportedPosition = -1;
+  private long skippedPosition = -1;
+
+  ExporterContainer(ExporterDescriptor descriptor, ExporterStreamProcessorState state) {
+    this.state = state;
+
+    context =
+        new ExporterContext(
+            LoggerFactory.getLogger(String.format(LOGGER_NAME_FORMAT, descriptor.getId())),
+            descriptor.getConfiguration());
+    exporter = descriptor.newInstance();
+  }
+
+  void init(final LogStream logStream, final ExporterMetrics metrics) {
+    this.logStream = logStream;
+    this.metrics = metrics;
+  }
+
+  /**
+   * @param stateActor the actor which owns the state
+   * @param exporterActor the actor which calls the exporter
+   */
+  void open(final ActorControl stateActor, final ActorControl exporterActor) {
+    this.stateActor = stateActor;
+    this.exporterActor = exporterActor;
+
+    exporter.open(this);
+  }
+
+  void close() {
+    try {
+      exporter.close();
+    } catch (final Exception e) {
+      context.getLogger().error("Error on close", e);
+    }
+
+    if (metrics != null) {
+      metrics.close();
+    }
+  }
+
+  @Override
+  public void updateLastExportedRecordPosition(final long position) {
+    exporterActor.run(
+        () -> {
+          long acknowledgedPosition = position;
+
+          // the records after the last exported one were not accepted by the filter
+          if (position >= lastExportedPosition && skippedPosition > position) {
+            acknowledgedPosition = skippedPosition;
+          }
+
+          setPosition(acknowledgedPosition);
+        });
+  }
+
+  private void setPosition(final long acknowledgedPosition) {
+    // the acknowledgements of one export may be applied in a different order
+    if (acknowledgedPosition <= position) {
+      return;
+    }
+
+    if (stateActor == exporterActor) {
+      state.setPosition(getId(), acknowledgedPosition);
+    } else {
+      stateActor.run(() -> state.setPosition(getId(), acknowledgedPosition));
+    }
+
+    this.position = acknowledgedPosition;
+    updatePositionLag();
+  }
+
+  @Override
+  public void scheduleTask(final Duration delay, final Runnable task) {
+    exporterActor.runDelayed(delay, task);
+  }
+
+  boolean accepts(final RecordMetadata metadata) {
+    final RecordFilter filter = context.getFilter();
+
+    return filter.acceptType(metadata.getRecordType())
+        && filter.acceptValue(metadata.getValueType())
+        && filter.acceptIntent(metadata.getIntent());
+  }
+
+  void onExported(final long recordPosition) {
+    lastExportedPosition = recordPosition;
+  }
+
+  void onSkipped(final long recordPosition) {
+    skippedPosition = recordPosition;
+
+    // if all exported records are acknowledged then the skipped record doesn't need to be
+    // retained - it is filtered again if it is read after a restart
+    if (position >= lastExportedPosition) {
+      position = recordPosition;
+    }
+  }
+
+  void updatePositionLag() {
+    if (metrics != null) {
+      metrics.recordPositionLag(logStream.getCommitPosition(), position);
+    }
+  }
+
+  String getId() {
+    return context.getConfiguration().getId();
+  }
+}
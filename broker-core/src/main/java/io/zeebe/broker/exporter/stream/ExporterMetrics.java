@@ -0,0 +1,49 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.exporter.stream;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class ExporterMetrics implements AutoCloseable {
+  private final Metric positionLagMetric;
+
+  public ExporterMetrics(
+      final MetricsManager metricsManager, final String exporterId, final int partitionId) {
+    positionLagMetric =
+        metricsManager
+            .newMetric("exporter_position_lag")
+            .type("gauge")
+            .label("exporter", exporterId)
+            .label("partition", Integer.toString(partitionId))
+            .create();
+  }
+
+  /**
+   * @param commitPosition the current commit position of the log
+   * @param exportedPosition the position which is acknowledged by the exporter
+   */
+  public void recordPositionLag(final long commitPosition, final long exportedPosition) {
+    positionLagMetric.setOrdered(Math.max(0, commitPosition - Math.max(0, exportedPosition)));
+  }
+
+  @Override
+  public void close() {
+    positionLagMetric.close();
+  }
+}
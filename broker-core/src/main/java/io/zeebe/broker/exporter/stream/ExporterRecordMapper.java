@@ -18,7 +18,6 @@
 package io.zeebe.broker.exporter.stream;
 
 import io.zeebe.broker.exporter.ExporterObjectMapper;
-import io.zeebe.broker.exporter.record.RecordImpl;
 import io.zeebe.broker.exporter.record.value.IncidentRecordValueImpl;
 import io.zeebe.broker.exporter.record.value.JobBatchRecordValueImpl;
 import io.zeebe.broker.exporter.record.value.JobRecordValueImpl;
@@ -34,8 +33,6 @@ import io.zeebe.broker.exporter.record.value.raft.RaftMemberImpl;
 import io.zeebe.broker.subscription.message.data.MessageSubscriptionRecord;
 import io.zeebe.broker.subscription.message.data.WorkflowInstanceSubscriptionRecord;
 import io.zeebe.broker.workflow.data.TimerRecord;
-import io.zeebe.exporter.record.Record;
-import io.zeebe.exporter.record.RecordMetadata;
 import io.zeebe.exporter.record.RecordValue;
 import io.zeebe.exporter.record.value.DeploymentRecordValue;
 import io.zeebe.exporter.record.value.IncidentRecordValue;
@@ -52,6 +49,7 @@ import io.zeebe.exporter.record.value.raft.RaftMember;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.msgpack.value.LongValue;
 import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.deployment.Workflow;
 import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
@@ -66,9 +64,11 @@ import io.zeebe.util.buffer.BufferUtil;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.agrona.DirectBuffer;
@@ -76,67 +76,50 @@ import org.agrona.io.DirectBufferInputStream;
 
 public class ExporterRecordMapper {
   private final DirectBufferInputStream serderInputStream = new DirectBufferInputStream();
+  private final Map<ValueType, Function<LoggedEvent, ? extends RecordValue>> valueSuppliers =
+      new EnumMap<>(ValueType.class);
   private final ExporterObjectMapper objectMapper;
 
   public ExporterRecordMapper(final ExporterObjectMapper objectMapper) {
     this.objectMapper = objectMapper;
-  }
 
-  public Record map(final LoggedEvent event, final RecordMetadata metadata) {
-    final Function<LoggedEvent, ? extends RecordValue> valueSupplier;
-
-    switch (metadata.getValueType()) {
-      case DEPLOYMENT:
-        valueSupplier = this::ofDeploymentRecord;
-        break;
-      case INCIDENT:
-        valueSupplier = this::ofIncidentRecord;
-        break;
-      case JOB:
-        valueSupplier = this::ofJobRecord;
-        break;
-      case MESSAGE:
-        valueSupplier = this::ofMessageRecord;
-        break;
-      case MESSAGE_SUBSCRIPTION:
-        valueSupplier = this::ofMessageSubscriptionRecord;
-        break;
-      case RAFT:
-        valueSupplier = this::ofRaftRecord;
-        break;
-      case WORKFLOW_INSTANCE:
-        valueSupplier = this::ofWorkflowInstanceRecord;
-        break;
-      case WORKFLOW_INSTANCE_SUBSCRIPTION:
-        valueSupplier = this::ofWorkflowInstanceSubscriptionRecord;
-        break;
-      case JOB_BATCH:
-        valueSupplier = this::ofJobBatchRecord;
-        break;
-      case TIMER:
-        valueSupplier = this::ofTimerRecord;
-        break;
-      default:
-        return null;
-    }
+    valueSuppliers.put(ValueType.DEPLOYMENT, this::ofDeploymentRecord);
+    valueSuppliers.put(ValueType.INCIDENT, this::ofIncidentRecord);
+    valueSuppliers.put(ValueType.JOB, this::ofJobRecord);
+    valueSuppliers.put(ValueType.MESSAGE, this::ofMessageRecord);
+    valueSuppliers.put(ValueType.MESSAGE_SUBSCRIPTION, this::ofMessageSubscriptionRecord);
+    valueSuppliers.put(ValueType.RAFT, this::ofRaftRecord);
+    valueSuppliers.put(ValueType.WORKFLOW_INSTANCE, this::ofWorkflowInstanceRecord);
+    valueSuppliers.put(
+        ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION, this::ofWorkflowInstanceSubscriptionRecord);
+    valueSuppliers.put(ValueType.JOB_BATCH, this::ofJobBatchRecord);
+    valueSuppliers.put(ValueType.TIMER, this::ofTimerRecord);
+  }
 
-    return newRecord(event, metadata, valueSupplier);
+  /**
+   * @param valueType the value type of a record
+   * @return true if records of the given value type can be mapped
+   */
+  public boolean canMap(final ValueType valueType) {
+    return valueSuppliers.containsKey(valueType);
   }
 
-  private <T extends RecordValue> RecordImpl<T> newRecord(
-      final LoggedEvent event,
-      final RecordMetadata metadata,
-      final Function<LoggedEvent, T> valueSupplier) {
-    return new RecordImpl<>(
-        objectMapper,
-        event.getKey(),
-        event.getPosition(),
-        Instant.ofEpochMilli(event.getTimestamp()),
-        event.getRaftTerm(),
-        event.getProducerId(),
-        event.getSourceEventPosition(),
-        metadata,
-        valueSupplier.apply(event));
+  /**
+   * Maps the value of the given event.
+   *
+   * @param event the event to read the value from
+   * @param valueType the value type of the event
+   * @return the mapped value, or null if records of the value type can't be mapped
+   */
+  public RecordValue mapValue(final LoggedEvent event, final ValueType valueType) {
+    final Function<LoggedEvent, ? extends RecordValue> valueSupplier =
+        valueSuppliers.get(valueType);
+
+    if (valueSupplier == null) {
+      return null;
+    }
+
+    return valueSupplier.apply(event);
   }
 
   // VALUE SUPPLIERS
@@ -179,7 +162,7 @@ public class ExporterRecordMapper {
 
     return new JobRecordValueImpl(
         objectMapper,
-        asJson(record.getPayload()),
+        asLazyJson(record.getPayload()),
         asString(record.getType()),
         asString(record.getWorker()),
         deadline,
@@ -239,7 +222,7 @@ public class ExporterRecordMapper {
 
     return new io.zeebe.broker.exporter.record.value.MessageRecordValueImpl(
         objectMapper,
-        asJson(record.getPayload()),
+        asLazyJson(record.getPayload()),
         asString(record.getName()),
         asString(record.getMessageId()),
         asString(record.getCorrelationKey()),
@@ -264,7 +247,7 @@ public class ExporterRecordMapper {
 
     return new WorkflowInstanceRecordValueImpl(
         objectMapper,
-        asJson(record.getPayload()),
+        asLazyJson(record.getPayload()),
         asString(record.getBpmnProcessId()),
         asString(record.getElementId()),
         record.getVersion(),
@@ -280,7 +263,7 @@ public class ExporterRecordMapper {
 
     return new WorkflowInstanceSubscriptionRecordValueImpl(
         objectMapper,
-        asJson(record.getPayload()),
+        asLazyJson(record.getPayload()),
         asString(record.getMessageName()),
         record.getWorkflowInstanceKey(),
         record.getElementInstanceKey());
@@ -336,9 +319,10 @@ public class ExporterRecordMapper {
     return objectMapper.fromMsgpackAsMap(serderInputStream);
   }
 
-  private String asJson(final DirectBuffer msgPackEncoded) {
-    serderInputStream.wrap(msgPackEncoded);
-    return objectMapper.getMsgPackConverter().convertToJson(serderInputStream);
+  private Supplier<String> asLazyJson(final DirectBuffer msgPackEncoded) {
+    // the buffer is only valid while mapping, so keep a copy to convert it later on
+    final byte[] msgPack = asByteArray(msgPackEncoded);
+    return () -> objectMapper.getMsgPackConverter().convertToJson(msgPack);
   }
 
   private ResourceType asResourceType(
@@ -17,15 +17,10 @@
  */
 package io.zeebe.broker.exporter.stream;
 
-import io.zeebe.broker.exporter.ExporterObjectMapper;
-import io.zeebe.broker.exporter.context.ExporterContext;
-import io.zeebe.broker.exporter.record.RecordMetadataImpl;
 import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.broker.exporter.stream.ExporterRecord.ExporterPosition;
 import io.zeebe.db.ZeebeDb;
-import io.zeebe.exporter.context.Controller;
-import io.zeebe.exporter.record.Record;
-import io.zeebe.exporter.spi.Exporter;
+import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LoggedEvent;
@@ -36,54 +31,99 @@ import io.zeebe.protocol.clientapi.RecordType;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.protocol.intent.ExporterIntent;
-import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.EnsureUtil;
+import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.ActorControl;
-import java.time.Duration;
+import io.zeebe.util.sched.ActorScheduler;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import org.slf4j.LoggerFactory;
 
 public class ExporterStreamProcessor implements StreamProcessor {
 
   private final RecordMetadata rawMetadata = new RecordMetadata();
   private final List<ExporterContainer> containers;
+  private final List<ExporterActor> exporterActors = new ArrayList<>();
   private final int partitionId;
 
   private final ExporterStreamProcessorState state;
-  private final RecordExporter recordExporter = new RecordExporter();
+  private final RecordExporter recordExporter;
   private final ExporterRecordProcessor exporterRecordProcessor = new ExporterRecordProcessor();
+  private final int maxBatchSize;
+  private final int maxBatchBytes;
+  private final boolean isolatedExporters;
 
   private ActorControl actorControl;
+  private ActorScheduler actorScheduler;
+  private LogStream logStream;
   private LogStreamReader logStreamReader;
 
   public ExporterStreamProcessor(
       ZeebeDb<ExporterColumnFamilies> zeebeDb,
       final int partitionId,
       final Collection<ExporterDescriptor> descriptors) {
+    this(zeebeDb, partitionId, descriptors, 1, Integer.MAX_VALUE, false);
+  }
+
+  /**
+   * @param maxBatchSize the maximum number of records which are passed to the exporters together
+   * @param maxBatchBytes the size of the records after which no more records are added to a batch
+   * @param isolatedExporters if true, each exporter runs on its own actor and reads the log
+   *     independently of the other exporters. Otherwise, all exporters are called by the stream
+   *     processor one after the other.
+   */
+  public ExporterStreamProcessor(
+      ZeebeDb<ExporterColumnFamilies> zeebeDb,
+      final int partitionId,
+      final Collection<ExporterDescriptor> descriptors,
+      final int maxBatchSize,
+      final int maxBatchBytes,
+      final boolean isolatedExporters) {
+    EnsureUtil.ensureGreaterThan("max batch size", maxBatchSize, 0);
+    EnsureUtil.ensureGreaterThan("max batch bytes", maxBatchBytes, 0);
+
     state = new ExporterStreamProcessorState(zeebeDb);
 
     this.partitionId = partitionId;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchBytes = maxBatchBytes;
+    this.isolatedExporters = isolatedExporters;
 
     this.containers = new ArrayList<>(descriptors.size());
     for (final ExporterDescriptor descriptor : descriptors) {
-      this.containers.add(new ExporterContainer(descriptor));
+      this.containers.add(new ExporterContainer(descriptor, state));
     }
+
+    recordExporter = new RecordExporter();
   }
 
   public ExporterStreamProcessorState getState() {
     return state;
   }
 
+  /**
+   * @return the lowest position which is acknowledged by all exporters, or zero if an exporter has
+   *     not acknowledged any position yet. Can be called concurrently.
+   */
+  public long getLowestExportedPosition() {
+    long lowestPosition = Long.MAX_VALUE;
+
+    for (final ExporterContainer container : containers) {
+      lowestPosition = Math.min(lowestPosition, container.position);
+    }
+
+    return containers.isEmpty() ? 0 : lowestPosition;
+  }
+
   @Override
   public EventProcessor onEvent(LoggedEvent event) {
-    final EventProcessor processor;
+    EventProcessor processor = null;
     event.readMetadata(rawMetadata);
 
     if (rawMetadata.getValueType() == ValueType.EXPORTER) {
       exporterRecordProcessor.wrap(event);
       processor = exporterRecordProcessor;
-    } else {
+    } else if (!isolatedExporters) {
       recordExporter.wrap(event);
       processor = recordExporter;
     }
@@ -95,9 +135,15 @@ public class ExporterStreamProcessor implements StreamProcessor {
   public void onOpen(StreamProcessorContext context) {
     logStreamReader = context.getLogStreamReader();
     actorControl = context.getActorControl();
+    actorScheduler = context.getActorScheduler();
+    logStream = context.getLogStream();
+
+    final MetricsManager metricsManager = actorScheduler.getMetricsManager();
 
     for (final ExporterContainer container : containers) {
       container.exporter.configure(container.context);
+      container.init(
+          logStream, new ExporterMetrics(metricsManager, container.getId(), partitionId));
     }
   }
 
@@ -106,7 +152,6 @@ public class ExporterStreamProcessor implements StreamProcessor {
     long lowestPosition = -1;
 
     for (final ExporterContainer container : containers) {
-      container.exporter.open(container);
       container.position = state.getPosition(container.getId());
 
       if (lowestPosition == -1 || lowestPosition > container.position) {
@@ -114,64 +159,52 @@ public class ExporterStreamProcessor implements StreamProcessor {
       }
     }
 
-    // in case the lowest known position is not found, start from the
-    // beginning again
-    if (lowestPosition <= 0 || !logStreamReader.seek(lowestPosition)) {
-      logStreamReader.seekToFirstEvent();
-    } else {
-      if (logStreamReader.hasNext()) {
-        logStreamReader.seek(lowestPosition + 1);
+    for (final ExporterContainer container : containers) {
+      if (isolatedExporters) {
+        final ExporterActor exporterActor =
+            new ExporterActor(container, logStream, actorControl, maxBatchSize, maxBatchBytes);
+        exporterActors.add(exporterActor);
+
+        actorScheduler.submitActor(exporterActor);
+      } else {
+        container.open(actorControl, actorControl);
       }
     }
+
+    seekToNextRecord(logStreamReader, lowestPosition);
   }
 
   @Override
   public void onClose() {
-    for (final ExporterContainer container : containers) {
-      try {
-        container.exporter.close();
-      } catch (final Exception e) {
-        container.context.getLogger().error("Error on close", e);
+    if (isolatedExporters) {
+      // the exporters are closed by their actors
+      for (final ExporterActor exporterActor : exporterActors) {
+        exporterActor.close();
+      }
+      exporterActors.clear();
+    } else {
+      for (final ExporterContainer container : containers) {
+        container.close();
       }
     }
   }
 
-  private boolean shouldCommitPositions() {
-    return false;
-  }
-
-  private class ExporterContainer implements Controller {
-    private static final String LOGGER_NAME_FORMAT = "io.zeebe.broker.exporter.%s";
-
-    private final ExporterContext context;
-    private final Exporter exporter;
-    private long position;
-
-    ExporterContainer(ExporterDescriptor descriptor) {
-      context =
-          new ExporterContext(
-              LoggerFactory.getLogger(String.format(LOGGER_NAME_FORMAT, descriptor.getId())),
-              descriptor.getConfiguration());
-      exporter = descriptor.newInstance();
-    }
-
-    @Override
-    public void updateLastExportedRecordPosition(final long position) {
-      actorControl.run(
-          () -> {
-            state.setPosition(getId(), position);
-            this.position = position;
-          });
-    }
-
-    @Override
-    public void scheduleTask(final Duration delay, final Runnable task) {
-      actorControl.runDelayed(delay, task);
+  /**
+   * Moves the reader to the record after the given position. In case the position is not found, the
+   * reader starts from the beginning again.
+   */
+  static void seekToNextRecord(final LogStreamReader reader, final long position) {
+    if (position <= 0 || !reader.seek(position)) {
+      reader.seekToFirstEvent();
+    } else {
+      if (reader.hasNext()) {
+        reader.seek(position + 1);
+      }
     }
+  }
 
-    private String getId() {
-      return context.getConfiguration().getId();
-    }
+  private boolean shouldCommitPositions() {
+    return false;
   }
 
   private class ExporterRecordProcessor implements EventProcessor {
@@ -189,50 +222,65 @@ public class ExporterStreamProcessor implements StreamProcessor {
     }
   }
 
+  /**
+   * Exports the committed records in batches. The first record of a batch is passed by the stream
+   * processor controller, the following ones are read directly from the log until the batch is full
+   * or no more records are available.
+   */
   private class RecordExporter implements EventProcessor {
-    private final ExporterObjectMapper objectMapper = new ExporterObjectMapper();
-    private final ExporterRecordMapper recordMapper = new ExporterRecordMapper(objectMapper);
-    private Record record;
-    private boolean shouldExecuteSideEffects;
+    private final ExporterBatch batch =
+        new ExporterBatch(partitionId, containers, maxBatchSize, maxBatchBytes);
+
     private int exporterIndex;
 
     void wrap(LoggedEvent rawEvent) {
-      final RecordMetadataImpl metadata =
-          new RecordMetadataImpl(
-              objectMapper,
-              partitionId,
-              rawMetadata.getIntent(),
-              rawMetadata.getRecordType(),
-              rawMetadata.getRejectionType(),
-              BufferUtil.bufferAsString(rawMetadata.getRejectionReason()),
-              rawMetadata.getValueType());
-
-      record = recordMapper.map(rawEvent, metadata);
+      batch.clear();
       exporterIndex = 0;
-      shouldExecuteSideEffects = record != null;
+
+      LoggedEvent event = rawEvent;
+
+      while (true) {
+        if (rawMetadata.getValueType() == ValueType.EXPORTER) {
+          // the event is not passed to the stream processor, so the positions are applied here
+          exporterRecordProcessor.wrap(event);
+          exporterRecordProcessor.updateState();
+        } else {
+          batch.add(event, rawMetadata);
+        }
+
+        if (batch.isFull() || !logStreamReader.hasNext()) {
+          break;
+        }
+
+        event = logStreamReader.next();
+        event.readMetadata(rawMetadata);
+      }
     }
 
     @Override
     public boolean executeSideEffects() {
-      if (!shouldExecuteSideEffects) {
-        return true;
-      }
-
       final int exportersCount = containers.size();
 
-      // current error handling strategy is simply to repeat forever until the record can be
+      // current error handling strategy is simply to repeat forever until the batch can be
       // successfully exported.
       while (exporterIndex < exportersCount) {
         final ExporterContainer container = containers.get(exporterIndex);
 
         try {
-          if (container.position < record.getPosition()) {
-            container.exporter.export(record);
-          }
+          batch.export(exporterIndex);
+          container.updatePositionLag();
 
           exporterIndex++;
         } catch (final Exception ex) {
-          container.context.getLogger().error("Error exporting record {}", record, ex);
+          container
+              .context
+              .getLogger()
+              .error(
+                  "Error exporting {} records from position {}",
+                  batch.getSize(),
+                  batch.getFirstPosition(),
+                  ex);
+          container.updatePositionLag();
           return false;
         }
       }
@@ -17,6 +17,7 @@
  */
 package io.zeebe.broker.incident.processor;
 
+import io.zeebe.broker.job.JobsAvailableNotifier;
 import io.zeebe.broker.logstreams.processor.TypedEventStreamProcessorBuilder;
 import io.zeebe.broker.logstreams.state.ZeebeState;
 import io.zeebe.broker.workflow.processor.BpmnStepProcessor;
@@ -28,13 +29,14 @@ public class IncidentEventProcessors {
   public static void addProcessors(
       TypedEventStreamProcessorBuilder typedEventStreamProcessorBuilder,
       ZeebeState zeebeState,
-      BpmnStepProcessor bpmnStepProcessor) {
+      BpmnStepProcessor bpmnStepProcessor,
+      JobsAvailableNotifier jobsAvailableNotifier) {
     typedEventStreamProcessorBuilder
         .onCommand(
             ValueType.INCIDENT, IncidentIntent.CREATE, new CreateIncidentProcessor(zeebeState))
         .onCommand(
             ValueType.INCIDENT,
             IncidentIntent.RESOLVE,
-            new ResolveIncidentProcessor(bpmnStepProcessor, zeebeState));
+            new ResolveIncidentProcessor(bpmnStepProcessor, zeebeState, jobsAvailableNotifier));
   }
 }
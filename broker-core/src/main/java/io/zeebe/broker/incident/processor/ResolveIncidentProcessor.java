@@ -18,6 +18,7 @@
 package io.zeebe.broker.incident.processor;
 
 import io.zeebe.broker.job.JobState;
+import io.zeebe.broker.job.JobsAvailableNotifier;
 import io.zeebe.broker.logstreams.processor.SideEffectProducer;
 import io.zeebe.broker.logstreams.processor.TypedRecord;
 import io.zeebe.broker.logstreams.processor.TypedRecordProcessor;
@@ -40,12 +41,17 @@ public final class ResolveIncidentProcessor implements TypedRecordProcessor<Inci
 
   private final BpmnStepProcessor stepProcessor;
   private final ZeebeState zeebeState;
+  private final JobsAvailableNotifier jobsAvailableNotifier;
   private final TypedWorkflowInstanceRecord typedRecord = new TypedWorkflowInstanceRecord();
   private final SideEffectQueue queue = new SideEffectQueue();
 
-  public ResolveIncidentProcessor(BpmnStepProcessor stepProcessor, ZeebeState zeebeState) {
+  public ResolveIncidentProcessor(
+      BpmnStepProcessor stepProcessor,
+      ZeebeState zeebeState,
+      JobsAvailableNotifier jobsAvailableNotifier) {
     this.stepProcessor = stepProcessor;
     this.zeebeState = zeebeState;
+    this.jobsAvailableNotifier = jobsAvailableNotifier;
   }
 
   @Override
@@ -92,7 +98,7 @@ public final class ResolveIncidentProcessor implements TypedRecordProcessor<Inci
     final boolean isJobIncident = jobKey > 0;
 
     if (isJobIncident) {
-      attemptToMakeJobActivatableAgain(jobKey);
+      attemptToMakeJobActivatableAgain(responseWriter, sideEffect, jobKey);
     } else {
       attemptToContinueWorkflowProcessing(responseWriter, streamWriter, sideEffect, incidentRecord);
     }
@@ -120,11 +126,17 @@ public final class ResolveIncidentProcessor implements TypedRecordProcessor<Inci
     }
   }
 
-  public void attemptToMakeJobActivatableAgain(long jobKey) {
+  public void attemptToMakeJobActivatableAgain(
+      TypedResponseWriter responseWriter, Consumer<SideEffectProducer> sideEffect, long jobKey) {
     final JobState jobState = zeebeState.getJobState();
     final JobRecord job = jobState.getJob(jobKey);
     if (job != null) {
       jobState.resolve(jobKey, job);
+
+      queue.clear();
+      queue.add(responseWriter::flush);
+      queue.add(jobsAvailableNotifier.notifyJobsAvailable(job.getType()));
+      sideEffect.accept(queue);
     }
   }
 }
@@ -18,21 +18,31 @@
 package io.zeebe.broker.job;
 
 import io.zeebe.broker.logstreams.processor.CommandProcessor;
+import io.zeebe.broker.logstreams.processor.SideEffectProducer;
 import io.zeebe.broker.logstreams.processor.TypedRecord;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.JobIntent;
+import java.util.function.Consumer;
 
 public class CreateProcessor implements CommandProcessor<JobRecord> {
 
   private final JobState state;
+  private final JobsAvailableNotifier jobsAvailableNotifier;
 
-  public CreateProcessor(JobState state) {
+  public CreateProcessor(JobState state, JobsAvailableNotifier jobsAvailableNotifier) {
     this.state = state;
+    this.jobsAvailableNotifier = jobsAvailableNotifier;
   }
 
   @Override
-  public void onCommand(TypedRecord<JobRecord> command, CommandControl<JobRecord> commandControl) {
-    final long key = commandControl.accept(JobIntent.CREATED, command.getValue());
-    state.create(key, command.getValue());
+  public void onCommand(
+      TypedRecord<JobRecord> command,
+      CommandControl<JobRecord> commandControl,
+      Consumer<SideEffectProducer> sideEffect) {
+    final JobRecord job = command.getValue();
+    final long key = commandControl.accept(JobIntent.CREATED, job);
+    state.create(key, job);
+
+    sideEffect.accept(jobsAvailableNotifier.notifyJobsAvailable(job.getType()));
   }
 }
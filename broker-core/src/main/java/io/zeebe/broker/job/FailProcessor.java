@@ -19,20 +19,27 @@ package io.zeebe.broker.job;
 
 import io.zeebe.broker.job.JobState.State;
 import io.zeebe.broker.logstreams.processor.CommandProcessor;
+import io.zeebe.broker.logstreams.processor.SideEffectProducer;
 import io.zeebe.broker.logstreams.processor.TypedRecord;
 import io.zeebe.protocol.clientapi.RejectionType;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.JobIntent;
+import java.util.function.Consumer;
 
 public class FailProcessor implements CommandProcessor<JobRecord> {
   private final JobState state;
+  private final JobsAvailableNotifier jobsAvailableNotifier;
 
-  public FailProcessor(JobState state) {
+  public FailProcessor(JobState state, JobsAvailableNotifier jobsAvailableNotifier) {
     this.state = state;
+    this.jobsAvailableNotifier = jobsAvailableNotifier;
   }
 
   @Override
-  public void onCommand(TypedRecord<JobRecord> command, CommandControl<JobRecord> commandControl) {
+  public void onCommand(
+      TypedRecord<JobRecord> command,
+      CommandControl<JobRecord> commandControl,
+      Consumer<SideEffectProducer> sideEffect) {
 
     final long key = command.getKey();
 
@@ -43,6 +50,10 @@ public class FailProcessor implements CommandProcessor<JobRecord> {
       state.fail(key, failedJob);
 
       commandControl.accept(JobIntent.FAILED, failedJob);
+
+      if (failedJob.getRetries() > 0) {
+        sideEffect.accept(jobsAvailableNotifier.notifyJobsAvailable(failedJob.getType()));
+      }
     } else {
       commandControl.reject(RejectionType.NOT_APPLICABLE, "Job is not currently activated");
     }
@@ -19,6 +19,7 @@ package io.zeebe.broker.job;
 
 import static io.zeebe.util.sched.clock.ActorClock.currentTimeMillis;
 
+import io.zeebe.broker.logstreams.processor.SideEffectProducer;
 import io.zeebe.broker.logstreams.processor.TypedRecord;
 import io.zeebe.broker.logstreams.processor.TypedRecordProcessor;
 import io.zeebe.broker.logstreams.processor.TypedResponseWriter;
@@ -26,30 +27,42 @@ import io.zeebe.broker.logstreams.processor.TypedStreamWriter;
 import io.zeebe.msgpack.value.LongValue;
 import io.zeebe.msgpack.value.ValueArray;
 import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.JobBatchIntent;
 import io.zeebe.protocol.intent.JobIntent;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import org.agrona.ExpandableArrayBuffer;
 
 public class JobBatchActivateProcessor implements TypedRecordProcessor<JobBatchRecord> {
 
   private final JobState state;
+  private final JobsAvailableNotifier jobsAvailableNotifier;
+  private final JobTimeoutTrigger jobTimeoutTrigger;
 
-  public JobBatchActivateProcessor(final JobState state) {
+  private final ExpandableArrayBuffer jobRecordBuffer = new ExpandableArrayBuffer();
+
+  public JobBatchActivateProcessor(
+      final JobState state,
+      final JobsAvailableNotifier jobsAvailableNotifier,
+      final JobTimeoutTrigger jobTimeoutTrigger) {
     this.state = state;
+    this.jobsAvailableNotifier = jobsAvailableNotifier;
+    this.jobTimeoutTrigger = jobTimeoutTrigger;
   }
 
   @Override
   public void processRecord(
       final TypedRecord<JobBatchRecord> record,
       final TypedResponseWriter responseWriter,
-      final TypedStreamWriter streamWriter) {
+      final TypedStreamWriter streamWriter,
+      final Consumer<SideEffectProducer> sideEffect) {
     final JobBatchRecord value = record.getValue();
     if (isValid(value)) {
-      activateJobs(record, responseWriter, streamWriter);
+      activateJobs(record, responseWriter, streamWriter, sideEffect);
     } else {
       rejectCommand(record, responseWriter, streamWriter);
     }
@@ -65,26 +78,44 @@ public class JobBatchActivateProcessor implements TypedRecordProcessor<JobBatchR
   private void activateJobs(
       final TypedRecord<JobBatchRecord> record,
       final TypedResponseWriter responseWriter,
-      final TypedStreamWriter streamWriter) {
+      final TypedStreamWriter streamWriter,
+      final Consumer<SideEffectProducer> sideEffect) {
     final JobBatchRecord value = record.getValue();
 
     final long jobBatchKey = streamWriter.getKeyGenerator().nextKey();
 
+    final long deadline = currentTimeMillis() + value.getTimeout();
     final AtomicInteger amount = new AtomicInteger(value.getAmount());
-    collectJobsToActivate(value, amount);
+    collectJobsToActivate(value, amount, deadline);
 
     // Collecting of jobs and update state and write ACTIVATED job events should be separate,
-    // since otherwise this will cause some problems (weird behavior) with the reusing of objects
-    //
-    // ArrayProperty.add will give always the same object - state.activate will
-    // set/use this object for writing the new job state
+    // since the state can't be modified while iterating over the activatable jobs
     activateJobs(streamWriter, value);
 
     streamWriter.appendFollowUpEvent(jobBatchKey, JobBatchIntent.ACTIVATED, value);
     responseWriter.writeEventOnCommand(jobBatchKey, JobBatchIntent.ACTIVATED, value, record);
+
+    final RecordMetadata metadata = record.getMetadata();
+    if (amount.get() < value.getAmount()) {
+      sideEffect.accept(
+          () -> {
+            jobTimeoutTrigger.scheduleTimeout(deadline);
+            return responseWriter.flush();
+          });
+
+    } else if (metadata.hasRequestMetadata()) {
+      // notify the client when jobs of this type are available, so it doesn't need to poll again
+      final int requestStreamId = metadata.getRequestStreamId();
+      sideEffect.accept(
+          () -> {
+            jobsAvailableNotifier.onNoJobsAvailable(value.getType(), requestStreamId);
+            return responseWriter.flush();
+          });
+    }
   }
 
-  private void collectJobsToActivate(JobBatchRecord value, AtomicInteger amount) {
+  private void collectJobsToActivate(
+      JobBatchRecord value, AtomicInteger amount, final long deadline) {
     final ValueArray<JobRecord> jobIterator = value.jobs();
     final ValueArray<LongValue> jobKeyIterator = value.jobKeys();
 
@@ -94,15 +125,16 @@ public class JobBatchActivateProcessor implements TypedRecordProcessor<JobBatchR
         (key, jobRecord) -> {
           final int remainingAmount = amount.decrementAndGet();
           if (remainingAmount >= 0) {
-            final long deadline = currentTimeMillis() + value.getTimeout();
             jobKeyIterator.add().setValue(key);
             final JobRecord arrayValueJob = jobIterator.add();
 
-            // clone job record to modify and add it
-            final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(jobRecord.getLength());
-            jobRecord.write(buffer, 0);
+            // the job record of the state is reused on the next iteration - copy it into the
+            // buffer which is reused too, since the array writes the added job before the next
+            // one is added
+            final int length = jobRecord.getLength();
+            jobRecord.write(jobRecordBuffer, 0);
 
-            arrayValueJob.wrap(buffer);
+            arrayValueJob.wrap(jobRecordBuffer, 0, length);
             arrayValueJob.setDeadline(deadline).setWorker(value.getWorker());
           }
 
@@ -114,18 +146,12 @@ public class JobBatchActivateProcessor implements TypedRecordProcessor<JobBatchR
     final Iterator<JobRecord> iterator = value.jobs().iterator();
     final Iterator<LongValue> keyIt = value.jobKeys().iterator();
     while (iterator.hasNext() && keyIt.hasNext()) {
-      final JobRecord next = iterator.next();
-      final LongValue next1 = keyIt.next();
-      final long key = next1.getValue();
-
-      final ExpandableArrayBuffer copy = new ExpandableArrayBuffer();
-      next.write(copy, 0);
-      final JobRecord jobRecord = new JobRecord();
-      jobRecord.wrap(copy, 0, next.getLength());
+      final JobRecord jobRecord = iterator.next();
+      final long key = keyIt.next().getValue();
 
       // update state and write follow up event for job record
       state.activate(key, jobRecord);
-      streamWriter.appendFollowUpEvent(key, JobIntent.ACTIVATED, next);
+      streamWriter.appendFollowUpEvent(key, JobIntent.ACTIVATED, jobRecord);
     }
   }
 
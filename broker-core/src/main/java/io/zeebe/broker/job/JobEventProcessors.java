@@ -28,22 +28,33 @@ import io.zeebe.protocol.intent.JobIntent;
 
 public class JobEventProcessors {
   public static void addJobProcessors(
-      TypedEventStreamProcessorBuilder typedEventStreamProcessorBuilder, ZeebeState zeebeState) {
+      TypedEventStreamProcessorBuilder typedEventStreamProcessorBuilder,
+      ZeebeState zeebeState,
+      JobsAvailableNotifier jobsAvailableNotifier) {
     final WorkflowState workflowState = zeebeState.getWorkflowState();
     final JobState jobState = zeebeState.getJobState();
 
+    final JobTimeoutTrigger jobTimeoutTrigger = new JobTimeoutTrigger(jobState);
+
     typedEventStreamProcessorBuilder
         .onEvent(ValueType.JOB, JobIntent.CREATED, new JobCreatedProcessor(workflowState))
         .onEvent(ValueType.JOB, JobIntent.COMPLETED, new JobCompletedEventProcessor(workflowState))
-        .onCommand(ValueType.JOB, JobIntent.CREATE, new CreateProcessor(jobState))
+        .onCommand(
+            ValueType.JOB, JobIntent.CREATE, new CreateProcessor(jobState, jobsAvailableNotifier))
         .onCommand(ValueType.JOB, JobIntent.COMPLETE, new CompleteProcessor(jobState))
-        .onCommand(ValueType.JOB, JobIntent.FAIL, new FailProcessor(jobState))
+        .onCommand(
+            ValueType.JOB, JobIntent.FAIL, new FailProcessor(jobState, jobsAvailableNotifier))
         .onEvent(ValueType.JOB, JobIntent.FAILED, new JobFailedProcessor())
-        .onCommand(ValueType.JOB, JobIntent.TIME_OUT, new TimeOutProcessor(jobState))
+        .onCommand(
+            ValueType.JOB,
+            JobIntent.TIME_OUT,
+            new TimeOutProcessor(jobState, jobsAvailableNotifier))
         .onCommand(ValueType.JOB, JobIntent.UPDATE_RETRIES, new UpdateRetriesProcessor(jobState))
         .onCommand(ValueType.JOB, JobIntent.CANCEL, new CancelProcessor(jobState))
         .onCommand(
-            ValueType.JOB_BATCH, JobBatchIntent.ACTIVATE, new JobBatchActivateProcessor(jobState))
-        .withListener(new JobTimeoutTrigger(jobState));
+            ValueType.JOB_BATCH,
+            JobBatchIntent.ACTIVATE,
+            new JobBatchActivateProcessor(jobState, jobsAvailableNotifier, jobTimeoutTrigger))
+        .withListener(jobTimeoutTrigger);
   }
 }
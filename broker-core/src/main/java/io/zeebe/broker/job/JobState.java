@@ -28,14 +28,16 @@ import io.zeebe.db.impl.DbNil;
 import io.zeebe.db.impl.DbString;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.util.EnsureUtil;
-import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.MutableLong;
 
 public class JobState {
 
   // key => job record value
   private final UnpackedObjectValue jobRecord;
+  // wraps the given record on updates, so that the record of the state is not replaced
+  private final UnpackedObjectValue updatedJobRecord = new UnpackedObjectValue();
   private final DbLong jobKey;
   private final ColumnFamily<DbLong, UnpackedObjectValue> jobsColumnFamily;
 
@@ -143,11 +145,11 @@ public class JobState {
 
     validateParameters(type, deadline);
 
+    final State newState = updatedValue.getRetries() > 0 ? State.ACTIVATABLE : State.FAILED;
+
     zeebeDb.batch(
         () -> {
           updateJobRecord(key, updatedValue);
-
-          final State newState = updatedValue.getRetries() > 0 ? State.ACTIVATABLE : State.FAILED;
           updateJobState(newState);
 
           if (newState == State.ACTIVATABLE) {
@@ -174,14 +176,22 @@ public class JobState {
         });
   }
 
-  public void forEachTimedOutEntry(
-      final long upperBound, final BiConsumer<Long, JobRecord> callback) {
+  /**
+   * Visits the activated jobs whose deadline is reached at the given timestamp, ordered by their
+   * deadline. The visitor can stop the iteration by returning false.
+   *
+   * @return the deadline of the first job which was not visited, or -1 if there is none
+   */
+  public long forEachTimedOutEntry(
+      final long upperBound, final BiFunction<Long, JobRecord, Boolean> callback) {
+    final MutableLong nextDeadline = new MutableLong(-1L);
 
     deadlinesColumnFamily.whileTrue(
         (compositeKey, zbNil) -> {
           final long deadline = compositeKey.getFirst().getValue();
-          final boolean isDue = deadline < upperBound;
-          if (isDue) {
+
+          boolean visited = false;
+          if (deadline <= upperBound) {
             final Long jobKey = compositeKey.getSecond().getValue();
             final JobRecord job = getJob(jobKey);
 
@@ -189,10 +199,16 @@ public class JobState {
               throw new IllegalStateException(
                   String.format("Expected to find job with key %d, but no job found", jobKey));
             }
-            callback.accept(jobKey, job);
+            visited = callback.apply(jobKey, job);
           }
-          return isDue;
+
+          if (!visited) {
+            nextDeadline.set(deadline);
+          }
+          return visited;
         });
+
+    return nextDeadline.get();
   }
 
   public boolean exists(long jobKey) {
@@ -257,8 +273,8 @@ public class JobState {
 
   private void updateJobRecord(long key, JobRecord updatedValue) {
     jobKey.wrapLong(key);
-    jobRecord.wrapObject(updatedValue);
-    jobsColumnFamily.put(jobKey, jobRecord);
+    updatedJobRecord.wrapObject(updatedValue);
+    jobsColumnFamily.put(jobKey, updatedJobRecord);
   }
 
   private void updateJobState(State newState) {
@@ -23,30 +23,80 @@ import io.zeebe.broker.logstreams.processor.StreamProcessorLifecycleAware;
 import io.zeebe.broker.logstreams.processor.TypedCommandWriter;
 import io.zeebe.broker.logstreams.processor.TypedStreamProcessor;
 import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ScheduledTimer;
 import java.time.Duration;
 
+/**
+ * Times out the activated jobs when their deadline is reached. Instead of scanning the deadlines
+ * periodically, only one timer is scheduled for the next deadline.
+ */
 public class JobTimeoutTrigger implements StreamProcessorLifecycleAware {
-  public static final Duration TIME_OUT_POLLING_INTERVAL = Duration.ofSeconds(30);
+  private static final long TIMER_RESOLUTION = Duration.ofMillis(100).toMillis();
+
+  // limits the size of the batch of TIME_OUT commands so that it fits into the write buffer
+  private static final int MAX_BATCH_LENGTH = 64 * 1024;
+
   private final JobState state;
 
-  private ScheduledTimer timer;
+  private ActorControl actor;
   private TypedCommandWriter writer;
 
+  private ScheduledTimer timer;
+  private long nextDeadline = -1L;
+
+  private int batchLength;
+
+  // the last job whose TIME_OUT command is written - the deadlines of the jobs up to this one are
+  // not removed before the commands are processed, so these jobs are skipped until then
+  private long lastWrittenDeadline = -1L;
+  private long lastWrittenKey = -1L;
+
+  private long resumeDeadline;
+  private long resumeKey;
+  private boolean hasUnprocessedCommands;
+
   public JobTimeoutTrigger(final JobState state) {
     this.state = state;
   }
 
+  public void scheduleTimeout(final long deadline) {
+    // We schedule only one runnable for all deadlines (like the timers of a workflow).
+    // - If a job has an earlier deadline than the scheduled runnable then the runnable is
+    // canceled and re-scheduled.
+    // - Otherwise, the runnable is re-scheduled with the next deadline when it is executed.
+    // Completed or failed jobs don't cancel the runnable - if their deadline was the next one then
+    // the runnable doesn't find a timed out job and is re-scheduled.
+
+    if (timer == null) {
+      schedule(deadline);
+
+    } else if (nextDeadline - deadline > TIMER_RESOLUTION) {
+      timer.cancel();
+      schedule(deadline);
+    }
+  }
+
+  private void schedule(final long deadline) {
+    final Duration delay = Duration.ofMillis(Math.max(0, deadline - currentTimeMillis()));
+    timer = actor.runDelayed(delay, this::deactivateTimedOutJobs);
+    nextDeadline = deadline;
+  }
+
   @Override
-  public void onRecovered(final TypedStreamProcessor streamProcessor) {
-    timer =
-        streamProcessor
-            .getActor()
-            .runAtFixedRate(TIME_OUT_POLLING_INTERVAL, this::deactivateTimedOutJobs);
+  public void onOpen(final TypedStreamProcessor streamProcessor) {
+    actor = streamProcessor.getActor();
     writer = streamProcessor.getEnvironment().buildCommandWriter();
   }
 
+  @Override
+  public void onRecovered(final TypedStreamProcessor streamProcessor) {
+    // check if jobs are timed out after restart and schedule the next deadline
+    deactivateTimedOutJobs();
+  }
+
   @Override
   public void onClose() {
     if (timer != null) {
@@ -57,14 +107,59 @@ public class JobTimeoutTrigger implements StreamProcessorLifecycleAware {
 
   private void deactivateTimedOutJobs() {
     final long now = currentTimeMillis();
-    state.forEachTimedOutEntry(
-        now,
-        (key, record) -> {
-          writer.appendFollowUpCommand(
-              key, JobIntent.TIME_OUT, record, (m) -> m.valueType(ValueType.JOB));
-          writer.flush();
-          // we don't have to check for write errors as the job will then be picked up again
-          // on the next iteration of this timer
-        });
+
+    batchLength = 0;
+    resumeDeadline = lastWrittenDeadline;
+    resumeKey = lastWrittenKey;
+    hasUnprocessedCommands = false;
+
+    final long nextDeadline = state.forEachTimedOutEntry(now, this::appendTimeOutCommand);
+
+    boolean written = true;
+    if (batchLength > 0) {
+      written = writer.flush() > 0;
+
+      if (!written) {
+        // the jobs are picked up again on the next run
+        writer.reset();
+        lastWrittenDeadline = resumeDeadline;
+        lastWrittenKey = resumeKey;
+      }
+    } else if (!hasUnprocessedCommands) {
+      // all written commands are processed
+      lastWrittenDeadline = -1L;
+      lastWrittenKey = -1L;
+    }
+
+    timer = null;
+    if (!written || (nextDeadline > 0 && nextDeadline <= now)) {
+      // the write buffer is full or the batch is limited - try again shortly
+      schedule(now + TIMER_RESOLUTION);
+
+    } else if (nextDeadline > 0) {
+      schedule(nextDeadline);
+    }
+  }
+
+  private boolean appendTimeOutCommand(final long key, final JobRecord record) {
+    final long deadline = record.getDeadline();
+    if (deadline < resumeDeadline || (deadline == resumeDeadline && key <= resumeKey)) {
+      // the command is already written but not processed yet
+      hasUnprocessedCommands = true;
+      return true;
+    }
+
+    final int length = record.getLength();
+    if (batchLength > 0 && batchLength + length > MAX_BATCH_LENGTH) {
+      return false;
+    }
+
+    writer.appendFollowUpCommand(
+        key, JobIntent.TIME_OUT, record, (m) -> m.valueType(ValueType.JOB));
+    batchLength += length;
+    lastWrittenDeadline = deadline;
+    lastWrittenKey = key;
+
+    return true;
   }
 }
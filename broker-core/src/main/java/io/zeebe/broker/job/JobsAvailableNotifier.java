@@ -0,0 +1,89 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.job;
+
+import io.zeebe.broker.logstreams.processor.SideEffectProducer;
+import io.zeebe.broker.transport.clientapi.JobsAvailableNotificationWriter;
+import io.zeebe.transport.ServerOutput;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.HashMap;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.IntHashSet;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Remembers the clients (i.e. the request streams of the gateways) which tried to activate jobs of
+ * a type without getting any and notifies them once when jobs of this type become activatable
+ * again. The clients can wait for the notification instead of polling the partition continuously.
+ *
+ * <p>The registrations are not part of the state. They are lost on restart or leader change which
+ * is fine since the clients only wait until their request times out.
+ */
+public class JobsAvailableNotifier {
+
+  private final Map<DirectBuffer, IntHashSet> waitingStreamsByType = new HashMap<>();
+  private final UnsafeBuffer typeView = new UnsafeBuffer(0, 0);
+
+  private final JobsAvailableNotificationWriter notificationWriter;
+
+  public JobsAvailableNotifier(final ServerOutput output, final int partitionId) {
+    this.notificationWriter = new JobsAvailableNotificationWriter(output).partitionId(partitionId);
+  }
+
+  public void onNoJobsAvailable(final DirectBuffer type, final int requestStreamId) {
+    typeView.wrap(type);
+
+    IntHashSet waitingStreams = waitingStreamsByType.get(typeView);
+    if (waitingStreams == null) {
+      waitingStreams = new IntHashSet();
+      waitingStreamsByType.put(BufferUtil.cloneBuffer(typeView), waitingStreams);
+    }
+    waitingStreams.add(requestStreamId);
+  }
+
+  /**
+   * @return a side effect which notifies the clients waiting for jobs of the given type - the
+   *     notification is sent only after the job is activatable and not on reprocessing
+   */
+  public SideEffectProducer notifyJobsAvailable(final DirectBuffer type) {
+    return () -> {
+      onJobsAvailable(type);
+      return true;
+    };
+  }
+
+  public void onJobsAvailable(final DirectBuffer type) {
+    if (waitingStreamsByType.isEmpty()) {
+      return;
+    }
+
+    typeView.wrap(type);
+
+    final IntHashSet waitingStreams = waitingStreamsByType.remove(typeView);
+    if (waitingStreams != null) {
+      notificationWriter.jobType(type);
+
+      final IntHashSet.IntIterator iterator = waitingStreams.iterator();
+      while (iterator.hasNext()) {
+        // the notification is only a hint - the client retries anyway when its request times out
+        notificationWriter.tryWriteMessage(iterator.nextValue());
+      }
+    }
+  }
+}
@@ -19,24 +19,34 @@ package io.zeebe.broker.job;
 
 import io.zeebe.broker.job.JobState.State;
 import io.zeebe.broker.logstreams.processor.CommandProcessor;
+import io.zeebe.broker.logstreams.processor.SideEffectProducer;
 import io.zeebe.broker.logstreams.processor.TypedRecord;
 import io.zeebe.protocol.clientapi.RejectionType;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.JobIntent;
+import java.util.function.Consumer;
 
 public class TimeOutProcessor implements CommandProcessor<JobRecord> {
 
   private final JobState state;
+  private final JobsAvailableNotifier jobsAvailableNotifier;
 
-  public TimeOutProcessor(JobState state) {
+  public TimeOutProcessor(JobState state, JobsAvailableNotifier jobsAvailableNotifier) {
     this.state = state;
+    this.jobsAvailableNotifier = jobsAvailableNotifier;
   }
 
   @Override
-  public void onCommand(TypedRecord<JobRecord> command, CommandControl<JobRecord> commandControl) {
+  public void onCommand(
+      TypedRecord<JobRecord> command,
+      CommandControl<JobRecord> commandControl,
+      Consumer<SideEffectProducer> sideEffect) {
     if (state.isInState(command.getKey(), State.ACTIVATED)) {
-      state.timeout(command.getKey(), command.getValue());
-      commandControl.accept(JobIntent.TIMED_OUT, command.getValue());
+      final JobRecord job = command.getValue();
+      state.timeout(command.getKey(), job);
+      commandControl.accept(JobIntent.TIMED_OUT, job);
+
+      sideEffect.accept(jobsAvailableNotifier.notifyJobsAvailable(job.getType()));
     } else {
       commandControl.reject(RejectionType.NOT_APPLICABLE, "Job not activated");
     }
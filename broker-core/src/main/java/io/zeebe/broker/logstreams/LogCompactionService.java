@@ -0,0 +1,181 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.logstreams;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.broker.clustering.base.partitions.Partition;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.state.StateSnapshotMetadata;
+import io.zeebe.logstreams.state.StateStorage;
+import io.zeebe.servicecontainer.Service;
+import io.zeebe.servicecontainer.ServiceGroupReference;
+import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.servicecontainer.ServiceStopContext;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorPriority;
+import io.zeebe.util.sched.SchedulingHints;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.slf4j.Logger;
+
+/**
+ * Deletes periodically the events of the leader and follower partitions which are not needed
+ * anymore. An event can be deleted if it is committed, all stream processors have a snapshot which
+ * contains its state changes and all other consumers of the log (e.g. exporters) have read it. A
+ * follower has no other consumers, its log is compacted up to the snapshots which it has installed.
+ */
+public class LogCompactionService extends Actor implements Service<LogCompactionService> {
+  private static final Logger LOG = Loggers.SERVICES_LOGGER;
+
+  private static final long NO_POSITION = -1L;
+
+  private final Int2ObjectHashMap<Partition> leaderPartitions = new Int2ObjectHashMap<>();
+  private final Int2ObjectHashMap<Partition> followerPartitions = new Int2ObjectHashMap<>();
+
+  private final ServiceGroupReference<Partition> leaderPartitionsGroupReference =
+      ServiceGroupReference.<Partition>create()
+          .onAdd((s, p) -> addPartition(leaderPartitions, p))
+          .onRemove((s, p) -> removePartition(leaderPartitions, p))
+          .build();
+
+  private final ServiceGroupReference<Partition> followerPartitionsGroupReference =
+      ServiceGroupReference.<Partition>create()
+          .onAdd((s, p) -> addPartition(followerPartitions, p))
+          .onRemove((s, p) -> removePartition(followerPartitions, p))
+          .build();
+
+  private final Duration compactionPeriod;
+
+  public LogCompactionService(final Duration compactionPeriod) {
+    this.compactionPeriod = compactionPeriod;
+  }
+
+  @Override
+  public void start(final ServiceStartContext startContext) {
+    startContext.async(
+        startContext.getScheduler().submitActor(this, true, SchedulingHints.ioBound()));
+  }
+
+  @Override
+  public void stop(final ServiceStopContext stopContext) {
+    stopContext.async(actor.close());
+  }
+
+  @Override
+  public String getName() {
+    return "log-compaction";
+  }
+
+  @Override
+  protected void onActorStarting() {
+    actor.setPriority(ActorPriority.LOW);
+  }
+
+  @Override
+  protected void onActorStarted() {
+    actor.runAtFixedRate(compactionPeriod, this::compactLogs);
+  }
+
+  private void compactLogs() {
+    compactLogs(leaderPartitions);
+    compactLogs(followerPartitions);
+  }
+
+  private void compactLogs(final Int2ObjectHashMap<Partition> partitions) {
+    for (final Partition partition : partitions.values()) {
+      try {
+        compactLog(partition);
+      } catch (final Exception e) {
+        LOG.error(
+            "Failed to compact the log of partition {}", partition.getInfo().getPartitionId(), e);
+      }
+    }
+  }
+
+  private void compactLog(final Partition partition) {
+    final LogStream logStream = partition.getLogStream();
+    final long commitPosition = logStream.getCommitPosition();
+
+    long position = commitPosition;
+    position = Math.min(position, getLowestSnapshotPosition(partition, commitPosition));
+
+    for (final LongSupplier retainedPositionSupplier : partition.getRetainedPositionSuppliers()) {
+      position = Math.min(position, retainedPositionSupplier.getAsLong());
+    }
+
+    if (position > 0) {
+      final long deletedBytes = logStream.delete(position);
+
+      if (deletedBytes > 0) {
+        LOG.debug(
+            "Compacted the log of partition {} up to position {}, deleted {} bytes",
+            partition.getInfo().getPartitionId(),
+            position,
+            deletedBytes);
+      }
+    }
+  }
+
+  private long getLowestSnapshotPosition(final Partition partition, final long commitPosition) {
+    final List<StateStorage> stateStorages = partition.getStateStorageFactory().list();
+    if (stateStorages.isEmpty()) {
+      return NO_POSITION;
+    }
+
+    long lowestPosition = Long.MAX_VALUE;
+
+    for (final StateStorage stateStorage : stateStorages) {
+      // the stream processor recovers from the latest snapshot and reprocesses the following
+      // events - without a snapshot, it needs the whole log
+      long snapshotPosition = NO_POSITION;
+      for (final StateSnapshotMetadata snapshot : stateStorage.listRecoverable(commitPosition)) {
+        snapshotPosition =
+            Math.max(snapshotPosition, snapshot.getLastSuccessfulProcessedEventPosition());
+      }
+
+      lowestPosition = Math.min(lowestPosition, snapshotPosition);
+    }
+
+    return lowestPosition;
+  }
+
+  @Override
+  public LogCompactionService get() {
+    return this;
+  }
+
+  private void addPartition(
+      final Int2ObjectHashMap<Partition> partitions, final Partition partition) {
+    actor.submit(() -> partitions.put(partition.getInfo().getPartitionId(), partition));
+  }
+
+  private void removePartition(
+      final Int2ObjectHashMap<Partition> partitions, final Partition partition) {
+    actor.submit(() -> partitions.remove(partition.getInfo().getPartitionId()));
+  }
+
+  public ServiceGroupReference<Partition> getLeaderPartitionsGroupReference() {
+    return leaderPartitionsGroupReference;
+  }
+
+  public ServiceGroupReference<Partition> getFollowerPartitionsGroupReference() {
+    return followerPartitionsGroupReference;
+  }
+}
@@ -34,4 +34,7 @@ public class LogStreamServiceNames {
 
   public static final ServiceName<ZbStreamProcessorService> ZB_STREAM_PROCESSOR_SERVICE_NAME =
       ServiceName.newServiceName("logstreams.processor", ZbStreamProcessorService.class);
+
+  public static final ServiceName<LogCompactionService> LOG_COMPACTION_SERVICE_NAME =
+      ServiceName.newServiceName("logstreams.compaction", LogCompactionService.class);
 }
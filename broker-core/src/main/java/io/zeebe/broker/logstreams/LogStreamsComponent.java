@@ -17,8 +17,10 @@
  */
 package io.zeebe.broker.logstreams;
 
+import static io.zeebe.broker.clustering.base.ClusterBaseLayerServiceNames.FOLLOWER_PARTITION_GROUP_NAME;
 import static io.zeebe.broker.clustering.base.ClusterBaseLayerServiceNames.LEADER_PARTITION_GROUP_NAME;
 import static io.zeebe.broker.clustering.base.ClusterBaseLayerServiceNames.TOPOLOGY_MANAGER_SERVICE;
+import static io.zeebe.broker.logstreams.LogStreamServiceNames.LOG_COMPACTION_SERVICE_NAME;
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.STREAM_PROCESSOR_SERVICE_FACTORY;
 import static io.zeebe.broker.logstreams.LogStreamServiceNames.ZB_STREAM_PROCESSOR_SERVICE_NAME;
 import static io.zeebe.broker.transport.TransportServiceNames.CLIENT_API_SERVER_NAME;
@@ -31,6 +33,7 @@ import io.zeebe.broker.logstreams.processor.StreamProcessorServiceFactory;
 import io.zeebe.broker.system.Component;
 import io.zeebe.broker.system.SystemContext;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.broker.transport.TransportServiceNames;
 import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.util.DurationUtil;
@@ -45,19 +48,24 @@ public class LogStreamsComponent implements Component {
 
     final Duration snapshotPeriod =
         DurationUtil.parse(brokerConfiguration.getData().getSnapshotPeriod());
+    final int processingBatchSize = brokerConfiguration.getData().getProcessingBatchSize();
     final StreamProcessorServiceFactory streamProcessorFactory =
-        new StreamProcessorServiceFactory(serviceContainer, snapshotPeriod);
+        new StreamProcessorServiceFactory(serviceContainer, snapshotPeriod, processingBatchSize);
     serviceContainer
         .createService(STREAM_PROCESSOR_SERVICE_FACTORY, streamProcessorFactory)
         .install();
 
     final ZbStreamProcessorService streamProcessorService =
-        new ZbStreamProcessorService(brokerConfiguration.getCluster());
+        new ZbStreamProcessorService(
+            brokerConfiguration.getCluster(), brokerConfiguration.getData());
     serviceContainer
         .createService(ZB_STREAM_PROCESSOR_SERVICE_NAME, streamProcessorService)
         .dependency(
             serverTransport(CLIENT_API_SERVER_NAME),
             streamProcessorService.getClientApiTransportInjector())
+        .dependency(
+            TransportServiceNames.CLIENT_API_MESSAGE_HANDLER,
+            streamProcessorService.getClientApiMessageHandlerInjector())
         .dependency(
             TransportServiceNames.CONTROL_MESSAGE_HANDLER_MANAGER,
             streamProcessorService.getControlMessageHandlerManagerServiceInjector())
@@ -74,5 +82,17 @@ public class LogStreamsComponent implements Component {
         .groupReference(
             LEADER_PARTITION_GROUP_NAME, streamProcessorService.getPartitionsGroupReference())
         .install();
+
+    final DataCfg dataCfg = brokerConfiguration.getData();
+    final LogCompactionService logCompactionService =
+        new LogCompactionService(DurationUtil.parse(dataCfg.getCompactionPeriod()));
+    serviceContainer
+        .createService(LOG_COMPACTION_SERVICE_NAME, logCompactionService)
+        .groupReference(
+            LEADER_PARTITION_GROUP_NAME, logCompactionService.getLeaderPartitionsGroupReference())
+        .groupReference(
+            FOLLOWER_PARTITION_GROUP_NAME,
+            logCompactionService.getFollowerPartitionsGroupReference())
+        .install();
   }
 }
@@ -21,6 +21,7 @@ import io.zeebe.broker.clustering.base.partitions.Partition;
 import io.zeebe.broker.clustering.base.topology.TopologyManager;
 import io.zeebe.broker.incident.processor.IncidentEventProcessors;
 import io.zeebe.broker.job.JobEventProcessors;
+import io.zeebe.broker.job.JobsAvailableNotifier;
 import io.zeebe.broker.logstreams.processor.StreamProcessorServiceFactory;
 import io.zeebe.broker.logstreams.processor.StreamProcessorServiceFactory.Builder;
 import io.zeebe.broker.logstreams.processor.TypedEventStreamProcessorBuilder;
@@ -31,6 +32,9 @@ import io.zeebe.broker.logstreams.state.ZeebeState;
 import io.zeebe.broker.subscription.command.SubscriptionCommandSender;
 import io.zeebe.broker.subscription.message.processor.MessageEventProcessors;
 import io.zeebe.broker.system.configuration.ClusterCfg;
+import io.zeebe.broker.system.configuration.DataCfg;
+import io.zeebe.broker.transport.clientapi.ClientApiMessageHandler;
+import io.zeebe.broker.transport.clientapi.CommandBatchResponseOutput;
 import io.zeebe.broker.transport.controlmessage.ControlMessageHandlerManager;
 import io.zeebe.broker.workflow.deployment.distribute.processor.DeploymentCreatedProcessor;
 import io.zeebe.broker.workflow.deployment.distribute.processor.DeploymentDistributeProcessor;
@@ -60,6 +64,8 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
   public static final String PROCESSOR_NAME = "zb-stream-processor";
 
   private final Injector<ServerTransport> clientApiTransportInjector = new Injector<>();
+  private final Injector<ClientApiMessageHandler> clientApiMessageHandlerInjector =
+      new Injector<>();
   private final Injector<ClientTransport> managementApiClientInjector = new Injector<>();
   private final Injector<ClientTransport> subscriptionApiClientInjector = new Injector<>();
   private final Injector<TopologyManager> topologyManagerInjector = new Injector<>();
@@ -74,14 +80,17 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
           .build();
 
   private final ClusterCfg clusterCfg;
+  private final DataCfg dataCfg;
   private ControlMessageHandlerManager controlMessageHandlerManager;
 
-  public ZbStreamProcessorService(final ClusterCfg clusterCfg) {
+  public ZbStreamProcessorService(final ClusterCfg clusterCfg, final DataCfg dataCfg) {
     this.clusterCfg = clusterCfg;
+    this.dataCfg = dataCfg;
   }
 
   private StreamProcessorServiceFactory streamProcessorServiceFactory;
   private ServerTransport clientApiTransport;
+  private ClientApiMessageHandler clientApiMessageHandler;
   private TopologyManager topologyManager;
   private ServiceStartContext startContext;
   private ClientTransport managementApi;
@@ -91,6 +100,7 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
     this.startContext = serviceContext;
     this.managementApi = managementApiClientInjector.getValue();
     this.clientApiTransport = clientApiTransportInjector.getValue();
+    this.clientApiMessageHandler = clientApiMessageHandlerInjector.getValue();
     this.streamProcessorServiceFactory = streamProcessorServiceFactoryInjector.getValue();
     this.topologyManager = topologyManagerInjector.getValue();
     controlMessageHandlerManager = controlMessageHandlerManagerServiceInjector.getValue();
@@ -115,10 +125,16 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
         .snapshotController(stateSnapshotController)
         .streamProcessorFactory(
             (zeebeDb) -> {
-              final ZeebeState zeebeState = new ZeebeState(partitionId, zeebeDb);
+              final ZeebeState zeebeState =
+                  new ZeebeState(partitionId, zeebeDb, dataCfg.getWorkflowCacheCapacity());
               final TypedStreamEnvironment streamEnvironment =
                   new TypedStreamEnvironment(
-                      partition.getLogStream(), clientApiTransport.getOutput());
+                      partition.getLogStream(),
+                      new CommandBatchResponseOutput(
+                          clientApiTransport.getOutput(),
+                          clientApiMessageHandler.getPendingCommandBatches(),
+                          partitionId),
+                      clientApiMessageHandler.getRequestLimiter());
 
               return createTypedStreamProcessor(
                   partitionServiceName, partitionId, streamEnvironment, zeebeState);
@@ -139,8 +155,10 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
         addWorkflowProcessors(zeebeState, typedProcessorBuilder);
     addDeploymentRelatedProcessorAndServices(
         partitionServiceName, partitionId, zeebeState, typedProcessorBuilder);
-    addIncidentProcessors(zeebeState, stepProcessor, typedProcessorBuilder);
-    addJobProcessors(zeebeState, typedProcessorBuilder);
+    final JobsAvailableNotifier jobsAvailableNotifier =
+        new JobsAvailableNotifier(streamEnvironment.getOutput(), partitionId);
+    addIncidentProcessors(zeebeState, stepProcessor, jobsAvailableNotifier, typedProcessorBuilder);
+    addJobProcessors(zeebeState, jobsAvailableNotifier, typedProcessorBuilder);
     addMessageProcessors(zeebeState, typedProcessorBuilder);
 
     return typedProcessorBuilder.build();
@@ -204,13 +222,17 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
   private void addIncidentProcessors(
       ZeebeState zeebeState,
       BpmnStepProcessor stepProcessor,
+      JobsAvailableNotifier jobsAvailableNotifier,
       TypedEventStreamProcessorBuilder typedProcessorBuilder) {
-    IncidentEventProcessors.addProcessors(typedProcessorBuilder, zeebeState, stepProcessor);
+    IncidentEventProcessors.addProcessors(
+        typedProcessorBuilder, zeebeState, stepProcessor, jobsAvailableNotifier);
   }
 
   private void addJobProcessors(
-      ZeebeState zeebeState, TypedEventStreamProcessorBuilder typedProcessorBuilder) {
-    JobEventProcessors.addJobProcessors(typedProcessorBuilder, zeebeState);
+      ZeebeState zeebeState,
+      JobsAvailableNotifier jobsAvailableNotifier,
+      TypedEventStreamProcessorBuilder typedProcessorBuilder) {
+    JobEventProcessors.addJobProcessors(typedProcessorBuilder, zeebeState, jobsAvailableNotifier);
   }
 
   private void addMessageProcessors(
@@ -230,6 +252,10 @@ public class ZbStreamProcessorService implements Service<ZbStreamProcessorServic
     return clientApiTransportInjector;
   }
 
+  public Injector<ClientApiMessageHandler> getClientApiMessageHandlerInjector() {
+    return clientApiMessageHandlerInjector;
+  }
+
   public ServiceGroupReference<Partition> getPartitionsGroupReference() {
     return partitionsGroupReference;
   }
@@ -20,6 +20,7 @@ package io.zeebe.broker.logstreams.processor;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.clientapi.RejectionType;
 import io.zeebe.protocol.intent.Intent;
+import java.util.function.Consumer;
 
 /**
  * High-level record processor abstraction that implements the common behavior of most
@@ -27,7 +28,18 @@ import io.zeebe.protocol.intent.Intent;
  */
 public interface CommandProcessor<T extends UnpackedObject> {
 
-  void onCommand(TypedRecord<T> command, CommandControl<T> commandControl);
+  default void onCommand(TypedRecord<T> command, CommandControl<T> commandControl) {}
+
+  /**
+   * @param sideEffect consumer to add side effects which are executed after the response is sent,
+   *     e.g. to notify other components. They are not executed on reprocessing.
+   */
+  default void onCommand(
+      TypedRecord<T> command,
+      CommandControl<T> commandControl,
+      Consumer<SideEffectProducer> sideEffect) {
+    onCommand(command, commandControl);
+  }
 
   interface CommandControl<T> {
     /** @return the key of the entity */
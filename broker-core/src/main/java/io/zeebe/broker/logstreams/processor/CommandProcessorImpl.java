@@ -18,14 +18,17 @@
 package io.zeebe.broker.logstreams.processor;
 
 import io.zeebe.broker.logstreams.processor.CommandProcessor.CommandControl;
+import io.zeebe.broker.workflow.processor.SideEffectQueue;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.clientapi.RejectionType;
 import io.zeebe.protocol.intent.Intent;
+import java.util.function.Consumer;
 
 public class CommandProcessorImpl<T extends UnpackedObject>
     implements TypedRecordProcessor<T>, CommandControl<T> {
 
   private final CommandProcessor<T> wrappedProcessor;
+  private final SideEffectQueue sideEffects = new SideEffectQueue();
 
   private KeyGenerator keyGenerator;
 
@@ -51,11 +54,15 @@ public class CommandProcessorImpl<T extends UnpackedObject>
   public void processRecord(
       final TypedRecord<T> command,
       final TypedResponseWriter responseWriter,
-      final TypedStreamWriter streamWriter) {
+      final TypedStreamWriter streamWriter,
+      final Consumer<SideEffectProducer> sideEffect) {
 
     entityKey = command.getKey();
 
-    wrappedProcessor.onCommand(command, this);
+    sideEffects.clear();
+    sideEffects.add(responseWriter::flush);
+
+    wrappedProcessor.onCommand(command, this, sideEffects::add);
 
     final boolean respond = command.getMetadata().hasRequestMetadata();
 
@@ -70,6 +77,8 @@ public class CommandProcessorImpl<T extends UnpackedObject>
         responseWriter.writeRejectionOnCommand(command, rejectionType, rejectionReason);
       }
     }
+
+    sideEffect.accept(sideEffects);
   }
 
   @Override
@@ -42,11 +42,14 @@ import java.util.List;
 public class StreamProcessorServiceFactory implements Service<StreamProcessorServiceFactory> {
   private final ServiceContainer serviceContainer;
   private final Duration snapshotPeriod;
+  private final int processingBatchSize;
   private ActorScheduler actorScheduler;
 
-  public StreamProcessorServiceFactory(ServiceContainer serviceContainer, Duration snapshotPeriod) {
+  public StreamProcessorServiceFactory(
+      ServiceContainer serviceContainer, Duration snapshotPeriod, int processingBatchSize) {
     this.serviceContainer = serviceContainer;
     this.snapshotPeriod = snapshotPeriod;
+    this.processingBatchSize = processingBatchSize;
   }
 
   @Override
@@ -122,6 +125,7 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
           .serviceContainer(serviceContainer)
           .snapshotController(snapshotController)
           .snapshotPeriod(snapshotPeriod)
+          .processingBatchSize(processingBatchSize)
           .logStream(logStream)
           .eventFilter(eventFilter)
           .readOnly(readOnly)
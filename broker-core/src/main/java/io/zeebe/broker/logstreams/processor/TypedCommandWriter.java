@@ -34,4 +34,7 @@ public interface TypedCommandWriter {
 
   /** @return position of new record, negative value on failure */
   long flush();
+
+  /** Discards the records which are appended but not flushed yet. */
+  void reset();
 }
@@ -17,6 +17,7 @@
  */
 package io.zeebe.broker.logstreams.processor;
 
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
 import io.zeebe.broker.transport.clientapi.CommandResponseWriter;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.clientapi.RecordType;
@@ -31,6 +32,7 @@ import org.agrona.concurrent.UnsafeBuffer;
 public class TypedResponseWriterImpl implements TypedResponseWriter, SideEffectProducer {
 
   protected CommandResponseWriter writer;
+  private final PartitionAwareRequestLimiter requestLimiter;
   private long requestId;
   private int requestStreamId;
 
@@ -40,7 +42,13 @@ public class TypedResponseWriterImpl implements TypedResponseWriter, SideEffectP
   private final UnsafeBuffer stringWrapper = new UnsafeBuffer(0, 0);
 
   public TypedResponseWriterImpl(ServerOutput output, int partitionId) {
+    this(output, PartitionAwareRequestLimiter.newNoopLimiter(), partitionId);
+  }
+
+  public TypedResponseWriterImpl(
+      ServerOutput output, PartitionAwareRequestLimiter requestLimiter, int partitionId) {
     this.writer = new CommandResponseWriter(output);
+    this.requestLimiter = requestLimiter;
     this.partitionId = partitionId;
   }
 
@@ -146,7 +154,12 @@ public class TypedResponseWriterImpl implements TypedResponseWriter, SideEffectP
 
   public boolean flush() {
     if (isResponseStaged) {
-      return writer.tryWriteResponse(requestStreamId, requestId);
+      final boolean isWritten = writer.tryWriteResponse(requestStreamId, requestId);
+      if (isWritten) {
+        // the command is answered and does not count against the in-flight limit anymore
+        requestLimiter.onResponse(partitionId, requestStreamId, requestId);
+      }
+      return isWritten;
     } else {
       return true;
     }
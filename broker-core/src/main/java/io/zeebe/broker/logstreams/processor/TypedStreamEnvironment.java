@@ -20,6 +20,7 @@ package io.zeebe.broker.logstreams.processor;
 import io.zeebe.broker.exporter.stream.ExporterRecord;
 import io.zeebe.broker.subscription.message.data.MessageSubscriptionRecord;
 import io.zeebe.broker.subscription.message.data.WorkflowInstanceSubscriptionRecord;
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
 import io.zeebe.broker.workflow.data.TimerRecord;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.msgpack.UnpackedObject;
@@ -36,6 +37,7 @@ import java.util.EnumMap;
 public class TypedStreamEnvironment {
   protected final ServerOutput output;
   protected final LogStream stream;
+  protected final PartitionAwareRequestLimiter requestLimiter;
   protected static final EnumMap<ValueType, Class<? extends UnpackedObject>> EVENT_REGISTRY =
       new EnumMap<>(ValueType.class);
 
@@ -56,8 +58,16 @@ public class TypedStreamEnvironment {
   private TypedStreamReader reader;
 
   public TypedStreamEnvironment(final LogStream stream, final ServerOutput output) {
+    this(stream, output, PartitionAwareRequestLimiter.newNoopLimiter());
+  }
+
+  public TypedStreamEnvironment(
+      final LogStream stream,
+      final ServerOutput output,
+      final PartitionAwareRequestLimiter requestLimiter) {
     this.output = output;
     this.stream = stream;
+    this.requestLimiter = requestLimiter;
   }
 
   public EnumMap<ValueType, Class<? extends UnpackedObject>> getEventRegistry() {
@@ -68,6 +78,10 @@ public class TypedStreamEnvironment {
     return output;
   }
 
+  public PartitionAwareRequestLimiter getRequestLimiter() {
+    return requestLimiter;
+  }
+
   public LogStream getStream() {
     return stream;
   }
@@ -17,6 +17,7 @@
  */
 package io.zeebe.broker.logstreams.processor;
 
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LoggedEvent;
@@ -77,7 +78,12 @@ public class TypedStreamProcessor implements StreamProcessor {
   public void onOpen(final StreamProcessorContext context) {
     this.eventProcessorWrapper =
         new DelegatingEventProcessor(
-            context.getId(), output, context.getLogStream(), eventRegistry, keyGenerator);
+            context.getId(),
+            output,
+            environment.getRequestLimiter(),
+            context.getLogStream(),
+            eventRegistry,
+            keyGenerator);
 
     this.actor = context.getActorControl();
     this.streamProcessorContext = context;
@@ -137,13 +143,15 @@ public class TypedStreamProcessor implements StreamProcessor {
     public DelegatingEventProcessor(
         final int streamProcessorId,
         final ServerOutput output,
+        final PartitionAwareRequestLimiter requestLimiter,
         final LogStream logStream,
         final EnumMap<ValueType, Class<? extends UnpackedObject>> eventRegistry,
         final KeyGenerator keyGenerator) {
       this.streamProcessorId = streamProcessorId;
       this.logStream = logStream;
       this.writer = new TypedStreamWriterImpl(logStream, eventRegistry, keyGenerator);
-      this.responseWriter = new TypedResponseWriterImpl(output, logStream.getPartitionId());
+      this.responseWriter =
+          new TypedResponseWriterImpl(output, requestLimiter, logStream.getPartitionId());
     }
 
     public void wrap(
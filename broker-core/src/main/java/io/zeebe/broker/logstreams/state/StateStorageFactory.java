@@ -20,16 +20,17 @@ package io.zeebe.broker.logstreams.state;
 import io.zeebe.logstreams.processor.StreamProcessorContext;
 import io.zeebe.logstreams.state.StateStorage;
 import java.io.File;
+import java.util.List;
 
 /**
  * This class may eventually be superseded by a more accurate StateStorage class local to the broker
- * core module if it ever needs more functionality than strictly creating stream processor specific
- * storage classes (e.g. listing all of them for regular maintenance jobs). If you find yourself
- * adding such functionality consider refactoring the whole thing.
+ * core module if it ever needs more functionality than strictly creating and listing stream
+ * processor specific storage classes. If you find yourself adding such functionality consider
+ * refactoring the whole thing.
  */
 public class StateStorageFactory {
-  public static final String DEFAULT_RUNTIME_PATH = "runtime";
-  public static final String DEFAULT_SNAPSHOTS_PATH = "snapshots";
+  public static final String DEFAULT_RUNTIME_PATH = StateStorage.DEFAULT_RUNTIME_DIRECTORY;
+  public static final String DEFAULT_SNAPSHOTS_PATH = StateStorage.DEFAULT_SNAPSHOTS_DIRECTORY;
 
   private final File rootDirectory;
 
@@ -58,4 +59,9 @@ public class StateStorageFactory {
   public StateStorage create(final StreamProcessorContext context) {
     return create(context.getId(), context.getName());
   }
+
+  /** @return the storages of all stream processors which were created in the root directory */
+  public List<StateStorage> list() {
+    return StateStorage.list(rootDirectory);
+  }
 }
@@ -24,6 +24,7 @@ import io.zeebe.broker.subscription.message.state.MessageState;
 import io.zeebe.broker.subscription.message.state.MessageSubscriptionState;
 import io.zeebe.broker.subscription.message.state.WorkflowInstanceSubscriptionState;
 import io.zeebe.broker.workflow.deployment.distribute.processor.state.DeploymentsState;
+import io.zeebe.broker.workflow.state.WorkflowPersistenceCache;
 import io.zeebe.broker.workflow.state.WorkflowState;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.protocol.Protocol;
@@ -44,8 +45,12 @@ public class ZeebeState {
   }
 
   public ZeebeState(int partitionId, ZeebeDb<ZbColumnFamilies> zeebeDb) {
+    this(partitionId, zeebeDb, WorkflowPersistenceCache.UNLIMITED_CAPACITY);
+  }
+
+  public ZeebeState(int partitionId, ZeebeDb<ZbColumnFamilies> zeebeDb, int workflowCacheCapacity) {
     keyState = new KeyState(partitionId, zeebeDb);
-    workflowState = new WorkflowState(zeebeDb);
+    workflowState = new WorkflowState(zeebeDb, workflowCacheCapacity);
     deploymentState = new DeploymentsState(zeebeDb);
     jobState = new JobState(zeebeDb);
     messageState = new MessageState(zeebeDb);
@@ -0,0 +1,113 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.configuration;
+
+import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_BACKPRESSURE_ENABLED;
+
+import io.zeebe.util.DurationUtil;
+import io.zeebe.util.Environment;
+import java.time.Duration;
+
+public class BackpressureCfg implements ConfigurationEntry {
+  public static final String ALGORITHM_VEGAS = "vegas";
+  public static final String ALGORITHM_AIMD = "aimd";
+
+  private boolean enabled = false;
+  private String algorithm = ALGORITHM_VEGAS;
+  private int initialLimit = 100;
+  private int minLimit = 10;
+  private int maxLimit = 1000;
+  private String latencyThreshold = "200ms";
+
+  @Override
+  public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
+    environment.getBool(ENV_BACKPRESSURE_ENABLED).ifPresent(this::setEnabled);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public String getAlgorithm() {
+    return algorithm;
+  }
+
+  public void setAlgorithm(String algorithm) {
+    this.algorithm = algorithm;
+  }
+
+  public int getInitialLimit() {
+    return initialLimit;
+  }
+
+  public void setInitialLimit(int initialLimit) {
+    this.initialLimit = initialLimit;
+  }
+
+  public int getMinLimit() {
+    return minLimit;
+  }
+
+  public void setMinLimit(int minLimit) {
+    this.minLimit = minLimit;
+  }
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  public void setMaxLimit(int maxLimit) {
+    this.maxLimit = maxLimit;
+  }
+
+  public Duration getLatencyThresholdDuration() {
+    return DurationUtil.parse(latencyThreshold);
+  }
+
+  public String getLatencyThreshold() {
+    return latencyThreshold;
+  }
+
+  public void setLatencyThreshold(String latencyThreshold) {
+    this.latencyThreshold = latencyThreshold;
+  }
+
+  @Override
+  public String toString() {
+    return "BackpressureCfg{"
+        + "enabled="
+        + enabled
+        + ", algorithm='"
+        + algorithm
+        + '\''
+        + ", initialLimit="
+        + initialLimit
+        + ", minLimit="
+        + minLimit
+        + ", maxLimit="
+        + maxLimit
+        + ", latencyThreshold='"
+        + latencyThreshold
+        + '\''
+        + '}';
+  }
+}
@@ -35,6 +35,7 @@ public class BrokerCfg {
   private RaftConfiguration raft = new RaftConfiguration();
   private List<ExporterCfg> exporters = new ArrayList<>();
   private EmbeddedGatewayCfg gateway = new EmbeddedGatewayCfg();
+  private BackpressureCfg backpressure = new BackpressureCfg();
 
   public void init(final String brokerBase) {
     init(brokerBase, new Environment());
@@ -48,6 +49,7 @@ public class BrokerCfg {
     data.init(this, brokerBase, environment);
     exporters.forEach(e -> e.init(this, brokerBase, environment));
     gateway.init(this, brokerBase, environment);
+    backpressure.init(this, brokerBase, environment);
   }
 
   public NetworkCfg getNetwork() {
@@ -123,6 +125,14 @@ public class BrokerCfg {
     return this;
   }
 
+  public BackpressureCfg getBackpressure() {
+    return backpressure;
+  }
+
+  public void setBackpressure(final BackpressureCfg backpressure) {
+    this.backpressure = backpressure;
+  }
+
   @Override
   public String toString() {
     return "BrokerCfg{"
@@ -144,6 +154,8 @@ public class BrokerCfg {
         + exporters
         + ", gateway="
         + gateway
+        + ", backpressure="
+        + backpressure
         + '}';
   }
 
@@ -31,8 +31,30 @@ public class DataCfg implements ConfigurationEntry {
 
   private String snapshotPeriod = "15m";
 
+  private int processingBatchSize = 100;
+
+  private int exportBatchSize = 100;
+
+  private String exportBatchBytes = "4M";
+
+  private boolean isolatedExporters = false;
+
   private String snapshotReplicationPeriod = "5m";
 
+  private String compactionPeriod = "15m";
+
+  private String logSyncMode = "periodic";
+
+  private String groupCommitInterval = "5ms";
+
+  private String groupCommitSize = "4M";
+
+  private boolean memoryMappedReads = false;
+
+  private int preallocatedLogSegments = 1;
+
+  private int workflowCacheCapacity = 0;
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
     applyEnvironment(environment);
@@ -67,6 +89,38 @@ public class DataCfg implements ConfigurationEntry {
     this.snapshotPeriod = snapshotPeriod;
   }
 
+  public int getProcessingBatchSize() {
+    return processingBatchSize;
+  }
+
+  public void setProcessingBatchSize(int processingBatchSize) {
+    this.processingBatchSize = processingBatchSize;
+  }
+
+  public int getExportBatchSize() {
+    return exportBatchSize;
+  }
+
+  public void setExportBatchSize(int exportBatchSize) {
+    this.exportBatchSize = exportBatchSize;
+  }
+
+  public String getExportBatchBytes() {
+    return exportBatchBytes;
+  }
+
+  public void setExportBatchBytes(String exportBatchBytes) {
+    this.exportBatchBytes = exportBatchBytes;
+  }
+
+  public boolean isIsolatedExporters() {
+    return isolatedExporters;
+  }
+
+  public void setIsolatedExporters(boolean isolatedExporters) {
+    this.isolatedExporters = isolatedExporters;
+  }
+
   public String getSnapshotReplicationPeriod() {
     return snapshotReplicationPeriod;
   }
@@ -75,6 +129,62 @@ public class DataCfg implements ConfigurationEntry {
     this.snapshotReplicationPeriod = snapshotReplicationPeriod;
   }
 
+  public String getCompactionPeriod() {
+    return compactionPeriod;
+  }
+
+  public void setCompactionPeriod(String compactionPeriod) {
+    this.compactionPeriod = compactionPeriod;
+  }
+
+  public String getLogSyncMode() {
+    return logSyncMode;
+  }
+
+  public void setLogSyncMode(String logSyncMode) {
+    this.logSyncMode = logSyncMode;
+  }
+
+  public String getGroupCommitInterval() {
+    return groupCommitInterval;
+  }
+
+  public void setGroupCommitInterval(String groupCommitInterval) {
+    this.groupCommitInterval = groupCommitInterval;
+  }
+
+  public String getGroupCommitSize() {
+    return groupCommitSize;
+  }
+
+  public void setGroupCommitSize(String groupCommitSize) {
+    this.groupCommitSize = groupCommitSize;
+  }
+
+  public boolean isMemoryMappedReads() {
+    return memoryMappedReads;
+  }
+
+  public void setMemoryMappedReads(boolean memoryMappedReads) {
+    this.memoryMappedReads = memoryMappedReads;
+  }
+
+  public int getPreallocatedLogSegments() {
+    return preallocatedLogSegments;
+  }
+
+  public void setPreallocatedLogSegments(int preallocatedLogSegments) {
+    this.preallocatedLogSegments = preallocatedLogSegments;
+  }
+
+  public int getWorkflowCacheCapacity() {
+    return workflowCacheCapacity;
+  }
+
+  public void setWorkflowCacheCapacity(int workflowCacheCapacity) {
+    this.workflowCacheCapacity = workflowCacheCapacity;
+  }
+
   @Override
   public String toString() {
     return "DataCfg{"
@@ -89,6 +199,33 @@ public class DataCfg implements ConfigurationEntry {
         + ", snapshotReplicationPeriod='"
         + snapshotReplicationPeriod
         + '\''
+        + ", processingBatchSize="
+        + processingBatchSize
+        + ", exportBatchSize="
+        + exportBatchSize
+        + ", exportBatchBytes='"
+        + exportBatchBytes
+        + '\''
+        + ", isolatedExporters="
+        + isolatedExporters
+        + ", compactionPeriod='"
+        + compactionPeriod
+        + '\''
+        + ", logSyncMode='"
+        + logSyncMode
+        + '\''
+        + ", groupCommitInterval='"
+        + groupCommitInterval
+        + '\''
+        + ", groupCommitSize='"
+        + groupCommitSize
+        + '\''
+        + ", memoryMappedReads="
+        + memoryMappedReads
+        + ", preallocatedLogSegments="
+        + preallocatedLogSegments
+        + ", workflowCacheCapacity="
+        + workflowCacheCapacity
         + '}';
   }
 }
@@ -28,4 +28,5 @@ public class EnvironmentConstants {
   public static final String ENV_REPLICATION_FACTOR = "ZEEBE_REPLICATION_FACTOR";
   public static final String ENV_CLUSTER_SIZE = "ZEEBE_CLUSTER_SIZE";
   public static final String ENV_EMBED_GATEWAY = "ZEEBE_EMBED_GATEWAY";
+  public static final String ENV_BACKPRESSURE_ENABLED = "ZEEBE_BACKPRESSURE_ENABLED";
 }
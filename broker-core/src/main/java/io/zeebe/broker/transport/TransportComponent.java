@@ -152,7 +152,9 @@ public class TransportComponent implements Component {
             new ByteValue(networkCfg.getClient().getControlMessageBufferSize()));
 
     final ClientApiMessageHandlerService messageHandlerService =
-        new ClientApiMessageHandlerService();
+        new ClientApiMessageHandlerService(
+            context.getBrokerConfiguration().getBackpressure(),
+            context.getBrokerConfiguration().getCluster().getNodeId());
     serviceContainer
         .createService(CLIENT_API_MESSAGE_HANDLER, messageHandlerService)
         .dependency(
@@ -0,0 +1,67 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+/**
+ * Additive increase, multiplicative decrease: grows the limit by one while the latency stays below
+ * the threshold and the limit is used, shrinks it by the backoff ratio when the latency exceeds the
+ * threshold or a command is dropped.
+ */
+public class AimdLimit implements LimitAlgorithm {
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final long latencyThresholdNanos;
+
+  private volatile int limit;
+
+  public AimdLimit(
+      final int initialLimit,
+      final int minLimit,
+      final int maxLimit,
+      final long latencyThresholdNanos) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyThresholdNanos = latencyThresholdNanos;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  @Override
+  public int getLimit() {
+    return limit;
+  }
+
+  @Override
+  public synchronized void onSample(final long rttNanos, final int inFlight) {
+    if (rttNanos > latencyThresholdNanos) {
+      backoff();
+    } else if (inFlight * 2 >= limit) {
+      limit = Math.min(maxLimit, limit + 1);
+    }
+  }
+
+  @Override
+  public synchronized void onDrop() {
+    backoff();
+  }
+
+  private void backoff() {
+    limit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the commands of one partition which are written to the log but not answered yet. Commands
+ * are accepted and registered by the client api thread, and answered by the stream processor of the
+ * partition. Commands which are not answered within the timeout are dropped from the in-flight
+ * commands and reported as drops to the limit algorithm.
+ */
+public class CommandRateLimiter implements AutoCloseable {
+  public static final Duration IN_FLIGHT_TIMEOUT = Duration.ofSeconds(30);
+
+  private static final long EXPIRY_CHECK_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+  private final LimitAlgorithm algorithm;
+  private final LongSupplier nanoClock;
+  private final long timeoutNanos;
+
+  private final ConcurrentHashMap<Long, Long> inFlightCommands = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private final Metric limitMetric;
+  private final Metric inFlightMetric;
+  private final Metric rejectedMetric;
+
+  /** only accessed by the client api thread */
+  private long nextExpiryCheck;
+
+  public CommandRateLimiter(
+      final LimitAlgorithm algorithm, final MetricsManager metricsManager, final int partitionId) {
+    this(algorithm, metricsManager, partitionId, System::nanoTime, IN_FLIGHT_TIMEOUT.toNanos());
+  }
+
+  CommandRateLimiter(
+      final LimitAlgorithm algorithm,
+      final MetricsManager metricsManager,
+      final int partitionId,
+      final LongSupplier nanoClock,
+      final long timeoutNanos) {
+    this.algorithm = algorithm;
+    this.nanoClock = nanoClock;
+    this.timeoutNanos = timeoutNanos;
+    this.nextExpiryCheck = nanoClock.getAsLong() + EXPIRY_CHECK_INTERVAL_NANOS;
+
+    final String partition = Integer.toString(partitionId);
+    limitMetric =
+        metricsManager
+            .newMetric("broker_command_limit")
+            .type("gauge")
+            .label("partition", partition)
+            .create();
+    inFlightMetric =
+        metricsManager
+            .newMetric("broker_command_in_flight")
+            .type("gauge")
+            .label("partition", partition)
+            .create();
+    rejectedMetric =
+        metricsManager
+            .newMetric("broker_command_rejected")
+            .type("counter")
+            .label("partition", partition)
+            .create();
+
+    limitMetric.setOrdered(algorithm.getLimit());
+  }
+
+  /**
+   * @param commandCount the number of commands of the request
+   * @return true if the commands can be written to the log, false if they should be rejected
+   */
+  public boolean tryAcquire(final int commandCount) {
+    expireCommands();
+
+    final int currentInFlight = inFlight.get();
+    // a single request must be accepted on an idle partition, even if it exceeds the limit
+    if (currentInFlight == 0 || currentInFlight + commandCount <= algorithm.getLimit()) {
+      return true;
+    } else {
+      rejectedMetric.incrementOrdered();
+      return false;
+    }
+  }
+
+  public void onCommandWritten(final int requestStreamId, final long requestId) {
+    if (inFlightCommands.put(key(requestStreamId, requestId), nanoClock.getAsLong()) == null) {
+      inFlightMetric.setOrdered(inFlight.incrementAndGet());
+    }
+  }
+
+  public void onResponse(final int requestStreamId, final long requestId) {
+    final Long startTime = inFlightCommands.remove(key(requestStreamId, requestId));
+
+    if (startTime != null) {
+      final int currentInFlight = inFlight.getAndDecrement();
+      inFlightMetric.setOrdered(currentInFlight - 1);
+
+      algorithm.onSample(nanoClock.getAsLong() - startTime, currentInFlight);
+      limitMetric.setOrdered(algorithm.getLimit());
+    }
+  }
+
+  private void expireCommands() {
+    final long now = nanoClock.getAsLong();
+    if (now < nextExpiryCheck) {
+      return;
+    }
+    nextExpiryCheck = now + EXPIRY_CHECK_INTERVAL_NANOS;
+
+    boolean hasDrops = false;
+    final Iterator<Entry<Long, Long>> iterator = inFlightCommands.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Entry<Long, Long> command = iterator.next();
+
+      if (now - command.getValue() > timeoutNanos
+          && inFlightCommands.remove(command.getKey(), command.getValue())) {
+        inFlight.decrementAndGet();
+        hasDrops = true;
+      }
+    }
+
+    if (hasDrops) {
+      algorithm.onDrop();
+      inFlightMetric.setOrdered(inFlight.get());
+      limitMetric.setOrdered(algorithm.getLimit());
+    }
+  }
+
+  public int getLimit() {
+    return algorithm.getLimit();
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  @Override
+  public void close() {
+    limitMetric.close();
+    inFlightMetric.close();
+    rejectedMetric.close();
+  }
+
+  private static long key(final int requestStreamId, final long requestId) {
+    return ((long) requestStreamId << 48) ^ requestId;
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+/**
+ * Computes how many commands a partition accepts concurrently, based on the latency between writing
+ * a command and answering it.
+ */
+public interface LimitAlgorithm {
+
+  /** @return the current number of commands which can be in flight at the same time */
+  int getLimit();
+
+  /**
+   * Called when a command is answered.
+   *
+   * @param rttNanos the time between writing the command and sending its response
+   * @param inFlight the number of commands which were in flight when the command was answered
+   */
+  void onSample(long rttNanos, int inFlight);
+
+  /** Called when a command is not answered in time. */
+  void onDrop();
+}
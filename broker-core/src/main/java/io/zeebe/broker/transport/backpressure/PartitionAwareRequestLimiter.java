@@ -0,0 +1,131 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import io.zeebe.broker.system.configuration.BackpressureCfg;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.util.metrics.MetricsManager;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Holds a {@link CommandRateLimiter} for each partition the broker is leader of. Commands which
+ * complete existing work (job complete / fail) and deployments, which are answered only after they
+ * are distributed, are never limited.
+ */
+public final class PartitionAwareRequestLimiter {
+  private final ConcurrentHashMap<Integer, CommandRateLimiter> limiters = new ConcurrentHashMap<>();
+  private final IntFunction<CommandRateLimiter> limiterFactory;
+
+  private PartitionAwareRequestLimiter(final IntFunction<CommandRateLimiter> limiterFactory) {
+    this.limiterFactory = limiterFactory;
+  }
+
+  public static PartitionAwareRequestLimiter newNoopLimiter() {
+    return new PartitionAwareRequestLimiter(null);
+  }
+
+  public static PartitionAwareRequestLimiter newLimiter(
+      final BackpressureCfg backpressureCfg, final MetricsManager metricsManager) {
+    if (!backpressureCfg.isEnabled()) {
+      return newNoopLimiter();
+    }
+
+    return new PartitionAwareRequestLimiter(
+        partitionId ->
+            new CommandRateLimiter(newAlgorithm(backpressureCfg), metricsManager, partitionId));
+  }
+
+  private static LimitAlgorithm newAlgorithm(final BackpressureCfg cfg) {
+    switch (cfg.getAlgorithm()) {
+      case BackpressureCfg.ALGORITHM_VEGAS:
+        return new VegasLimit(cfg.getInitialLimit(), cfg.getMinLimit(), cfg.getMaxLimit());
+      case BackpressureCfg.ALGORITHM_AIMD:
+        return new AimdLimit(
+            cfg.getInitialLimit(),
+            cfg.getMinLimit(),
+            cfg.getMaxLimit(),
+            cfg.getLatencyThresholdDuration().toNanos());
+      default:
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected backpressure algorithm to be one of '%s' or '%s', but was '%s'",
+                BackpressureCfg.ALGORITHM_VEGAS,
+                BackpressureCfg.ALGORITHM_AIMD,
+                cfg.getAlgorithm()));
+    }
+  }
+
+  public boolean isLimited(final ValueType valueType, final Intent intent) {
+    if (limiterFactory == null) {
+      return false;
+    }
+
+    switch (valueType) {
+      case DEPLOYMENT:
+        return false;
+      case JOB:
+        return intent != JobIntent.COMPLETE && intent != JobIntent.FAIL;
+      default:
+        return true;
+    }
+  }
+
+  public void addPartition(final int partitionId) {
+    if (limiterFactory != null) {
+      limiters.computeIfAbsent(partitionId, limiterFactory::apply);
+    }
+  }
+
+  public void removePartition(final int partitionId) {
+    final CommandRateLimiter limiter = limiters.remove(partitionId);
+    if (limiter != null) {
+      limiter.close();
+    }
+  }
+
+  public boolean tryAcquire(final int partitionId, final int commandCount) {
+    final CommandRateLimiter limiter = limiters.get(partitionId);
+    return limiter == null || limiter.tryAcquire(commandCount);
+  }
+
+  public void onCommandWritten(
+      final int partitionId, final int requestStreamId, final long requestId) {
+    final CommandRateLimiter limiter = limiters.get(partitionId);
+    if (limiter != null) {
+      limiter.onCommandWritten(requestStreamId, requestId);
+    }
+  }
+
+  public void onResponse(final int partitionId, final int requestStreamId, final long requestId) {
+    if (limiterFactory == null) {
+      return;
+    }
+
+    final CommandRateLimiter limiter = limiters.get(partitionId);
+    if (limiter != null) {
+      limiter.onResponse(requestStreamId, requestId);
+    }
+  }
+
+  public CommandRateLimiter getLimiter(final int partitionId) {
+    return limiters.get(partitionId);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+/**
+ * Estimates the queue of a partition from the difference between the current latency and the lowest
+ * latency observed, and adjusts the limit to keep this queue small (TCP Vegas). The lowest latency
+ * is re-probed regularly, so that it follows a growing baseline, e.g. a larger state.
+ */
+public class VegasLimit implements LimitAlgorithm {
+  private static final int PROBE_INTERVAL = 1_000;
+
+  private final int minLimit;
+  private final int maxLimit;
+
+  private volatile int limit;
+  private long rttNoLoadNanos;
+  private int samplesUntilProbe = PROBE_INTERVAL;
+
+  public VegasLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  @Override
+  public int getLimit() {
+    return limit;
+  }
+
+  @Override
+  public synchronized void onSample(final long rttNanos, final int inFlight) {
+    if (rttNanos <= 0) {
+      return;
+    }
+
+    samplesUntilProbe -= 1;
+    if (samplesUntilProbe <= 0) {
+      samplesUntilProbe = PROBE_INTERVAL;
+      rttNoLoadNanos = rttNanos;
+      return;
+    }
+
+    if (rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos) {
+      rttNoLoadNanos = rttNanos;
+      return;
+    }
+
+    final int currentLimit = limit;
+    if (inFlight * 2 < currentLimit) {
+      // the limit is not used, the latency says nothing about it
+      return;
+    }
+
+    final double queueSize = Math.ceil(currentLimit * (1 - (double) rttNoLoadNanos / rttNanos));
+    final double log = Math.max(1, Math.log10(currentLimit));
+    final double alpha = 3 * log;
+    final double beta = 6 * log;
+
+    if (queueSize <= log) {
+      setLimit(currentLimit + beta);
+    } else if (queueSize < alpha) {
+      setLimit(currentLimit + log);
+    } else if (queueSize > beta) {
+      setLimit(currentLimit - log);
+    }
+  }
+
+  @Override
+  public synchronized void onDrop() {
+    final int currentLimit = limit;
+    setLimit(currentLimit - Math.max(1, Math.log10(currentLimit)));
+  }
+
+  private void setLimit(final double newLimit) {
+    limit = (int) Math.max(minLimit, Math.min(maxLimit, newLimit));
+  }
+}
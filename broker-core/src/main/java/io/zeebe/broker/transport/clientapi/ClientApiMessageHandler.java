@@ -18,15 +18,22 @@
 package io.zeebe.broker.transport.clientapi;
 
 import io.zeebe.broker.clustering.base.partitions.Partition;
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
 import io.zeebe.broker.transport.controlmessage.ControlMessageRequestHeaderDescriptor;
 import io.zeebe.dispatcher.ClaimedFragment;
 import io.zeebe.dispatcher.Dispatcher;
+import io.zeebe.logstreams.log.LogStreamBatchWriter;
+import io.zeebe.logstreams.log.LogStreamBatchWriter.LogEntryBuilder;
+import io.zeebe.logstreams.log.LogStreamBatchWriterImpl;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LogStreamWriterImpl;
-import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.msgpack.validation.MsgPackStructure;
+import io.zeebe.msgpack.validation.MsgPackStructureValidator;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.clientapi.ControlMessageRequestDecoder;
 import io.zeebe.protocol.clientapi.ErrorCode;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestDecoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestDecoder.CommandsDecoder;
 import io.zeebe.protocol.clientapi.ExecuteCommandRequestDecoder;
 import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
 import io.zeebe.protocol.clientapi.RecordType;
@@ -54,6 +61,8 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
   protected final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
   protected final ExecuteCommandRequestDecoder executeCommandRequestDecoder =
       new ExecuteCommandRequestDecoder();
+  protected final ExecuteCommandBatchRequestDecoder executeCommandBatchRequestDecoder =
+      new ExecuteCommandBatchRequestDecoder();
   protected final ControlMessageRequestHeaderDescriptor controlMessageRequestHeaderDescriptor =
       new ControlMessageRequestHeaderDescriptor();
 
@@ -64,26 +73,51 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
   protected final Int2ObjectHashMap<Partition> leaderPartitions = new Int2ObjectHashMap<>();
   protected final RecordMetadata eventMetadata = new RecordMetadata();
   protected final LogStreamRecordWriter logStreamWriter = new LogStreamWriterImpl();
+  protected final LogStreamBatchWriter logStreamBatchWriter = new LogStreamBatchWriterImpl();
+  protected final PendingCommandBatches pendingCommandBatches;
 
   protected final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
   protected final Dispatcher controlMessageDispatcher;
+  protected final PartitionAwareRequestLimiter requestLimiter;
   protected final ClaimedFragment claimedControlMessageFragment = new ClaimedFragment();
 
-  protected final EnumMap<ValueType, UnpackedObject> recordsByType = new EnumMap<>(ValueType.class);
+  /**
+   * Commands are only validated against the structure of their record, not deserialized. The stream
+   * processor reads the value from the log anyway.
+   */
+  protected final EnumMap<ValueType, MsgPackStructure> structuresByType =
+      new EnumMap<>(ValueType.class);
+
+  protected final MsgPackStructureValidator structureValidator = new MsgPackStructureValidator();
 
   public ClientApiMessageHandler(final Dispatcher controlMessageDispatcher) {
+    this(controlMessageDispatcher, PartitionAwareRequestLimiter.newNoopLimiter());
+  }
+
+  public ClientApiMessageHandler(
+      final Dispatcher controlMessageDispatcher,
+      final PartitionAwareRequestLimiter requestLimiter) {
+    this(controlMessageDispatcher, requestLimiter, 0);
+  }
+
+  public ClientApiMessageHandler(
+      final Dispatcher controlMessageDispatcher,
+      final PartitionAwareRequestLimiter requestLimiter,
+      final int nodeId) {
     this.controlMessageDispatcher = controlMessageDispatcher;
+    this.requestLimiter = requestLimiter;
+    this.pendingCommandBatches = new PendingCommandBatches(nodeId);
 
     initEventTypeMap();
   }
 
   private void initEventTypeMap() {
-    recordsByType.put(ValueType.DEPLOYMENT, new DeploymentRecord());
-    recordsByType.put(ValueType.JOB, new JobRecord());
-    recordsByType.put(ValueType.WORKFLOW_INSTANCE, new WorkflowInstanceRecord());
-    recordsByType.put(ValueType.MESSAGE, new MessageRecord());
-    recordsByType.put(ValueType.JOB_BATCH, new JobBatchRecord());
-    recordsByType.put(ValueType.INCIDENT, new IncidentRecord());
+    structuresByType.put(ValueType.DEPLOYMENT, new DeploymentRecord().getStructure());
+    structuresByType.put(ValueType.JOB, new JobRecord().getStructure());
+    structuresByType.put(ValueType.WORKFLOW_INSTANCE, new WorkflowInstanceRecord().getStructure());
+    structuresByType.put(ValueType.MESSAGE, new MessageRecord().getStructure());
+    structuresByType.put(ValueType.JOB_BATCH, new JobBatchRecord().getStructure());
+    structuresByType.put(ValueType.INCIDENT, new IncidentRecord().getStructure());
   }
 
   private boolean handleExecuteCommandRequest(
@@ -114,9 +148,9 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
 
     final ValueType eventType = executeCommandRequestDecoder.valueType();
     final short intent = executeCommandRequestDecoder.intent();
-    final UnpackedObject event = recordsByType.get(eventType);
+    final MsgPackStructure structure = structuresByType.get(eventType);
 
-    if (event == null) {
+    if (structure == null) {
       return errorResponseWriter
           .errorCode(ErrorCode.MESSAGE_NOT_SUPPORTED)
           .errorMessage("Cannot execute command. Invalid event type '%s'.", eventType.name())
@@ -127,11 +161,9 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
         executeCommandRequestDecoder.limit() + ExecuteCommandRequestDecoder.valueHeaderLength();
     final int eventLength = executeCommandRequestDecoder.valueLength();
 
-    event.reset();
-
     try {
       // verify that the event / command is valid
-      event.wrap(buffer, eventOffset, eventLength);
+      structureValidator.validate(structure, buffer, eventOffset, eventLength);
     } catch (final Throwable t) {
       return errorResponseWriter
           .errorCode(ErrorCode.INVALID_MESSAGE)
@@ -139,8 +171,20 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
           .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
     }
 
+    final Intent commandIntent = Intent.fromProtocolValue(eventType, intent);
+    final boolean isLimited = requestLimiter.isLimited(eventType, commandIntent);
+
+    if (isLimited && !requestLimiter.tryAcquire(partitionId, 1)) {
+      return errorResponseWriter
+          .errorCode(ErrorCode.RESOURCE_EXHAUSTED)
+          .errorMessage(
+              "Cannot execute command. Partition with id '%d' has too many commands in flight",
+              partitionId)
+          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+    }
+
     eventMetadata.recordType(RecordType.COMMAND);
-    eventMetadata.intent(Intent.fromProtocolValue(eventType, intent));
+    eventMetadata.intent(commandIntent);
     eventMetadata.valueType(eventType);
 
     logStreamWriter.wrap(partition.getLogStream());
@@ -157,7 +201,162 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
             .value(buffer, eventOffset, eventLength)
             .tryWrite();
 
-    return eventPosition >= 0;
+    if (eventPosition < 0) {
+      return false;
+    }
+
+    if (isLimited) {
+      requestLimiter.onCommandWritten(partitionId, requestAddress.getStreamId(), requestId);
+    }
+
+    return true;
+  }
+
+  /**
+   * Writes the commands of the batch to the log with one claim. The batch is rejected as a whole if
+   * one of its commands is invalid. The responses of the commands are collected and sent as one
+   * response, see {@link PendingCommandBatches}.
+   */
+  private boolean handleExecuteCommandBatchRequest(
+      final ServerOutput output,
+      final RemoteAddress requestAddress,
+      final long requestId,
+      final RecordMetadata eventMetadata,
+      final DirectBuffer buffer,
+      final int messageOffset,
+      final int messageLength) {
+    executeCommandBatchRequestDecoder.wrap(
+        buffer,
+        messageOffset + messageHeaderDecoder.encodedLength(),
+        messageHeaderDecoder.blockLength(),
+        messageHeaderDecoder.version());
+
+    final int partitionId = executeCommandBatchRequestDecoder.partitionId();
+
+    final Partition partition = leaderPartitions.get(partitionId);
+
+    if (partition == null) {
+      return errorResponseWriter
+          .errorCode(ErrorCode.PARTITION_NOT_FOUND)
+          .errorMessage(
+              "Cannot execute command batch. Partition with id '%d' not found", partitionId)
+          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+    }
+
+    final ValueType eventType = executeCommandBatchRequestDecoder.valueType();
+    final short intent = executeCommandBatchRequestDecoder.intent();
+    final MsgPackStructure structure = structuresByType.get(eventType);
+
+    if (structure == null) {
+      return errorResponseWriter
+          .errorCode(ErrorCode.MESSAGE_NOT_SUPPORTED)
+          .errorMessage("Cannot execute command batch. Invalid event type '%s'.", eventType.name())
+          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+    }
+
+    final CommandsDecoder commands = executeCommandBatchRequestDecoder.commands();
+    final int commandCount = commands.count();
+
+    if (commandCount == 0) {
+      return errorResponseWriter
+          .errorCode(ErrorCode.INVALID_MESSAGE)
+          .errorMessage("Cannot execute command batch. The batch contains no commands.")
+          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+    }
+
+    final Intent commandIntent = Intent.fromProtocolValue(eventType, intent);
+    final boolean isLimited = requestLimiter.isLimited(eventType, commandIntent);
+
+    if (isLimited && !requestLimiter.tryAcquire(partitionId, commandCount)) {
+      return errorResponseWriter
+          .errorCode(ErrorCode.RESOURCE_EXHAUSTED)
+          .errorMessage(
+              "Cannot execute command batch. Partition with id '%d' has too many commands in flight",
+              partitionId)
+          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+    }
+
+    final long batchId =
+        pendingCommandBatches.register(
+            partitionId, requestAddress.getStreamId(), requestId, eventType, commandCount);
+
+    eventMetadata.recordType(RecordType.COMMAND);
+    eventMetadata.intent(commandIntent);
+    eventMetadata.valueType(eventType);
+    eventMetadata.requestStreamId(PendingCommandBatches.BATCH_REQUEST_STREAM_ID);
+
+    logStreamBatchWriter.wrap(partition.getLogStream());
+
+    int commandIndex = 0;
+    while (commands.hasNext()) {
+      commands.next();
+
+      final long key = commands.key();
+      final int eventOffset =
+          executeCommandBatchRequestDecoder.limit() + CommandsDecoder.valueHeaderLength();
+      final int eventLength = commands.valueLength();
+      executeCommandBatchRequestDecoder.limit(eventOffset + eventLength);
+
+      try {
+        // verify that the event / command is valid
+        structureValidator.validate(structure, buffer, eventOffset, eventLength);
+      } catch (final Throwable t) {
+        pendingCommandBatches.remove(batchId);
+        logStreamBatchWriter.reset();
+
+        return errorResponseWriter
+            .errorCode(ErrorCode.INVALID_MESSAGE)
+            .errorMessage(
+                "Cannot deserialize command at index %d of batch: '%s'.",
+                commandIndex, concatErrorMessages(t))
+            .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+      }
+
+      eventMetadata.requestId(PendingCommandBatches.commandRequestId(batchId, commandIndex));
+
+      final LogEntryBuilder logEntry = logStreamBatchWriter.event();
+
+      if (key != CommandsDecoder.keyNullValue()) {
+        logEntry.key(key);
+      } else {
+        logEntry.keyNull();
+      }
+
+      logEntry.metadataWriter(eventMetadata).value(buffer, eventOffset, eventLength).done();
+
+      commandIndex += 1;
+    }
+
+    final long eventPosition;
+    try {
+      eventPosition = logStreamBatchWriter.tryWrite();
+    } catch (final RuntimeException e) {
+      // the batch is larger than a single claim on the log can be
+      pendingCommandBatches.remove(batchId);
+      logStreamBatchWriter.reset();
+
+      return errorResponseWriter
+          .errorCode(ErrorCode.REQUEST_WRITE_FAILURE)
+          .errorMessage("Cannot write command batch: '%s'.", e.getMessage())
+          .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
+    }
+
+    if (eventPosition < 0) {
+      // the request is retried and registers the batch again
+      pendingCommandBatches.remove(batchId);
+      return false;
+    }
+
+    if (isLimited) {
+      for (int i = 0; i < commandCount; i++) {
+        requestLimiter.onCommandWritten(
+            partitionId,
+            PendingCommandBatches.BATCH_REQUEST_STREAM_ID,
+            PendingCommandBatches.commandRequestId(batchId, i));
+      }
+    }
+
+    return true;
   }
 
   private String concatErrorMessages(Throwable t) {
@@ -212,11 +411,30 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
   }
 
   public void addPartition(final Partition partition) {
-    cmdQueue.add(() -> leaderPartitions.put(partition.getInfo().getPartitionId(), partition));
+    cmdQueue.add(
+        () -> {
+          final int partitionId = partition.getInfo().getPartitionId();
+          requestLimiter.addPartition(partitionId);
+          leaderPartitions.put(partitionId, partition);
+        });
   }
 
   public void removePartition(final Partition partition) {
-    cmdQueue.add(() -> leaderPartitions.remove(partition.getInfo().getPartitionId()));
+    cmdQueue.add(
+        () -> {
+          final int partitionId = partition.getInfo().getPartitionId();
+          leaderPartitions.remove(partitionId);
+          pendingCommandBatches.removePartition(partitionId);
+          requestLimiter.removePartition(partitionId);
+        });
+  }
+
+  public PendingCommandBatches getPendingCommandBatches() {
+    return pendingCommandBatches;
+  }
+
+  public PartitionAwareRequestLimiter getRequestLimiter() {
+    return requestLimiter;
   }
 
   @Override
@@ -256,6 +474,12 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
                 output, remoteAddress, requestId, eventMetadata, buffer, offset, length);
         break;
 
+      case ExecuteCommandBatchRequestDecoder.TEMPLATE_ID:
+        isHandled =
+            handleExecuteCommandBatchRequest(
+                output, remoteAddress, requestId, eventMetadata, buffer, offset, length);
+        break;
+
       case ControlMessageRequestDecoder.TEMPLATE_ID:
         isHandled = handleControlMessageRequest(eventMetadata, buffer, offset, length);
         break;
@@ -18,6 +18,8 @@
 package io.zeebe.broker.transport.clientapi;
 
 import io.zeebe.broker.clustering.base.partitions.Partition;
+import io.zeebe.broker.system.configuration.BackpressureCfg;
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
 import io.zeebe.dispatcher.Dispatcher;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
@@ -27,6 +29,8 @@ import io.zeebe.servicecontainer.ServiceStopContext;
 
 public class ClientApiMessageHandlerService implements Service<ClientApiMessageHandler> {
   private final Injector<Dispatcher> controlMessageBufferInjector = new Injector<>();
+  private final BackpressureCfg backpressureCfg;
+  private final int nodeId;
   protected ClientApiMessageHandler service;
 
   protected final ServiceGroupReference<Partition> leaderPartitionsGroupReference =
@@ -35,10 +39,18 @@ public class ClientApiMessageHandlerService implements Service<ClientApiMessageH
           .onRemove((name, partition) -> service.removePartition(partition))
           .build();
 
+  public ClientApiMessageHandlerService(final BackpressureCfg backpressureCfg, final int nodeId) {
+    this.backpressureCfg = backpressureCfg;
+    this.nodeId = nodeId;
+  }
+
   @Override
   public void start(ServiceStartContext startContext) {
     final Dispatcher controlMessageBuffer = controlMessageBufferInjector.getValue();
-    service = new ClientApiMessageHandler(controlMessageBuffer);
+    final PartitionAwareRequestLimiter requestLimiter =
+        PartitionAwareRequestLimiter.newLimiter(
+            backpressureCfg, startContext.getScheduler().getMetricsManager());
+    service = new ClientApiMessageHandler(controlMessageBuffer, requestLimiter, nodeId);
   }
 
   @Override
@@ -0,0 +1,101 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import static io.zeebe.broker.transport.clientapi.PendingCommandBatches.BATCH_REQUEST_STREAM_ID;
+
+import io.zeebe.broker.transport.clientapi.PendingCommandBatches.PendingCommandBatch;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandResponse;
+import io.zeebe.transport.ServerOutput;
+import io.zeebe.transport.ServerResponse;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * Output of a stream processor which collects the responses of commands which were sent in a batch,
+ * see {@link PendingCommandBatches}. All other responses and messages are passed to the client api
+ * output.
+ *
+ * <p>An instance is used by one stream processor only. Responses of commands which don't belong to
+ * a pending batch of its partition are dropped, e.g. commands of a batch which was registered by
+ * another broker before a fail-over.
+ */
+public class CommandBatchResponseOutput implements ServerOutput {
+
+  private final ServerOutput output;
+  private final PendingCommandBatches pendingCommandBatches;
+  private final int partitionId;
+
+  private final ExpandableArrayBuffer commandResponseBuffer = new ExpandableArrayBuffer();
+  private final ExecuteCommandResponse commandResponse = new ExecuteCommandResponse();
+  private final ServerResponse batchResponse = new ServerResponse();
+
+  public CommandBatchResponseOutput(
+      ServerOutput output, PendingCommandBatches pendingCommandBatches, int partitionId) {
+    this.output = output;
+    this.pendingCommandBatches = pendingCommandBatches;
+    this.partitionId = partitionId;
+  }
+
+  @Override
+  public boolean sendMessage(int streamId, BufferWriter writer) {
+    return output.sendMessage(streamId, writer);
+  }
+
+  @Override
+  public boolean sendResponse(ServerResponse response) {
+    if (response.getRemoteStreamId() != BATCH_REQUEST_STREAM_ID) {
+      return output.sendResponse(response);
+    }
+
+    final long commandRequestId = response.getRequestId();
+    final PendingCommandBatch batch = pendingCommandBatches.getBatchOfCommand(commandRequestId);
+    final int commandIndex = PendingCommandBatches.commandIndex(commandRequestId);
+    if (batch == null
+        || batch.getPartitionId() != partitionId
+        || commandIndex >= batch.getCommandCount()) {
+      // the batch is dropped or unknown - like a response to a client which is gone
+      return true;
+    }
+
+    final BufferWriter writer = response.getWriter();
+    final int length = writer.getLength();
+    commandResponseBuffer.checkLimit(length);
+    writer.write(commandResponseBuffer, 0);
+    commandResponse.wrap(commandResponseBuffer, 0, length);
+
+    batch.onCommandResponse(commandIndex, commandResponse);
+
+    if (batch.isCompleted()) {
+      batchResponse
+          .reset()
+          .remoteStreamId(batch.getRequestStreamId())
+          .requestId(batch.getRequestId())
+          .writer(batch.getResponse());
+
+      if (output.sendResponse(batchResponse)) {
+        pendingCommandBatches.remove(PendingCommandBatches.batchId(commandRequestId));
+      } else {
+        // the stream processor retries to send the response of this command
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandResponse;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Keeps track of the command batches which are written to the log but not answered yet. The
+ * commands of a batch are written with a reserved request stream id and with a request id which
+ * identifies the batch and the index of the command in the batch. The responses of the commands are
+ * collected by {@link CommandBatchResponseOutput} and sent to the client as one response when all
+ * commands of the batch are processed.
+ *
+ * <p>The commands of a batch can be processed by another broker after a fail-over, or by this
+ * broker after a restart. Their responses must not be mistaken for responses of a local batch, so a
+ * batch id is composed of the node id, a random epoch which is chosen when the registry is created,
+ * and a counter.
+ *
+ * <p>Batches are registered by the client api message handler and answered by the stream processors
+ * of the partitions, so the registry is thread-safe. A batch is dropped when the broker is no
+ * longer the leader of its partition or when it is not answered within {@link #BATCH_TIMEOUT}, as
+ * the client gave up on it by then.
+ */
+public class PendingCommandBatches {
+
+  /** The request stream id of commands of a batch; no transport stream has a negative id. */
+  public static final int BATCH_REQUEST_STREAM_ID = -2;
+
+  // enough for the uint16 number of commands in a batch request
+  private static final int COMMAND_INDEX_BITS = 16;
+  private static final long COMMAND_INDEX_MASK = (1L << COMMAND_INDEX_BITS) - 1;
+
+  // the batch id uses the remaining 47 bits, so the request id of a command is never negative
+  private static final int COUNTER_BITS = 24;
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+  private static final int EPOCH_BITS = 16;
+  private static final int NODE_ID_BITS = 7;
+  private static final long NODE_ID_MASK = (1L << NODE_ID_BITS) - 1;
+
+  public static final Duration BATCH_TIMEOUT = Duration.ofMinutes(1);
+  private static final long EXPIRATION_CHECK_INTERVAL_MS = 1_000;
+
+  private final Map<Long, PendingCommandBatch> batches = new ConcurrentHashMap<>();
+
+  private final long batchIdPrefix;
+
+  // only accessed by the client api message handler
+  private long nextBatchCounter = 0;
+  private long nextExpirationCheck = 0;
+
+  public PendingCommandBatches(int nodeId) {
+    final long epoch = ThreadLocalRandom.current().nextInt(1 << EPOCH_BITS);
+
+    batchIdPrefix =
+        ((nodeId & NODE_ID_MASK) << (EPOCH_BITS + COUNTER_BITS)) | (epoch << COUNTER_BITS);
+  }
+
+  /**
+   * Registers a new batch with the given number of commands.
+   *
+   * @return the id of the batch which is used to compute the request ids of its commands
+   */
+  public long register(
+      int partitionId, int requestStreamId, long requestId, ValueType valueType, int commandCount) {
+    final long now = ActorClock.currentTimeMillis();
+    removeExpiredBatches(now);
+
+    final long batchId = batchIdPrefix | (nextBatchCounter++ & COUNTER_MASK);
+    batches.put(
+        batchId,
+        new PendingCommandBatch(
+            partitionId, requestStreamId, requestId, valueType, commandCount, now));
+
+    return batchId;
+  }
+
+  public void remove(long batchId) {
+    batches.remove(batchId);
+  }
+
+  public void removePartition(int partitionId) {
+    batches.values().removeIf(batch -> batch.partitionId == partitionId);
+  }
+
+  /** @return the request id of the command with the given index in the batch */
+  public static long commandRequestId(long batchId, int commandIndex) {
+    return (batchId << COMMAND_INDEX_BITS) | commandIndex;
+  }
+
+  static long batchId(long commandRequestId) {
+    return commandRequestId >>> COMMAND_INDEX_BITS;
+  }
+
+  static int commandIndex(long commandRequestId) {
+    return (int) (commandRequestId & COMMAND_INDEX_MASK);
+  }
+
+  /** @return the batch of the command with the given request id, or null if it is dropped */
+  PendingCommandBatch getBatchOfCommand(long commandRequestId) {
+    return batches.get(batchId(commandRequestId));
+  }
+
+  int getPendingBatchCount() {
+    return batches.size();
+  }
+
+  private void removeExpiredBatches(long now) {
+    if (now >= nextExpirationCheck) {
+      nextExpirationCheck = now + EXPIRATION_CHECK_INTERVAL_MS;
+
+      final long expiredBefore = now - BATCH_TIMEOUT.toMillis();
+      batches.values().removeIf(batch -> batch.registeredAt < expiredBefore);
+    }
+  }
+
+  static final class PendingCommandBatch {
+    private final int partitionId;
+    private final int requestStreamId;
+    private final long requestId;
+    private final long registeredAt;
+
+    private final ExecuteCommandBatchResponse response = new ExecuteCommandBatchResponse();
+    private final boolean[] isAnswered;
+    private int pendingCommands;
+
+    PendingCommandBatch(
+        int partitionId,
+        int requestStreamId,
+        long requestId,
+        ValueType valueType,
+        int commandCount,
+        long registeredAt) {
+      this.partitionId = partitionId;
+      this.requestStreamId = requestStreamId;
+      this.requestId = requestId;
+      this.registeredAt = registeredAt;
+
+      response.setPartitionId(partitionId).setValueType(valueType);
+      for (int i = 0; i < commandCount; i++) {
+        response.addResult();
+      }
+
+      isAnswered = new boolean[commandCount];
+      pendingCommands = commandCount;
+    }
+
+    /**
+     * Takes over the response of a command of the batch. A command can be answered more than once
+     * if sending the batch response failed and the stream processor retries to send the response of
+     * the last command.
+     */
+    void onCommandResponse(int commandIndex, ExecuteCommandResponse commandResponse) {
+      response
+          .getResult(commandIndex)
+          .setKey(commandResponse.getKey())
+          .setRecordType(commandResponse.getRecordType())
+          .setIntent(commandResponse.getIntent())
+          .setRejectionType(commandResponse.getRejectionType());
+
+      final DirectBuffer value = copy(commandResponse.getValue());
+      response.getResult(commandIndex).setValue(value, 0, value.capacity());
+
+      final DirectBuffer rejectionReason = copy(commandResponse.getRejectionReason());
+      response
+          .getResult(commandIndex)
+          .setRejectionReason(rejectionReason, 0, rejectionReason.capacity());
+
+      if (!isAnswered[commandIndex]) {
+        isAnswered[commandIndex] = true;
+        pendingCommands -= 1;
+      }
+    }
+
+    int getPartitionId() {
+      return partitionId;
+    }
+
+    int getCommandCount() {
+      return isAnswered.length;
+    }
+
+    boolean isCompleted() {
+      return pendingCommands == 0;
+    }
+
+    int getRequestStreamId() {
+      return requestStreamId;
+    }
+
+    long getRequestId() {
+      return requestId;
+    }
+
+    ExecuteCommandBatchResponse getResponse() {
+      return response;
+    }
+
+    private static DirectBuffer copy(DirectBuffer buffer) {
+      final byte[] bytes = new byte[buffer.capacity()];
+      buffer.getBytes(0, bytes);
+      return new UnsafeBuffer(bytes);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.state;
+
+import io.zeebe.util.metrics.Metric;
+import io.zeebe.util.metrics.MetricsManager;
+
+public class WorkflowCacheMetrics implements AutoCloseable {
+  private final Metric cacheHits;
+  private final Metric cacheMisses;
+  private final Metric cacheEvictions;
+  private final Metric cacheSize;
+  private final Metric cacheCapacity;
+
+  public WorkflowCacheMetrics(final MetricsManager metricsManager, final int partitionId) {
+    final String partitionIdString = Integer.toString(partitionId);
+
+    cacheHits =
+        metricsManager
+            .newMetric("workflow_cache_lookups_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .label("result", "hit")
+            .create();
+
+    cacheMisses =
+        metricsManager
+            .newMetric("workflow_cache_lookups_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .label("result", "miss")
+            .create();
+
+    cacheEvictions =
+        metricsManager
+            .newMetric("workflow_cache_evictions_count")
+            .type("counter")
+            .label("partition", partitionIdString)
+            .create();
+
+    cacheSize =
+        metricsManager
+            .newMetric("workflow_cache_size")
+            .type("gauge")
+            .label("partition", partitionIdString)
+            .create();
+
+    cacheCapacity =
+        metricsManager
+            .newMetric("workflow_cache_capacity")
+            .type("gauge")
+            .label("partition", partitionIdString)
+            .create();
+  }
+
+  public void countHit() {
+    cacheHits.incrementOrdered();
+  }
+
+  public void countMiss() {
+    cacheMisses.incrementOrdered();
+  }
+
+  public void countEviction() {
+    cacheEvictions.incrementOrdered();
+  }
+
+  public void setSize(final int size) {
+    cacheSize.setOrdered(size);
+  }
+
+  public void setCapacity(final int capacity) {
+    cacheCapacity.setOrdered(capacity);
+  }
+
+  @Override
+  public void close() {
+    cacheHits.close();
+    cacheMisses.close();
+    cacheEvictions.close();
+    cacheSize.close();
+    cacheCapacity.close();
+  }
+}
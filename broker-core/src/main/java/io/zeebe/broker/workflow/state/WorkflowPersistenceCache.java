@@ -31,9 +31,11 @@ import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentResource;
 import io.zeebe.protocol.impl.record.value.deployment.Workflow;
 import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.agrona.DirectBuffer;
@@ -42,7 +44,15 @@ import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.collections.LongHashSet;
 import org.agrona.io.DirectBufferInputStream;
 
+/**
+ * Persists the deployed workflows and keeps the transformed workflows in memory. The number of
+ * workflows in memory can be bounded - if the cache is full then the least recently used workflow
+ * is evicted and transformed again when it is needed.
+ */
 public class WorkflowPersistenceCache {
+  /** Keeps all workflows in memory, i.e. a workflow is only transformed once. */
+  public static final int UNLIMITED_CAPACITY = 0;
+
   private final BpmnTransformer transformer = new BpmnTransformer();
 
   private final Map<DirectBuffer, Long2ObjectHashMap<DeployedWorkflow>>
@@ -50,6 +60,14 @@ public class WorkflowPersistenceCache {
   private final LongHashSet deployments;
   private final Long2ObjectHashMap<DeployedWorkflow> workflowsByKey;
 
+  // access ordered, i.e. the first workflow is the least recently used one - only maintained if
+  // the capacity is bounded
+  private final LinkedHashMap<Long, DeployedWorkflow> workflowsByRecentUse =
+      new LinkedHashMap<>(16, 0.75f, true);
+  private final int capacity;
+
+  private WorkflowCacheMetrics metrics;
+
   // workflow
   private final ColumnFamily<DbLong, PersistedWorkflow> workflowColumnFamily;
   private final DbLong workflowKey;
@@ -63,6 +81,12 @@ public class WorkflowPersistenceCache {
   private final DbLong workflowVersion;
 
   public WorkflowPersistenceCache(ZeebeDb<ZbColumnFamilies> zeebeDb) {
+    this(zeebeDb, UNLIMITED_CAPACITY);
+  }
+
+  public WorkflowPersistenceCache(ZeebeDb<ZbColumnFamilies> zeebeDb, int capacity) {
+    this.capacity = capacity;
+
     workflowKey = new DbLong();
     persistedWorkflow = new PersistedWorkflow();
     workflowColumnFamily =
@@ -83,6 +107,14 @@ public class WorkflowPersistenceCache {
     workflowsByKey = new Long2ObjectHashMap<>();
   }
 
+  public void setMetrics(WorkflowCacheMetrics metrics) {
+    this.metrics = metrics;
+
+    if (metrics != null) {
+      metrics.setCapacity(capacity);
+    }
+  }
+
   protected boolean putDeployment(
       final long deploymentKey, final DeploymentRecord deploymentRecord) {
     final boolean isNewDeployment = !deployments.contains(deploymentKey);
@@ -116,9 +148,22 @@ public class WorkflowPersistenceCache {
   }
 
   private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+
   // is called on getters, if workflow is not in memory
   private DeployedWorkflow updateInMemoryState(PersistedWorkflow persistedWorkflow) {
+    countMiss();
+
+    final DeployedWorkflow deployedWorkflow = transformWorkflow(persistedWorkflow);
 
+    if (isBounded() && workflowsByKey.size() >= capacity) {
+      evictLeastRecentlyUsedWorkflow();
+    }
+    addWorkflowToInMemoryState(deployedWorkflow);
+
+    return deployedWorkflow;
+  }
+
+  private DeployedWorkflow transformWorkflow(PersistedWorkflow persistedWorkflow) {
     // we have to copy to store this in cache
     persistedWorkflow.write(buffer, 0);
     final PersistedWorkflow copiedWorkflow = new PersistedWorkflow();
@@ -135,17 +180,15 @@ public class WorkflowPersistenceCache {
             .findFirst()
             .get();
 
-    final DeployedWorkflow deployedWorkflow =
-        new DeployedWorkflow(executableWorkflow, copiedWorkflow);
-
-    addWorkflowToInMemoryState(deployedWorkflow);
-
-    return deployedWorkflow;
+    return new DeployedWorkflow(executableWorkflow, copiedWorkflow);
   }
 
   private void addWorkflowToInMemoryState(final DeployedWorkflow deployedWorkflow) {
     final DirectBuffer bpmnProcessId = deployedWorkflow.getBpmnProcessId();
     workflowsByKey.put(deployedWorkflow.getKey(), deployedWorkflow);
+    if (isBounded()) {
+      workflowsByRecentUse.put(deployedWorkflow.getKey(), deployedWorkflow);
+    }
 
     Long2ObjectHashMap<DeployedWorkflow> versionMap =
         workflowsByProcessIdAndVersion.get(bpmnProcessId);
@@ -157,6 +200,37 @@ public class WorkflowPersistenceCache {
 
     final int version = deployedWorkflow.getVersion();
     versionMap.put(version, deployedWorkflow);
+
+    updateSize();
+  }
+
+  private void evictLeastRecentlyUsedWorkflow() {
+    final Iterator<DeployedWorkflow> iterator = workflowsByRecentUse.values().iterator();
+    if (iterator.hasNext()) {
+      final DeployedWorkflow evictedWorkflow = iterator.next();
+      iterator.remove();
+      workflowsByKey.remove(evictedWorkflow.getKey());
+
+      final DirectBuffer bpmnProcessId = evictedWorkflow.getBpmnProcessId();
+      final Long2ObjectHashMap<DeployedWorkflow> versionMap =
+          workflowsByProcessIdAndVersion.get(bpmnProcessId);
+      versionMap.remove(evictedWorkflow.getVersion());
+      if (versionMap.isEmpty()) {
+        workflowsByProcessIdAndVersion.remove(bpmnProcessId);
+      }
+
+      countEviction();
+      updateSize();
+    }
+  }
+
+  private DeployedWorkflow onCacheHit(DeployedWorkflow deployedWorkflow) {
+    if (isBounded()) {
+      // moves the workflow to the end of the access order
+      workflowsByRecentUse.get(deployedWorkflow.getKey());
+    }
+    countHit();
+    return deployedWorkflow;
   }
 
   public DeployedWorkflow getLatestWorkflowVersionByProcessId(final DirectBuffer processId) {
@@ -173,6 +247,8 @@ public class WorkflowPersistenceCache {
       deployedWorkflow = versionMap.get(latestVersion.getValue());
       if (deployedWorkflow == null) {
         deployedWorkflow = lookupWorkflowByIdAndPersistedVersion(latestVersion);
+      } else {
+        onCacheHit(deployedWorkflow);
       }
     }
     return deployedWorkflow;
@@ -200,7 +276,7 @@ public class WorkflowPersistenceCache {
     if (versionMap != null) {
       final DeployedWorkflow deployedWorkflow = versionMap.get(version);
       return deployedWorkflow != null
-          ? deployedWorkflow
+          ? onCacheHit(deployedWorkflow)
           : lookupPersistenceState(processId, version);
     } else {
       return lookupPersistenceState(processId, version);
@@ -232,7 +308,7 @@ public class WorkflowPersistenceCache {
     final DeployedWorkflow deployedWorkflow = workflowsByKey.get(key);
 
     if (deployedWorkflow != null) {
-      return deployedWorkflow;
+      return onCacheHit(deployedWorkflow);
     } else {
       return lookupPersistenceStateForWorkflowByKey(key);
     }
@@ -255,24 +331,60 @@ public class WorkflowPersistenceCache {
   }
 
   public Collection<DeployedWorkflow> getWorkflows() {
-    updateCompleteInMemoryState();
-    return workflowsByKey.values();
+    final List<DeployedWorkflow> workflows = new ArrayList<>();
+    // the workflows are not added to the cache to not evict the workflows which are in use
+    workflowColumnFamily.forEach(
+        (workflow) -> workflows.add(getCachedOrTransformWorkflow(workflow)));
+    return workflows;
   }
 
   public Collection<DeployedWorkflow> getWorkflowsByBpmnProcessId(
       final DirectBuffer bpmnProcessId) {
-    updateCompleteInMemoryState();
+    final List<DeployedWorkflow> workflows = new ArrayList<>();
+
+    workflowId.wrapBuffer(bpmnProcessId);
+    workflowByIdAndVersionColumnFamily.whileEqualPrefix(
+        workflowId,
+        (key, workflow) -> {
+          workflows.add(getCachedOrTransformWorkflow(workflow));
+        });
+    return workflows;
+  }
 
-    final Long2ObjectHashMap<DeployedWorkflow> workflowsByVersions =
-        workflowsByProcessIdAndVersion.get(bpmnProcessId);
+  private DeployedWorkflow getCachedOrTransformWorkflow(PersistedWorkflow persistedWorkflow) {
+    final DeployedWorkflow deployedWorkflow = workflowsByKey.get(persistedWorkflow.getKey());
+    if (deployedWorkflow != null) {
+      return deployedWorkflow;
+    } else {
+      return transformWorkflow(persistedWorkflow);
+    }
+  }
+
+  private boolean isBounded() {
+    return capacity != UNLIMITED_CAPACITY;
+  }
+
+  private void countHit() {
+    if (metrics != null) {
+      metrics.countHit();
+    }
+  }
+
+  private void countMiss() {
+    if (metrics != null) {
+      metrics.countMiss();
+    }
+  }
 
-    if (workflowsByVersions != null) {
-      return workflowsByVersions.values();
+  private void countEviction() {
+    if (metrics != null) {
+      metrics.countEviction();
     }
-    return Collections.EMPTY_LIST;
   }
 
-  private void updateCompleteInMemoryState() {
-    workflowColumnFamily.forEach((workflow) -> updateInMemoryState(persistedWorkflow));
+  private void updateSize() {
+    if (metrics != null) {
+      metrics.setSize(workflowsByKey.size());
+    }
   }
 }
@@ -31,8 +31,12 @@ public class WorkflowState {
   private final ElementInstanceState elementInstanceState;
 
   public WorkflowState(ZeebeDb<ZbColumnFamilies> zeebeDb) {
+    this(zeebeDb, WorkflowPersistenceCache.UNLIMITED_CAPACITY);
+  }
+
+  public WorkflowState(ZeebeDb<ZbColumnFamilies> zeebeDb, int workflowCacheCapacity) {
     versionManager = new NextValueManager(zeebeDb, ZbColumnFamilies.WORKFLOW_VERSION);
-    workflowPersistenceCache = new WorkflowPersistenceCache(zeebeDb);
+    workflowPersistenceCache = new WorkflowPersistenceCache(zeebeDb, workflowCacheCapacity);
     timerInstanceState = new TimerInstanceState(zeebeDb);
     elementInstanceState = new ElementInstanceState(zeebeDb);
   }
@@ -66,6 +70,10 @@ public class WorkflowState {
     return workflowPersistenceCache.getWorkflowsByBpmnProcessId(processId);
   }
 
+  public void setCacheMetrics(WorkflowCacheMetrics metrics) {
+    workflowPersistenceCache.setMetrics(metrics);
+  }
+
   public TimerInstanceState getTimerState() {
     return timerInstanceState;
   }
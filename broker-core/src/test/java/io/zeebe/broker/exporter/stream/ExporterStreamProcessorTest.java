@@ -46,6 +46,7 @@ import io.zeebe.broker.subscription.message.data.WorkflowInstanceSubscriptionRec
 import io.zeebe.broker.util.StreamProcessorControl;
 import io.zeebe.broker.util.StreamProcessorRule;
 import io.zeebe.db.ZeebeDb;
+import io.zeebe.exporter.context.Context.RecordFilter;
 import io.zeebe.exporter.record.Record;
 import io.zeebe.exporter.record.RecordValue;
 import io.zeebe.exporter.record.value.DeploymentRecordValue;
@@ -58,6 +59,7 @@ import io.zeebe.exporter.record.value.WorkflowInstanceRecordValue;
 import io.zeebe.exporter.record.value.WorkflowInstanceSubscriptionRecordValue;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.deployment.ResourceType;
@@ -87,8 +89,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -346,6 +350,280 @@ public class ExporterStreamProcessorTest {
         .isEqualTo(lowestPosition);
   }
 
+  @Test
+  public void shouldNotExportFilteredRecords() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(2);
+    exporters.get(0).onConfigure(c -> c.setFilter(new RejectValueTypeFilter(ValueType.DEPLOYMENT)));
+
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db) -> new ExporterStreamProcessor(db, PARTITION_ID, descriptors));
+
+    // when
+    final long deploymentPosition = writeEvent();
+    final long jobPosition = rule.writeEvent(JobIntent.CREATED, new JobRecord());
+
+    control.blockAfterEvent(e -> e.getPosition() == jobPosition);
+    control.start();
+    TestUtil.waitUntil(control::isBlocked);
+
+    // then
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting("position")
+        .containsExactly(jobPosition);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting("position")
+        .containsExactly(deploymentPosition, jobPosition);
+  }
+
+  @Test
+  public void shouldAcknowledgeFilteredRecordsAfterExportedRecords() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    final ControlledTestExporter exporter = exporters.get(0);
+    exporter.onConfigure(c -> c.setFilter(new RejectValueTypeFilter(ValueType.DEPLOYMENT)));
+
+    final ExporterStreamProcessor[] processor = new ExporterStreamProcessor[1];
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db) -> {
+              processor[0] = new ExporterStreamProcessor(db, PARTITION_ID, descriptors);
+              state = processor[0].getState();
+              return processor[0];
+            });
+
+    final long jobPosition = rule.writeEvent(JobIntent.CREATED, new JobRecord());
+    final long deploymentPosition = writeEvent();
+
+    control.blockAfterEvent(e -> e.getPosition() == deploymentPosition);
+    control.start();
+    TestUtil.waitUntil(control::isBlocked);
+
+    // then
+    assertThat(processor[0].getLowestExportedPosition()).isLessThan(jobPosition);
+
+    // when
+    exporter.getController().updateLastExportedRecordPosition(jobPosition);
+
+    // then
+    TestUtil.waitUntil(() -> processor[0].getLowestExportedPosition() == deploymentPosition);
+    assertThat(state.getPosition(descriptors.get(0).getId())).isEqualTo(deploymentPosition);
+    assertThat(exporter.getExportedRecords()).extracting("position").containsExactly(jobPosition);
+  }
+
+  @Test
+  public void shouldExportRecordsInBatches() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(2);
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db) ->
+                new ExporterStreamProcessor(
+                    db, PARTITION_ID, descriptors, 3, Integer.MAX_VALUE, false));
+
+    final List<Long> positions = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      positions.add(writeEvent());
+    }
+
+    final long lastPosition = positions.get(positions.size() - 1);
+    TestUtil.waitUntil(
+        () -> rule.events().filter(e -> e.getPosition() == lastPosition).findFirst().isPresent());
+
+    // when
+    control.start();
+
+    // then
+    for (final ControlledTestExporter exporter : exporters) {
+      TestUtil.waitUntil(() -> exporter.getExportedRecords().size() == positions.size());
+
+      assertThat(exporter.getExportedRecords())
+          .extracting("position")
+          .containsExactlyElementsOf(positions);
+      assertThat(exporter.getExportedBatchSizes()).allMatch(size -> size <= 3);
+      assertThat(exporter.getExportedBatchSizes().size()).isLessThanOrEqualTo(3);
+    }
+  }
+
+  @Test
+  public void shouldLimitBatchBySize() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db) -> new ExporterStreamProcessor(db, PARTITION_ID, descriptors, 10, 1, false));
+
+    writeEvent();
+    writeEvent();
+    writeEvent();
+
+    // when
+    control.start();
+
+    // then
+    final ControlledTestExporter exporter = exporters.get(0);
+    TestUtil.waitUntil(() -> exporter.getExportedRecords().size() == 3);
+    assertThat(exporter.getExportedBatchSizes()).containsExactly(1, 1, 1);
+  }
+
+  @Test
+  public void shouldReuseRecordsOfBatches() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db) ->
+                new ExporterStreamProcessor(
+                    db, PARTITION_ID, descriptors, 2, Integer.MAX_VALUE, false));
+
+    final Set<Record> passedRecords =
+        Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    final ControlledTestExporter exporter = exporters.get(0).onExport(passedRecords::add);
+
+    final List<Long> positions = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      positions.add(writeEvent());
+    }
+
+    final long lastPosition = positions.get(positions.size() - 1);
+    TestUtil.waitUntil(
+        () -> rule.events().filter(e -> e.getPosition() == lastPosition).findFirst().isPresent());
+
+    // when
+    control.start();
+
+    // then
+    TestUtil.waitUntil(() -> exporter.getExportedRecords().size() == positions.size());
+
+    assertThat(passedRecords).hasSize(2);
+    assertThat(exporter.getExportedRecords())
+        .extracting("position")
+        .containsExactlyElementsOf(positions);
+  }
+
+  @Test
+  public void shouldApplyExporterRecordsOfBatch() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    final String exporterId = descriptors.get(0).getId();
+
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db) -> {
+              final ExporterStreamProcessor processor =
+                  new ExporterStreamProcessor(
+                      db, PARTITION_ID, descriptors, 10, Integer.MAX_VALUE, false);
+              state = processor.getState();
+              return processor;
+            });
+
+    final long firstPosition = writeEvent();
+    writeExporterEvent(exporterId, firstPosition);
+    final long secondPosition = writeEvent();
+
+    // when
+    control.start();
+
+    // then
+    final ControlledTestExporter exporter = exporters.get(0);
+    TestUtil.waitUntil(() -> exporter.getExportedRecords().size() == 2);
+    assertThat(exporter.getExportedRecords())
+        .extracting("position")
+        .containsExactly(firstPosition, secondPosition);
+    TestUtil.waitUntil(() -> state.getPosition(exporterId) == firstPosition);
+  }
+
+  @Test
+  public void shouldNotBlockIsolatedExportersByFailingExporter() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(2);
+    exporters
+        .get(0)
+        .onExport(
+            r -> {
+              throw new RuntimeException("Export failed (expected)");
+            });
+
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db) ->
+                new ExporterStreamProcessor(
+                    db, PARTITION_ID, descriptors, 10, Integer.MAX_VALUE, true));
+
+    // when
+    control.start();
+    final long firstPosition = writeEvent();
+    final long secondPosition = writeEvent();
+
+    // then
+    TestUtil.waitUntil(() -> exporters.get(1).getExportedRecords().size() == 2);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting("position")
+        .containsExactly(firstPosition, secondPosition);
+    assertThat(exporters.get(0).getExportedRecords()).isEmpty();
+  }
+
+  @Test
+  public void shouldStoreExportedPositionsOfIsolatedExporters() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(2);
+    exporters.forEach(exporter -> exporter.shouldAutoUpdatePosition(true));
+
+    final ExporterStreamProcessor[] processor = new ExporterStreamProcessor[1];
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db) -> {
+              processor[0] =
+                  new ExporterStreamProcessor(
+                      db, PARTITION_ID, descriptors, 10, Integer.MAX_VALUE, true);
+              state = processor[0].getState();
+              return processor[0];
+            });
+
+    // when
+    control.start();
+    writeEvent();
+    final long lastPosition = writeEvent();
+
+    // then
+    TestUtil.waitUntil(() -> processor[0].getLowestExportedPosition() == lastPosition);
+    for (final ExporterDescriptor descriptor : descriptors) {
+      TestUtil.waitUntil(() -> state.getPosition(descriptor.getId()) == lastPosition);
+    }
+  }
+
+  @Test
+  public void shouldRestartIsolatedExporterFromStoredPosition() {
+    // given
+    final List<ExporterDescriptor> descriptors = createMockedExporters(1);
+    exporters.get(0).shouldAutoUpdatePosition(true);
+
+    final StreamProcessorControl control =
+        rule.initStreamProcessor(
+            (db) ->
+                new ExporterStreamProcessor(
+                    db, PARTITION_ID, descriptors, 10, Integer.MAX_VALUE, true));
+    control.start();
+
+    final long firstPosition = writeEvent();
+    final ControlledTestExporter firstExporter = exporters.get(0);
+    TestUtil.waitUntil(() -> firstExporter.getExportedRecords().size() == 1);
+    control.close();
+
+    // when
+    final ControlledTestExporter secondExporter = spy(new ControlledTestExporter());
+    doAnswer(c -> secondExporter).when(descriptors.get(0)).newInstance();
+    final long secondPosition = writeEvent();
+    control.start();
+
+    // then
+    TestUtil.waitUntil(() -> secondExporter.getExportedRecords().size() == 1);
+    assertThat(secondExporter.getExportedRecords().get(0).getPosition())
+        .isEqualTo(secondPosition)
+        .isGreaterThan(firstPosition);
+  }
+
   @Test
   public void shouldExportDeploymentEvent() {
     // given
@@ -801,4 +1079,17 @@ public class ExporterStreamProcessorTest {
 
     assertThat(actualRecord).hasValue(expectedRecordValue);
   }
+
+  private static class RejectValueTypeFilter implements RecordFilter {
+    private final ValueType rejectedValueType;
+
+    RejectValueTypeFilter(final ValueType rejectedValueType) {
+      this.rejectedValueType = rejectedValueType;
+    }
+
+    @Override
+    public boolean acceptValue(final ValueType valueType) {
+      return valueType != rejectedValueType;
+    }
+  }
 }
@@ -27,6 +27,7 @@ import java.util.function.Consumer;
 
 public class ControlledTestExporter implements Exporter {
   private final List<Record> exportedRecords = new ArrayList<>();
+  private final List<Integer> exportedBatchSizes = new ArrayList<>();
 
   private boolean shouldAutoUpdatePosition;
   private Consumer<Context> onConfigure;
@@ -82,6 +83,10 @@ public class ControlledTestExporter implements Exporter {
     return exportedRecords;
   }
 
+  public List<Integer> getExportedBatchSizes() {
+    return exportedBatchSizes;
+  }
+
   @Override
   public void configure(final Context context) {
     this.context = context;
@@ -113,10 +118,21 @@ public class ControlledTestExporter implements Exporter {
       onExport.accept(record);
     }
 
-    exportedRecords.add(record);
+    exportedRecords.add(record.copy());
 
     if (shouldAutoUpdatePosition) {
       getController().updateLastExportedRecordPosition(record.getPosition());
     }
   }
+
+  @Override
+  public void exportBatch(final Iterable<Record> records) {
+    int batchSize = 0;
+    for (final Record record : records) {
+      export(record);
+      batchSize += 1;
+    }
+
+    exportedBatchSizes.add(batchSize);
+  }
 }
@@ -83,6 +83,22 @@ public class JobStateTest {
     assertListedAsTimedOut(key, jobRecord.getDeadline() + 1);
   }
 
+  @Test
+  public void shouldNotReuseGivenJobRecord() {
+    // given
+    final long key = 1L;
+    final JobRecord jobRecord = newJobRecord();
+    jobState.create(key, jobRecord);
+
+    // when
+    final JobRecord job = jobState.getJob(key);
+    jobState.getJob(2L);
+
+    // then
+    assertThat(job).isNotSameAs(jobRecord);
+    assertJobRecordIsEqualTo(job, jobRecord);
+  }
+
   @Test
   public void shouldTimeoutJob() {
     // given
@@ -234,6 +250,22 @@ public class JobStateTest {
     assertThat(jobKeys).containsExactly(1L, 2L);
   }
 
+  @Test
+  public void shouldReturnDeadlineOfFirstNotVisitedJob() {
+    // given
+    createAndActivateJobRecord(1, newJobRecord().setDeadline(1L));
+    createAndActivateJobRecord(2, newJobRecord().setDeadline(256L));
+    createAndActivateJobRecord(3, newJobRecord().setDeadline(65536L));
+
+    // when
+    final long nextDeadline = jobState.forEachTimedOutEntry(32768L, (k, e) -> k == 1L);
+
+    // then
+    assertThat(nextDeadline).isEqualTo(256L);
+    assertThat(jobState.forEachTimedOutEntry(32768L, (k, e) -> true)).isEqualTo(65536L);
+    assertThat(jobState.forEachTimedOutEntry(Long.MAX_VALUE, (k, e) -> true)).isEqualTo(-1L);
+  }
+
   @Test
   public void shouldDoNothingIfNotTimedOutJobs() {
     // given
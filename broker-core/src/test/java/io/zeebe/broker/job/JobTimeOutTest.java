@@ -120,7 +120,7 @@ public class JobTimeOutTest {
 
     apiRule.activateJobs(apiRule.getDefaultPartitionId(), jobType, timeout);
     client.receiveFirstJobEvent(ACTIVATED);
-    brokerRule.getClock().addTime(JobTimeoutTrigger.TIME_OUT_POLLING_INTERVAL);
+    brokerRule.getClock().addTime(Duration.ofMillis(timeout));
 
     // when expired
     client.receiveFirstJobEvent(TIME_OUT);
@@ -151,7 +151,7 @@ public class JobTimeOutTest {
     final long timeout = 10L;
     apiRule.activateJobs(apiRule.getDefaultPartitionId(), jobType, timeout);
     client.receiveFirstJobEvent(ACTIVATED);
-    brokerRule.getClock().addTime(JobTimeoutTrigger.TIME_OUT_POLLING_INTERVAL);
+    brokerRule.getClock().addTime(Duration.ofMillis(timeout));
 
     // when expired
     client.receiveFirstJobEvent(TIME_OUT);
@@ -194,7 +194,7 @@ public class JobTimeOutTest {
 
     // when
     client.receiveJobs().withIntent(ACTIVATED).limit(2).count();
-    brokerRule.getClock().addTime(JobTimeoutTrigger.TIME_OUT_POLLING_INTERVAL);
+    brokerRule.getClock().addTime(Duration.ofMillis(timeout));
     client.receiveFirstJobEvent(JobIntent.TIMED_OUT);
     apiRule.activateJobs(jobType);
 
@@ -223,6 +223,54 @@ public class JobTimeOutTest {
         .containsExactlyInAnyOrder(jobKey1, jobKey2);
   }
 
+  @Test
+  public void shouldTimeOutJobWithEarlierDeadlineFirst() {
+    // given
+    brokerRule.getClock().pinCurrentTime();
+    createJob("foo");
+    final long jobKey = createJob("bar");
+
+    apiRule
+        .activateJobs(apiRule.getDefaultPartitionId(), "foo", Duration.ofMinutes(5).toMillis())
+        .await();
+    apiRule
+        .activateJobs(apiRule.getDefaultPartitionId(), "bar", Duration.ofSeconds(5).toMillis())
+        .await();
+    client.receiveJobs().withIntent(ACTIVATED).limit(2).count();
+
+    // when
+    brokerRule.getClock().addTime(Duration.ofSeconds(5));
+
+    // then
+    final Record timedOutJob = client.receiveFirstJobEvent(JobIntent.TIMED_OUT);
+    assertThat(timedOutJob.getKey()).isEqualTo(jobKey);
+  }
+
+  @Test
+  public void shouldTimeOutJobAfterJobWithEarlierDeadlineIsCompleted() {
+    // given
+    brokerRule.getClock().pinCurrentTime();
+    createJob("foo");
+    final long jobKey = createJob("bar");
+
+    apiRule
+        .activateJobs(apiRule.getDefaultPartitionId(), "foo", Duration.ofSeconds(5).toMillis())
+        .await();
+    apiRule
+        .activateJobs(apiRule.getDefaultPartitionId(), "bar", Duration.ofSeconds(10).toMillis())
+        .await();
+    final Record activatedJob = client.receiveFirstJobEvent(ACTIVATED);
+    client.completeJob(activatedJob.getKey(), "{}");
+
+    // when
+    brokerRule.getClock().addTime(Duration.ofSeconds(5));
+    brokerRule.getClock().addTime(Duration.ofSeconds(5));
+
+    // then
+    final Record timedOutJob = client.receiveFirstJobEvent(JobIntent.TIMED_OUT);
+    assertThat(timedOutJob.getKey()).isEqualTo(jobKey);
+  }
+
   private long createJob(final String type) {
     return apiRule.partitionClient().createJob(type);
   }
@@ -0,0 +1,110 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.job;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.broker.transport.clientapi.BufferingServerOutput;
+import io.zeebe.protocol.clientapi.JobsAvailableNotificationDecoder;
+import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
+import org.agrona.DirectBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobsAvailableNotifierTest {
+
+  private static final int PARTITION_ID = 3;
+
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+  private final JobsAvailableNotificationDecoder notificationDecoder =
+      new JobsAvailableNotificationDecoder();
+
+  private BufferingServerOutput output;
+  private JobsAvailableNotifier notifier;
+
+  @Before
+  public void setUp() {
+    output = new BufferingServerOutput();
+    notifier = new JobsAvailableNotifier(output, PARTITION_ID);
+  }
+
+  @Test
+  public void shouldNotifyWaitingStreams() {
+    // given
+    notifier.onNoJobsAvailable(wrapString("foo"), 1);
+    notifier.onNoJobsAvailable(wrapString("foo"), 2);
+    notifier.onNoJobsAvailable(wrapString("foo"), 1);
+
+    // when
+    notifier.onJobsAvailable(wrapString("foo"));
+
+    // then
+    assertThat(output.getSentMessageStreamIds()).containsExactlyInAnyOrder(1, 2);
+    assertThat(output.getSentMessages()).allSatisfy(m -> assertNotification(m, "foo"));
+  }
+
+  @Test
+  public void shouldOnlyNotifyStreamsWaitingForType() {
+    // given
+    notifier.onNoJobsAvailable(wrapString("foo"), 1);
+    notifier.onNoJobsAvailable(wrapString("bar"), 2);
+
+    // when
+    notifier.onJobsAvailable(wrapString("bar"));
+
+    // then
+    assertThat(output.getSentMessageStreamIds()).containsExactly(2);
+    assertNotification(output.getSentMessages().get(0), "bar");
+  }
+
+  @Test
+  public void shouldNotifyStreamsOnlyOnce() {
+    // given
+    notifier.onNoJobsAvailable(wrapString("foo"), 1);
+    notifier.onJobsAvailable(wrapString("foo"));
+
+    // when
+    notifier.onJobsAvailable(wrapString("foo"));
+
+    // then
+    assertThat(output.getSentMessageStreamIds()).containsExactly(1);
+  }
+
+  @Test
+  public void shouldNotNotifyIfNoStreamIsWaiting() {
+    // when
+    notifier.onJobsAvailable(wrapString("foo"));
+
+    // then
+    assertThat(output.getSentMessages()).isEmpty();
+  }
+
+  private void assertNotification(final DirectBuffer message, final String jobType) {
+    headerDecoder.wrap(message, 0);
+    assertThat(headerDecoder.templateId()).isEqualTo(notificationDecoder.sbeTemplateId());
+
+    notificationDecoder.wrap(
+        message,
+        headerDecoder.encodedLength(),
+        headerDecoder.blockLength(),
+        headerDecoder.version());
+    assertThat(notificationDecoder.partitionId()).isEqualTo(PARTITION_ID);
+    assertThat(notificationDecoder.jobType()).isEqualTo(jobType);
+  }
+}
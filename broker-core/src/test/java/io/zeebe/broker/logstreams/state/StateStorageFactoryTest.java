@@ -0,0 +1,84 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.logstreams.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.state.StateStorage;
+import java.io.File;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StateStorageFactoryTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private StateStorageFactory factory;
+
+  @Before
+  public void setUp() {
+    factory = new StateStorageFactory(tempFolder.getRoot());
+  }
+
+  @Test
+  public void shouldListCreatedStorages() {
+    // given
+    final StateStorage first = factory.create(1, "first");
+    final StateStorage second = factory.create(2, "second");
+
+    // when
+    final List<StateStorage> storages = factory.list();
+
+    // then
+    assertThat(storages)
+        .extracting(StateStorage::getSnapshotsDirectory)
+        .containsExactlyInAnyOrder(first.getSnapshotsDirectory(), second.getSnapshotsDirectory());
+    assertThat(storages)
+        .extracting(StateStorage::getRuntimeDirectory)
+        .containsExactlyInAnyOrder(first.getRuntimeDirectory(), second.getRuntimeDirectory());
+  }
+
+  @Test
+  public void shouldNotListOtherDirectories() throws Exception {
+    // given
+    tempFolder.newFolder("other");
+    tempFolder.newFile("file");
+
+    // when
+    final List<StateStorage> storages = factory.list();
+
+    // then
+    assertThat(storages).isEmpty();
+  }
+
+  @Test
+  public void shouldListNoStoragesIfRootDirectoryNotExists() {
+    // given
+    final StateStorageFactory factory =
+        new StateStorageFactory(new File(tempFolder.getRoot(), "not-existing"));
+
+    // when
+    final List<StateStorage> storages = factory.list();
+
+    // then
+    assertThat(storages).isEmpty();
+  }
+}
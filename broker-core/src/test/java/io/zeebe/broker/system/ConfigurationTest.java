@@ -23,6 +23,7 @@ import static io.zeebe.broker.system.configuration.ClusterCfg.DEFAULT_NODE_ID;
 import static io.zeebe.broker.system.configuration.ClusterCfg.DEFAULT_PARTITIONS_COUNT;
 import static io.zeebe.broker.system.configuration.ClusterCfg.DEFAULT_REPLICATION_FACTOR;
 import static io.zeebe.broker.system.configuration.DataCfg.DEFAULT_DIRECTORY;
+import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_BACKPRESSURE_ENABLED;
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_CLUSTER_SIZE;
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_DIRECTORIES;
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_EMBED_GATEWAY;
@@ -35,6 +36,7 @@ import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_REPL
 import static io.zeebe.broker.system.configuration.NetworkCfg.DEFAULT_HOST;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.broker.system.configuration.BackpressureCfg;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.broker.system.configuration.ClusterCfg;
 import io.zeebe.broker.system.configuration.DataCfg;
@@ -45,11 +47,13 @@ import io.zeebe.broker.system.configuration.SocketBindingClientApiCfg;
 import io.zeebe.broker.system.configuration.SocketBindingManagementCfg;
 import io.zeebe.broker.system.configuration.SocketBindingReplicationCfg;
 import io.zeebe.broker.system.configuration.SocketBindingSubscriptionCfg;
+import io.zeebe.broker.workflow.state.WorkflowPersistenceCache;
 import io.zeebe.util.Environment;
 import io.zeebe.util.TomlConfigurationReader;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -438,6 +442,61 @@ public class ConfigurationTest {
     assertThat(gatewayCfg.isEnable()).isTrue();
   }
 
+  @Test
+  public void shouldDisableBackpressureByDefault() {
+    // when
+    final BackpressureCfg backpressureCfg = readConfig("default").getBackpressure();
+
+    // then
+    assertThat(backpressureCfg.isEnabled()).isFalse();
+    assertThat(backpressureCfg.getAlgorithm()).isEqualTo(BackpressureCfg.ALGORITHM_VEGAS);
+  }
+
+  @Test
+  public void shouldReadBackpressure() {
+    // when
+    final BackpressureCfg backpressureCfg = readConfig("backpressure").getBackpressure();
+
+    // then
+    assertThat(backpressureCfg.isEnabled()).isTrue();
+    assertThat(backpressureCfg.getAlgorithm()).isEqualTo(BackpressureCfg.ALGORITHM_AIMD);
+    assertThat(backpressureCfg.getInitialLimit()).isEqualTo(50);
+    assertThat(backpressureCfg.getMinLimit()).isEqualTo(5);
+    assertThat(backpressureCfg.getMaxLimit()).isEqualTo(500);
+    assertThat(backpressureCfg.getLatencyThresholdDuration()).isEqualTo(Duration.ofMillis(100));
+  }
+
+  @Test
+  public void shouldEnableBackpressureViaEnvironment() {
+    // given
+    environment.put(ENV_BACKPRESSURE_ENABLED, "true");
+
+    // when
+    final BackpressureCfg backpressureCfg = readConfig("default").getBackpressure();
+
+    // then
+    assertThat(backpressureCfg.isEnabled()).isTrue();
+  }
+
+  @Test
+  public void shouldUseDefaultWorkflowCacheCapacity() {
+    // when
+    final DataCfg dataCfg = readConfig("default").getData();
+
+    // then
+    assertThat(dataCfg.getWorkflowCacheCapacity())
+        .isEqualTo(WorkflowPersistenceCache.UNLIMITED_CAPACITY);
+  }
+
+  @Test
+  public void shouldReadWorkflowCacheCapacity() {
+    // when
+    final DataCfg dataCfg = readConfig("workflow-cache").getData();
+
+    // then
+    assertThat(dataCfg.getWorkflowCacheCapacity()).isEqualTo(1024);
+  }
+
   private BrokerCfg readConfig(final String name) {
     final String configPath = "/system/" + name + ".toml";
     final InputStream resourceAsStream = ConfigurationTest.class.getResourceAsStream(configPath);
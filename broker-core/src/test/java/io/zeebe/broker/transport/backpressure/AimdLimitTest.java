@@ -0,0 +1,88 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.Test;
+
+public class AimdLimitTest {
+  private static final long THRESHOLD = Duration.ofMillis(100).toNanos();
+
+  private final AimdLimit limit = new AimdLimit(10, 5, 12, THRESHOLD);
+
+  @Test
+  public void shouldIncreaseLimitIfLatencyIsLow() {
+    // when
+    limit.onSample(THRESHOLD / 2, 10);
+    limit.onSample(THRESHOLD / 2, 10);
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(12);
+  }
+
+  @Test
+  public void shouldNotIncreaseLimitIfLimitIsNotUsed() {
+    // when
+    limit.onSample(THRESHOLD / 2, 2);
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldNotExceedMaxLimit() {
+    // when
+    for (int i = 0; i < 10; i++) {
+      limit.onSample(THRESHOLD / 2, 12);
+    }
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(12);
+  }
+
+  @Test
+  public void shouldDecreaseLimitIfLatencyExceedsThreshold() {
+    // when
+    limit.onSample(THRESHOLD * 2, 10);
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(9);
+  }
+
+  @Test
+  public void shouldDecreaseLimitOnDrop() {
+    // when
+    limit.onDrop();
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(9);
+  }
+
+  @Test
+  public void shouldNotFallBelowMinLimit() {
+    // when
+    for (int i = 0; i < 10; i++) {
+      limit.onDrop();
+    }
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(5);
+  }
+}
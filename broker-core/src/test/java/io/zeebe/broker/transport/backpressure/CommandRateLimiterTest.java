@@ -0,0 +1,152 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.util.metrics.MetricsManager;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandRateLimiterTest {
+  private static final int STREAM_ID = 3;
+  private static final long TIMEOUT = Duration.ofSeconds(5).toNanos();
+
+  private final AtomicLong clock = new AtomicLong();
+  private final RecordingLimit algorithm = new RecordingLimit(2);
+
+  private CommandRateLimiter limiter;
+
+  @Before
+  public void setUp() {
+    limiter = new CommandRateLimiter(algorithm, new MetricsManager(), 1, clock::get, TIMEOUT);
+  }
+
+  @After
+  public void tearDown() {
+    limiter.close();
+  }
+
+  @Test
+  public void shouldAcceptCommandsUpToLimit() {
+    // when
+    assertThat(limiter.tryAcquire(1)).isTrue();
+    limiter.onCommandWritten(STREAM_ID, 1);
+    assertThat(limiter.tryAcquire(1)).isTrue();
+    limiter.onCommandWritten(STREAM_ID, 2);
+
+    // then
+    assertThat(limiter.getInFlight()).isEqualTo(2);
+    assertThat(limiter.tryAcquire(1)).isFalse();
+  }
+
+  @Test
+  public void shouldAcceptBatchExceedingLimitOnIdlePartition() {
+    // when
+    final boolean isAccepted = limiter.tryAcquire(5);
+
+    // then
+    assertThat(isAccepted).isTrue();
+  }
+
+  @Test
+  public void shouldReleaseCommandOnResponse() {
+    // given
+    limiter.onCommandWritten(STREAM_ID, 1);
+    limiter.onCommandWritten(STREAM_ID, 2);
+    clock.addAndGet(100);
+
+    // when
+    limiter.onResponse(STREAM_ID, 1);
+
+    // then
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+    assertThat(limiter.tryAcquire(1)).isTrue();
+    assertThat(algorithm.lastRtt).isEqualTo(100);
+    assertThat(algorithm.lastInFlight).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldIgnoreResponseOfUnknownCommand() {
+    // given
+    limiter.onCommandWritten(STREAM_ID, 1);
+
+    // when
+    limiter.onResponse(STREAM_ID + 1, 1);
+    limiter.onResponse(STREAM_ID, 2);
+
+    // then
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+    assertThat(algorithm.samples).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldDropCommandsWithoutResponse() {
+    // given
+    limiter.onCommandWritten(STREAM_ID, 1);
+    limiter.onCommandWritten(STREAM_ID, 2);
+
+    // when
+    clock.addAndGet(TIMEOUT + Duration.ofSeconds(1).toNanos());
+    final boolean isAccepted = limiter.tryAcquire(1);
+
+    // then
+    assertThat(isAccepted).isTrue();
+    assertThat(limiter.getInFlight()).isEqualTo(0);
+    assertThat(algorithm.drops).isEqualTo(1);
+
+    // when the response arrives late
+    limiter.onResponse(STREAM_ID, 1);
+
+    // then
+    assertThat(limiter.getInFlight()).isEqualTo(0);
+  }
+
+  private static class RecordingLimit implements LimitAlgorithm {
+    private final int limit;
+
+    private int samples;
+    private long lastRtt;
+    private int lastInFlight;
+    private int drops;
+
+    RecordingLimit(final int limit) {
+      this.limit = limit;
+    }
+
+    @Override
+    public int getLimit() {
+      return limit;
+    }
+
+    @Override
+    public void onSample(final long rttNanos, final int inFlight) {
+      samples += 1;
+      lastRtt = rttNanos;
+      lastInFlight = inFlight;
+    }
+
+    @Override
+    public void onDrop() {
+      drops += 1;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.Test;
+
+public class VegasLimitTest {
+  private static final long RTT = Duration.ofMillis(10).toNanos();
+
+  private final VegasLimit limit = new VegasLimit(100, 10, 1000);
+
+  @Test
+  public void shouldIncreaseLimitIfLatencyDoesNotGrow() {
+    // given
+    limit.onSample(RTT, 100);
+
+    // when
+    limit.onSample(RTT, 100);
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(112);
+  }
+
+  @Test
+  public void shouldDecreaseLimitIfLatencyGrows() {
+    // given
+    limit.onSample(RTT, 100);
+
+    // when
+    limit.onSample(RTT * 2, 100);
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(98);
+  }
+
+  @Test
+  public void shouldKeepLimitIfQueueIsBetweenThresholds() {
+    // given
+    limit.onSample(RTT, 100);
+
+    // when - queue of 9 commands
+    limit.onSample(RTT * 100 / 91, 100);
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldNotChangeLimitIfLimitIsNotUsed() {
+    // given
+    limit.onSample(RTT, 100);
+
+    // when
+    limit.onSample(RTT * 2, 10);
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldDecreaseLimitOnDrop() {
+    // when
+    limit.onDrop();
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(98);
+  }
+
+  @Test
+  public void shouldStayWithinBounds() {
+    // given
+    final VegasLimit boundedLimit = new VegasLimit(10, 10, 12);
+    boundedLimit.onSample(RTT, 10);
+
+    // when
+    boundedLimit.onSample(RTT, 10);
+
+    // then
+    assertThat(boundedLimit.getLimit()).isEqualTo(12);
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      boundedLimit.onDrop();
+    }
+
+    // then
+    assertThat(boundedLimit.getLimit()).isEqualTo(10);
+  }
+}
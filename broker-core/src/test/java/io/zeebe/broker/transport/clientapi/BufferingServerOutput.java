@@ -44,10 +44,15 @@ public class BufferingServerOutput implements ServerOutput {
   protected final MsgPackHelper msgPackDecoder = new MsgPackHelper();
 
   protected List<DirectBuffer> sentResponses = new CopyOnWriteArrayList<>();
+  protected List<DirectBuffer> sentMessages = new CopyOnWriteArrayList<>();
+  protected List<Integer> sentMessageStreamIds = new CopyOnWriteArrayList<>();
 
   @Override
   public boolean sendMessage(int remoteStreamId, BufferWriter writer) {
-    // ignore; not yet implemented
+    final UnsafeBuffer buf = new UnsafeBuffer(new byte[writer.getLength()]);
+    writer.write(buf, 0);
+    sentMessages.add(buf);
+    sentMessageStreamIds.add(remoteStreamId);
     return true;
   }
 
@@ -63,13 +68,21 @@ public class BufferingServerOutput implements ServerOutput {
     return sentResponses;
   }
 
+  public List<DirectBuffer> getSentMessages() {
+    return sentMessages;
+  }
+
+  public List<Integer> getSentMessageStreamIds() {
+    return sentMessageStreamIds;
+  }
+
   public ErrorResponseDecoder getAsErrorResponse(int index) {
     return getAs(index, errorDecoder);
   }
 
   public void wrapResponse(final int index, final BufferReader reader) {
     final DirectBuffer buffer = sentResponses.get(index);
-    reader.wrap(buffer, MESSAGE_START_OFFSET, buffer.capacity());
+    reader.wrap(buffer, MESSAGE_START_OFFSET, buffer.capacity() - MESSAGE_START_OFFSET);
   }
 
   public int getTemplateId(final int index) {
@@ -28,6 +28,8 @@ import static org.mockito.Mockito.when;
 
 import io.zeebe.broker.clustering.base.partitions.Partition;
 import io.zeebe.broker.clustering.base.topology.PartitionInfo;
+import io.zeebe.broker.system.configuration.BackpressureCfg;
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
 import io.zeebe.broker.transport.controlmessage.ControlMessageRequestHeaderDescriptor;
 import io.zeebe.dispatcher.ClaimedFragment;
 import io.zeebe.dispatcher.Dispatcher;
@@ -43,6 +45,7 @@ import io.zeebe.protocol.clientapi.ErrorResponseDecoder;
 import io.zeebe.protocol.clientapi.ExecuteCommandRequestEncoder;
 import io.zeebe.protocol.clientapi.MessageHeaderEncoder;
 import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchRequest;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.intent.Intent;
@@ -54,7 +57,9 @@ import io.zeebe.test.util.TestUtil;
 import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.SocketAddress;
 import io.zeebe.transport.impl.RemoteAddressImpl;
+import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.ArrayList;
 import java.util.List;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -103,6 +108,7 @@ public class ClientApiMessageHandlerTest {
   int fragmentOffset = 0;
 
   private LogStream logStream;
+  private Partition partition;
   private ClientApiMessageHandler messageHandler;
 
   @Mock private Dispatcher mockControlMessageDispatcher;
@@ -137,7 +143,7 @@ public class ClientApiMessageHandlerTest {
 
     messageHandler = new ClientApiMessageHandler(mockControlMessageDispatcher);
 
-    final Partition partition =
+    partition =
         new Partition(new PartitionInfo(LOG_STREAM_PARTITION_ID, 1), RaftState.LEADER) {
           @Override
           public LogStream getLogStream() {
@@ -149,6 +155,23 @@ public class ClientApiMessageHandlerTest {
     logStream.setTerm(RAFT_TERM);
   }
 
+  private ClientApiMessageHandler newLimitedMessageHandler(final int limit) {
+    final BackpressureCfg backpressureCfg = new BackpressureCfg();
+    backpressureCfg.setEnabled(true);
+    backpressureCfg.setAlgorithm(BackpressureCfg.ALGORITHM_AIMD);
+    backpressureCfg.setInitialLimit(limit);
+    backpressureCfg.setMinLimit(limit);
+    backpressureCfg.setMaxLimit(limit);
+
+    final ClientApiMessageHandler limitedMessageHandler =
+        new ClientApiMessageHandler(
+            mockControlMessageDispatcher,
+            PartitionAwareRequestLimiter.newLimiter(backpressureCfg, new MetricsManager()));
+    limitedMessageHandler.addPartition(partition);
+
+    return limitedMessageHandler;
+  }
+
   @After
   public void cleanUp() {
     logStream.close();
@@ -243,6 +266,202 @@ public class ClientApiMessageHandlerTest {
     assertThat(eventMetadata.getIntent()).isEqualTo(JobIntent.CREATE);
   }
 
+  @Test
+  public void shouldWriteCommandBatchToLog() {
+    // given
+    final ExecuteCommandBatchRequest batchRequest =
+        new ExecuteCommandBatchRequest()
+            .setPartitionId(LOG_STREAM_PARTITION_ID)
+            .setValueType(ValueType.JOB)
+            .setIntent(JobIntent.COMPLETE);
+
+    final UnsafeBuffer jobEvent = new UnsafeBuffer(JOB_EVENT);
+    for (int i = 1; i <= 3; i++) {
+      batchRequest.addCommand(i, jobEvent, 0, jobEvent.capacity());
+    }
+    batchRequest.write(buffer, 0);
+
+    // when
+    final boolean isHandled =
+        messageHandler.onRequest(
+            serverOutput, DEFAULT_ADDRESS, buffer, 0, batchRequest.getLength(), REQUEST_ID);
+
+    // then
+    assertThat(isHandled).isTrue();
+    assertThat(serverOutput.getSentResponses()).isEmpty();
+    assertThat(messageHandler.getPendingCommandBatches().getPendingBatchCount()).isEqualTo(1);
+
+    final BufferedLogStreamReader logStreamReader = new BufferedLogStreamReader(logStream, true);
+    final List<Long> keys = new ArrayList<>();
+    final List<Long> requestIds = new ArrayList<>();
+
+    while (keys.size() < 3) {
+      waitForAvailableEvent(logStreamReader);
+
+      final LoggedEvent loggedEvent = logStreamReader.next();
+      final RecordMetadata eventMetadata = new RecordMetadata();
+      loggedEvent.readMetadata(eventMetadata);
+
+      assertThat(eventMetadata.getValueType()).isEqualTo(ValueType.JOB);
+      assertThat(eventMetadata.getIntent()).isEqualTo(JobIntent.COMPLETE);
+      assertThat(eventMetadata.getRequestStreamId())
+          .isEqualTo(PendingCommandBatches.BATCH_REQUEST_STREAM_ID);
+
+      keys.add(loggedEvent.getKey());
+      requestIds.add(eventMetadata.getRequestId());
+    }
+
+    assertThat(keys).containsExactly(1L, 2L, 3L);
+    assertThat(requestIds).doesNotHaveDuplicates();
+  }
+
+  @Test
+  public void shouldRejectCommandBatchWithInvalidCommand() {
+    // given
+    final UnsafeBuffer jobEvent = new UnsafeBuffer(JOB_EVENT);
+    final ExecuteCommandBatchRequest batchRequest =
+        new ExecuteCommandBatchRequest()
+            .setPartitionId(LOG_STREAM_PARTITION_ID)
+            .setValueType(ValueType.MESSAGE)
+            .setIntent(MessageIntent.PUBLISH)
+            .addCommand(1, jobEvent, 0, jobEvent.capacity());
+    batchRequest.write(buffer, 0);
+
+    // when
+    final boolean isHandled =
+        messageHandler.onRequest(
+            serverOutput, DEFAULT_ADDRESS, buffer, 0, batchRequest.getLength(), REQUEST_ID);
+
+    // then
+    assertThat(isHandled).isTrue();
+    assertThat(messageHandler.getPendingCommandBatches().getPendingBatchCount()).isEqualTo(0);
+
+    assertThat(serverOutput.getSentResponses()).hasSize(1);
+
+    final ErrorResponseDecoder errorDecoder = serverOutput.getAsErrorResponse(0);
+
+    assertThat(errorDecoder.errorCode()).isEqualTo(ErrorCode.INVALID_MESSAGE);
+    assertThat(errorDecoder.errorData())
+        .contains("Cannot deserialize command at index 0 of batch:")
+        .contains("Property 'name' has no valid value");
+  }
+
+  @Test
+  public void shouldRejectCommandIfPartitionHasTooManyCommandsInFlight() {
+    // given
+    final ClientApiMessageHandler limitedMessageHandler = newLimitedMessageHandler(1);
+
+    final int writtenLength =
+        writeCommandRequestToBuffer(
+            buffer, LOG_STREAM_PARTITION_ID, null, ValueType.JOB, JobIntent.CREATE);
+    limitedMessageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, 1);
+
+    // when
+    final boolean isHandled =
+        limitedMessageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, 2);
+
+    // then
+    assertThat(isHandled).isTrue();
+    assertThat(serverOutput.getSentResponses()).hasSize(1);
+
+    final ErrorResponseDecoder errorDecoder = serverOutput.getAsErrorResponse(0);
+
+    assertThat(errorDecoder.errorCode()).isEqualTo(ErrorCode.RESOURCE_EXHAUSTED);
+    assertThat(errorDecoder.errorData())
+        .isEqualTo("Cannot execute command. Partition with id '1' has too many commands in flight");
+  }
+
+  @Test
+  public void shouldAcceptCommandIfInFlightCommandIsAnswered() {
+    // given
+    final ClientApiMessageHandler limitedMessageHandler = newLimitedMessageHandler(1);
+
+    final int writtenLength =
+        writeCommandRequestToBuffer(
+            buffer, LOG_STREAM_PARTITION_ID, null, ValueType.JOB, JobIntent.CREATE);
+    limitedMessageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, 1);
+
+    // when
+    limitedMessageHandler
+        .getRequestLimiter()
+        .onResponse(LOG_STREAM_PARTITION_ID, DEFAULT_ADDRESS.getStreamId(), 1);
+
+    final boolean isHandled =
+        limitedMessageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, 2);
+
+    // then
+    assertThat(isHandled).isTrue();
+    assertThat(serverOutput.getSentResponses()).isEmpty();
+    assertThat(
+            limitedMessageHandler
+                .getRequestLimiter()
+                .getLimiter(LOG_STREAM_PARTITION_ID)
+                .getInFlight())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotLimitJobCompleteCommands() {
+    // given
+    final ClientApiMessageHandler limitedMessageHandler = newLimitedMessageHandler(1);
+
+    final int writtenLength =
+        writeCommandRequestToBuffer(
+            buffer, LOG_STREAM_PARTITION_ID, null, ValueType.JOB, JobIntent.COMPLETE);
+
+    // when
+    limitedMessageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, 1);
+    limitedMessageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, 2);
+
+    // then
+    assertThat(serverOutput.getSentResponses()).isEmpty();
+    assertThat(
+            limitedMessageHandler
+                .getRequestLimiter()
+                .getLimiter(LOG_STREAM_PARTITION_ID)
+                .getInFlight())
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void shouldRejectCommandBatchIfPartitionHasTooManyCommandsInFlight() {
+    // given
+    final ClientApiMessageHandler limitedMessageHandler = newLimitedMessageHandler(2);
+
+    final UnsafeBuffer jobEvent = new UnsafeBuffer(JOB_EVENT);
+    final ExecuteCommandBatchRequest batchRequest =
+        new ExecuteCommandBatchRequest()
+            .setPartitionId(LOG_STREAM_PARTITION_ID)
+            .setValueType(ValueType.JOB)
+            .setIntent(JobIntent.CREATE)
+            .addCommand(1, jobEvent, 0, jobEvent.capacity())
+            .addCommand(2, jobEvent, 0, jobEvent.capacity());
+    batchRequest.write(buffer, 0);
+
+    limitedMessageHandler.onRequest(
+        serverOutput, DEFAULT_ADDRESS, buffer, 0, batchRequest.getLength(), 1);
+
+    // when
+    final boolean isHandled =
+        limitedMessageHandler.onRequest(
+            serverOutput, DEFAULT_ADDRESS, buffer, 0, batchRequest.getLength(), 2);
+
+    // then
+    assertThat(isHandled).isTrue();
+    assertThat(limitedMessageHandler.getPendingCommandBatches().getPendingBatchCount())
+        .isEqualTo(1);
+    assertThat(
+            limitedMessageHandler
+                .getRequestLimiter()
+                .getLimiter(LOG_STREAM_PARTITION_ID)
+                .getInFlight())
+        .isEqualTo(2);
+
+    assertThat(serverOutput.getSentResponses()).hasSize(1);
+    assertThat(serverOutput.getAsErrorResponse(0).errorCode())
+        .isEqualTo(ErrorCode.RESOURCE_EXHAUSTED);
+  }
+
   @Test
   public void shouldHandleControlRequest() {
     // given
@@ -0,0 +1,254 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import static io.zeebe.broker.transport.clientapi.PendingCommandBatches.BATCH_REQUEST_STREAM_ID;
+import static io.zeebe.util.StringUtil.getBytes;
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse.Result;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandResponse;
+import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.transport.ServerResponse;
+import io.zeebe.util.buffer.DirectBufferWriter;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandBatchResponseOutputTest {
+  private static final int NODE_ID = 2;
+  private static final int PARTITION_ID = 1;
+  private static final int REQUEST_STREAM_ID = 3;
+  private static final long REQUEST_ID = 4L;
+  private static final byte[] EVENT = getBytes("state");
+
+  private final DirectBufferWriter eventWriter = new DirectBufferWriter();
+  private final PendingCommandBatches pendingCommandBatches = new PendingCommandBatches(NODE_ID);
+
+  private BufferingServerOutput clientApiOutput;
+  private CommandResponseWriter responseWriter;
+
+  @Before
+  public void setup() {
+    clientApiOutput = new BufferingServerOutput();
+    responseWriter =
+        new CommandResponseWriter(
+            new CommandBatchResponseOutput(clientApiOutput, pendingCommandBatches, PARTITION_ID));
+
+    eventWriter.wrap(new UnsafeBuffer(EVENT), 0, EVENT.length);
+  }
+
+  @Test
+  public void shouldSendBatchResponseWhenAllCommandsAreAnswered() {
+    // given
+    final long batchId = registerBatch(2);
+
+    // when
+    writeEvent(2L);
+    writeResponse(PendingCommandBatches.commandRequestId(batchId, 1));
+
+    assertThat(clientApiOutput.getSentResponses()).isEmpty();
+
+    writeRejection(1L, "invalid");
+    writeResponse(PendingCommandBatches.commandRequestId(batchId, 0));
+
+    // then
+    assertThat(clientApiOutput.getSentResponses()).hasSize(1);
+    assertThat(pendingCommandBatches.getPendingBatchCount()).isEqualTo(0);
+
+    final ExecuteCommandBatchResponse batchResponse = new ExecuteCommandBatchResponse();
+    clientApiOutput.wrapResponse(0, batchResponse);
+
+    assertThat(batchResponse.getPartitionId()).isEqualTo(PARTITION_ID);
+    assertThat(batchResponse.getValueType()).isEqualTo(ValueType.JOB);
+    assertThat(batchResponse.getResultCount()).isEqualTo(2);
+
+    final Result rejection = batchResponse.getResult(0);
+    assertThat(rejection.getKey()).isEqualTo(1L);
+    assertThat(rejection.getRecordType()).isEqualTo(RecordType.COMMAND_REJECTION);
+    assertThat(rejection.getIntent()).isEqualTo(JobIntent.COMPLETE);
+    assertThat(rejection.getRejectionType()).isEqualTo(RejectionType.NOT_APPLICABLE);
+    assertThat(bufferAsString(rejection.getRejectionReason())).isEqualTo("invalid");
+
+    final Result event = batchResponse.getResult(1);
+    assertThat(event.getKey()).isEqualTo(2L);
+    assertThat(event.getRecordType()).isEqualTo(RecordType.EVENT);
+    assertThat(event.getIntent()).isEqualTo(JobIntent.COMPLETED);
+    assertThat(bufferAsString(event.getValue())).isEqualTo("state");
+  }
+
+  @Test
+  public void shouldPassResponsesOfSingleCommands() {
+    // given
+    registerBatch(2);
+
+    // when
+    writeEvent(2L);
+    responseWriter.tryWriteResponse(REQUEST_STREAM_ID, REQUEST_ID);
+
+    // then
+    assertThat(clientApiOutput.getSentResponses()).hasSize(1);
+
+    final ExecuteCommandResponse response = new ExecuteCommandResponse();
+    clientApiOutput.wrapResponse(0, response);
+    assertThat(response.getKey()).isEqualTo(2L);
+  }
+
+  @Test
+  public void shouldDropResponsesOfRemovedBatch() {
+    // given
+    final long batchId = registerBatch(1);
+    pendingCommandBatches.removePartition(PARTITION_ID);
+
+    // when
+    writeEvent(2L);
+    final boolean isSent = writeResponse(PendingCommandBatches.commandRequestId(batchId, 0));
+
+    // then
+    assertThat(isSent).isTrue();
+    assertThat(clientApiOutput.getSentResponses()).isEmpty();
+  }
+
+  @Test
+  public void shouldDropResponsesOfBatchOfOtherPartition() {
+    // given
+    final long batchId =
+        pendingCommandBatches.register(
+            PARTITION_ID + 1, REQUEST_STREAM_ID, REQUEST_ID, ValueType.JOB, 1);
+
+    // when
+    writeEvent(2L);
+    final boolean isSent = writeResponse(PendingCommandBatches.commandRequestId(batchId, 0));
+
+    // then
+    assertThat(isSent).isTrue();
+    assertThat(clientApiOutput.getSentResponses()).isEmpty();
+    assertThat(pendingCommandBatches.getPendingBatchCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldDropResponsesOfCommandOutsideOfBatch() {
+    // given
+    final long batchId = registerBatch(1);
+
+    // when
+    writeEvent(2L);
+    final boolean isSent = writeResponse(PendingCommandBatches.commandRequestId(batchId, 1));
+
+    // then
+    assertThat(isSent).isTrue();
+    assertThat(clientApiOutput.getSentResponses()).isEmpty();
+    assertThat(pendingCommandBatches.getPendingBatchCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotResolveBatchOfOtherNode() {
+    // given
+    final PendingCommandBatches otherNodeBatches = new PendingCommandBatches(NODE_ID + 1);
+    final long otherBatchId =
+        otherNodeBatches.register(PARTITION_ID, REQUEST_STREAM_ID, REQUEST_ID, ValueType.JOB, 1);
+    registerBatch(1);
+
+    // when
+    writeEvent(2L);
+    final boolean isSent = writeResponse(PendingCommandBatches.commandRequestId(otherBatchId, 0));
+
+    // then
+    assertThat(isSent).isTrue();
+    assertThat(clientApiOutput.getSentResponses()).isEmpty();
+    assertThat(pendingCommandBatches.getPendingBatchCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRetrySendingBatchResponse() {
+    // given
+    final BufferingServerOutput failingOutput =
+        new BufferingServerOutput() {
+          private boolean hasFailed;
+
+          @Override
+          public boolean sendResponse(ServerResponse response) {
+            if (!hasFailed) {
+              hasFailed = true;
+              return false;
+            }
+            return super.sendResponse(response);
+          }
+        };
+    responseWriter =
+        new CommandResponseWriter(
+            new CommandBatchResponseOutput(failingOutput, pendingCommandBatches, PARTITION_ID));
+
+    final long batchId = registerBatch(1);
+    final long commandRequestId = PendingCommandBatches.commandRequestId(batchId, 0);
+
+    // when
+    writeEvent(2L);
+    final boolean isSentFirst = writeResponse(commandRequestId);
+
+    writeEvent(2L);
+    final boolean isSentSecond = writeResponse(commandRequestId);
+
+    // then
+    assertThat(isSentFirst).isFalse();
+    assertThat(isSentSecond).isTrue();
+    assertThat(failingOutput.getSentResponses()).hasSize(1);
+
+    final ExecuteCommandBatchResponse batchResponse = new ExecuteCommandBatchResponse();
+    failingOutput.wrapResponse(0, batchResponse);
+    assertThat(batchResponse.getResultCount()).isEqualTo(1);
+    assertThat(batchResponse.getResult(0).getKey()).isEqualTo(2L);
+  }
+
+  private long registerBatch(int commandCount) {
+    return pendingCommandBatches.register(
+        PARTITION_ID, REQUEST_STREAM_ID, REQUEST_ID, ValueType.JOB, commandCount);
+  }
+
+  private void writeEvent(long key) {
+    responseWriter
+        .partitionId(PARTITION_ID)
+        .key(key)
+        .recordType(RecordType.EVENT)
+        .valueType(ValueType.JOB)
+        .intent(JobIntent.COMPLETED)
+        .valueWriter(eventWriter);
+  }
+
+  private void writeRejection(long key, String reason) {
+    responseWriter
+        .partitionId(PARTITION_ID)
+        .key(key)
+        .recordType(RecordType.COMMAND_REJECTION)
+        .valueType(ValueType.JOB)
+        .intent(JobIntent.COMPLETE)
+        .rejectionType(RejectionType.NOT_APPLICABLE)
+        .rejectionReason(wrapString(reason))
+        .valueWriter(eventWriter);
+  }
+
+  private boolean writeResponse(long commandRequestId) {
+    return responseWriter.tryWriteResponse(BATCH_REQUEST_STREAM_ID, commandRequestId);
+  }
+}
@@ -143,6 +143,10 @@ public class StreamProcessorRule implements TestRule {
     return zeebeState;
   }
 
+  public BufferingServerOutput getOutput() {
+    return output;
+  }
+
   public RecordStream events() {
     return new RecordStream(streams.events(STREAM_NAME));
   }
@@ -29,6 +29,7 @@ import static org.mockito.Mockito.when;
 
 import io.zeebe.broker.clustering.base.topology.TopologyManager;
 import io.zeebe.broker.job.JobEventProcessors;
+import io.zeebe.broker.job.JobsAvailableNotifier;
 import io.zeebe.broker.logstreams.processor.TypedRecord;
 import io.zeebe.broker.logstreams.state.ZeebeState;
 import io.zeebe.broker.subscription.command.SubscriptionCommandSender;
@@ -111,7 +112,11 @@ public class WorkflowInstanceStreamProcessorRule extends ExternalResource {
                   mockTopologyManager,
                   new DueDateTimerChecker(workflowState));
 
-              JobEventProcessors.addJobProcessors(typedEventStreamProcessorBuilder, zeebeState);
+              JobEventProcessors.addJobProcessors(
+                  typedEventStreamProcessorBuilder,
+                  zeebeState,
+                  new JobsAvailableNotifier(
+                      environmentRule.getOutput(), StreamProcessorRule.PARTITION_ID));
 
               return typedEventStreamProcessorBuilder.build();
             });
@@ -0,0 +1,147 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.workflow.state;
+
+import static io.zeebe.broker.workflow.state.WorkflowStateTest.creatingDeploymentRecord;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.broker.logstreams.state.ZbColumnFamilies;
+import io.zeebe.broker.logstreams.state.ZeebeState;
+import io.zeebe.broker.util.ZeebeStateRule;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
+import java.util.Collection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class WorkflowPersistenceCacheTest {
+
+  @Rule public ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  private ZeebeState zeebeState;
+  private ZeebeDb<ZbColumnFamilies> db;
+  private WorkflowPersistenceCache cache;
+
+  @Before
+  public void setUp() {
+    zeebeState = stateRule.getZeebeState();
+    db = stateRule.createNewDb();
+    cache = new WorkflowPersistenceCache(db, 2);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    db.close();
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedWorkflow() {
+    // given
+    final long firstKey = deployWorkflow(1, "first");
+    final long secondKey = deployWorkflow(2, "second");
+    final long thirdKey = deployWorkflow(3, "third");
+
+    final DeployedWorkflow firstWorkflow = cache.getWorkflowByKey(firstKey);
+    final DeployedWorkflow secondWorkflow = cache.getWorkflowByKey(secondKey);
+    cache.getWorkflowByKey(firstKey);
+
+    // when
+    cache.getWorkflowByKey(thirdKey);
+
+    // then
+    assertThat(cache.getWorkflowByKey(firstKey)).isSameAs(firstWorkflow);
+    assertThat(cache.getWorkflowByKey(secondKey)).isNotSameAs(secondWorkflow);
+  }
+
+  @Test
+  public void shouldGetEvictedWorkflowByProcessIdAndVersion() {
+    // given
+    final long firstKey = deployWorkflow(1, "first");
+    deployWorkflow(2, "second");
+    deployWorkflow(3, "third");
+
+    cache.getWorkflowByProcessIdAndVersion(wrapString("first"), 1);
+    cache.getWorkflowByProcessIdAndVersion(wrapString("second"), 1);
+    cache.getWorkflowByProcessIdAndVersion(wrapString("third"), 1);
+
+    // when
+    final DeployedWorkflow workflow =
+        cache.getWorkflowByProcessIdAndVersion(wrapString("first"), 1);
+
+    // then
+    assertThat(workflow).isNotNull();
+    assertThat(workflow.getKey()).isEqualTo(firstKey);
+    assertThat(cache.getLatestWorkflowVersionByProcessId(wrapString("first"))).isSameAs(workflow);
+  }
+
+  @Test
+  public void shouldGetAllWorkflowsIfCacheIsFull() {
+    // given
+    deployWorkflow(1, "first");
+    deployWorkflow(2, "second");
+    deployWorkflow(3, "third");
+
+    // when
+    final Collection<DeployedWorkflow> workflows = cache.getWorkflows();
+
+    // then
+    assertThat(workflows)
+        .extracting(w -> w.getWorkflow().getId())
+        .containsExactlyInAnyOrder(wrapString("first"), wrapString("second"), wrapString("third"));
+  }
+
+  @Test
+  public void shouldRemoveMetrics() {
+    // given
+    final long firstKey = deployWorkflow(1, "first");
+
+    // when
+    cache.setMetrics(null);
+
+    // then
+    assertThat(cache.getWorkflowByKey(firstKey)).isNotNull();
+  }
+
+  @Test
+  public void shouldNotEvictWorkflowsWithUnlimitedCapacity() {
+    // given
+    cache = new WorkflowPersistenceCache(db, WorkflowPersistenceCache.UNLIMITED_CAPACITY);
+    final long firstKey = deployWorkflow(1, "first");
+    final long secondKey = deployWorkflow(2, "second");
+    final long thirdKey = deployWorkflow(3, "third");
+
+    final DeployedWorkflow firstWorkflow = cache.getWorkflowByKey(firstKey);
+    final DeployedWorkflow secondWorkflow = cache.getWorkflowByKey(secondKey);
+
+    // when
+    cache.getWorkflowByKey(thirdKey);
+
+    // then
+    assertThat(cache.getWorkflowByKey(firstKey)).isSameAs(firstWorkflow);
+    assertThat(cache.getWorkflowByKey(secondKey)).isSameAs(secondWorkflow);
+  }
+
+  private long deployWorkflow(final long deploymentKey, final String processId) {
+    final DeploymentRecord deploymentRecord = creatingDeploymentRecord(zeebeState, processId);
+    cache.putDeployment(deploymentKey, deploymentRecord);
+    return deploymentRecord.workflows().iterator().next().getKey();
+  }
+}
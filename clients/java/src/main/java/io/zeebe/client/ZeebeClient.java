@@ -17,6 +17,7 @@ package io.zeebe.client;
 
 import io.zeebe.client.api.clients.JobClient;
 import io.zeebe.client.api.commands.ActivateJobsCommandStep1;
+import io.zeebe.client.api.commands.BulkCommand;
 import io.zeebe.client.api.commands.CancelWorkflowInstanceCommandStep1;
 import io.zeebe.client.api.commands.CreateWorkflowInstanceCommandStep1;
 import io.zeebe.client.api.commands.DeployWorkflowCommandStep1;
@@ -111,6 +112,26 @@ public interface ZeebeClient extends AutoCloseable, JobClient {
    */
   CreateWorkflowInstanceCommandStep1 newCreateInstanceCommand();
 
+  /**
+   * Command to create many workflow instances over one stream.
+   *
+   * <pre>
+   * BulkCommand&#60;CreateWorkflowInstanceCommandStep1&#62; bulk =
+   *  zeebeClient.newBulkCreateInstanceCommand();
+   *
+   * bulk.add()
+   *  .bpmnProcessId("my-process")
+   *  .latestVersion()
+   *  .payload(json)
+   *  .send();
+   *
+   * bulk.complete();
+   * </pre>
+   *
+   * @return a bulk command to add the commands to
+   */
+  BulkCommand<CreateWorkflowInstanceCommandStep1> newBulkCreateInstanceCommand();
+
   /**
    * Command to cancel a workflow instance.
    *
@@ -156,6 +177,26 @@ public interface ZeebeClient extends AutoCloseable, JobClient {
    */
   PublishMessageCommandStep1 newPublishMessageCommand();
 
+  /**
+   * Command to publish many messages over one stream.
+   *
+   * <pre>
+   * BulkCommand&#60;PublishMessageCommandStep1&#62; bulk =
+   *  zeebeClient.newBulkPublishMessageCommand();
+   *
+   * bulk.add()
+   *  .messageName("order canceled")
+   *  .correlationKey(orderId)
+   *  .payload(json)
+   *  .send();
+   *
+   * bulk.complete();
+   * </pre>
+   *
+   * @return a bulk command to add the commands to
+   */
+  BulkCommand<PublishMessageCommandStep1> newBulkPublishMessageCommand();
+
   /**
    * Request to get the resource of a workflow (i.e. the XML representation).
    *
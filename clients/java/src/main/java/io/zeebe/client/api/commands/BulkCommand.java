@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.api.commands;
+
+import io.zeebe.client.api.ZeebeFuture;
+
+/**
+ * Sends many commands of the same kind over one stream. The broker writes the commands which belong
+ * to the same partition together, so that a high rate of commands can be sent with less overhead
+ * than by sending each command on its own.
+ *
+ * <pre>
+ * BulkCommand&#60;PublishMessageCommandStep1&#62; bulk = zeebeClient.newBulkPublishMessageCommand();
+ *
+ * for (String orderId : orderIds) {
+ *   bulk.add()
+ *     .messageName("order canceled")
+ *     .correlationKey(orderId)
+ *     .send();
+ * }
+ *
+ * bulk.complete().join();
+ * </pre>
+ *
+ * @param <T> the builder of a single command
+ */
+public interface BulkCommand<T> {
+
+  /**
+   * Returns the builder for the next command. Calling {@link FinalCommandStep#send()} on the
+   * builder enqueues the command on the stream and returns a future which is completed when the
+   * broker has processed the command.
+   *
+   * <p>Unlike the send of a single command, the send of a bulk command may block the calling
+   * thread: the gateway accepts only a limited number of commands which are not acknowledged yet,
+   * and the command is enqueued only when the gateway requests more commands. So the commands
+   * should not be added from a thread which must not block, e.g. a job handler or the callback of
+   * another command.
+   *
+   * @return the builder for the next command
+   */
+  T add();
+
+  /**
+   * Completes the stream. No more commands can be added afterwards.
+   *
+   * @return a future which is completed when all commands of the stream are acknowledged
+   */
+  ZeebeFuture<Void> complete();
+}
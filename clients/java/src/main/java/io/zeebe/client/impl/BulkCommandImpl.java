@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl;
+
+import io.grpc.Status;
+import io.grpc.Status.Code;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import io.zeebe.client.api.ZeebeFuture;
+import io.zeebe.client.api.commands.BulkCommand;
+import io.zeebe.client.cmd.ClientException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends the commands of a {@link BulkCommand} over a bidirectional stream and completes the future
+ * of each command when the gateway acknowledges it. The stream is opened when the first command is
+ * sent.
+ *
+ * <p>A command is only written to the stream if the stream is ready, i.e. the gateway has requested
+ * more commands. Otherwise, sending a command blocks until the stream is ready again (see {@link
+ * BulkCommand#add()}).
+ *
+ * <p>A failed command is completed with the status which the single request of the command would
+ * have failed with, e.g. {@link Status#RESOURCE_EXHAUSTED} if the partition is overloaded.
+ */
+public abstract class BulkCommandImpl<BuilderT, RequestT, AckT, ResponseT>
+    implements BulkCommand<BuilderT>, ClientResponseObserver<RequestT, AckT> {
+
+  private final Map<Long, StreamObserver<ResponseT>> pendingCommands = new ConcurrentHashMap<>();
+  private final ZeebeClientFutureImpl<Void, Void> completionFuture = new ZeebeClientFutureImpl<>();
+
+  private ClientCallStreamObserver<RequestT> requestObserver;
+  private long nextIndex;
+  private boolean isCompleted;
+  private boolean isStreamClosed;
+
+  protected synchronized void send(RequestT request, StreamObserver<ResponseT> responseObserver) {
+    if (isCompleted) {
+      responseObserver.onError(
+          new ClientException("Cannot add a command to a bulk command which is completed"));
+      return;
+    }
+
+    if (requestObserver == null) {
+      openStream(this);
+    }
+
+    try {
+      while (!isStreamClosed && !requestObserver.isReady()) {
+        wait();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      responseObserver.onError(
+          new ClientException("Interrupted while waiting for the bulk command stream", e));
+      return;
+    }
+
+    if (isStreamClosed) {
+      responseObserver.onError(
+          new ClientException("Cannot add a command to a bulk command which is closed"));
+      return;
+    }
+
+    pendingCommands.put(nextIndex++, responseObserver);
+    requestObserver.onNext(request);
+  }
+
+  @Override
+  public void beforeStart(ClientCallStreamObserver<RequestT> requestStream) {
+    requestObserver = requestStream;
+    requestStream.setOnReadyHandler(this::onReady);
+  }
+
+  private synchronized void onReady() {
+    notifyAll();
+  }
+
+  private synchronized void onStreamClosed() {
+    isStreamClosed = true;
+    notifyAll();
+  }
+
+  @Override
+  public synchronized ZeebeFuture<Void> complete() {
+    if (!isCompleted) {
+      isCompleted = true;
+
+      if (requestObserver == null) {
+        completionFuture.complete(null);
+      } else {
+        requestObserver.onCompleted();
+      }
+    }
+
+    return completionFuture;
+  }
+
+  @Override
+  public void onNext(AckT ack) {
+    final StreamObserver<ResponseT> responseObserver = pendingCommands.remove(getIndex(ack));
+
+    if (responseObserver != null) {
+      if (isSuccess(ack)) {
+        responseObserver.onNext(getResponse(ack));
+      } else {
+        responseObserver.onError(toStatus(ack).asRuntimeException());
+      }
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    onStreamClosed();
+    failPendingCommands(throwable);
+    completionFuture.completeExceptionally(throwable);
+  }
+
+  @Override
+  public void onCompleted() {
+    onStreamClosed();
+    failPendingCommands(
+        Status.INTERNAL
+            .augmentDescription("Received no result for the command")
+            .asRuntimeException());
+    completionFuture.complete(null);
+  }
+
+  private Status toStatus(AckT ack) {
+    final int errorCode = getErrorCode(ack);
+
+    final Status status;
+    if (errorCode == Code.OK.value()) {
+      // the error code is not set by the gateway
+      status = Status.INTERNAL;
+    } else {
+      status = Status.fromCodeValue(errorCode);
+    }
+
+    return status.augmentDescription(getErrorMessage(ack));
+  }
+
+  private void failPendingCommands(Throwable throwable) {
+    for (Long index : pendingCommands.keySet()) {
+      final StreamObserver<ResponseT> responseObserver = pendingCommands.remove(index);
+      if (responseObserver != null) {
+        responseObserver.onError(throwable);
+      }
+    }
+  }
+
+  /**
+   * Opens the stream with the given observer. The observer gets the request stream by {@link
+   * #beforeStart(ClientCallStreamObserver)} when the call is started.
+   */
+  protected abstract void openStream(ClientResponseObserver<RequestT, AckT> ackObserver);
+
+  protected abstract long getIndex(AckT ack);
+
+  protected abstract boolean isSuccess(AckT ack);
+
+  protected abstract String getErrorMessage(AckT ack);
+
+  /** @return the gRPC status code of the failed command, or OK if it is not set by the gateway */
+  protected abstract int getErrorCode(AckT ack);
+
+  protected abstract ResponseT getResponse(AckT ack);
+}
@@ -21,6 +21,7 @@ import io.zeebe.client.api.commands.CompleteJobCommandStep1;
 import io.zeebe.client.api.commands.FailJobCommandStep1;
 import io.zeebe.client.impl.job.CompleteJobCommandImpl;
 import io.zeebe.client.impl.job.FailJobCommandImpl;
+import io.zeebe.client.impl.job.JobCommandBatcher;
 import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
 import io.zeebe.util.CloseableSilently;
 import java.util.List;
@@ -33,6 +34,7 @@ public class JobClientImpl implements JobClient {
   private final ZeebeObjectMapper objectMapper;
   private final ScheduledExecutorService executorService;
   private final List<CloseableSilently> closeables;
+  private final JobCommandBatcher batcher;
 
   public JobClientImpl(
       GatewayStub asyncStub,
@@ -45,15 +47,18 @@ public class JobClientImpl implements JobClient {
     this.objectMapper = objectMapper;
     this.executorService = executorService;
     this.closeables = closeables;
+    // flush on the calling thread - job handlers may block the worker threads while waiting for
+    // the response of a command
+    this.batcher = new JobCommandBatcher(asyncStub, Runnable::run);
   }
 
   @Override
   public CompleteJobCommandStep1 newCompleteCommand(long jobKey) {
-    return new CompleteJobCommandImpl(asyncStub, objectMapper, jobKey);
+    return new CompleteJobCommandImpl(batcher, objectMapper, jobKey);
   }
 
   @Override
   public FailJobCommandStep1 newFailCommand(long jobKey) {
-    return new FailJobCommandImpl(asyncStub, jobKey);
+    return new FailJobCommandImpl(batcher, jobKey);
   }
 }
@@ -22,6 +22,7 @@ import io.zeebe.client.ZeebeClient;
 import io.zeebe.client.ZeebeClientConfiguration;
 import io.zeebe.client.api.clients.JobClient;
 import io.zeebe.client.api.commands.ActivateJobsCommandStep1;
+import io.zeebe.client.api.commands.BulkCommand;
 import io.zeebe.client.api.commands.CancelWorkflowInstanceCommandStep1;
 import io.zeebe.client.api.commands.CompleteJobCommandStep1;
 import io.zeebe.client.api.commands.CreateWorkflowInstanceCommandStep1;
@@ -39,6 +40,8 @@ import io.zeebe.client.cmd.ClientException;
 import io.zeebe.client.impl.job.ActivateJobsCommandImpl;
 import io.zeebe.client.impl.job.JobUpdateRetriesCommandImpl;
 import io.zeebe.client.impl.subscription.JobWorkerBuilderImpl;
+import io.zeebe.client.impl.workflow.BulkCreateWorkflowInstanceCommandImpl;
+import io.zeebe.client.impl.workflow.BulkPublishMessageCommandImpl;
 import io.zeebe.client.impl.workflow.CancelWorkflowInstanceCommandImpl;
 import io.zeebe.client.impl.workflow.CreateWorkflowInstanceCommandImpl;
 import io.zeebe.client.impl.workflow.DeployWorkflowCommandImpl;
@@ -154,6 +157,11 @@ public class ZeebeClientImpl implements ZeebeClient {
     return new CreateWorkflowInstanceCommandImpl(asyncStub, objectMapper);
   }
 
+  @Override
+  public BulkCommand<CreateWorkflowInstanceCommandStep1> newBulkCreateInstanceCommand() {
+    return new BulkCreateWorkflowInstanceCommandImpl(asyncStub, objectMapper);
+  }
+
   @Override
   public CancelWorkflowInstanceCommandStep1 newCancelInstanceCommand(
       final long workflowInstanceKey) {
@@ -172,6 +180,11 @@ public class ZeebeClientImpl implements ZeebeClient {
     return new PublishMessageCommandImpl(asyncStub, config, objectMapper);
   }
 
+  @Override
+  public BulkCommand<PublishMessageCommandStep1> newBulkPublishMessageCommand() {
+    return new BulkPublishMessageCommandImpl(asyncStub, config, objectMapper);
+  }
+
   @Override
   public WorkflowResourceRequestStep1 newResourceRequest() {
     return new GetWorkflowCommandImpl(asyncStub);
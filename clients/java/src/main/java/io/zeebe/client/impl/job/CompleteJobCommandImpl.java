@@ -18,22 +18,20 @@ package io.zeebe.client.impl.job;
 import io.zeebe.client.api.ZeebeFuture;
 import io.zeebe.client.api.commands.CompleteJobCommandStep1;
 import io.zeebe.client.impl.CommandWithPayload;
-import io.zeebe.client.impl.ZeebeClientFutureImpl;
 import io.zeebe.client.impl.ZeebeObjectMapper;
-import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
-import io.zeebe.gateway.protocol.GatewayOuterClass;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest.Builder;
 
 public class CompleteJobCommandImpl extends CommandWithPayload<CompleteJobCommandStep1>
     implements CompleteJobCommandStep1 {
 
-  private final GatewayStub asyncStub;
+  private final JobCommandBatcher batcher;
   private final Builder builder;
 
-  public CompleteJobCommandImpl(GatewayStub asyncStub, ZeebeObjectMapper objectMapper, long key) {
+  public CompleteJobCommandImpl(
+      JobCommandBatcher batcher, ZeebeObjectMapper objectMapper, long key) {
     super(objectMapper);
-    this.asyncStub = asyncStub;
+    this.batcher = batcher;
     builder = CompleteJobRequest.newBuilder();
     builder.setJobKey(key);
   }
@@ -42,11 +40,7 @@ public class CompleteJobCommandImpl extends CommandWithPayload<CompleteJobComman
   public ZeebeFuture<Void> send() {
     final CompleteJobRequest request = builder.build();
 
-    final ZeebeClientFutureImpl<Void, GatewayOuterClass.CompleteJobResponse> future =
-        new ZeebeClientFutureImpl<>();
-
-    asyncStub.completeJob(request, future);
-    return future;
+    return batcher.completeJob(request);
   }
 
   @Override
@@ -19,19 +19,16 @@ import io.zeebe.client.api.ZeebeFuture;
 import io.zeebe.client.api.commands.FailJobCommandStep1;
 import io.zeebe.client.api.commands.FailJobCommandStep1.FailJobCommandStep2;
 import io.zeebe.client.api.commands.FinalCommandStep;
-import io.zeebe.client.impl.ZeebeClientFutureImpl;
-import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest.Builder;
-import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobResponse;
 
 public class FailJobCommandImpl implements FailJobCommandStep1, FailJobCommandStep2 {
 
-  private final GatewayStub asyncStub;
+  private final JobCommandBatcher batcher;
   private final Builder builder;
 
-  public FailJobCommandImpl(GatewayStub asyncStub, long key) {
-    this.asyncStub = asyncStub;
+  public FailJobCommandImpl(JobCommandBatcher batcher, long key) {
+    this.batcher = batcher;
     builder = FailJobRequest.newBuilder();
     builder.setJobKey(key);
   }
@@ -52,9 +49,6 @@ public class FailJobCommandImpl implements FailJobCommandStep1, FailJobCommandSt
   public ZeebeFuture<Void> send() {
     final FailJobRequest request = builder.build();
 
-    final ZeebeClientFutureImpl<Void, FailJobResponse> future = new ZeebeClientFutureImpl<>();
-
-    asyncStub.failJob(request, future);
-    return future;
+    return batcher.failJob(request);
   }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl.job;
+
+import io.grpc.Status;
+import io.grpc.Status.Code;
+import io.grpc.stub.StreamObserver;
+import io.zeebe.client.impl.ZeebeClientFutureImpl;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.JobCommandResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Collects the complete and fail commands which are sent concurrently (e.g. by the handlers of a
+ * job worker) and sends them together in one request. The pending commands are flushed by the given
+ * executor. A command which is flushed alone is sent as single request, so that no additional
+ * latency is introduced if there is nothing to batch.
+ */
+public class JobCommandBatcher {
+
+  public static final int MAX_BATCH_SIZE = 100;
+
+  private final PendingCommands<CompleteJobRequest, CompleteJobResponse> completeCommands;
+  private final PendingCommands<FailJobRequest, FailJobResponse> failCommands;
+
+  public JobCommandBatcher(GatewayStub asyncStub, Executor executor) {
+    completeCommands =
+        new PendingCommands<CompleteJobRequest, CompleteJobResponse>(executor) {
+          @Override
+          protected void send(
+              CompleteJobRequest request, StreamObserver<CompleteJobResponse> observer) {
+            asyncStub.completeJob(request, observer);
+          }
+
+          @Override
+          protected void sendBatch(
+              List<CompleteJobRequest> requests,
+              List<ZeebeClientFutureImpl<Void, CompleteJobResponse>> futures) {
+            asyncStub.completeJobs(
+                CompleteJobsRequest.newBuilder().addAllJobs(requests).build(),
+                new BatchResponseObserver<>(futures, CompleteJobsResponse::getResultsList));
+          }
+        };
+
+    failCommands =
+        new PendingCommands<FailJobRequest, FailJobResponse>(executor) {
+          @Override
+          protected void send(FailJobRequest request, StreamObserver<FailJobResponse> observer) {
+            asyncStub.failJob(request, observer);
+          }
+
+          @Override
+          protected void sendBatch(
+              List<FailJobRequest> requests,
+              List<ZeebeClientFutureImpl<Void, FailJobResponse>> futures) {
+            asyncStub.failJobs(
+                FailJobsRequest.newBuilder().addAllJobs(requests).build(),
+                new BatchResponseObserver<>(futures, FailJobsResponse::getResultsList));
+          }
+        };
+  }
+
+  public ZeebeClientFutureImpl<Void, CompleteJobResponse> completeJob(CompleteJobRequest request) {
+    return completeCommands.add(request);
+  }
+
+  public ZeebeClientFutureImpl<Void, FailJobResponse> failJob(FailJobRequest request) {
+    return failCommands.add(request);
+  }
+
+  private abstract static class PendingCommands<RequestT, ResponseT> {
+
+    private final Queue<PendingCommand<RequestT, ResponseT>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isFlushScheduled = new AtomicBoolean();
+    private final Executor executor;
+
+    PendingCommands(Executor executor) {
+      this.executor = executor;
+    }
+
+    ZeebeClientFutureImpl<Void, ResponseT> add(RequestT request) {
+      final ZeebeClientFutureImpl<Void, ResponseT> future = new ZeebeClientFutureImpl<>();
+      queue.add(new PendingCommand<>(request, future));
+
+      if (isFlushScheduled.compareAndSet(false, true)) {
+        try {
+          executor.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+          // the client is closing, send the command directly
+          flush();
+        }
+      }
+
+      return future;
+    }
+
+    private void flush() {
+      isFlushScheduled.set(false);
+
+      final List<RequestT> requests = new ArrayList<>();
+      final List<ZeebeClientFutureImpl<Void, ResponseT>> futures = new ArrayList<>();
+
+      PendingCommand<RequestT, ResponseT> command;
+      while ((command = queue.poll()) != null) {
+        requests.add(command.request);
+        futures.add(command.future);
+
+        if (requests.size() == MAX_BATCH_SIZE) {
+          sendBatch(new ArrayList<>(requests), new ArrayList<>(futures));
+          requests.clear();
+          futures.clear();
+        }
+      }
+
+      if (requests.size() == 1) {
+        send(requests.get(0), futures.get(0));
+      } else if (requests.size() > 1) {
+        sendBatch(requests, futures);
+      }
+    }
+
+    protected abstract void send(RequestT request, StreamObserver<ResponseT> observer);
+
+    protected abstract void sendBatch(
+        List<RequestT> requests, List<ZeebeClientFutureImpl<Void, ResponseT>> futures);
+  }
+
+  private static class PendingCommand<RequestT, ResponseT> {
+    private final RequestT request;
+    private final ZeebeClientFutureImpl<Void, ResponseT> future;
+
+    PendingCommand(RequestT request, ZeebeClientFutureImpl<Void, ResponseT> future) {
+      this.request = request;
+      this.future = future;
+    }
+  }
+
+  private static class BatchResponseObserver<BatchResponseT>
+      implements StreamObserver<BatchResponseT> {
+
+    private final List<? extends ZeebeClientFutureImpl<Void, ?>> futures;
+    private final Function<BatchResponseT, List<JobCommandResult>> resultsExtractor;
+
+    BatchResponseObserver(
+        List<? extends ZeebeClientFutureImpl<Void, ?>> futures,
+        Function<BatchResponseT, List<JobCommandResult>> resultsExtractor) {
+      this.futures = futures;
+      this.resultsExtractor = resultsExtractor;
+    }
+
+    @Override
+    public void onNext(BatchResponseT response) {
+      final List<JobCommandResult> results = resultsExtractor.apply(response);
+
+      for (int i = 0; i < futures.size(); i++) {
+        final ZeebeClientFutureImpl<Void, ?> future = futures.get(i);
+
+        if (i >= results.size()) {
+          future.completeExceptionally(
+              Status.INTERNAL
+                  .augmentDescription("Received no result for the command")
+                  .asRuntimeException());
+        } else if (results.get(i).getSuccess()) {
+          future.complete(null);
+        } else {
+          future.completeExceptionally(toStatus(results.get(i)).asRuntimeException());
+        }
+      }
+    }
+
+    /** @return the status which the single request of the command would have failed with */
+    private static Status toStatus(JobCommandResult result) {
+      final Status status;
+      if (result.getErrorCode() == Code.OK.value()) {
+        // the error code is not set by the gateway
+        status = Status.INTERNAL;
+      } else {
+        status = Status.fromCodeValue(result.getErrorCode());
+      }
+
+      return status.augmentDescription(result.getErrorMessage());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      futures.forEach(future -> future.completeExceptionally(throwable));
+    }
+
+    @Override
+    public void onCompleted() {
+      // do nothing as we don't support streaming
+    }
+  }
+}
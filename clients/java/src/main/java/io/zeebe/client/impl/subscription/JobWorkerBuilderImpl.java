@@ -124,7 +124,9 @@ public class JobWorkerBuilderImpl
             .setType(jobType)
             .setTimeout(timeout)
             .setWorker(workerName)
-            .setAmount(bufferSize);
+            .setAmount(bufferSize)
+            // if no jobs are available then the gateway waits for them until the next poll is due
+            .setRequestTimeout(pollInterval.toMillis());
 
     final JobRunnableFactory jobRunnableFactory = new JobRunnableFactory(jobClient, handler);
     final JobPoller jobPoller = new JobPoller(gatewayStub, requestBuilder, objectMapper);
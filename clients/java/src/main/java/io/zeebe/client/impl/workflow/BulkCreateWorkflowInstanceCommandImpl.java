@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl.workflow;
+
+import io.grpc.stub.ClientResponseObserver;
+import io.zeebe.client.api.commands.CreateWorkflowInstanceCommandStep1;
+import io.zeebe.client.impl.BulkCommandImpl;
+import io.zeebe.client.impl.ZeebeObjectMapper;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceAck;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
+
+public class BulkCreateWorkflowInstanceCommandImpl
+    extends BulkCommandImpl<
+        CreateWorkflowInstanceCommandStep1,
+        CreateWorkflowInstanceRequest,
+        CreateWorkflowInstanceAck,
+        CreateWorkflowInstanceResponse> {
+
+  private final GatewayStub asyncStub;
+  private final ZeebeObjectMapper objectMapper;
+
+  public BulkCreateWorkflowInstanceCommandImpl(
+      GatewayStub asyncStub, ZeebeObjectMapper objectMapper) {
+    this.asyncStub = asyncStub;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public CreateWorkflowInstanceCommandStep1 add() {
+    return new CreateWorkflowInstanceCommandImpl(this::send, objectMapper);
+  }
+
+  @Override
+  protected void openStream(
+      ClientResponseObserver<CreateWorkflowInstanceRequest, CreateWorkflowInstanceAck>
+          ackObserver) {
+    asyncStub.createWorkflowInstances(ackObserver);
+  }
+
+  @Override
+  protected long getIndex(CreateWorkflowInstanceAck ack) {
+    return ack.getIndex();
+  }
+
+  @Override
+  protected boolean isSuccess(CreateWorkflowInstanceAck ack) {
+    return ack.getSuccess();
+  }
+
+  @Override
+  protected String getErrorMessage(CreateWorkflowInstanceAck ack) {
+    return ack.getErrorMessage();
+  }
+
+  @Override
+  protected int getErrorCode(CreateWorkflowInstanceAck ack) {
+    return ack.getErrorCode();
+  }
+
+  @Override
+  protected CreateWorkflowInstanceResponse getResponse(CreateWorkflowInstanceAck ack) {
+    return ack.getWorkflowInstance();
+  }
+}
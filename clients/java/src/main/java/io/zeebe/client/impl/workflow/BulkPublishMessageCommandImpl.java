@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.impl.workflow;
+
+import io.grpc.stub.ClientResponseObserver;
+import io.zeebe.client.ZeebeClientConfiguration;
+import io.zeebe.client.api.commands.PublishMessageCommandStep1;
+import io.zeebe.client.impl.BulkCommandImpl;
+import io.zeebe.client.impl.ZeebeObjectMapper;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageAck;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
+
+public class BulkPublishMessageCommandImpl
+    extends BulkCommandImpl<
+        PublishMessageCommandStep1,
+        PublishMessageRequest,
+        PublishMessageAck,
+        PublishMessageResponse> {
+
+  private final GatewayStub asyncStub;
+  private final ZeebeClientConfiguration configuration;
+  private final ZeebeObjectMapper objectMapper;
+
+  public BulkPublishMessageCommandImpl(
+      GatewayStub asyncStub,
+      ZeebeClientConfiguration configuration,
+      ZeebeObjectMapper objectMapper) {
+    this.asyncStub = asyncStub;
+    this.configuration = configuration;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public PublishMessageCommandStep1 add() {
+    return new PublishMessageCommandImpl(this::send, configuration, objectMapper);
+  }
+
+  @Override
+  protected void openStream(
+      ClientResponseObserver<PublishMessageRequest, PublishMessageAck> ackObserver) {
+    asyncStub.publishMessages(ackObserver);
+  }
+
+  @Override
+  protected long getIndex(PublishMessageAck ack) {
+    return ack.getIndex();
+  }
+
+  @Override
+  protected boolean isSuccess(PublishMessageAck ack) {
+    return ack.getSuccess();
+  }
+
+  @Override
+  protected String getErrorMessage(PublishMessageAck ack) {
+    return ack.getErrorMessage();
+  }
+
+  @Override
+  protected int getErrorCode(PublishMessageAck ack) {
+    return ack.getErrorCode();
+  }
+
+  @Override
+  protected PublishMessageResponse getResponse(PublishMessageAck ack) {
+    return PublishMessageResponse.getDefaultInstance();
+  }
+}
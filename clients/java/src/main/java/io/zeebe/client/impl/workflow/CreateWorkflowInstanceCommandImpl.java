@@ -15,6 +15,7 @@
  */
 package io.zeebe.client.impl.workflow;
 
+import io.grpc.stub.StreamObserver;
 import io.zeebe.client.api.ZeebeFuture;
 import io.zeebe.client.api.commands.CreateWorkflowInstanceCommandStep1;
 import io.zeebe.client.api.commands.CreateWorkflowInstanceCommandStep1.CreateWorkflowInstanceCommandStep2;
@@ -24,9 +25,10 @@ import io.zeebe.client.impl.CommandWithPayload;
 import io.zeebe.client.impl.ZeebeClientFutureImpl;
 import io.zeebe.client.impl.ZeebeObjectMapper;
 import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
-import io.zeebe.gateway.protocol.GatewayOuterClass;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest.Builder;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
+import java.util.function.BiConsumer;
 
 public class CreateWorkflowInstanceCommandImpl
     extends CommandWithPayload<CreateWorkflowInstanceCommandStep3>
@@ -34,12 +36,21 @@ public class CreateWorkflowInstanceCommandImpl
         CreateWorkflowInstanceCommandStep2,
         CreateWorkflowInstanceCommandStep3 {
 
-  private final GatewayStub asyncStub;
+  private final BiConsumer<
+          CreateWorkflowInstanceRequest, StreamObserver<CreateWorkflowInstanceResponse>>
+      sender;
   private final Builder builder;
 
   public CreateWorkflowInstanceCommandImpl(GatewayStub asyncStub, ZeebeObjectMapper objectMapper) {
+    this(asyncStub::createWorkflowInstance, objectMapper);
+  }
+
+  public CreateWorkflowInstanceCommandImpl(
+      BiConsumer<CreateWorkflowInstanceRequest, StreamObserver<CreateWorkflowInstanceResponse>>
+          sender,
+      ZeebeObjectMapper objectMapper) {
     super(objectMapper);
-    this.asyncStub = asyncStub;
+    this.sender = sender;
     this.builder = CreateWorkflowInstanceRequest.newBuilder();
   }
 
@@ -76,11 +87,10 @@ public class CreateWorkflowInstanceCommandImpl
   public ZeebeFuture<WorkflowInstanceEvent> send() {
     final CreateWorkflowInstanceRequest request = builder.build();
 
-    final ZeebeClientFutureImpl<
-            WorkflowInstanceEvent, GatewayOuterClass.CreateWorkflowInstanceResponse>
-        future = new ZeebeClientFutureImpl<>(CreateWorkflowInstanceResponseImpl::new);
+    final ZeebeClientFutureImpl<WorkflowInstanceEvent, CreateWorkflowInstanceResponse> future =
+        new ZeebeClientFutureImpl<>(CreateWorkflowInstanceResponseImpl::new);
 
-    asyncStub.createWorkflowInstance(request, future);
+    sender.accept(request, future);
     return future;
   }
 }
@@ -15,6 +15,7 @@
  */
 package io.zeebe.client.impl.workflow;
 
+import io.grpc.stub.StreamObserver;
 import io.zeebe.client.ZeebeClientConfiguration;
 import io.zeebe.client.api.ZeebeFuture;
 import io.zeebe.client.api.commands.PublishMessageCommandStep1;
@@ -27,19 +28,27 @@ import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
 import java.time.Duration;
+import java.util.function.BiConsumer;
 
 public class PublishMessageCommandImpl extends CommandWithPayload<PublishMessageCommandImpl>
     implements PublishMessageCommandStep1, PublishMessageCommandStep2, PublishMessageCommandStep3 {
 
-  private final GatewayStub asyncStub;
+  private final BiConsumer<PublishMessageRequest, StreamObserver<PublishMessageResponse>> sender;
   private final PublishMessageRequest.Builder builder;
 
   public PublishMessageCommandImpl(
       final GatewayStub asyncStub,
       final ZeebeClientConfiguration configuration,
       ZeebeObjectMapper objectMapper) {
+    this(asyncStub::publishMessage, configuration, objectMapper);
+  }
+
+  public PublishMessageCommandImpl(
+      final BiConsumer<PublishMessageRequest, StreamObserver<PublishMessageResponse>> sender,
+      final ZeebeClientConfiguration configuration,
+      ZeebeObjectMapper objectMapper) {
     super(objectMapper);
-    this.asyncStub = asyncStub;
+    this.sender = sender;
     this.builder = PublishMessageRequest.newBuilder();
     builder.setTimeToLive(configuration.getDefaultMessageTimeToLive().toMillis());
   }
@@ -79,7 +88,7 @@ public class PublishMessageCommandImpl extends CommandWithPayload<PublishMessage
     final ZeebeClientFutureImpl<Void, PublishMessageResponse> future =
         new ZeebeClientFutureImpl<>();
 
-    asyncStub.publishMessage(builder.build(), future);
+    sender.accept(builder.build(), future);
     return future;
   }
 }
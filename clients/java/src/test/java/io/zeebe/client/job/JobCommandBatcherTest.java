@@ -0,0 +1,197 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.grpc.Status;
+import io.grpc.Status.Code;
+import io.grpc.StatusRuntimeException;
+import io.zeebe.client.api.ZeebeFuture;
+import io.zeebe.client.cmd.ClientException;
+import io.zeebe.client.impl.job.JobCommandBatcher;
+import io.zeebe.client.util.ClientTest;
+import io.zeebe.gateway.protocol.GatewayGrpc;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobsRequest;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobCommandBatcherTest extends ClientTest {
+
+  private final List<Runnable> scheduledFlushes = new ArrayList<>();
+
+  private JobCommandBatcher batcher;
+
+  @Before
+  public void setUpBatcher() {
+    batcher = new JobCommandBatcher(GatewayGrpc.newStub(rule.getChannel()), scheduledFlushes::add);
+  }
+
+  @Test
+  public void shouldSendSingleCommand() {
+    // given
+    final ZeebeFuture<Void> future =
+        batcher.completeJob(CompleteJobRequest.newBuilder().setJobKey(1).build());
+
+    // when
+    flush();
+    future.join();
+
+    // then
+    final CompleteJobRequest request = gatewayService.getLastRequest();
+    assertThat(request.getJobKey()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldBatchPendingCommands() {
+    // given
+    final ZeebeFuture<Void> firstFuture =
+        batcher.completeJob(CompleteJobRequest.newBuilder().setJobKey(1).build());
+    final ZeebeFuture<Void> secondFuture =
+        batcher.completeJob(CompleteJobRequest.newBuilder().setJobKey(2).setPayload("{}").build());
+
+    // when
+    flush();
+    firstFuture.join();
+    secondFuture.join();
+
+    // then
+    assertThat(gatewayService.getRequests()).hasSize(1);
+
+    final CompleteJobsRequest request = gatewayService.getLastRequest();
+    assertThat(request.getJobsList())
+        .extracting(CompleteJobRequest::getJobKey, CompleteJobRequest::getPayload)
+        .containsExactly(tuple(1L, ""), tuple(2L, "{}"));
+  }
+
+  @Test
+  public void shouldBatchPendingFailCommands() {
+    // given
+    final ZeebeFuture<Void> firstFuture =
+        batcher.failJob(
+            FailJobRequest.newBuilder().setJobKey(1).setRetries(2).setErrorMessage("a").build());
+    final ZeebeFuture<Void> secondFuture =
+        batcher.failJob(FailJobRequest.newBuilder().setJobKey(2).setRetries(0).build());
+
+    // when
+    flush();
+    firstFuture.join();
+    secondFuture.join();
+
+    // then
+    final FailJobsRequest request = gatewayService.getLastRequest();
+    assertThat(request.getJobsList())
+        .extracting(
+            FailJobRequest::getJobKey, FailJobRequest::getRetries, FailJobRequest::getErrorMessage)
+        .containsExactly(tuple(1L, 2, "a"), tuple(2L, 0, ""));
+  }
+
+  @Test
+  public void shouldFailOnlyRejectedCommandsOfBatch() {
+    // given
+    gatewayService.rejectJobCommand(2, "job not activated");
+
+    final ZeebeFuture<Void> firstFuture =
+        batcher.completeJob(CompleteJobRequest.newBuilder().setJobKey(1).build());
+    final ZeebeFuture<Void> secondFuture =
+        batcher.completeJob(CompleteJobRequest.newBuilder().setJobKey(2).build());
+
+    // when
+    flush();
+
+    // then
+    firstFuture.join();
+
+    assertThatThrownBy(secondFuture::join)
+        .isInstanceOf(ClientException.class)
+        .hasMessageContaining("job not activated");
+  }
+
+  @Test
+  public void shouldFailCommandOfBatchWithStatusOfSingleRequest() {
+    // given
+    gatewayService.rejectJobCommand(
+        2, Status.RESOURCE_EXHAUSTED.withDescription("partition is overloaded"));
+
+    batcher.completeJob(CompleteJobRequest.newBuilder().setJobKey(1).build());
+    final ZeebeFuture<Void> future =
+        batcher.completeJob(CompleteJobRequest.newBuilder().setJobKey(2).build());
+
+    // when
+    flush();
+
+    // then
+    final Throwable failure = catchThrowable(future::join);
+    assertThat(failure).isInstanceOf(ClientException.class);
+    assertThat(failure.getCause().getCause()).isInstanceOf(StatusRuntimeException.class);
+    assertThat(((StatusRuntimeException) failure.getCause().getCause()).getStatus().getCode())
+        .isEqualTo(Code.RESOURCE_EXHAUSTED);
+  }
+
+  @Test
+  public void shouldSplitLargeBatches() {
+    // given
+    final List<ZeebeFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i <= JobCommandBatcher.MAX_BATCH_SIZE; i++) {
+      futures.add(batcher.completeJob(CompleteJobRequest.newBuilder().setJobKey(i).build()));
+    }
+
+    // when
+    flush();
+    futures.forEach(ZeebeFuture::join);
+
+    // then
+    assertThat(gatewayService.getRequests()).hasSize(2);
+
+    final CompleteJobsRequest batch = gatewayService.getRequest(0);
+    assertThat(batch.getJobsCount()).isEqualTo(JobCommandBatcher.MAX_BATCH_SIZE);
+
+    final CompleteJobRequest single = gatewayService.getRequest(1);
+    assertThat(single.getJobKey()).isEqualTo(JobCommandBatcher.MAX_BATCH_SIZE);
+  }
+
+  @Test
+  public void shouldFailAllCommandsIfBatchFails() {
+    // given
+    gatewayService.errorOnRequest(
+        CompleteJobsRequest.class, () -> new IllegalStateException("gateway failure"));
+
+    final ZeebeFuture<Void> firstFuture =
+        batcher.completeJob(CompleteJobRequest.newBuilder().setJobKey(1).build());
+    final ZeebeFuture<Void> secondFuture =
+        batcher.completeJob(CompleteJobRequest.newBuilder().setJobKey(2).build());
+
+    // when
+    flush();
+
+    // then
+    assertThatThrownBy(firstFuture::join).hasMessageContaining("gateway failure");
+    assertThatThrownBy(secondFuture::join).hasMessageContaining("gateway failure");
+  }
+
+  private void flush() {
+    assertThat(scheduledFlushes).hasSize(1);
+    scheduledFlushes.remove(0).run();
+  }
+}
@@ -28,18 +28,25 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceRequest
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceAck;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.GetWorkflowRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.GetWorkflowResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.JobCommandResult;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ListWorkflowsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ListWorkflowsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.Partition;
 import io.zeebe.gateway.protocol.GatewayOuterClass.Partition.PartitionBrokerRole;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageAck;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentRequest;
@@ -58,10 +65,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 public class RecordingGatewayService extends GatewayImplBase {
 
   private final List<GeneratedMessageV3> requests = new ArrayList<>();
+  private final Map<Long, Status> rejectedJobCommands = new HashMap<>();
 
   private final Map<Class<? extends GeneratedMessageV3>, RequestHandler> requestHandlers =
       new HashMap<>();
@@ -85,6 +94,22 @@ public class RecordingGatewayService extends GatewayImplBase {
         UpdateJobRetriesRequest.class, r -> UpdateJobRetriesResponse.getDefaultInstance());
     addRequestHandler(FailJobRequest.class, r -> FailJobResponse.getDefaultInstance());
     addRequestHandler(CompleteJobRequest.class, r -> CompleteJobResponse.getDefaultInstance());
+    addRequestHandler(
+        FailJobsRequest.class,
+        r ->
+            FailJobsResponse.newBuilder()
+                .addAllResults(
+                    jobCommandResults(
+                        ((FailJobsRequest) r).getJobsList(), FailJobRequest::getJobKey))
+                .build());
+    addRequestHandler(
+        CompleteJobsRequest.class,
+        r ->
+            CompleteJobsResponse.newBuilder()
+                .addAllResults(
+                    jobCommandResults(
+                        ((CompleteJobsRequest) r).getJobsList(), CompleteJobRequest::getJobKey))
+                .build());
     addRequestHandler(ListWorkflowsRequest.class, r -> ListWorkflowsResponse.getDefaultInstance());
     addRequestHandler(GetWorkflowRequest.class, r -> GetWorkflowResponse.getDefaultInstance());
     addRequestHandler(ActivateJobsRequest.class, r -> ActivateJobsResponse.getDefaultInstance());
@@ -147,6 +172,64 @@ public class RecordingGatewayService extends GatewayImplBase {
     handle(request, responseObserver);
   }
 
+  @Override
+  public StreamObserver<PublishMessageRequest> publishMessages(
+      StreamObserver<PublishMessageAck> responseObserver) {
+    return new BulkRequestObserver<PublishMessageRequest, PublishMessageAck>(responseObserver) {
+      @Override
+      protected PublishMessageAck toAck(long index, GeneratedMessageV3 response) {
+        return PublishMessageAck.newBuilder().setIndex(index).setSuccess(true).build();
+      }
+
+      @Override
+      protected PublishMessageAck toErrorAck(long index, Status status) {
+        return PublishMessageAck.newBuilder()
+            .setIndex(index)
+            .setSuccess(false)
+            .setErrorMessage(status.getDescription())
+            .setErrorCode(status.getCode().value())
+            .build();
+      }
+    };
+  }
+
+  @Override
+  public StreamObserver<CreateWorkflowInstanceRequest> createWorkflowInstances(
+      StreamObserver<CreateWorkflowInstanceAck> responseObserver) {
+    return new BulkRequestObserver<CreateWorkflowInstanceRequest, CreateWorkflowInstanceAck>(
+        responseObserver) {
+      @Override
+      protected CreateWorkflowInstanceAck toAck(long index, GeneratedMessageV3 response) {
+        return CreateWorkflowInstanceAck.newBuilder()
+            .setIndex(index)
+            .setSuccess(true)
+            .setWorkflowInstance((CreateWorkflowInstanceResponse) response)
+            .build();
+      }
+
+      @Override
+      protected CreateWorkflowInstanceAck toErrorAck(long index, Status status) {
+        return CreateWorkflowInstanceAck.newBuilder()
+            .setIndex(index)
+            .setSuccess(false)
+            .setErrorMessage(status.getDescription())
+            .setErrorCode(status.getCode().value())
+            .build();
+      }
+    };
+  }
+
+  @Override
+  public void failJobs(FailJobsRequest request, StreamObserver<FailJobsResponse> responseObserver) {
+    handle(request, responseObserver);
+  }
+
+  @Override
+  public void completeJobs(
+      CompleteJobsRequest request, StreamObserver<CompleteJobsResponse> responseObserver) {
+    handle(request, responseObserver);
+  }
+
   @Override
   public void listWorkflows(
       ListWorkflowsRequest request, StreamObserver<ListWorkflowsResponse> responseObserver) {
@@ -257,6 +340,37 @@ public class RecordingGatewayService extends GatewayImplBase {
             ActivateJobsResponse.newBuilder().addAllJobs(Arrays.asList(activatedJobs)).build());
   }
 
+  public void rejectJobCommand(long jobKey, String errorMessage) {
+    rejectJobCommand(jobKey, Status.INTERNAL.withDescription(errorMessage));
+  }
+
+  public void rejectJobCommand(long jobKey, Status status) {
+    rejectedJobCommands.put(jobKey, status);
+  }
+
+  private <T> List<JobCommandResult> jobCommandResults(
+      List<T> jobRequests, ToLongFunction<T> jobKeyExtractor) {
+    final List<JobCommandResult> results = new ArrayList<>();
+
+    for (T jobRequest : jobRequests) {
+      final long jobKey = jobKeyExtractor.applyAsLong(jobRequest);
+      final Status status = rejectedJobCommands.get(jobKey);
+
+      final JobCommandResult.Builder result = JobCommandResult.newBuilder().setJobKey(jobKey);
+      if (status == null) {
+        result.setSuccess(true);
+      } else {
+        result
+            .setSuccess(false)
+            .setErrorMessage(status.getDescription())
+            .setErrorCode(status.getCode().value());
+      }
+      results.add(result.build());
+    }
+
+    return results;
+  }
+
   public void errorOnRequest(
       Class<? extends GeneratedMessageV3> requestClass, Supplier<Exception> errorSupplier) {
     addRequestHandler(
@@ -319,6 +433,48 @@ public class RecordingGatewayService extends GatewayImplBase {
     return Status.INTERNAL.augmentDescription(description).withCause(cause).asRuntimeException();
   }
 
+  /** Answers each request of a bulk stream with the response of the single request handler. */
+  private abstract class BulkRequestObserver<RequestT extends GeneratedMessageV3, AckT>
+      implements StreamObserver<RequestT> {
+
+    private final StreamObserver<AckT> responseObserver;
+    private long nextIndex;
+
+    BulkRequestObserver(StreamObserver<AckT> responseObserver) {
+      this.responseObserver = responseObserver;
+    }
+
+    @Override
+    public void onNext(RequestT request) {
+      requests.add(request);
+
+      final long index = nextIndex++;
+      try {
+        responseObserver.onNext(toAck(index, getRequestHandler(request).handle(request)));
+      } catch (Exception e) {
+        final Status status =
+            e instanceof StatusRuntimeException
+                ? ((StatusRuntimeException) e).getStatus()
+                : convertThrowable(e).getStatus();
+        responseObserver.onNext(toErrorAck(index, status));
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      // the client canceled the stream
+    }
+
+    @Override
+    public void onCompleted() {
+      responseObserver.onCompleted();
+    }
+
+    protected abstract AckT toAck(long index, GeneratedMessageV3 response);
+
+    protected abstract AckT toErrorAck(long index, Status status);
+  }
+
   @FunctionalInterface
   interface RequestHandler<
       RequestT extends GeneratedMessageV3, ResponseT extends GeneratedMessageV3> {
@@ -71,6 +71,10 @@ public class TestEnvironmentRule extends ExternalResource {
     return client;
   }
 
+  public ManagedChannel getChannel() {
+    return serverRule.getChannel();
+  }
+
   public RecordingGatewayService getGatewayService() {
     return gatewayService;
   }
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.workflow;
+
+import static io.zeebe.test.util.JsonUtil.fromJsonAsMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.zeebe.client.api.ZeebeFuture;
+import io.zeebe.client.api.commands.BulkCommand;
+import io.zeebe.client.api.commands.CreateWorkflowInstanceCommandStep1;
+import io.zeebe.client.api.events.WorkflowInstanceEvent;
+import io.zeebe.client.util.ClientTest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class BulkCreateWorkflowInstanceTest extends ClientTest {
+
+  @Test
+  public void shouldCreateWorkflowInstances() {
+    // given
+    gatewayService.onCreateWorkflowInstanceRequest(123, "testProcess", 12, 32);
+
+    final BulkCommand<CreateWorkflowInstanceCommandStep1> bulk =
+        client.newBulkCreateInstanceCommand();
+
+    // when
+    final ZeebeFuture<WorkflowInstanceEvent> first =
+        bulk.add().bpmnProcessId("testProcess").latestVersion().send();
+    final ZeebeFuture<WorkflowInstanceEvent> second =
+        bulk.add().workflowKey(123).payload(Collections.singletonMap("foo", "bar")).send();
+
+    bulk.complete().join();
+
+    // then
+    final WorkflowInstanceEvent firstInstance = first.join();
+    assertThat(firstInstance.getWorkflowKey()).isEqualTo(123);
+    assertThat(firstInstance.getBpmnProcessId()).isEqualTo("testProcess");
+    assertThat(firstInstance.getVersion()).isEqualTo(12);
+    assertThat(firstInstance.getWorkflowInstanceKey()).isEqualTo(32);
+    assertThat(second.join().getWorkflowInstanceKey()).isEqualTo(32);
+
+    final CreateWorkflowInstanceRequest firstRequest = gatewayService.getRequest(0);
+    assertThat(firstRequest.getBpmnProcessId()).isEqualTo("testProcess");
+    assertThat(firstRequest.getVersion())
+        .isEqualTo(CreateWorkflowInstanceCommandStep1.LATEST_VERSION);
+
+    final CreateWorkflowInstanceRequest secondRequest = gatewayService.getRequest(1);
+    assertThat(secondRequest.getWorkflowKey()).isEqualTo(123);
+    assertThat(fromJsonAsMap(secondRequest.getPayload())).contains(entry("foo", "bar"));
+  }
+
+  @Test
+  public void shouldCreateManyWorkflowInstances() {
+    // given
+    gatewayService.onCreateWorkflowInstanceRequest(123, "testProcess", 12, 32);
+
+    final BulkCommand<CreateWorkflowInstanceCommandStep1> bulk =
+        client.newBulkCreateInstanceCommand();
+
+    final List<ZeebeFuture<WorkflowInstanceEvent>> futures = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < 10_000; i++) {
+      futures.add(bulk.add().bpmnProcessId("testProcess").latestVersion().send());
+    }
+
+    bulk.complete().join();
+
+    // then
+    assertThat(futures)
+        .extracting(future -> future.join().getWorkflowInstanceKey())
+        .hasSize(10_000)
+        .containsOnly(32L);
+  }
+}
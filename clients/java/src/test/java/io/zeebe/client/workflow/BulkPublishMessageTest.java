@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import io.grpc.Status;
+import io.grpc.Status.Code;
+import io.grpc.StatusRuntimeException;
+import io.zeebe.client.api.ZeebeFuture;
+import io.zeebe.client.api.commands.BulkCommand;
+import io.zeebe.client.api.commands.PublishMessageCommandStep1;
+import io.zeebe.client.cmd.ClientException;
+import io.zeebe.client.util.ClientTest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
+import java.time.Duration;
+import org.junit.Test;
+
+public class BulkPublishMessageTest extends ClientTest {
+
+  @Test
+  public void shouldPublishMessages() {
+    // given
+    final BulkCommand<PublishMessageCommandStep1> bulk = client.newBulkPublishMessageCommand();
+
+    // when
+    final ZeebeFuture<Void> first =
+        bulk.add()
+            .messageName("name")
+            .correlationKey("key-1")
+            .timeToLive(Duration.ofDays(1))
+            .messageId("theId")
+            .send();
+    final ZeebeFuture<Void> second =
+        bulk.add().messageName("name").correlationKey("key-2").payload("{\"foo\":1}").send();
+
+    bulk.complete().join();
+
+    // then
+    first.join();
+    second.join();
+
+    assertThat(gatewayService.getRequests()).hasSize(2);
+
+    final PublishMessageRequest firstRequest = gatewayService.getRequest(0);
+    assertThat(firstRequest.getName()).isEqualTo("name");
+    assertThat(firstRequest.getCorrelationKey()).isEqualTo("key-1");
+    assertThat(firstRequest.getMessageId()).isEqualTo("theId");
+    assertThat(firstRequest.getTimeToLive()).isEqualTo(Duration.ofDays(1).toMillis());
+
+    final PublishMessageRequest secondRequest = gatewayService.getRequest(1);
+    assertThat(secondRequest.getCorrelationKey()).isEqualTo("key-2");
+    assertThat(secondRequest.getPayload()).isEqualTo("{\"foo\":1}");
+    assertThat(secondRequest.getTimeToLive())
+        .isEqualTo(client.getConfiguration().getDefaultMessageTimeToLive().toMillis());
+  }
+
+  @Test
+  public void shouldRaiseExceptionOnRejectedMessage() {
+    // given
+    gatewayService.errorOnRequest(
+        PublishMessageRequest.class, () -> new IllegalArgumentException("message rejected"));
+
+    final BulkCommand<PublishMessageCommandStep1> bulk = client.newBulkPublishMessageCommand();
+
+    // when
+    final ZeebeFuture<Void> future = bulk.add().messageName("name").correlationKey("key").send();
+    bulk.complete().join();
+
+    // then
+    assertThatThrownBy(future::join)
+        .isInstanceOf(ClientException.class)
+        .hasMessageContaining("message rejected");
+  }
+
+  @Test
+  public void shouldRaiseExceptionWithStatusOfSingleRequest() {
+    // given
+    gatewayService.errorOnRequest(
+        PublishMessageRequest.class,
+        () ->
+            Status.RESOURCE_EXHAUSTED
+                .withDescription("partition is overloaded")
+                .asRuntimeException());
+
+    final BulkCommand<PublishMessageCommandStep1> bulk = client.newBulkPublishMessageCommand();
+
+    // when
+    final ZeebeFuture<Void> future = bulk.add().messageName("name").correlationKey("key").send();
+    bulk.complete().join();
+
+    // then
+    final Throwable failure = catchThrowable(future::join);
+    assertThat(failure).isInstanceOf(ClientException.class).hasMessageContaining("overloaded");
+    assertThat(failure.getCause().getCause()).isInstanceOf(StatusRuntimeException.class);
+    assertThat(((StatusRuntimeException) failure.getCause().getCause()).getStatus().getCode())
+        .isEqualTo(Code.RESOURCE_EXHAUSTED);
+  }
+
+  @Test
+  public void shouldCompleteWithoutMessages() {
+    // when
+    client.newBulkPublishMessageCommand().complete().join();
+
+    // then
+    assertThat(gatewayService.getRequests()).isEmpty();
+  }
+
+  @Test
+  public void shouldNotAddMessageAfterCompletion() {
+    // given
+    final BulkCommand<PublishMessageCommandStep1> bulk = client.newBulkPublishMessageCommand();
+    bulk.complete().join();
+
+    // when
+    final ZeebeFuture<Void> future = bulk.add().messageName("name").correlationKey("key").send();
+
+    // then
+    assertThatThrownBy(future::join)
+        .isInstanceOf(ClientException.class)
+        .hasMessageContaining("completed");
+    assertThat(gatewayService.getRequests()).isEmpty();
+  }
+}
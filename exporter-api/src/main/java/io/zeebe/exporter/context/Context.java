@@ -15,6 +15,9 @@
  */
 package io.zeebe.exporter.context;
 
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.Intent;
 import org.slf4j.Logger;
 
 /** Encapsulates context associated with the exporter on open. */
@@ -24,4 +27,46 @@ public interface Context {
 
   /** @return configuration for this exporter */
   Configuration getConfiguration();
+
+  /**
+   * Applies the given filter to all records before they are exported. Records which are not
+   * accepted by the filter are not passed to the exporter, and are treated as exported when all
+   * previously exported records are acknowledged. Must be called during {@link
+   * io.zeebe.exporter.spi.Exporter#configure(Context)}.
+   *
+   * <p>By default the filter is ignored, i.e. all records are exported.
+   *
+   * @param filter the filter to apply
+   */
+  default void setFilter(RecordFilter filter) {}
+
+  /**
+   * A filter to limit the records which are exported. The filter is applied to the metadata of a
+   * record before the record itself is created, so it should be cheap to evaluate.
+   */
+  interface RecordFilter {
+    /**
+     * @param recordType the type of the record
+     * @return true if records of this type should be exported
+     */
+    default boolean acceptType(RecordType recordType) {
+      return true;
+    }
+
+    /**
+     * @param valueType the type of the record value
+     * @return true if records with this value type should be exported
+     */
+    default boolean acceptValue(ValueType valueType) {
+      return true;
+    }
+
+    /**
+     * @param intent the intent of the record
+     * @return true if records with this intent should be exported
+     */
+    default boolean acceptIntent(Intent intent) {
+      return true;
+    }
+  }
 }
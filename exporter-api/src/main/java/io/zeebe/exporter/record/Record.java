@@ -82,4 +82,18 @@ public interface Record<T extends RecordValue> {
 
   /** @return a JSON marshaled representation of this record */
   String toJson();
+
+  /**
+   * Creates a copy of the record which remains valid after the export call returned. Records passed
+   * to an exporter may be reused for the next record, so they have to be copied if they are kept,
+   * e.g. collected in a list.
+   *
+   * <p>Implementations which reuse their instances must override this method. The default returns
+   * the record itself, which is sufficient for immutable records.
+   *
+   * @return a copy of the record
+   */
+  default Record<T> copy() {
+    return this;
+  }
 }
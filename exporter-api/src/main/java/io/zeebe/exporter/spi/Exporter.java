@@ -66,7 +66,31 @@ public interface Exporter {
    * called indefinitely until it terminates without any exception. It is up to the implementation
    * to handle errors properly, to implement retry strategies, etc.
    *
+   * <p>The given record is only valid until the method returns, as the broker may reuse the
+   * instance for the next record. Use {@link Record#copy()} to keep a record beyond that.
+   *
    * @param record the record to export
    */
   void export(final Record record);
+
+  /**
+   * Called with a batch of records which were read together from the log, ordered by their
+   * position. Exporters which send the records in bulks anyway can override this method to avoid
+   * the overhead of handling each record separately. By default, each record of the batch is passed
+   * to {@link #export(Record)}.
+   *
+   * <p>Should the method throw an unexpected {@link RuntimeException}, it will be called again with
+   * the same batch until it terminates without any exception. Hence, records of the batch may be
+   * exported more than once.
+   *
+   * <p>As with {@link #export(Record)}, the records of the batch are only valid until the method
+   * returns.
+   *
+   * @param records the records to export
+   */
+  default void exportBatch(final Iterable<Record> records) {
+    for (final Record record : records) {
+      export(record);
+    }
+  }
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter;
+
+import io.zeebe.exporter.ElasticsearchExporterConfiguration.BulkConfiguration;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.slf4j.Logger;
+
+/**
+ * Sends bulk requests without waiting for their responses, so that the exporter can continue to
+ * export records while the requests are processed. The number and the size of the outstanding
+ * requests are limited.
+ *
+ * <p>The position of a bulk is acknowledged only if the bulk and all bulks which were sent before
+ * are indexed successfully. The failed items of a bulk are sent again after a backoff.
+ *
+ * <p>The pipeline is not thread-safe and must be used by the exporter only.
+ */
+public class ElasticsearchBulkPipeline {
+  public static final long NO_POSITION = -1;
+
+  private final ElasticsearchClient client;
+  private final BulkConfiguration configuration;
+  private final Logger log;
+
+  /** the sent bulks, in the order in which they were sent */
+  private final Deque<PendingBulk> bulks = new ArrayDeque<>();
+
+  private int inFlightRequests = 0;
+  private long inFlightBytes = 0;
+
+  private long acknowledgedPosition = NO_POSITION;
+
+  public ElasticsearchBulkPipeline(
+      final ElasticsearchClient client, final BulkConfiguration configuration, final Logger log) {
+    this.client = client;
+    this.configuration = configuration;
+    this.log = log;
+  }
+
+  /** @return true if another bulk request can be sent */
+  public boolean hasCapacity() {
+    return inFlightRequests < configuration.maxInFlightRequests
+        && inFlightBytes < configuration.maxInFlightBytes;
+  }
+
+  /** @return true if all sent bulks are acknowledged */
+  public boolean isEmpty() {
+    return bulks.isEmpty();
+  }
+
+  /**
+   * Sends the given bulk request without waiting for the response.
+   *
+   * @param request the request to send, or null if the bulk contains no records to index
+   * @param position the position of the last record which is covered by the bulk
+   */
+  public void send(final BulkRequest request, final long position) {
+    final PendingBulk bulk = new PendingBulk(request, position);
+
+    if (request != null) {
+      inFlightRequests += 1;
+      inFlightBytes += bulk.bytes;
+
+      bulk.response = client.bulkAsync(request);
+    } else {
+      bulk.acknowledged = true;
+    }
+
+    bulks.add(bulk);
+  }
+
+  /**
+   * Handles the responses of the sent bulks and sends the failed items again if their backoff is
+   * expired.
+   *
+   * @return the position up to which all bulks are acknowledged, or {@link #NO_POSITION}
+   */
+  public long processResponses() {
+    final long now = System.currentTimeMillis();
+
+    for (final PendingBulk bulk : bulks) {
+      if (bulk.acknowledged) {
+        continue;
+      }
+
+      if (bulk.response == null) {
+        if (now >= bulk.retryAt) {
+          bulk.response = client.bulkAsync(bulk.request);
+        }
+      } else if (bulk.response.isDone()) {
+        handleResponse(bulk, now);
+      }
+    }
+
+    PendingBulk bulk = bulks.peek();
+    while (bulk != null && bulk.acknowledged) {
+      bulks.remove();
+
+      if (bulk.request != null) {
+        inFlightRequests -= 1;
+        inFlightBytes -= bulk.bytes;
+      }
+
+      acknowledgedPosition = bulk.position;
+      bulk = bulks.peek();
+    }
+
+    return acknowledgedPosition;
+  }
+
+  private void handleResponse(final PendingBulk bulk, final long now) {
+    final BulkResponse response;
+    try {
+      response = bulk.response.join();
+    } catch (final Exception e) {
+      log.warn("Failed to send bulk of {} records", bulk.request.numberOfActions(), e);
+      retry(bulk, bulk.request, now);
+      return;
+    }
+
+    if (response.hasFailures()) {
+      final BulkRequest failedItems = new BulkRequest();
+
+      for (final BulkItemResponse item : response.getItems()) {
+        if (item.isFailed()) {
+          final DocWriteRequest<?> request = bulk.request.requests().get(item.getItemId());
+          failedItems.add(request);
+        }
+      }
+
+      log.warn(
+          "Failed to index {} of {} records of bulk: {}",
+          failedItems.numberOfActions(),
+          bulk.request.numberOfActions(),
+          response.buildFailureMessage());
+      retry(bulk, failedItems, now);
+    } else {
+      bulk.acknowledged = true;
+      bulk.response = null;
+    }
+  }
+
+  private void retry(final PendingBulk bulk, final BulkRequest request, final long now) {
+    final long backoff =
+        Math.min(
+            configuration.retryBackoff * (1L << Math.min(bulk.attempts, 16)),
+            configuration.maxRetryBackoff);
+
+    bulk.request = request;
+    bulk.response = null;
+    bulk.attempts += 1;
+    bulk.retryAt = now + backoff;
+  }
+
+  /**
+   * Waits until all sent bulks are acknowledged, e.g. before the exporter is closed. Failed items
+   * are sent again while waiting.
+   *
+   * @param timeout the maximum time to wait
+   * @return the position up to which all bulks are acknowledged, or {@link #NO_POSITION}
+   */
+  public long awaitResponses(final Duration timeout) {
+    final long deadline = System.currentTimeMillis() + timeout.toMillis();
+
+    processResponses();
+
+    long remaining = deadline - System.currentTimeMillis();
+    while (!bulks.isEmpty() && remaining > 0) {
+      final PendingBulk pendingBulk = findWaitingBulk();
+
+      try {
+        if (pendingBulk != null) {
+          pendingBulk.response.get(remaining, TimeUnit.MILLISECONDS);
+        } else {
+          // all bulks wait for a retry
+          Thread.sleep(Math.min(remaining, Math.max(1, configuration.retryBackoff)));
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (final Exception e) {
+        // handled as failed response
+      }
+
+      processResponses();
+      remaining = deadline - System.currentTimeMillis();
+    }
+
+    return acknowledgedPosition;
+  }
+
+  private PendingBulk findWaitingBulk() {
+    for (final PendingBulk bulk : bulks) {
+      if (!bulk.acknowledged && bulk.response != null) {
+        return bulk;
+      }
+    }
+    return null;
+  }
+
+  private static final class PendingBulk {
+    private final long position;
+    private final long bytes;
+
+    private BulkRequest request;
+    /** the response of the current attempt, or null if the bulk waits for a retry */
+    private CompletableFuture<BulkResponse> response;
+
+    private int attempts = 0;
+    private long retryAt = 0;
+    private boolean acknowledged = false;
+
+    private PendingBulk(final BulkRequest request, final long position) {
+      this.request = request;
+      this.position = position;
+      this.bytes = request != null ? request.estimatedSizeInBytes() : 0;
+    }
+  }
+}
@@ -25,8 +25,10 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.apache.http.HttpHost;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
@@ -95,6 +97,46 @@ public class ElasticsearchClient {
     return success;
   }
 
+  /**
+   * Returns the current bulk request and starts a new one.
+   *
+   * @return the current bulk request, or null if it contains no records
+   */
+  public BulkRequest takeBulkRequest() {
+    if (bulkRequest.numberOfActions() > 0) {
+      final BulkRequest request = bulkRequest;
+      bulkRequest = new BulkRequest();
+      return request;
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Sends the given bulk request without waiting for the response. The returned future is completed
+   * by the thread of the http client.
+   */
+  public CompletableFuture<BulkResponse> bulkAsync(final BulkRequest request) {
+    final CompletableFuture<BulkResponse> future = new CompletableFuture<>();
+
+    client.bulkAsync(
+        request,
+        RequestOptions.DEFAULT,
+        new ActionListener<BulkResponse>() {
+          @Override
+          public void onResponse(final BulkResponse response) {
+            future.complete(response);
+          }
+
+          @Override
+          public void onFailure(final Exception e) {
+            future.completeExceptionally(e);
+          }
+        });
+
+    return future;
+  }
+
   private boolean checkBulkResponses(final BulkResponse responses) {
     for (BulkItemResponse response : responses) {
       if (response.isFailed()) {
@@ -107,7 +149,16 @@ public class ElasticsearchClient {
   }
 
   public boolean shouldFlush() {
-    return bulkRequest.numberOfActions() >= configuration.bulk.size;
+    return isBulkFull();
+  }
+
+  /**
+   * @return true if the current bulk reached its configured size, either in records or in bytes; no
+   *     more records should be added until it is sent
+   */
+  public boolean isBulkFull() {
+    return bulkRequest.numberOfActions() >= configuration.bulk.size
+        || bulkRequest.estimatedSizeInBytes() >= configuration.bulk.memoryLimit;
   }
 
   /** @return true if request was acknowledged */
@@ -30,14 +30,20 @@ public class ElasticsearchExporter implements Exporter {
 
   public static final String ZEEBE_RECORD_TEMPLATE_JSON = "/zeebe-record-template.json";
 
+  private static final Duration RESPONSE_CHECK_INTERVAL = Duration.ofMillis(100);
+  private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
   private Logger log;
   private Controller controller;
 
   private ElasticsearchExporterConfiguration configuration;
 
   private ElasticsearchClient client;
+  private ElasticsearchBulkPipeline pipeline;
 
   private long lastPosition = -1;
+  private long lastExportedPosition = -1;
+  private boolean isResponseCheckScheduled = false;
 
   @Override
   public void configure(Context context) {
@@ -45,12 +51,15 @@ public class ElasticsearchExporter implements Exporter {
     configuration =
         context.getConfiguration().instantiate(ElasticsearchExporterConfiguration.class);
     log.debug("Exporter configured with {}", configuration);
+
+    context.setFilter(new ElasticsearchRecordFilter());
   }
 
   @Override
   public void open(Controller controller) {
     this.controller = controller;
     client = createClient();
+    pipeline = new ElasticsearchBulkPipeline(client, configuration.bulk, log);
     createIndexTemplates();
     scheduleDelayedFlush();
     log.info("Exporter opened");
@@ -62,7 +71,15 @@ public class ElasticsearchExporter implements Exporter {
 
   @Override
   public void close() {
+    // wait for the pending bulks to send the remaining records
+    pipeline.awaitResponses(CLOSE_TIMEOUT);
     flush();
+    pipeline.awaitResponses(CLOSE_TIMEOUT);
+    updateLastExportedPosition();
+
+    if (!pipeline.isEmpty()) {
+      log.warn("Failed to flush all bulks before closing the exporter");
+    }
 
     try {
       client.close();
@@ -74,6 +91,27 @@ public class ElasticsearchExporter implements Exporter {
 
   @Override
   public void export(Record record) {
+    index(record);
+    updateLastExportedPosition();
+  }
+
+  @Override
+  public void exportBatch(Iterable<Record> records) {
+    for (final Record record : records) {
+      index(record);
+    }
+
+    updateLastExportedPosition();
+  }
+
+  private void index(Record record) {
+    if (record.getPosition() <= lastPosition) {
+      // the batch is exported again after a failure - the record is already added to a bulk
+      return;
+    }
+
+    ensureBulkCapacity(record);
+
     if (shouldIndexRecord(record)) {
       client.index(record);
     }
@@ -85,8 +123,28 @@ public class ElasticsearchExporter implements Exporter {
     }
   }
 
+  /**
+   * Fails the export if the current bulk is full and can't be sent because too many bulks are
+   * pending, e.g. if Elasticsearch is not available. The record is exported again later, so the
+   * number of records which are kept in memory is bounded.
+   */
+  private void ensureBulkCapacity(Record record) {
+    if (client.isBulkFull()) {
+      updateLastExportedPosition();
+      flush();
+
+      if (client.isBulkFull()) {
+        throw new ElasticsearchExporterException(
+            String.format(
+                "Failed to export record at position %d, the bulk is full and too many bulks are pending",
+                record.getPosition()));
+      }
+    }
+  }
+
   private void flushAndReschedule() {
     flush();
+    updateLastExportedPosition();
     scheduleDelayedFlush();
   }
 
@@ -94,11 +152,42 @@ public class ElasticsearchExporter implements Exporter {
     controller.scheduleTask(Duration.ofSeconds(configuration.bulk.delay), this::flushAndReschedule);
   }
 
+  /**
+   * Sends the current bulk without waiting for the response. If too many bulks are pending then the
+   * records stay in the current bulk until a pending bulk is acknowledged.
+   */
   private void flush() {
-    if (client.flush()) {
-      controller.updateLastExportedRecordPosition(lastPosition);
-    } else {
-      log.warn("Failed to flush bulk completely");
+    if (pipeline.hasCapacity()) {
+      pipeline.send(client.takeBulkRequest(), lastPosition);
+      scheduleResponseCheck();
+    }
+  }
+
+  private void scheduleResponseCheck() {
+    if (!isResponseCheckScheduled && !pipeline.isEmpty()) {
+      isResponseCheckScheduled = true;
+      controller.scheduleTask(RESPONSE_CHECK_INTERVAL, this::checkResponses);
+    }
+  }
+
+  private void checkResponses() {
+    isResponseCheckScheduled = false;
+
+    updateLastExportedPosition();
+
+    if (client.shouldFlush()) {
+      flush();
+    }
+
+    scheduleResponseCheck();
+  }
+
+  private void updateLastExportedPosition() {
+    final long position = pipeline.processResponses();
+
+    if (position > lastExportedPosition) {
+      lastExportedPosition = position;
+      controller.updateLastExportedRecordPosition(position);
     }
   }
 
@@ -195,4 +284,16 @@ public class ElasticsearchExporter implements Exporter {
         return false;
     }
   }
+
+  private class ElasticsearchRecordFilter implements Context.RecordFilter {
+    @Override
+    public boolean acceptType(RecordType recordType) {
+      return shouldIndexRecordType(recordType);
+    }
+
+    @Override
+    public boolean acceptValue(ValueType valueType) {
+      return shouldIndexValueType(valueType);
+    }
+  }
 }
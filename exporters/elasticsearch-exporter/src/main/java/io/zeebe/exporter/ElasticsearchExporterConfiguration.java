@@ -98,10 +98,35 @@ public class ElasticsearchExporterConfiguration {
     public int delay = 5;
     // bulk size before flush
     public int size = 1_000;
+    // bulk size in bytes before flush
+    public long memoryLimit = 10 * 1024 * 1024;
+    // number of bulk requests which are sent without waiting for their responses
+    public int maxInFlightRequests = 4;
+    // size in bytes of the bulk requests which are sent without waiting for their responses
+    public long maxInFlightBytes = 32 * 1024 * 1024;
+    // delay in milliseconds before failed records are sent again, doubled on each attempt
+    public long retryBackoff = 100;
+    // upper bound in milliseconds of the retry delay
+    public long maxRetryBackoff = 10_000;
 
     @Override
     public String toString() {
-      return "BulkConfiguration{" + "delay=" + delay + ", size=" + size + '}';
+      return "BulkConfiguration{"
+          + "delay="
+          + delay
+          + ", size="
+          + size
+          + ", memoryLimit="
+          + memoryLimit
+          + ", maxInFlightRequests="
+          + maxInFlightRequests
+          + ", maxInFlightBytes="
+          + maxInFlightBytes
+          + ", retryBackoff="
+          + retryBackoff
+          + ", maxRetryBackoff="
+          + maxRetryBackoff
+          + '}';
     }
   }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter;
+
+import static io.zeebe.exporter.ElasticsearchBulkPipeline.NO_POSITION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.exporter.ElasticsearchExporterConfiguration.BulkConfiguration;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.elasticsearch.action.DocWriteRequest.OpType;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse.Failure;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+public class ElasticsearchBulkPipelineTest {
+
+  private final List<BulkRequest> sentRequests = new ArrayList<>();
+  private final List<CompletableFuture<BulkResponse>> responses = new ArrayList<>();
+
+  private BulkConfiguration configuration;
+  private ElasticsearchBulkPipeline pipeline;
+
+  @Before
+  public void setUp() {
+    configuration = new BulkConfiguration();
+    configuration.retryBackoff = 0;
+
+    final ElasticsearchClient client = mock(ElasticsearchClient.class);
+    when(client.bulkAsync(any()))
+        .then(
+            i -> {
+              final CompletableFuture<BulkResponse> response = new CompletableFuture<>();
+              sentRequests.add(i.getArgument(0));
+              responses.add(response);
+              return response;
+            });
+
+    pipeline =
+        new ElasticsearchBulkPipeline(
+            client, configuration, LoggerFactory.getLogger(ElasticsearchBulkPipelineTest.class));
+  }
+
+  @Test
+  public void shouldAcknowledgePositionOfBulk() {
+    // given
+    pipeline.send(newBulkRequest(1), 10);
+
+    // when
+    responses.get(0).complete(successResponse(1));
+
+    // then
+    assertThat(pipeline.processResponses()).isEqualTo(10);
+    assertThat(pipeline.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldAcknowledgePositionInOrder() {
+    // given
+    pipeline.send(newBulkRequest(1), 10);
+    pipeline.send(newBulkRequest(1), 20);
+
+    // when
+    responses.get(1).complete(successResponse(1));
+
+    // then
+    assertThat(pipeline.processResponses()).isEqualTo(NO_POSITION);
+
+    // when
+    responses.get(0).complete(successResponse(1));
+
+    // then
+    assertThat(pipeline.processResponses()).isEqualTo(20);
+  }
+
+  @Test
+  public void shouldAcknowledgePositionWithoutRecords() {
+    // given
+    pipeline.send(newBulkRequest(1), 10);
+    pipeline.send(null, 20);
+
+    // when
+    responses.get(0).complete(successResponse(1));
+
+    // then
+    assertThat(pipeline.processResponses()).isEqualTo(20);
+  }
+
+  @Test
+  public void shouldLimitInFlightRequests() {
+    // given
+    configuration.maxInFlightRequests = 2;
+
+    // when
+    pipeline.send(newBulkRequest(1), 10);
+    pipeline.send(newBulkRequest(1), 20);
+
+    // then
+    assertThat(pipeline.hasCapacity()).isFalse();
+
+    // when
+    responses.get(0).complete(successResponse(1));
+    pipeline.processResponses();
+
+    // then
+    assertThat(pipeline.hasCapacity()).isTrue();
+  }
+
+  @Test
+  public void shouldLimitInFlightBytes() {
+    // given
+    final BulkRequest request = newBulkRequest(3);
+    configuration.maxInFlightBytes = request.estimatedSizeInBytes();
+
+    // when
+    pipeline.send(request, 10);
+
+    // then
+    assertThat(pipeline.hasCapacity()).isFalse();
+  }
+
+  @Test
+  public void shouldRetryFailedItems() {
+    // given
+    pipeline.send(newBulkRequest(3), 10);
+
+    // when
+    responses.get(0).complete(responseWithFailedItems(3, 1));
+    assertThat(pipeline.processResponses()).isEqualTo(NO_POSITION);
+    pipeline.processResponses();
+
+    // then
+    assertThat(sentRequests).hasSize(2);
+    assertThat(sentRequests.get(1).requests())
+        .containsExactly(sentRequests.get(0).requests().get(1));
+
+    // when
+    responses.get(1).complete(successResponse(1));
+
+    // then
+    assertThat(pipeline.processResponses()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldRetryFailedRequest() {
+    // given
+    pipeline.send(newBulkRequest(2), 10);
+
+    // when
+    responses.get(0).completeExceptionally(new IOException("connection refused"));
+    pipeline.processResponses();
+    pipeline.processResponses();
+
+    // then
+    assertThat(sentRequests).hasSize(2);
+    assertThat(sentRequests.get(1)).isSameAs(sentRequests.get(0));
+  }
+
+  @Test
+  public void shouldBackoffBeforeRetry() {
+    // given
+    configuration.retryBackoff = Duration.ofHours(1).toMillis();
+    configuration.maxRetryBackoff = configuration.retryBackoff;
+    pipeline.send(newBulkRequest(2), 10);
+
+    // when
+    responses.get(0).completeExceptionally(new IOException("connection refused"));
+    pipeline.processResponses();
+    pipeline.processResponses();
+
+    // then
+    assertThat(sentRequests).hasSize(1);
+  }
+
+  @Test
+  public void shouldAwaitResponses() {
+    // given
+    pipeline.send(newBulkRequest(1), 10);
+    responses.get(0).complete(successResponse(1));
+
+    // when
+    final long position = pipeline.awaitResponses(Duration.ofSeconds(5));
+
+    // then
+    assertThat(position).isEqualTo(10);
+    assertThat(pipeline.isEmpty()).isTrue();
+  }
+
+  private static BulkRequest newBulkRequest(final int records) {
+    final BulkRequest request = new BulkRequest();
+    for (int i = 0; i < records; i++) {
+      request.add(
+          new IndexRequest("index", "_doc", String.valueOf(i)).source("{}", XContentType.JSON));
+    }
+    return request;
+  }
+
+  private static BulkResponse successResponse(final int records) {
+    return responseWithFailedItems(records, -1);
+  }
+
+  private static BulkResponse responseWithFailedItems(final int records, final int failedItem) {
+    final BulkItemResponse[] items = new BulkItemResponse[records];
+    for (int i = 0; i < records; i++) {
+      if (i == failedItem) {
+        items[i] =
+            new BulkItemResponse(
+                i,
+                OpType.INDEX,
+                new Failure("index", "_doc", String.valueOf(i), new RuntimeException("failed")));
+      } else {
+        items[i] =
+            new BulkItemResponse(
+                i,
+                OpType.INDEX,
+                new IndexResponse(
+                    new ShardId("index", "uuid", 0), "_doc", String.valueOf(i), 1, 1, 1, true));
+      }
+    }
+    return new BulkResponse(items, 1);
+  }
+}
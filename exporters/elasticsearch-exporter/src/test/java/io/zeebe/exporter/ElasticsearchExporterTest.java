@@ -17,18 +17,29 @@ package io.zeebe.exporter;
 
 import static io.zeebe.exporter.ElasticsearchExporter.ZEEBE_RECORD_TEMPLATE_JSON;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.zeebe.exporter.context.Context.RecordFilter;
 import io.zeebe.exporter.record.Record;
 import io.zeebe.protocol.clientapi.RecordType;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.test.exporter.ExporterTestHarness;
+import io.zeebe.test.exporter.record.MockRecord;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.common.xcontent.XContentType;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -214,6 +225,25 @@ public class ElasticsearchExporterTest {
     }
   }
 
+  @Test
+  public void shouldFilterDisabledTypesBeforeExport() {
+    // given
+    config.index.command = false;
+    config.index.event = true;
+    config.index.deployment = true;
+    config.index.job = false;
+
+    // when
+    createAndOpenExporter();
+    final RecordFilter filter = testHarness.getContext().getFilter();
+
+    // then
+    assertThat(filter.acceptType(RecordType.EVENT)).isTrue();
+    assertThat(filter.acceptType(RecordType.COMMAND)).isFalse();
+    assertThat(filter.acceptValue(ValueType.DEPLOYMENT)).isTrue();
+    assertThat(filter.acceptValue(ValueType.JOB)).isFalse();
+  }
+
   @Test
   public void shouldIgnoreUnknownRecordType() {
     // given
@@ -251,6 +281,32 @@ public class ElasticsearchExporterTest {
     assertThat(testHarness.getController().getPosition()).isEqualTo(record.getPosition());
   }
 
+  @Test
+  public void shouldIndexAllRecordsOfBatch() {
+    // given
+    config.index.event = true;
+    config.index.workflowInstance = true;
+    when(esClient.shouldFlush()).thenReturn(true);
+
+    // when
+    createAndOpenExporter();
+    final List<MockRecord> records =
+        testHarness
+            .stream(
+                r ->
+                    r.getMetadata()
+                        .setValueType(ValueType.WORKFLOW_INSTANCE)
+                        .setRecordType(RecordType.EVENT))
+            .exportBatch(3);
+
+    // then
+    assertThat(records).hasSize(3);
+    for (final MockRecord record : records) {
+      verify(esClient).index(record);
+    }
+    assertThat(testHarness.getController().getPosition()).isEqualTo(records.get(2).getPosition());
+  }
+
   @Test
   public void shouldFlushOnClose() {
     // given
@@ -260,7 +316,7 @@ public class ElasticsearchExporterTest {
     testHarness.close();
 
     // then
-    verify(esClient).flush();
+    verify(esClient).takeBulkRequest();
   }
 
   @Test
@@ -289,7 +345,7 @@ public class ElasticsearchExporterTest {
 
     // and
     testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
-    verify(esClient).flush();
+    verify(esClient).takeBulkRequest();
   }
 
   @Test
@@ -315,6 +371,129 @@ public class ElasticsearchExporterTest {
     assertThat(testHarness.getController().getPosition()).isEqualTo(testHarness.getPosition());
   }
 
+  @Test
+  public void shouldUpdatePositionWhenBulkIsAcknowledged() {
+    // given
+    final CompletableFuture<BulkResponse> response = new CompletableFuture<>();
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.takeBulkRequest()).thenReturn(newBulkRequest());
+    when(esClient.bulkAsync(any())).thenReturn(response);
+
+    createAndOpenExporter();
+    final Record record =
+        testHarness.export(
+            r ->
+                r.getMetadata()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE)
+                    .setRecordType(RecordType.EVENT));
+
+    // when
+    assertThat(testHarness.getController().getPosition()).isEqualTo(-1);
+    response.complete(new BulkResponse(new BulkItemResponse[0], 1));
+    testHarness.getController().runScheduledTasks(Duration.ofSeconds(1));
+
+    // then
+    assertThat(testHarness.getController().getPosition()).isEqualTo(record.getPosition());
+  }
+
+  @Test
+  public void shouldNotBlockExportWhileBulkIsPending() {
+    // given
+    config.bulk.maxInFlightRequests = 1;
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.takeBulkRequest()).thenReturn(newBulkRequest());
+    when(esClient.bulkAsync(any())).thenReturn(new CompletableFuture<>());
+
+    createAndOpenExporter();
+
+    // when
+    testHarness
+        .stream(
+            r ->
+                r.getMetadata()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE)
+                    .setRecordType(RecordType.EVENT))
+        .export(3);
+
+    // then - the records are kept in the current bulk
+    verify(esClient, times(1)).bulkAsync(any());
+    assertThat(testHarness.getController().getPosition()).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldFailExportIfBulkIsFullAndPipelineHasNoCapacity() {
+    // given
+    config.index.event = true;
+    config.index.workflowInstance = true;
+    config.bulk.maxInFlightRequests = 1;
+    final CompletableFuture<BulkResponse> response = new CompletableFuture<>();
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.takeBulkRequest()).thenReturn(newBulkRequest());
+    when(esClient.bulkAsync(any())).thenReturn(response);
+
+    createAndOpenExporter();
+    testHarness.export(
+        r ->
+            r.getMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
+
+    // when
+    when(esClient.isBulkFull()).thenReturn(true);
+    final Throwable failure =
+        catchThrowable(
+            () ->
+                testHarness.export(
+                    r ->
+                        r.getMetadata()
+                            .setValueType(ValueType.WORKFLOW_INSTANCE)
+                            .setRecordType(RecordType.EVENT)));
+
+    // then
+    assertThat(failure).isInstanceOf(ElasticsearchExporterException.class);
+    verify(esClient, times(1)).index(any());
+    verify(esClient, times(1)).bulkAsync(any());
+  }
+
+  @Test
+  public void shouldExportRecordAgainWhenBulkIsSent() {
+    // given
+    config.index.event = true;
+    config.index.workflowInstance = true;
+    config.bulk.maxInFlightRequests = 1;
+    final CompletableFuture<BulkResponse> response = new CompletableFuture<>();
+    when(esClient.shouldFlush()).thenReturn(true);
+    when(esClient.takeBulkRequest()).thenReturn(newBulkRequest());
+    when(esClient.bulkAsync(any())).thenReturn(response).thenReturn(new CompletableFuture<>());
+
+    final ElasticsearchExporter exporter = createAndOpenExporter();
+    testHarness.export(
+        r ->
+            r.getMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
+
+    when(esClient.isBulkFull()).thenReturn(true);
+    final MockRecord record = new MockRecord();
+    record.setPosition(testHarness.getPosition() + 1);
+    record.getMetadata().setValueType(ValueType.WORKFLOW_INSTANCE).setRecordType(RecordType.EVENT);
+    assertThat(catchThrowable(() -> exporter.export(record))).isNotNull();
+
+    // when
+    response.complete(new BulkResponse(new BulkItemResponse[0], 1));
+    when(esClient.isBulkFull()).thenReturn(true, false);
+    exporter.export(record);
+
+    // then
+    verify(esClient).index(record);
+    verify(esClient, times(2)).bulkAsync(any());
+  }
+
+  private static BulkRequest newBulkRequest() {
+    return new BulkRequest()
+        .add(new IndexRequest("index", "_doc", "1").source("{}", XContentType.JSON));
+  }
+
   private ElasticsearchExporter createAndOpenExporter() {
     final ElasticsearchExporter exporter =
         new ElasticsearchExporter() {
@@ -15,13 +15,26 @@
  */
 package io.zeebe.gateway;
 
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import io.zeebe.gateway.ResponseMapper.BrokerResponseMapper;
+import io.zeebe.gateway.cmd.BrokerErrorException;
+import io.zeebe.gateway.cmd.ClientCommandRejectedException;
+import io.zeebe.gateway.cmd.ClientException;
 import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.impl.broker.RequestDispatchStrategy;
+import io.zeebe.gateway.impl.broker.RoundRobinDispatchStrategy;
+import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
+import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobsRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommandBatch;
+import io.zeebe.gateway.impl.broker.request.BrokerFailJobsRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.gateway.impl.bulk.BulkRequestObserver;
 import io.zeebe.gateway.impl.job.ActivateJobsHandler;
 import io.zeebe.gateway.protocol.GatewayGrpc;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
@@ -30,16 +43,23 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceRequest
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceAck;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.GetWorkflowRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.GetWorkflowResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.JobCommandResult;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ListWorkflowsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ListWorkflowsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageAck;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentRequest;
@@ -50,19 +70,37 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateWorkflowInstancePayloadRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateWorkflowInstancePayloadResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.ErrorCode;
+import io.zeebe.protocol.impl.SubscriptionUtil;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import org.agrona.DirectBuffer;
 
 public class EndpointManager extends GatewayGrpc.GatewayImplBase {
 
   private final BrokerClient brokerClient;
   private final BrokerTopologyManager topologyManager;
   private final ActivateJobsHandler activateJobsHandler;
+  private final RequestDispatchStrategy dispatchStrategy;
 
   public EndpointManager(final BrokerClient brokerClient) {
     this.brokerClient = brokerClient;
     this.topologyManager = brokerClient.getTopologyManager();
+    this.dispatchStrategy = new RoundRobinDispatchStrategy(topologyManager);
     this.activateJobsHandler = new ActivateJobsHandler(brokerClient);
+    brokerClient.getScheduler().submitActor(activateJobsHandler);
   }
 
   @Override
@@ -98,6 +136,19 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
         responseObserver);
   }
 
+  @Override
+  public StreamObserver<PublishMessageRequest> publishMessages(
+      StreamObserver<PublishMessageAck> responseObserver) {
+    return new BulkRequestObserver<>(
+        brokerClient,
+        EndpointManager::determinePublishMessagePartition,
+        RequestMapper::toMessageRecord,
+        RequestMapper::toPublishMessagesRequest,
+        EndpointManager::toPublishMessageAck,
+        EndpointManager::toPublishMessageAck,
+        responseObserver);
+  }
+
   @Override
   public void updateJobRetries(
       UpdateJobRetriesRequest request, StreamObserver<UpdateJobRetriesResponse> responseObserver) {
@@ -119,6 +170,19 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
         responseObserver);
   }
 
+  @Override
+  public StreamObserver<CreateWorkflowInstanceRequest> createWorkflowInstances(
+      StreamObserver<CreateWorkflowInstanceAck> responseObserver) {
+    return new BulkRequestObserver<>(
+        brokerClient,
+        (request, topology) -> dispatchStrategy.determinePartition(),
+        RequestMapper::toWorkflowInstanceRecord,
+        RequestMapper::toCreateWorkflowInstancesRequest,
+        EndpointManager::toCreateWorkflowInstanceAck,
+        EndpointManager::toCreateWorkflowInstanceAck,
+        responseObserver);
+  }
+
   @Override
   public void cancelWorkflowInstance(
       CancelWorkflowInstanceRequest request,
@@ -170,6 +234,29 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
         responseObserver);
   }
 
+  @Override
+  public void failJobs(FailJobsRequest request, StreamObserver<FailJobsResponse> responseObserver) {
+    sendJobBatchRequest(
+        request.getJobsList(),
+        FailJobRequest::getJobKey,
+        BrokerFailJobsRequest::new,
+        RequestMapper::addFailJobRequest,
+        results -> FailJobsResponse.newBuilder().addAllResults(results).build(),
+        responseObserver);
+  }
+
+  @Override
+  public void completeJobs(
+      CompleteJobsRequest request, StreamObserver<CompleteJobsResponse> responseObserver) {
+    sendJobBatchRequest(
+        request.getJobsList(),
+        CompleteJobRequest::getJobKey,
+        BrokerCompleteJobsRequest::new,
+        RequestMapper::addCompleteJobRequest,
+        results -> CompleteJobsResponse.newBuilder().addAllResults(results).build(),
+        responseObserver);
+  }
+
   @Override
   public void getWorkflow(
       GetWorkflowRequest request, StreamObserver<GetWorkflowResponse> responseObserver) {
@@ -223,6 +310,157 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
         error -> streamObserver.onError(convertThrowable(error)));
   }
 
+  /**
+   * Groups the jobs by the partition they belong to and sends one batch request per partition, so
+   * that the commands of each partition are written to its log at once. The results are collected
+   * in the order of the given jobs.
+   *
+   * <p>Each job is mapped on its own. A job which can't be mapped (e.g. because of an invalid
+   * payload) fails with the status of the single job request, without affecting the other jobs.
+   */
+  private <
+          GrpcJobRequestT,
+          BrokerRequestT extends BrokerExecuteCommandBatch<JobRecord>,
+          GrpcResponseT>
+      void sendJobBatchRequest(
+          final List<GrpcJobRequestT> jobRequests,
+          final ToLongFunction<GrpcJobRequestT> jobKeyExtractor,
+          final Supplier<BrokerRequestT> requestFactory,
+          final BiConsumer<BrokerRequestT, GrpcJobRequestT> jobMapper,
+          final Function<List<JobCommandResult>, GrpcResponseT> responseMapper,
+          final StreamObserver<GrpcResponseT> streamObserver) {
+
+    final JobCommandResult[] results = new JobCommandResult[jobRequests.size()];
+
+    final Map<Integer, BrokerRequestT> requestsByPartition = new LinkedHashMap<>();
+    final Map<Integer, List<Integer>> jobIndicesByPartition = new LinkedHashMap<>();
+
+    for (int i = 0; i < jobRequests.size(); i++) {
+      final GrpcJobRequestT jobRequest = jobRequests.get(i);
+      final long jobKey = jobKeyExtractor.applyAsLong(jobRequest);
+      final int partitionId = Protocol.decodePartitionId(jobKey);
+
+      final BrokerRequestT brokerRequest =
+          requestsByPartition.computeIfAbsent(partitionId, p -> requestFactory.get());
+      try {
+        jobMapper.accept(brokerRequest, jobRequest);
+      } catch (Exception e) {
+        results[i] = toJobCommandResult(jobKey, e);
+        continue;
+      }
+
+      jobIndicesByPartition.computeIfAbsent(partitionId, p -> new ArrayList<>()).add(i);
+    }
+
+    final Runnable sendResponse =
+        () -> {
+          streamObserver.onNext(responseMapper.apply(Arrays.asList(results)));
+          streamObserver.onCompleted();
+        };
+
+    if (jobIndicesByPartition.isEmpty()) {
+      sendResponse.run();
+      return;
+    }
+
+    final AtomicInteger pendingRequests = new AtomicInteger(jobIndicesByPartition.size());
+
+    for (Map.Entry<Integer, List<Integer>> entry : jobIndicesByPartition.entrySet()) {
+      final List<Integer> jobIndices = entry.getValue();
+      final BrokerRequestT brokerRequest = requestsByPartition.get(entry.getKey());
+      brokerRequest.setPartitionId(entry.getKey());
+
+      brokerClient.sendRequest(
+          brokerRequest,
+          (key, responses) -> {
+            for (int i = 0; i < jobIndices.size(); i++) {
+              results[jobIndices.get(i)] =
+                  toJobCommandResult(brokerRequest.getKey(i), responses.get(i));
+            }
+            if (pendingRequests.decrementAndGet() == 0) {
+              sendResponse.run();
+            }
+          },
+          error -> {
+            for (int i = 0; i < jobIndices.size(); i++) {
+              results[jobIndices.get(i)] = toJobCommandResult(brokerRequest.getKey(i), error);
+            }
+            if (pendingRequests.decrementAndGet() == 0) {
+              sendResponse.run();
+            }
+          });
+    }
+  }
+
+  /** Maps the response of a job command of a batch like the response of a single job request. */
+  private static JobCommandResult toJobCommandResult(
+      final long jobKey, final BrokerResponse<JobRecord> response) {
+    if (response.isResponse()) {
+      return ResponseMapper.toJobCommandResult(jobKey);
+    } else {
+      return toJobCommandResult(jobKey, toThrowable(response));
+    }
+  }
+
+  private static JobCommandResult toJobCommandResult(final long jobKey, final Throwable error) {
+    return ResponseMapper.toJobCommandResult(jobKey, convertThrowable(error).getStatus());
+  }
+
+  /** Maps the response of a message of a bulk request like the response of a single request. */
+  private static PublishMessageAck toPublishMessageAck(
+      final long index, final BrokerResponse<Void> response) {
+    if (response.isResponse()) {
+      return ResponseMapper.toPublishMessageAck(index);
+    } else {
+      return toPublishMessageAck(index, toThrowable(response));
+    }
+  }
+
+  private static PublishMessageAck toPublishMessageAck(final long index, final Throwable error) {
+    return ResponseMapper.toPublishMessageAck(index, convertThrowable(error).getStatus());
+  }
+
+  /**
+   * Maps the response of a workflow instance of a bulk request like the response of a single
+   * request.
+   */
+  private static CreateWorkflowInstanceAck toCreateWorkflowInstanceAck(
+      final long index, final BrokerResponse<WorkflowInstanceRecord> response) {
+    if (response.isResponse()) {
+      return ResponseMapper.toCreateWorkflowInstanceAck(
+          index, response.getKey(), response.getResponse());
+    } else {
+      return toCreateWorkflowInstanceAck(index, toThrowable(response));
+    }
+  }
+
+  private static CreateWorkflowInstanceAck toCreateWorkflowInstanceAck(
+      final long index, final Throwable error) {
+    return ResponseMapper.toCreateWorkflowInstanceAck(index, convertThrowable(error).getStatus());
+  }
+
+  /** @return the error which the single request would fail with if the response is no success */
+  private static Throwable toThrowable(final BrokerResponse<?> response) {
+    if (response.isRejection()) {
+      return new ClientCommandRejectedException(response.getRejection());
+    } else if (response.isError()) {
+      return new BrokerErrorException(response.getError());
+    } else {
+      return new ClientException("Unknown response received: " + response);
+    }
+  }
+
+  private static int determinePublishMessagePartition(
+      final PublishMessageRequest request, final BrokerClusterState topology) {
+    final int partitionsCount = topology.getPartitionsCount();
+    if (partitionsCount > 0) {
+      final DirectBuffer correlationKey = wrapString(request.getCorrelationKey());
+      return SubscriptionUtil.getSubscriptionPartitionId(correlationKey, partitionsCount);
+    } else {
+      return BrokerClusterState.PARTITION_ID_NULL;
+    }
+  }
+
   private static StatusRuntimeException convertThrowable(final Throwable cause) {
     final String description;
 
@@ -232,6 +470,15 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
       description = cause.getMessage();
     }
 
-    return Status.INTERNAL.augmentDescription(description).withCause(cause).asRuntimeException();
+    final Status status;
+    if (cause instanceof BrokerErrorException
+        && ((BrokerErrorException) cause).getErrorCode() == ErrorCode.RESOURCE_EXHAUSTED) {
+      // the partitions are overloaded, the client may retry later
+      status = Status.RESOURCE_EXHAUSTED;
+    } else {
+      status = Status.INTERNAL;
+    }
+
+    return status.augmentDescription(description).withCause(cause).asRuntimeException();
   }
 }
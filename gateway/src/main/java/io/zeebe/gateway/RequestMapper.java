@@ -18,12 +18,16 @@ package io.zeebe.gateway;
 import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerCancelWorkflowInstanceRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobsRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstanceRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstancesRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerDeployWorkflowRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerFailJobRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerFailJobsRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerGetWorkflowRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerListWorkflowsRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerResolveIncidentRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerTopologyRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerUpdateJobRetriesRequest;
@@ -44,6 +48,9 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateWorkflowInstancePayloadRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.WorkflowRequestObject;
 import io.zeebe.msgpack.value.DocumentValue;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import java.util.List;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -80,6 +87,30 @@ public class RequestMapper {
     return brokerRequest;
   }
 
+  public static MessageRecord toMessageRecord(PublishMessageRequest grpcRequest) {
+    final MessageRecord message = new MessageRecord();
+
+    message
+        .setName(grpcRequest.getName())
+        .setCorrelationKey(grpcRequest.getCorrelationKey())
+        .setMessageId(grpcRequest.getMessageId())
+        .setTimeToLive(grpcRequest.getTimeToLive())
+        .setPayload(ensureJsonSet(grpcRequest.getPayload()));
+
+    return message;
+  }
+
+  public static BrokerPublishMessagesRequest toPublishMessagesRequest(
+      List<MessageRecord> messages) {
+    final BrokerPublishMessagesRequest brokerRequest = new BrokerPublishMessagesRequest();
+
+    for (MessageRecord message : messages) {
+      brokerRequest.addMessage(message);
+    }
+
+    return brokerRequest;
+  }
+
   public static BrokerUpdateJobRetriesRequest toUpdateJobRetriesRequest(
       UpdateJobRetriesRequest grpcRequest) {
     return new BrokerUpdateJobRetriesRequest(grpcRequest.getJobKey(), grpcRequest.getRetries());
@@ -95,6 +126,19 @@ public class RequestMapper {
         grpcRequest.getJobKey(), ensureJsonSet(grpcRequest.getPayload()));
   }
 
+  public static void addFailJobRequest(
+      BrokerFailJobsRequest brokerRequest, FailJobRequest grpcRequest) {
+    brokerRequest.addJob(
+        grpcRequest.getJobKey(), grpcRequest.getRetries(), grpcRequest.getErrorMessage());
+  }
+
+  public static void addCompleteJobRequest(
+      BrokerCompleteJobsRequest brokerRequest, CompleteJobRequest grpcRequest) {
+    // convert the payload first, so that an invalid payload doesn't add the job to the batch
+    final DirectBuffer payload = ensureJsonSet(grpcRequest.getPayload());
+    brokerRequest.addJob(grpcRequest.getJobKey(), payload);
+  }
+
   public static BrokerCreateWorkflowInstanceRequest toCreateWorkflowInstanceRequest(
       CreateWorkflowInstanceRequest grpcRequest) {
     final BrokerCreateWorkflowInstanceRequest brokerRequest =
@@ -109,6 +153,31 @@ public class RequestMapper {
     return brokerRequest;
   }
 
+  public static WorkflowInstanceRecord toWorkflowInstanceRecord(
+      CreateWorkflowInstanceRequest grpcRequest) {
+    final WorkflowInstanceRecord workflowInstance = new WorkflowInstanceRecord();
+
+    workflowInstance
+        .setBpmnProcessId(grpcRequest.getBpmnProcessId())
+        .setWorkflowKey(grpcRequest.getWorkflowKey())
+        .setVersion(grpcRequest.getVersion())
+        .setPayload(ensureJsonSet(grpcRequest.getPayload()));
+
+    return workflowInstance;
+  }
+
+  public static BrokerCreateWorkflowInstancesRequest toCreateWorkflowInstancesRequest(
+      List<WorkflowInstanceRecord> workflowInstances) {
+    final BrokerCreateWorkflowInstancesRequest brokerRequest =
+        new BrokerCreateWorkflowInstancesRequest();
+
+    for (WorkflowInstanceRecord workflowInstance : workflowInstances) {
+      brokerRequest.addWorkflowInstance(workflowInstance);
+    }
+
+    return brokerRequest;
+  }
+
   public static BrokerCancelWorkflowInstanceRequest toCancelWorkflowInstanceRequest(
       CancelWorkflowInstanceRequest grpcRequest) {
     final BrokerCancelWorkflowInstanceRequest brokerRequest =
@@ -15,9 +15,9 @@
  */
 package io.zeebe.gateway;
 
-import static io.zeebe.util.buffer.BufferUtil.bufferAsArray;
 import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
 
+import io.grpc.Status;
 import io.zeebe.gateway.cmd.ClientException;
 import io.zeebe.gateway.impl.data.MsgPackConverter;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
@@ -26,14 +26,17 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.BrokerInfo;
 import io.zeebe.gateway.protocol.GatewayOuterClass.BrokerInfo.Builder;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceAck;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.GetWorkflowResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.JobCommandResult;
 import io.zeebe.gateway.protocol.GatewayOuterClass.JobHeaders;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ListWorkflowsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.Partition;
 import io.zeebe.gateway.protocol.GatewayOuterClass.Partition.PartitionBrokerRole;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageAck;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.TopologyResponse;
@@ -132,6 +135,19 @@ public class ResponseMapper {
     return PublishMessageResponse.getDefaultInstance();
   }
 
+  public static PublishMessageAck toPublishMessageAck(long index) {
+    return PublishMessageAck.newBuilder().setIndex(index).setSuccess(true).build();
+  }
+
+  public static PublishMessageAck toPublishMessageAck(long index, Status status) {
+    return PublishMessageAck.newBuilder()
+        .setIndex(index)
+        .setSuccess(false)
+        .setErrorMessage(getErrorMessage(status))
+        .setErrorCode(status.getCode().value())
+        .build();
+  }
+
   public static UpdateJobRetriesResponse toUpdateJobRetriesResponse(
       long key, JobRecord brokerResponse) {
     return UpdateJobRetriesResponse.getDefaultInstance();
@@ -145,6 +161,19 @@ public class ResponseMapper {
     return CompleteJobResponse.getDefaultInstance();
   }
 
+  public static JobCommandResult toJobCommandResult(long jobKey) {
+    return JobCommandResult.newBuilder().setJobKey(jobKey).setSuccess(true).build();
+  }
+
+  public static JobCommandResult toJobCommandResult(long jobKey, Status status) {
+    return JobCommandResult.newBuilder()
+        .setJobKey(jobKey)
+        .setSuccess(false)
+        .setErrorMessage(getErrorMessage(status))
+        .setErrorCode(status.getCode().value())
+        .build();
+  }
+
   public static CreateWorkflowInstanceResponse toCreateWorkflowInstanceResponse(
       long key, WorkflowInstanceRecord brokerResponse) {
     return CreateWorkflowInstanceResponse.newBuilder()
@@ -155,6 +184,24 @@ public class ResponseMapper {
         .build();
   }
 
+  public static CreateWorkflowInstanceAck toCreateWorkflowInstanceAck(
+      long index, long key, WorkflowInstanceRecord brokerResponse) {
+    return CreateWorkflowInstanceAck.newBuilder()
+        .setIndex(index)
+        .setSuccess(true)
+        .setWorkflowInstance(toCreateWorkflowInstanceResponse(key, brokerResponse))
+        .build();
+  }
+
+  public static CreateWorkflowInstanceAck toCreateWorkflowInstanceAck(long index, Status status) {
+    return CreateWorkflowInstanceAck.newBuilder()
+        .setIndex(index)
+        .setSuccess(false)
+        .setErrorMessage(getErrorMessage(status))
+        .setErrorCode(status.getCode().value())
+        .build();
+  }
+
   public static CancelWorkflowInstanceResponse toCancelWorkflowInstanceResponse(
       long key, WorkflowInstanceRecord brokerResponse) {
     return CancelWorkflowInstanceResponse.getDefaultInstance();
@@ -240,7 +287,12 @@ public class ResponseMapper {
   }
 
   private static String bufferAsJson(DirectBuffer customHeaders) {
-    return MSG_PACK_CONVERTER.convertToJson(bufferAsArray(customHeaders));
+    return MSG_PACK_CONVERTER.convertToJson(customHeaders);
+  }
+
+  private static String getErrorMessage(Status status) {
+    final String errorMessage = status.getDescription();
+    return errorMessage != null ? errorMessage : status.getCode().name();
   }
 
   @FunctionalInterface
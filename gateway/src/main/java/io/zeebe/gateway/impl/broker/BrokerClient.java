@@ -18,6 +18,7 @@ package io.zeebe.gateway.impl.broker;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.util.function.Consumer;
 
@@ -33,4 +34,12 @@ public interface BrokerClient extends AutoCloseable {
       Consumer<Throwable> throwableConsumer);
 
   BrokerTopologyManager getTopologyManager();
+
+  /**
+   * Registers a handler which is invoked with the job type whenever a broker notifies that jobs of
+   * this type are available for activation.
+   */
+  void subscribeJobsAvailableNotification(Consumer<String> handler);
+
+  ActorScheduler getScheduler();
 }
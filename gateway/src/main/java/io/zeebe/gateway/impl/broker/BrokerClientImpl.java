@@ -49,6 +49,7 @@ public class BrokerClientImpl implements BrokerClient {
   private final ClientTransport internalTransport;
   private final BrokerRequestManager requestManager;
   protected final BrokerTopologyManagerImpl topologyManager;
+  private final JobsAvailableNotificationSubscriber jobsAvailableNotificationSubscriber;
 
   protected boolean isClosed;
 
@@ -106,8 +107,13 @@ public class BrokerClientImpl implements BrokerClient {
             transport.getOutput(),
             topologyManager,
             new RoundRobinDispatchStrategy(topologyManager),
-            configuration.getCluster().getRequestTimeout());
-    actorScheduler.submitActor(requestManager);
+            configuration.getCluster().getRequestTimeout(),
+            configuration.getThreads().getRequestLanes(),
+            actorScheduler.getMetricsManager());
+    requestManager.submitLanes(actorScheduler);
+
+    jobsAvailableNotificationSubscriber = new JobsAvailableNotificationSubscriber(transport);
+    actorScheduler.submitActor(jobsAvailableNotificationSubscriber);
 
     final SocketAddress contactPoint =
         SocketAddress.from(configuration.getCluster().getContactPoint());
@@ -137,6 +143,8 @@ public class BrokerClientImpl implements BrokerClient {
 
     LOG.debug("Closing client ...");
 
+    doAndLogException(requestManager::close);
+    LOG.debug("request manager closed");
     doAndLogException(() -> topologyManager.close().join());
     LOG.debug("topology manager closed");
     doAndLogException(transport::close);
@@ -179,14 +187,21 @@ public class BrokerClientImpl implements BrokerClient {
     requestManager.sendRequest(request, responseConsumer, throwableConsumer);
   }
 
+  @Override
   public BrokerTopologyManager getTopologyManager() {
     return topologyManager;
   }
 
+  @Override
+  public void subscribeJobsAvailableNotification(final Consumer<String> handler) {
+    jobsAvailableNotificationSubscriber.addHandler(handler);
+  }
+
   public ClientTransport getTransport() {
     return transport;
   }
 
+  @Override
   public ActorScheduler getScheduler() {
     return actorScheduler;
   }
@@ -18,47 +18,84 @@ package io.zeebe.gateway.impl.broker;
 import io.zeebe.gateway.cmd.BrokerErrorException;
 import io.zeebe.gateway.cmd.ClientCommandRejectedException;
 import io.zeebe.gateway.cmd.ClientException;
-import io.zeebe.gateway.cmd.ClientOutOfMemoryException;
-import io.zeebe.gateway.impl.ErrorResponseHandler;
 import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
-import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManagerImpl;
+import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
 import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerError;
 import io.zeebe.gateway.impl.broker.response.BrokerRejection;
 import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.protocol.clientapi.ErrorCode;
-import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
-import io.zeebe.protocol.impl.SubscriptionUtil;
-import io.zeebe.protocol.impl.data.cluster.TopologyResponseDto;
 import io.zeebe.transport.ClientOutput;
-import io.zeebe.transport.ClientResponse;
-import io.zeebe.util.sched.Actor;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.function.Supplier;
-import org.agrona.DirectBuffer;
+import org.agrona.collections.IntHashSet;
 
-public class BrokerRequestManager extends Actor {
+/**
+ * Distributes the requests over a fixed number of {@link BrokerRequestLane}s. Requests for the same
+ * partition always use the same lane, so that they are sent in the order they are submitted.
+ * Requests which are not bound to a partition are spread round robin over the lanes.
+ *
+ * <p>The partition of a request is determined by the calling thread, using the current topology
+ * snapshot of the {@link BrokerTopologyManager}. Only if no topology is known yet, the lane which
+ * takes up the request fetches it first.
+ *
+ * <p>A partition rejects commands with {@link ErrorCode#RESOURCE_EXHAUSTED} if it has too many
+ * commands in flight. If the partition was chosen by the dispatch strategy, the request is sent to
+ * the next partition which was not tried yet for this request, until every partition was tried
+ * once.
+ */
+public class BrokerRequestManager {
 
-  private final ClientOutput clientOutput;
   private final RequestDispatchStrategy dispatchStrategy;
-  private final BrokerTopologyManagerImpl topologyManager;
-  private final Duration requestTimeout;
+  private final BrokerTopologyManager topologyManager;
+  private final BrokerRequestLane[] lanes;
+  private final AtomicInteger nextLane = new AtomicInteger();
 
   public BrokerRequestManager(
       ClientOutput clientOutput,
-      BrokerTopologyManagerImpl topologyManager,
+      BrokerTopologyManager topologyManager,
       RequestDispatchStrategy dispatchStrategy,
-      Duration requestTimeout) {
-    this.clientOutput = clientOutput;
+      Duration requestTimeout,
+      int laneCount,
+      MetricsManager metricsManager) {
+    if (laneCount < 1) {
+      throw new IllegalArgumentException(
+          "Expected at least one request lane, but was " + laneCount);
+    }
+
     this.dispatchStrategy = dispatchStrategy;
     this.topologyManager = topologyManager;
-    this.requestTimeout = requestTimeout;
+
+    lanes = new BrokerRequestLane[laneCount];
+    for (int i = 0; i < laneCount; i++) {
+      lanes[i] =
+          new BrokerRequestLane(
+              i, clientOutput, topologyManager, dispatchStrategy, requestTimeout, metricsManager);
+    }
+  }
+
+  public void submitLanes(ActorScheduler actorScheduler) {
+    for (BrokerRequestLane lane : lanes) {
+      actorScheduler.submitActor(lane);
+    }
+  }
+
+  public void close() {
+    for (BrokerRequestLane lane : lanes) {
+      lane.close().join();
+    }
+  }
+
+  public int getLaneCount() {
+    return lanes.length;
   }
 
   public <T> ActorFuture<BrokerResponse<T>> sendRequest(BrokerRequest<T> request) {
@@ -124,181 +161,101 @@ public class BrokerRequestManager extends Actor {
 
     request.serializeValue();
 
-    actor.run(
-        () -> {
-          final BrokerClusterState topology = topologyManager.getTopology();
-          if (request.requiresPartitionId() && !topologyContainsPartitions(topology)) {
-            // request requires a fetched topology to determine the partition id
-            fetchTopologyBeforeRequest(request, responseConsumer, 3);
-          } else {
-            sendRequestInternal(request, responseConsumer);
-          }
-        });
-  }
-
-  private boolean topologyContainsPartitions(BrokerClusterState topology) {
-    return topology != null && !topology.getPartitions().isEmpty();
-  }
-
-  private <T> void fetchTopologyBeforeRequest(
-      BrokerRequest<T> request,
-      BiConsumer<BrokerResponse<T>, Throwable> responseConsumer,
-      int remainingRetries) {
-    final ActorFuture<BrokerClusterState> topologyFuture = topologyManager.requestTopology();
-    actor.runOnCompletion(
-        topologyFuture,
-        (topology, error) -> {
-          if (error == null) {
-            if (topologyContainsPartitions(topology)) {
-              sendRequestInternal(request, responseConsumer);
-            } else if (remainingRetries > 1) {
-              // no partitions known yet, let's retry
-              fetchTopologyBeforeRequest(request, responseConsumer, remainingRetries - 1);
-            } else {
-              responseConsumer.accept(
-                  null, new ClientException("Unable to fetch partitions for request"));
-            }
-          } else if (remainingRetries > 1) {
-            fetchTopologyBeforeRequest(request, responseConsumer, remainingRetries - 1);
-          } else {
-            responseConsumer.accept(null, error);
-          }
-        });
-  }
+    final boolean isDispatched = isDispatchedByStrategy(request);
 
-  private <T> void sendRequestInternal(
-      BrokerRequest<T> request, BiConsumer<BrokerResponse<T>, Throwable> responseConsumer) {
-    final BrokerNodeIdProvider nodeIdProvider = determineBrokerNodeIdProvider(request);
-
-    final ActorFuture<ClientResponse> responseFuture =
-        clientOutput.sendRequestWithRetry(
-            nodeIdProvider, BrokerRequestManager::shouldRetryRequest, request, requestTimeout);
-
-    if (responseFuture != null) {
-      actor.runOnCompletion(
-          responseFuture,
-          (clientResponse, error) -> {
-            try {
-              if (error == null) {
-                final BrokerResponse<T> response = request.getResponse(clientResponse);
-                checkForTopologyResponse(response);
-                responseConsumer.accept(response, null);
-              } else {
-                responseConsumer.accept(null, error);
-              }
-            } catch (Exception e) {
-              responseConsumer.accept(
-                  null, new ClientException("Failed to read response: " + e.getMessage(), e));
-            }
-          });
-    } else {
-      responseConsumer.accept(
-          null,
-          new ClientOutOfMemoryException(
-              "Broker client is out of buffer memory and cannot make "
-                  + "new requests until memory is reclaimed."));
+    final BrokerRequestLane lane;
+    try {
+      lane = selectLane(request);
+    } catch (Exception e) {
+      responseConsumer.accept(null, e);
+      return;
     }
-  }
 
-  private void checkForTopologyResponse(BrokerResponse<?> response) {
-    if (response.isResponse()) {
-      final Object value = response.getResponse();
-      if (value instanceof TopologyResponseDto) {
-        topologyManager.provideTopology((TopologyResponseDto) value);
-      }
+    if (isDispatched) {
+      final IntHashSet triedPartitions = new IntHashSet();
+      lane.sendRequest(request, redispatchIfExhausted(request, responseConsumer, triedPartitions));
+    } else {
+      lane.sendRequest(request, responseConsumer);
     }
   }
 
-  private static boolean shouldRetryRequest(final DirectBuffer responseContent) {
-    final ErrorResponseHandler errorHandler = new ErrorResponseHandler();
-    final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
-    headerDecoder.wrap(responseContent, 0);
-
-    if (errorHandler.handlesResponse(headerDecoder)) {
-      errorHandler.wrap(
-          responseContent,
-          headerDecoder.encodedLength(),
-          headerDecoder.blockLength(),
-          headerDecoder.version());
-
-      final ErrorCode errorCode = errorHandler.getErrorCode();
-      return errorCode == ErrorCode.PARTITION_NOT_FOUND || errorCode == ErrorCode.REQUEST_TIMEOUT;
-    } else {
-      return false;
-    }
+  private static boolean isDispatchedByStrategy(BrokerRequest<?> request) {
+    // messages must be published on the partition of their correlation key
+    return request.requiresPartitionId()
+        && !request.addressesSpecificPartition()
+        && !(request instanceof BrokerPublishMessageRequest);
   }
 
-  private BrokerNodeIdProvider determineBrokerNodeIdProvider(BrokerRequest<?> request) {
-    if (request.addressesSpecificPartition()) {
-      // already know partition id
-      return new BrokerNodeIdProvider(request.getPartitionId());
-    } else if (request.requiresPartitionId()) {
-      if (request instanceof BrokerPublishMessageRequest) {
-        determinePartitionIdForPublishMessageRequest((BrokerPublishMessageRequest) request);
-      } else {
-        // select next partition id for request
-        final int partitionId = dispatchStrategy.determinePartition();
-        if (partitionId == BrokerClusterState.PARTITION_ID_NULL) {
-          // should not happen as the request manager fetches the topology before starting the
-          // request
-          throw new IllegalStateException("Not partitions available");
+  private <T> BiConsumer<BrokerResponse<T>, Throwable> redispatchIfExhausted(
+      BrokerRequest<T> request,
+      BiConsumer<BrokerResponse<T>, Throwable> responseConsumer,
+      IntHashSet triedPartitions) {
+    return (response, error) -> {
+      if (error == null && isResourceExhausted(response)) {
+        final int exhaustedPartitionId = request.getPartitionId();
+        triedPartitions.add(exhaustedPartitionId);
+
+        final int partitionId =
+            nextUntriedPartition(
+                topologyManager.getTopology(), exhaustedPartitionId, triedPartitions);
+
+        if (partitionId != BrokerClusterState.PARTITION_ID_NULL) {
+          request.setPartitionId(partitionId);
+          getLaneOfPartition(partitionId)
+              .sendRequest(
+                  request, redispatchIfExhausted(request, responseConsumer, triedPartitions));
+          return;
         }
-        request.setPartitionId(partitionId);
       }
-      return new BrokerNodeIdProvider(request.getPartitionId());
-    } else {
-      // random broker;
-      return new BrokerNodeIdProvider();
-    }
-  }
 
-  private void determinePartitionIdForPublishMessageRequest(BrokerPublishMessageRequest request) {
-    final BrokerClusterState topology = topologyManager.getTopology();
-    if (topology != null) {
-      final int partitionsCount = topology.getPartitionsCount();
-
-      final int partitionId =
-          SubscriptionUtil.getSubscriptionPartitionId(request.getCorrelationKey(), partitionsCount);
-
-      request.setPartitionId(partitionId);
-    } else {
-      // should not happen as the the broker request manager fetches topology before publish message
-      // request if not present
-      throw new IllegalStateException(
-          "Topology not yet available, unable to send publish message request");
-    }
+      responseConsumer.accept(response, error);
+    };
   }
 
-  private class BrokerNodeIdProvider implements Supplier<Integer> {
-    private final Function<BrokerClusterState, Integer> nodeIdSelector;
-    private int attempt = 0;
-
-    BrokerNodeIdProvider() {
-      this(BrokerClusterState::getRandomBroker);
+  /**
+   * Returns the partition which follows the given one in the topology and was not tried yet, so
+   * that the retries don't depend on the shared round robin counter of the dispatch strategy.
+   */
+  private static int nextUntriedPartition(
+      BrokerClusterState topology, int partitionId, IntHashSet triedPartitions) {
+    if (topology == null) {
+      return BrokerClusterState.PARTITION_ID_NULL;
     }
 
-    BrokerNodeIdProvider(final int partitionId) {
-      this(state -> state.getLeaderForPartition(partitionId));
-    }
+    final List<Integer> partitions = topology.getPartitions();
+    final int partitionsCount = partitions.size();
+    final int offset = partitions.indexOf(partitionId) + 1;
 
-    BrokerNodeIdProvider(final Function<BrokerClusterState, Integer> nodeIdSelector) {
-      this.nodeIdSelector = nodeIdSelector;
+    for (int i = 0; i < partitionsCount; i++) {
+      final int nextPartitionId = topology.getPartition(offset + i);
+      if (!triedPartitions.contains(nextPartitionId)) {
+        return nextPartitionId;
+      }
     }
 
-    @Override
-    public Integer get() {
-      if (attempt > 0) {
-        topologyManager.requestTopology();
-      }
+    return BrokerClusterState.PARTITION_ID_NULL;
+  }
 
-      attempt++;
+  private static boolean isResourceExhausted(BrokerResponse<?> response) {
+    return response.isError() && response.getError().getCode() == ErrorCode.RESOURCE_EXHAUSTED;
+  }
 
+  private BrokerRequestLane selectLane(BrokerRequest<?> request) {
+    if (request.requiresPartitionId() && !request.addressesSpecificPartition()) {
       final BrokerClusterState topology = topologyManager.getTopology();
-      if (topology != null) {
-        return nodeIdSelector.apply(topology);
-      } else {
-        return null;
+      if (BrokerRequestLane.topologyContainsPartitions(topology)) {
+        BrokerRequestLane.assignPartition(request, topology, dispatchStrategy);
       }
     }
+
+    if (request.addressesSpecificPartition()) {
+      return getLaneOfPartition(request.getPartitionId());
+    } else {
+      return lanes[Math.floorMod(nextLane.getAndIncrement(), lanes.length)];
+    }
+  }
+
+  BrokerRequestLane getLaneOfPartition(int partitionId) {
+    return lanes[Math.floorMod(partitionId, lanes.length)];
   }
 }
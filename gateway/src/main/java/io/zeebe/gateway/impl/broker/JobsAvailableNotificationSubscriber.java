@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.broker;
+
+import io.zeebe.gateway.Loggers;
+import io.zeebe.protocol.clientapi.JobsAvailableNotificationDecoder;
+import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
+import io.zeebe.transport.ClientInputMessageSubscription;
+import io.zeebe.transport.ClientMessageHandler;
+import io.zeebe.transport.ClientOutput;
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.transport.RemoteAddress;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
+
+/**
+ * Receives the notifications which the brokers push when jobs of a type become available and passes
+ * the job type to the registered handlers.
+ */
+public class JobsAvailableNotificationSubscriber extends Actor implements ClientMessageHandler {
+
+  private static final String SUBSCRIPTION_NAME = "jobs-available-notification";
+
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+  private final JobsAvailableNotificationDecoder notificationDecoder =
+      new JobsAvailableNotificationDecoder();
+
+  private final List<Consumer<String>> handlers = new ArrayList<>();
+  private final ClientTransport transport;
+
+  public JobsAvailableNotificationSubscriber(final ClientTransport transport) {
+    this.transport = transport;
+  }
+
+  @Override
+  public String getName() {
+    return "gateway-jobs-available-notification";
+  }
+
+  @Override
+  protected void onActorStarting() {
+    final ActorFuture<ClientInputMessageSubscription> openFuture =
+        transport.openSubscription(SUBSCRIPTION_NAME, this);
+
+    actor.runOnCompletion(
+        openFuture,
+        (subscription, throwable) -> {
+          if (throwable != null) {
+            throw new RuntimeException(throwable);
+          } else {
+            actor.consume(
+                subscription,
+                () -> {
+                  if (subscription.poll() == 0) {
+                    actor.yield();
+                  }
+                });
+          }
+        });
+  }
+
+  public void addHandler(final Consumer<String> handler) {
+    actor.call(() -> handlers.add(handler));
+  }
+
+  @Override
+  public boolean onMessage(
+      final ClientOutput output,
+      final RemoteAddress remoteAddress,
+      final DirectBuffer buffer,
+      final int offset,
+      final int length) {
+    headerDecoder.wrap(buffer, offset);
+
+    if (headerDecoder.templateId() == notificationDecoder.sbeTemplateId()) {
+      notificationDecoder.wrap(
+          buffer,
+          offset + headerDecoder.encodedLength(),
+          headerDecoder.blockLength(),
+          headerDecoder.version());
+
+      final String jobType = notificationDecoder.jobType();
+      for (final Consumer<String> handler : handlers) {
+        handler.accept(jobType);
+      }
+    } else {
+      Loggers.GATEWAY_LOGGER.debug(
+          "Ignore message with unexpected template id {} from {}",
+          headerDecoder.templateId(),
+          remoteAddress);
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.broker.request;
+
+import io.zeebe.gateway.impl.broker.response.BrokerError;
+import io.zeebe.gateway.impl.broker.response.BrokerErrorResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.broker.response.BrokerRejectionResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.clientapi.ErrorCode;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestEncoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseDecoder;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchRequest;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse;
+import io.zeebe.protocol.impl.encoding.ExecuteCommandBatchResponse.Result;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.util.buffer.BufferWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Executes multiple commands of the same value type and intent on one partition. The broker writes
+ * all commands to the log at once and responds with one result per command, in the order of the
+ * request.
+ */
+public abstract class BrokerExecuteCommandBatch<T> extends BrokerRequest<List<BrokerResponse<T>>> {
+
+  protected final ExecuteCommandBatchRequest request = new ExecuteCommandBatchRequest();
+  protected final ExecuteCommandBatchResponse response = new ExecuteCommandBatchResponse();
+
+  private final List<Long> keys = new ArrayList<>();
+  private final List<BufferWriter> commandWriters = new ArrayList<>();
+
+  public BrokerExecuteCommandBatch(ValueType valueType, Intent intent) {
+    super(
+        ExecuteCommandBatchResponseDecoder.SCHEMA_ID,
+        ExecuteCommandBatchResponseDecoder.TEMPLATE_ID);
+    request.setValueType(valueType);
+    request.setIntent(intent);
+  }
+
+  protected void addCommand(BufferWriter commandWriter) {
+    addCommand(ExecuteCommandBatchRequestEncoder.CommandsEncoder.keyNullValue(), commandWriter);
+  }
+
+  protected void addCommand(long key, BufferWriter commandWriter) {
+    keys.add(key);
+    commandWriters.add(commandWriter);
+  }
+
+  public int getCommandCount() {
+    return keys.size();
+  }
+
+  public long getKey(int index) {
+    return keys.get(index);
+  }
+
+  // public so we can do assertions in tests
+  public BufferWriter getCommandWriter(int index) {
+    return commandWriters.get(index);
+  }
+
+  public Intent getIntent() {
+    return request.getIntent();
+  }
+
+  public ValueType getValueType() {
+    return request.getValueType();
+  }
+
+  @Override
+  public int getPartitionId() {
+    return request.getPartitionId();
+  }
+
+  @Override
+  public void setPartitionId(int partitionId) {
+    request.setPartitionId(partitionId);
+  }
+
+  @Override
+  public boolean addressesSpecificPartition() {
+    return getPartitionId() != ExecuteCommandBatchRequestEncoder.partitionIdNullValue();
+  }
+
+  @Override
+  public boolean requiresPartitionId() {
+    return true;
+  }
+
+  @Override
+  public BufferWriter getRequestWriter() {
+    // each command has its own value, see getCommandWriter
+    return null;
+  }
+
+  @Override
+  public void serializeValue() {
+    final int partitionId = request.getPartitionId();
+    final ValueType valueType = request.getValueType();
+    final Intent intent = request.getIntent();
+
+    request.reset().setPartitionId(partitionId).setValueType(valueType).setIntent(intent);
+
+    for (int i = 0; i < keys.size(); i++) {
+      final BufferWriter commandWriter = commandWriters.get(i);
+      final int valueLength = commandWriter.getLength();
+      final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[valueLength]);
+      commandWriter.write(buffer, 0);
+
+      request.addCommand(keys.get(i), buffer, 0, valueLength);
+    }
+  }
+
+  @Override
+  protected void setSerializedValue(DirectBuffer buffer) {
+    throw new UnsupportedOperationException("The commands of a batch are serialized one by one");
+  }
+
+  @Override
+  public int getLength() {
+    return request.getLength();
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    request.write(buffer, offset);
+  }
+
+  @Override
+  protected void wrapResponse(DirectBuffer buffer) {
+    response.wrap(buffer, 0, buffer.capacity());
+  }
+
+  @Override
+  protected BrokerResponse<List<BrokerResponse<T>>> readResponse() {
+    if (response.getValueType() != request.getValueType()) {
+      final BrokerError brokerError =
+          new BrokerError(
+              ErrorCode.SBE_UNKNOWN,
+              String.format(
+                  "Received unexpected value type '%s' in message, expected value type '%s'",
+                  response.getValueType().name(), request.getValueType().name()));
+      return new BrokerErrorResponse<>(brokerError);
+    } else if (response.getResultCount() != keys.size()) {
+      final BrokerError brokerError =
+          new BrokerError(
+              ErrorCode.SBE_UNKNOWN,
+              String.format(
+                  "Received '%d' results in message, expected one result for each of the '%d' commands",
+                  response.getResultCount(), keys.size()));
+      return new BrokerErrorResponse<>(brokerError);
+    }
+
+    final List<BrokerResponse<T>> responses = new ArrayList<>(keys.size());
+
+    for (int i = 0; i < response.getResultCount(); i++) {
+      final Result result = response.getResult(i);
+
+      if (result.getRecordType() == RecordType.COMMAND_REJECTION) {
+        final BrokerRejection brokerRejection =
+            new BrokerRejection(
+                request.getIntent(),
+                keys.get(i),
+                result.getRejectionType(),
+                result.getRejectionReason());
+        responses.add(new BrokerRejectionResponse<>(brokerRejection));
+      } else {
+        final T responseDto = toCommandResponseDto(result.getValue());
+        responses.add(
+            new BrokerResponse<>(responseDto, response.getPartitionId(), result.getKey()));
+      }
+    }
+
+    return new BrokerResponse<>(responses, response.getPartitionId(), -1);
+  }
+
+  @Override
+  protected List<BrokerResponse<T>> toResponseDto(DirectBuffer buffer) {
+    throw new UnsupportedOperationException("The results of a batch are read one by one");
+  }
+
+  protected abstract T toCommandResponseDto(DirectBuffer buffer);
+}
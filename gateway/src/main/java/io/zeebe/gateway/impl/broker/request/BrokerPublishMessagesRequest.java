@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.broker.request;
+
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.intent.MessageIntent;
+import org.agrona.DirectBuffer;
+
+/**
+ * Publishes multiple messages on one partition. All messages must belong to this partition, i.e.
+ * their correlation keys must be mapped to it.
+ */
+public class BrokerPublishMessagesRequest extends BrokerExecuteCommandBatch<Void> {
+
+  public BrokerPublishMessagesRequest() {
+    super(ValueType.MESSAGE, MessageIntent.PUBLISH);
+  }
+
+  public BrokerPublishMessagesRequest addMessage(MessageRecord message) {
+    addCommand(message);
+    return this;
+  }
+
+  @Override
+  protected Void toCommandResponseDto(DirectBuffer buffer) {
+    return null;
+  }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.bulk;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.Loggers;
+import io.zeebe.gateway.cmd.ClientException;
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
+import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
+import io.zeebe.gateway.impl.broker.request.BrokerExecuteCommandBatch;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Handles a stream of requests of the same kind (e.g. create workflow instance). The requests are
+ * buffered per partition and each partition sends its buffered requests as one batch request to the
+ * broker, which appends them to the log at once. A partition sends the next batch when the response
+ * of the previous one is received, so the batches grow with the load while the requests of a
+ * partition stay in order. Each request is acknowledged separately by its index in the stream.
+ *
+ * <p>The inbound flow control of the stream is done by the observer. It requests at most {@link
+ * #MAX_BUFFERED_REQUESTS} requests from the client and requests more only when the buffered
+ * requests are acknowledged, so a fast client can't fill up the memory of the gateway.
+ *
+ * <p>The observer is called by gRPC and by the broker client, so all state is guarded by the
+ * observer itself. This also ensures that the acknowledgements are not written concurrently.
+ */
+public class BulkRequestObserver<GrpcRequestT, RecordT, BrokerResponseT, GrpcAckT>
+    implements StreamObserver<GrpcRequestT> {
+
+  public static final int MAX_BATCH_SIZE = 100;
+  public static final int MAX_BUFFERED_REQUESTS = 10 * MAX_BATCH_SIZE;
+
+  private final BrokerClient brokerClient;
+  private final BrokerTopologyManager topologyManager;
+  private final ToIntBiFunction<GrpcRequestT, BrokerClusterState> partitionSelector;
+  private final Function<GrpcRequestT, RecordT> recordMapper;
+  private final Function<List<RecordT>, BrokerExecuteCommandBatch<BrokerResponseT>> requestMapper;
+  private final AckMapper<BrokerResponseT, GrpcAckT> ackMapper;
+  private final ErrorAckMapper<GrpcAckT> errorAckMapper;
+  private final StreamObserver<GrpcAckT> responseObserver;
+  private final ServerCallStreamObserver<GrpcAckT> serverCallObserver;
+
+  private final Map<Integer, PartitionBuffer> partitionBuffers = new HashMap<>();
+  private final List<BufferedRequest> requestsWithoutTopology = new ArrayList<>();
+
+  private long nextIndex = 0;
+  private int pendingBrokerRequests = 0;
+  private boolean isRequestStreamCompleted = false;
+  private boolean isClosed = false;
+
+  public BulkRequestObserver(
+      final BrokerClient brokerClient,
+      final ToIntBiFunction<GrpcRequestT, BrokerClusterState> partitionSelector,
+      final Function<GrpcRequestT, RecordT> recordMapper,
+      final Function<List<RecordT>, BrokerExecuteCommandBatch<BrokerResponseT>> requestMapper,
+      final AckMapper<BrokerResponseT, GrpcAckT> ackMapper,
+      final ErrorAckMapper<GrpcAckT> errorAckMapper,
+      final StreamObserver<GrpcAckT> responseObserver) {
+    this.brokerClient = brokerClient;
+    this.topologyManager = brokerClient.getTopologyManager();
+    this.partitionSelector = partitionSelector;
+    this.recordMapper = recordMapper;
+    this.requestMapper = requestMapper;
+    this.ackMapper = ackMapper;
+    this.errorAckMapper = errorAckMapper;
+    this.responseObserver = responseObserver;
+
+    if (responseObserver instanceof ServerCallStreamObserver) {
+      serverCallObserver = (ServerCallStreamObserver<GrpcAckT>) responseObserver;
+      serverCallObserver.disableAutoInboundFlowControl();
+      serverCallObserver.request(MAX_BUFFERED_REQUESTS);
+    } else {
+      serverCallObserver = null;
+    }
+  }
+
+  @Override
+  public synchronized void onNext(final GrpcRequestT grpcRequest) {
+    final long index = nextIndex++;
+
+    if (isClosed) {
+      return;
+    }
+
+    final RecordT record;
+    try {
+      record = recordMapper.apply(grpcRequest);
+    } catch (Exception e) {
+      sendAck(errorAckMapper.apply(index, e));
+      requestMore(1);
+      return;
+    }
+
+    final BufferedRequest request = new BufferedRequest(index, grpcRequest, record);
+
+    final BrokerClusterState topology = topologyManager.getTopology();
+    if (topology != null) {
+      bufferRequest(request, topology);
+    } else {
+      requestsWithoutTopology.add(request);
+      if (requestsWithoutTopology.size() == 1) {
+        topologyManager.withTopology(this::onTopologyAvailable);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void onError(final Throwable t) {
+    Loggers.GATEWAY_LOGGER.debug("Bulk request stream was closed by the client", t);
+    close();
+  }
+
+  @Override
+  public synchronized void onCompleted() {
+    isRequestStreamCompleted = true;
+    completeIfDone();
+  }
+
+  private synchronized void onTopologyAvailable(final BrokerClusterState topology) {
+    for (BufferedRequest request : requestsWithoutTopology) {
+      bufferRequest(request, topology);
+    }
+    requestsWithoutTopology.clear();
+
+    completeIfDone();
+  }
+
+  private void bufferRequest(final BufferedRequest request, final BrokerClusterState topology) {
+    final int partitionId = partitionSelector.applyAsInt(request.grpcRequest, topology);
+    if (partitionId == BrokerClusterState.PARTITION_ID_NULL) {
+      sendAck(
+          errorAckMapper.apply(
+              request.index, new ClientException("Cannot determine a partition for the request")));
+      requestMore(1);
+      return;
+    }
+
+    final PartitionBuffer partitionBuffer =
+        partitionBuffers.computeIfAbsent(partitionId, PartitionBuffer::new);
+    partitionBuffer.requests.add(request);
+
+    if (!partitionBuffer.hasPendingBrokerRequest) {
+      sendBatch(partitionBuffer);
+    }
+  }
+
+  private void sendBatch(final PartitionBuffer partitionBuffer) {
+    final List<BufferedRequest> requests = new ArrayList<>();
+    final List<RecordT> records = new ArrayList<>();
+    while (!partitionBuffer.requests.isEmpty() && requests.size() < MAX_BATCH_SIZE) {
+      final BufferedRequest request = partitionBuffer.requests.poll();
+      requests.add(request);
+      records.add(request.record);
+    }
+
+    final BrokerExecuteCommandBatch<BrokerResponseT> brokerRequest = requestMapper.apply(records);
+    brokerRequest.setPartitionId(partitionBuffer.partitionId);
+
+    partitionBuffer.hasPendingBrokerRequest = true;
+    pendingBrokerRequests += 1;
+
+    brokerClient.sendRequest(
+        brokerRequest,
+        (key, responses) -> onBatchResponse(partitionBuffer, requests, responses),
+        error -> onBatchError(partitionBuffer, requests, error));
+  }
+
+  private synchronized void onBatchResponse(
+      final PartitionBuffer partitionBuffer,
+      final List<BufferedRequest> requests,
+      final List<BrokerResponse<BrokerResponseT>> responses) {
+    for (int i = 0; i < requests.size(); i++) {
+      sendAck(ackMapper.apply(requests.get(i).index, responses.get(i)));
+    }
+    requestMore(requests.size());
+
+    onBatchCompleted(partitionBuffer);
+  }
+
+  private synchronized void onBatchError(
+      final PartitionBuffer partitionBuffer,
+      final List<BufferedRequest> requests,
+      final Throwable error) {
+    for (BufferedRequest request : requests) {
+      sendAck(errorAckMapper.apply(request.index, error));
+    }
+    requestMore(requests.size());
+
+    onBatchCompleted(partitionBuffer);
+  }
+
+  private void onBatchCompleted(final PartitionBuffer partitionBuffer) {
+    partitionBuffer.hasPendingBrokerRequest = false;
+    pendingBrokerRequests -= 1;
+
+    if (!isClosed && !partitionBuffer.requests.isEmpty()) {
+      sendBatch(partitionBuffer);
+    } else {
+      completeIfDone();
+    }
+  }
+
+  private void sendAck(final GrpcAckT ack) {
+    if (!isClosed) {
+      responseObserver.onNext(ack);
+    }
+  }
+
+  private void requestMore(final int count) {
+    if (serverCallObserver != null && !isClosed && !isRequestStreamCompleted) {
+      serverCallObserver.request(count);
+    }
+  }
+
+  private void completeIfDone() {
+    if (isRequestStreamCompleted
+        && !isClosed
+        && pendingBrokerRequests == 0
+        && requestsWithoutTopology.isEmpty()) {
+      close();
+      responseObserver.onCompleted();
+    }
+  }
+
+  private void close() {
+    isClosed = true;
+    partitionBuffers.clear();
+    requestsWithoutTopology.clear();
+  }
+
+  @FunctionalInterface
+  public interface AckMapper<BrokerResponseT, GrpcAckT> {
+    GrpcAckT apply(long index, BrokerResponse<BrokerResponseT> brokerResponse);
+  }
+
+  @FunctionalInterface
+  public interface ErrorAckMapper<GrpcAckT> {
+    /**
+     * Maps the error of a request which can't be sent or whose batch failed. The ack should carry
+     * the status which the single request would fail with.
+     */
+    GrpcAckT apply(long index, Throwable error);
+  }
+
+  private final class BufferedRequest {
+    private final long index;
+    private final GrpcRequestT grpcRequest;
+    private final RecordT record;
+
+    BufferedRequest(final long index, final GrpcRequestT grpcRequest, final RecordT record) {
+      this.index = index;
+      this.grpcRequest = grpcRequest;
+      this.record = record;
+    }
+  }
+
+  private final class PartitionBuffer {
+    private final int partitionId;
+    private final Queue<BufferedRequest> requests = new ArrayDeque<>();
+    private boolean hasPendingBrokerRequest = false;
+
+    PartitionBuffer(final int partitionId) {
+      this.partitionId = partitionId;
+    }
+  }
+}
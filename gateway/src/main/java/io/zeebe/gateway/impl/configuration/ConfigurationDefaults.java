@@ -23,5 +23,6 @@ public class ConfigurationDefaults {
   public static final int DEFAULT_CONTACT_POINT_PORT = 26501;
   public static final String DEFAULT_TRANSPORT_BUFFER_SIZE = "2M";
   public static final int DEFAULT_MANAGEMENT_THREADS = 1;
+  public static final int DEFAULT_REQUEST_LANES = 1;
   public static final String DEFAULT_REQUEST_TIMEOUT = "15s";
 }
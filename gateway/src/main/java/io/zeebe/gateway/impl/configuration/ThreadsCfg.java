@@ -16,7 +16,9 @@
 package io.zeebe.gateway.impl.configuration;
 
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_MANAGEMENT_THREADS;
+import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_REQUEST_LANES;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_MANAGEMENT_THREADS;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_LANES;
 
 import io.zeebe.util.Environment;
 import java.util.Objects;
@@ -24,9 +26,11 @@ import java.util.Objects;
 public class ThreadsCfg {
 
   private int managementThreads = DEFAULT_MANAGEMENT_THREADS;
+  private int requestLanes = DEFAULT_REQUEST_LANES;
 
   public void init(Environment environment) {
     environment.getInt(ENV_GATEWAY_MANAGEMENT_THREADS).ifPresent(this::setManagementThreads);
+    environment.getInt(ENV_GATEWAY_REQUEST_LANES).ifPresent(this::setRequestLanes);
   }
 
   public int getManagementThreads() {
@@ -38,6 +42,15 @@ public class ThreadsCfg {
     return this;
   }
 
+  public int getRequestLanes() {
+    return requestLanes;
+  }
+
+  public ThreadsCfg setRequestLanes(int requestLanes) {
+    this.requestLanes = requestLanes;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -47,16 +60,21 @@ public class ThreadsCfg {
       return false;
     }
     final ThreadsCfg that = (ThreadsCfg) o;
-    return managementThreads == that.managementThreads;
+    return managementThreads == that.managementThreads && requestLanes == that.requestLanes;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(managementThreads);
+    return Objects.hash(managementThreads, requestLanes);
   }
 
   @Override
   public String toString() {
-    return "ThreadsCfg{" + "managementThreads=" + managementThreads + '}';
+    return "ThreadsCfg{"
+        + "managementThreads="
+        + managementThreads
+        + ", requestLanes="
+        + requestLanes
+        + '}';
   }
 }
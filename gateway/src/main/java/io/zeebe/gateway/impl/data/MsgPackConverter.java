@@ -17,46 +17,60 @@ package io.zeebe.gateway.impl.data;
 
 import static io.zeebe.util.StringUtil.getBytes;
 
-import com.fasterxml.jackson.core.JsonEncoding;
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.MappingJsonFactory;
+import io.zeebe.msgpack.json.MsgPackJsonTranscoder;
+import io.zeebe.util.StreamUtil;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
+/**
+ * Converts documents between JSON and MessagePack. The conversion is done by a {@link
+ * MsgPackJsonTranscoder} per thread, which reuses its buffers, so the converter can be shared.
+ */
 public class MsgPackConverter {
-  protected static final JsonEncoding JSON_ENCODING = JsonEncoding.UTF8;
   protected static final Charset JSON_CHARSET = StandardCharsets.UTF_8;
 
-  protected final JsonFactory msgPackFactory =
-      new MessagePackFactory().setReuseResourceInGenerator(false).setReuseResourceInParser(false);
-  protected final JsonFactory jsonFactory = new MappingJsonFactory();
+  private final ThreadLocal<MsgPackJsonTranscoder> transcoder =
+      ThreadLocal.withInitial(MsgPackJsonTranscoder::new);
 
   public byte[] convertToMsgPack(String json) {
     final byte[] jsonBytes = getBytes(json, JSON_CHARSET);
-    final ByteArrayInputStream inputStream = new ByteArrayInputStream(jsonBytes);
-    return convertToMsgPack(inputStream);
+    return convertToMsgPack(new UnsafeBuffer(jsonBytes));
   }
 
   public byte[] convertToMsgPack(final InputStream inputStream) {
-    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      convert(inputStream, outputStream, jsonFactory, msgPackFactory);
+    final byte[] json;
+    try {
+      json = StreamUtil.read(inputStream);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to convert JSON to MessagePack", e);
+    }
+
+    return convertToMsgPack(new UnsafeBuffer(json));
+  }
 
-      return outputStream.toByteArray();
+  protected byte[] convertToMsgPack(final DirectBuffer json) {
+    try {
+      return toByteArray(transcoder.get().toMsgPack(json));
     } catch (Exception e) {
       throw new RuntimeException("Failed to convert JSON to MessagePack", e);
     }
   }
 
   public String convertToJson(byte[] msgPack) {
-    return convertToJson(new ByteArrayInputStream(msgPack));
+    return convertToJson(new UnsafeBuffer(msgPack));
+  }
+
+  public String convertToJson(final DirectBuffer msgPack) {
+    try {
+      return transcoder.get().toJsonString(msgPack);
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to convert MessagePack to JSON", e);
+    }
   }
 
   public String convertToJson(InputStream msgPackInputStream) {
@@ -70,38 +84,27 @@ public class MsgPackConverter {
   }
 
   protected byte[] convertToJsonBytes(byte[] msgPack) {
-    final InputStream inputStream = new ByteArrayInputStream(msgPack);
-    return convertToJsonBytes(inputStream);
-  }
-
-  protected byte[] convertToJsonBytes(InputStream msgPackInputStream) {
-    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      convert(msgPackInputStream, outputStream, msgPackFactory, jsonFactory);
-
-      return outputStream.toByteArray();
+    try {
+      return toByteArray(transcoder.get().toJson(new UnsafeBuffer(msgPack)));
     } catch (Exception e) {
       throw new RuntimeException("Failed to convert MessagePack to JSON", e);
     }
   }
 
-  protected void convert(
-      InputStream in, OutputStream out, JsonFactory inFormat, JsonFactory outFormat)
-      throws Exception {
-    final JsonParser parser = inFormat.createParser(in);
-    final JsonGenerator generator = outFormat.createGenerator(out, JSON_ENCODING);
-    final JsonToken token = parser.nextToken();
-    if (token != JsonToken.START_OBJECT
-        && token != JsonToken.START_ARRAY
-        && token != JsonToken.VALUE_NULL) {
-      throw new RuntimeException("Document does not begin with an object or array");
+  protected byte[] convertToJsonBytes(InputStream msgPackInputStream) {
+    final byte[] msgPack;
+    try {
+      msgPack = StreamUtil.read(msgPackInputStream);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to convert MessagePack to JSON", e);
     }
 
-    generator.copyCurrentStructure(parser);
-
-    if (parser.nextToken() != null) {
-      throw new RuntimeException("Document has more content than a single object/array");
-    }
+    return convertToJsonBytes(msgPack);
+  }
 
-    generator.flush();
+  private static byte[] toByteArray(final DirectBuffer buffer) {
+    final byte[] bytes = new byte[buffer.capacity()];
+    buffer.getBytes(0, bytes);
+    return bytes;
   }
 }
@@ -15,6 +15,7 @@
  */
 package io.zeebe.gateway.impl.job;
 
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.zeebe.gateway.Loggers;
 import io.zeebe.gateway.RequestMapper;
@@ -23,68 +24,251 @@ import io.zeebe.gateway.impl.broker.BrokerClient;
 import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ScheduledTimer;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
 
-public class ActivateJobsHandler {
+/**
+ * Activates jobs by asking several partitions at once. The requested amount is split across the
+ * partitions, so no more jobs than requested are activated. Partitions which activated their whole
+ * share may have more jobs and are asked again for the remaining amount, until enough jobs are
+ * activated or no partition has jobs left. The activated jobs are streamed to the client as the
+ * responses arrive.
+ *
+ * <p>The partitions are asked in a round-robin order per job type, starting after the partitions
+ * asked first by the previous request of this type.
+ *
+ * <p>If no jobs are activated and the request has a request timeout (long polling), the request is
+ * parked until the brokers notify that jobs of this type are available or until the timeout is
+ * reached. A notification retries only the longest parked request of the type, so that a single
+ * available job doesn't cause an activation by every waiting client. If the retried request
+ * activates jobs then there may be more, and the next parked request is retried.
+ */
+public class ActivateJobsHandler extends Actor {
 
   private final Map<String, Integer> jobTypeToNextPartitionId = new HashMap<>();
+  private final Map<String, Queue<LongPollingRequest>> jobTypeToParkedRequests = new HashMap<>();
+  private final Map<String, Long> jobTypeToNotificationCount = new HashMap<>();
   private final BrokerClient brokerClient;
 
   public ActivateJobsHandler(BrokerClient brokerClient) {
     this.brokerClient = brokerClient;
   }
 
+  @Override
+  public String getName() {
+    return "gateway-activate-jobs";
+  }
+
+  @Override
+  protected void onActorStarted() {
+    brokerClient.subscribeJobsAvailableNotification(this::onJobsAvailable);
+  }
+
   public void activateJobs(
       int partitionsCount,
       ActivateJobsRequest request,
       StreamObserver<ActivateJobsResponse> responseObserver) {
-    activateJobs(
-        RequestMapper.toActivateJobsRequest(request),
-        partitionIdIteratorForType(request.getType(), partitionsCount),
-        request.getAmount(),
-        request.getType(),
-        responseObserver);
-  }
-
-  private void activateJobs(
-      BrokerActivateJobsRequest request,
-      PartitionIdIterator partitionIdIterator,
-      int remainingAmount,
-      String jobType,
-      StreamObserver<ActivateJobsResponse> responseObserver) {
-    if (remainingAmount > 0 && partitionIdIterator.hasNext()) {
-      // partitions to check and jobs to activate left
-      request.setPartitionId(partitionIdIterator.next());
-      request.setAmount(remainingAmount);
-      brokerClient.sendRequest(
-          request,
-          (key, response) -> {
-            final ActivateJobsResponse grpcResponse =
-                ResponseMapper.toActivateJobsResponse(key, response);
-            final int jobsCount = grpcResponse.getJobsCount();
-            if (jobsCount > 0) {
-              responseObserver.onNext(grpcResponse);
-            }
-            activateJobs(
-                request,
-                partitionIdIterator,
-                remainingAmount - jobsCount,
-                jobType,
-                responseObserver);
-          },
-          error -> {
-            Loggers.GATEWAY_LOGGER.warn(
-                "Failed to activate jobs for type {} from partition {}",
-                jobType,
-                partitionIdIterator.getCurrentPartitionId(),
-                error);
-            activateJobs(request, partitionIdIterator, remainingAmount, jobType, responseObserver);
-          });
+    actor.run(
+        () -> {
+          final long requestTimeout = request.getRequestTimeout();
+          final long deadline =
+              requestTimeout > 0 ? ActorClock.currentTimeMillis() + requestTimeout : -1;
+
+          activateJobs(
+              new LongPollingRequest(partitionsCount, request, responseObserver, deadline));
+        });
+  }
+
+  private void activateJobs(LongPollingRequest longPollingRequest) {
+    final ActivateJobsRequest request = longPollingRequest.request;
+    final String jobType = request.getType();
+
+    longPollingRequest.notificationCount = jobTypeToNotificationCount.getOrDefault(jobType, 0L);
+    longPollingRequest.remainingAmount = request.getAmount();
+
+    final PartitionIdIterator partitionIdIterator =
+        partitionIdIteratorForType(jobType, longPollingRequest.partitionsCount);
+    longPollingRequest.partitionsToAsk.clear();
+    partitionIdIterator.forEachRemaining(longPollingRequest.partitionsToAsk::add);
+
+    // the next request of this type starts after the partitions which are asked first now
+    final int startPartitionId = jobTypeToNextPartitionId.get(jobType);
+    final int askedPartitions = activateJobsOnPartitions(request, jobType, longPollingRequest);
+    if (askedPartitions > 0) {
+      jobTypeToNextPartitionId.put(
+          jobType, (startPartitionId + askedPartitions) % longPollingRequest.partitionsCount);
+    }
+  }
+
+  private int activateJobsOnPartitions(
+      ActivateJobsRequest request, String jobType, LongPollingRequest longPollingRequest) {
+    final int remainingAmount = longPollingRequest.remainingAmount;
+    final int partitionsToAsk =
+        Math.min(remainingAmount, longPollingRequest.partitionsToAsk.size());
+
+    if (partitionsToAsk > 0) {
+      // split the remaining amount across the partitions to never activate too many jobs
+      final int amountPerPartition = remainingAmount / partitionsToAsk;
+      final int partitionsWithAdditionalJob = remainingAmount % partitionsToAsk;
+
+      longPollingRequest.pendingResponses = partitionsToAsk;
+
+      for (int i = 0; i < partitionsToAsk; i++) {
+        final int partitionId = longPollingRequest.partitionsToAsk.poll();
+        final int amount = amountPerPartition + (i < partitionsWithAdditionalJob ? 1 : 0);
+
+        activateJobsOnPartition(request, jobType, partitionId, amount, longPollingRequest);
+      }
     } else {
       // enough jobs activated or no more partitions left to check
-      jobTypeToNextPartitionId.put(jobType, partitionIdIterator.getCurrentPartitionId() + 1);
-      responseObserver.onCompleted();
+      onActivationCompleted(jobType, longPollingRequest);
+    }
+
+    return partitionsToAsk;
+  }
+
+  private void activateJobsOnPartition(
+      ActivateJobsRequest request,
+      String jobType,
+      int partitionId,
+      int amount,
+      LongPollingRequest longPollingRequest) {
+    final BrokerActivateJobsRequest brokerRequest = RequestMapper.toActivateJobsRequest(request);
+    brokerRequest.setPartitionId(partitionId);
+    brokerRequest.setAmount(amount);
+
+    brokerClient.sendRequest(
+        brokerRequest,
+        (key, response) ->
+            actor.run(
+                () -> {
+                  final ActivateJobsResponse grpcResponse =
+                      ResponseMapper.toActivateJobsResponse(key, response);
+                  final int jobsCount = grpcResponse.getJobsCount();
+                  if (jobsCount > 0) {
+                    longPollingRequest.responseObserver.onNext(grpcResponse);
+                    longPollingRequest.remainingAmount -= jobsCount;
+                  }
+
+                  if (jobsCount >= amount) {
+                    // the partition may have more jobs
+                    longPollingRequest.partitionsToAsk.add(partitionId);
+                  }
+
+                  onPartitionResponse(request, jobType, longPollingRequest);
+                }),
+        error ->
+            actor.run(
+                () -> {
+                  Loggers.GATEWAY_LOGGER.warn(
+                      "Failed to activate jobs for type {} from partition {}",
+                      jobType,
+                      partitionId,
+                      error);
+
+                  onPartitionResponse(request, jobType, longPollingRequest);
+                }));
+  }
+
+  private void onPartitionResponse(
+      ActivateJobsRequest request, String jobType, LongPollingRequest longPollingRequest) {
+    longPollingRequest.pendingResponses -= 1;
+
+    if (longPollingRequest.pendingResponses == 0) {
+      activateJobsOnPartitions(request, jobType, longPollingRequest);
+    }
+  }
+
+  private void onActivationCompleted(String jobType, LongPollingRequest longPollingRequest) {
+    final boolean noJobsActivated =
+        longPollingRequest.remainingAmount == longPollingRequest.request.getAmount();
+
+    if (noJobsActivated && longPollingRequest.canWait()) {
+      if (longPollingRequest.notificationCount
+          < jobTypeToNotificationCount.getOrDefault(jobType, 0L)) {
+        // jobs became available while the partitions were asked - try again
+        activateJobs(longPollingRequest);
+      } else {
+        park(longPollingRequest);
+      }
+    } else {
+      complete(longPollingRequest);
+
+      if (!noJobsActivated) {
+        // more jobs may be available for the other clients
+        activateNextParkedRequest(jobType);
+      }
+    }
+  }
+
+  private void park(LongPollingRequest longPollingRequest) {
+    final String jobType = longPollingRequest.request.getType();
+    final long remainingTime = longPollingRequest.deadline - ActorClock.currentTimeMillis();
+
+    longPollingRequest.timer =
+        actor.runDelayed(Duration.ofMillis(remainingTime), () -> onTimeout(longPollingRequest));
+
+    jobTypeToParkedRequests
+        .computeIfAbsent(jobType, t -> new ArrayDeque<>())
+        .add(longPollingRequest);
+  }
+
+  private void onTimeout(LongPollingRequest longPollingRequest) {
+    final String jobType = longPollingRequest.request.getType();
+
+    final Queue<LongPollingRequest> parkedRequests = jobTypeToParkedRequests.get(jobType);
+    if (parkedRequests != null) {
+      parkedRequests.remove(longPollingRequest);
+
+      if (parkedRequests.isEmpty()) {
+        jobTypeToParkedRequests.remove(jobType);
+      }
+    }
+
+    complete(longPollingRequest);
+  }
+
+  private void onJobsAvailable(String jobType) {
+    actor.run(
+        () -> {
+          jobTypeToNotificationCount.merge(jobType, 1L, Long::sum);
+
+          activateNextParkedRequest(jobType);
+        });
+  }
+
+  private void activateNextParkedRequest(String jobType) {
+    final Queue<LongPollingRequest> parkedRequests = jobTypeToParkedRequests.get(jobType);
+    if (parkedRequests == null) {
+      return;
+    }
+
+    LongPollingRequest parkedRequest = parkedRequests.poll();
+    while (parkedRequest != null && parkedRequest.isCancelled()) {
+      // the client is gone - no need to activate jobs for it
+      parkedRequest.timer.cancel();
+      parkedRequest = parkedRequests.poll();
+    }
+
+    if (parkedRequests.isEmpty()) {
+      jobTypeToParkedRequests.remove(jobType);
+    }
+
+    if (parkedRequest != null) {
+      parkedRequest.timer.cancel();
+      activateJobs(parkedRequest);
+    }
+  }
+
+  private void complete(LongPollingRequest longPollingRequest) {
+    if (!longPollingRequest.isCancelled()) {
+      longPollingRequest.responseObserver.onCompleted();
     }
   }
 
@@ -92,4 +276,38 @@ public class ActivateJobsHandler {
     final Integer nextPartitionId = jobTypeToNextPartitionId.computeIfAbsent(jobType, t -> 0);
     return new PartitionIdIterator(nextPartitionId, partitionsCount);
   }
+
+  private static final class LongPollingRequest {
+    private final int partitionsCount;
+    private final ActivateJobsRequest request;
+    private final StreamObserver<ActivateJobsResponse> responseObserver;
+    private final long deadline;
+
+    private final Queue<Integer> partitionsToAsk = new ArrayDeque<>();
+    private int remainingAmount;
+    private int pendingResponses;
+
+    private long notificationCount;
+    private ScheduledTimer timer;
+
+    LongPollingRequest(
+        int partitionsCount,
+        ActivateJobsRequest request,
+        StreamObserver<ActivateJobsResponse> responseObserver,
+        long deadline) {
+      this.partitionsCount = partitionsCount;
+      this.request = request;
+      this.responseObserver = responseObserver;
+      this.deadline = deadline;
+    }
+
+    boolean canWait() {
+      return deadline > ActorClock.currentTimeMillis() && !isCancelled();
+    }
+
+    boolean isCancelled() {
+      return responseObserver instanceof ServerCallStreamObserver
+          && ((ServerCallStreamObserver<ActivateJobsResponse>) responseObserver).isCancelled();
+    }
+  }
 }
@@ -49,6 +49,12 @@ public class ActivateJobsStub
   public static final DirectBuffer PAYLOAD_MSGPACK =
       new UnsafeBuffer(MSG_PACK_CONVERTER.convertToMsgPack(PAYLOAD));
 
+  private volatile int availableJobs = Integer.MAX_VALUE;
+
+  public void setAvailableJobs(int availableJobs) {
+    this.availableJobs = availableJobs;
+  }
+
   public long getJobBatchKey() {
     return JOB_BATCH_KEY;
   }
@@ -102,7 +108,9 @@ public class ActivateJobsStub
     response.setWorker(requestDto.getWorker());
     response.setType(requestDto.getType());
     response.setTimeout(requestDto.getTimeout());
-    addJobs(response, requestDto.getAmount(), requestDto.getType(), requestDto.getWorker());
+    final int amount = Math.min(requestDto.getAmount(), availableJobs);
+    availableJobs -= amount;
+    addJobs(response, amount, requestDto.getType(), requestDto.getWorker());
 
     return new BrokerResponse<>(response, 0, JOB_BATCH_KEY);
   }
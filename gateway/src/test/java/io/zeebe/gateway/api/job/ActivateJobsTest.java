@@ -15,6 +15,7 @@
  */
 package io.zeebe.gateway.api.job;
 
+import static io.zeebe.test.util.TestUtil.waitUntil;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -23,10 +24,16 @@ import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivatedJob;
+import io.zeebe.protocol.impl.data.cluster.TopologyResponseDto;
 import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
 import io.zeebe.test.util.JsonUtil;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.junit.Test;
 
 public class ActivateJobsTest extends GatewayTest {
@@ -87,4 +94,271 @@ public class ActivateJobsTest extends GatewayTest {
       assertThat(brokerRequestValue.getWorker()).isEqualTo(wrapString(worker));
     }
   }
+
+  @Test
+  public void shouldCompleteLongPollingRequestAfterTimeout() {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    stub.setAvailableJobs(0);
+
+    final Duration requestTimeout = Duration.ofMillis(500);
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("testJob")
+            .setWorker("testWorker")
+            .setAmount(5)
+            .setTimeout(1000)
+            .setRequestTimeout(requestTimeout.toMillis())
+            .build();
+
+    // when
+    final long start = System.currentTimeMillis();
+    final Iterator<ActivateJobsResponse> responses = client.activateJobs(request);
+
+    // then
+    assertThat(responses.hasNext()).isFalse();
+    assertThat(System.currentTimeMillis() - start)
+        .isGreaterThanOrEqualTo(requestTimeout.toMillis());
+  }
+
+  @Test
+  public void shouldActivateJobsOfLongPollingRequestWhenNotified() throws Exception {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    stub.setAvailableJobs(0);
+
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("testJob")
+            .setWorker("testWorker")
+            .setAmount(5)
+            .setTimeout(1000)
+            .setRequestTimeout(Duration.ofMinutes(10).toMillis())
+            .build();
+
+    final CompletableFuture<List<ActivateJobsResponse>> responses =
+        CompletableFuture.supplyAsync(
+            () -> {
+              final List<ActivateJobsResponse> result = new ArrayList<>();
+              client.activateJobs(request).forEachRemaining(result::add);
+              return result;
+            });
+
+    waitUntil(() -> gateway.getBrokerRequests().size() == 1);
+
+    // when
+    stub.setAvailableJobs(3);
+    gateway.notifyJobsAvailable("testJob");
+
+    // then
+    final List<ActivateJobsResponse> activatedJobs = responses.get(10, TimeUnit.SECONDS);
+    assertThat(activatedJobs).hasSize(1);
+    assertThat(activatedJobs.get(0).getJobsCount()).isEqualTo(3);
+    assertThat(gateway.getBrokerRequests()).hasSize(2);
+  }
+
+  @Test
+  public void shouldActivateOnlyOneLongPollingRequestWhenNotified() throws Exception {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    stub.setAvailableJobs(0);
+
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("testJob")
+            .setWorker("testWorker")
+            .setAmount(5)
+            .setTimeout(1000)
+            .setRequestTimeout(Duration.ofSeconds(2).toMillis())
+            .build();
+
+    final Iterator<ActivateJobsResponse> firstResponses = client.activateJobs(request);
+    final Iterator<ActivateJobsResponse> secondResponses = client.activateJobs(request);
+    waitUntil(() -> gateway.getBrokerRequests().size() == 2);
+
+    // when
+    gateway.notifyJobsAvailable("testJob");
+
+    // then
+    waitUntil(() -> gateway.getBrokerRequests().size() == 3);
+    Thread.sleep(200);
+    assertThat(gateway.getBrokerRequests()).hasSize(3);
+
+    assertThat(firstResponses.hasNext()).isFalse();
+    assertThat(secondResponses.hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldActivateNextLongPollingRequestIfJobsWereActivated() throws Exception {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    stub.setAvailableJobs(0);
+
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("testJob")
+            .setWorker("testWorker")
+            .setAmount(2)
+            .setTimeout(1000)
+            .setRequestTimeout(Duration.ofMinutes(10).toMillis())
+            .build();
+
+    final CompletableFuture<List<ActivateJobsResponse>> firstResponses =
+        CompletableFuture.supplyAsync(
+            () -> {
+              final List<ActivateJobsResponse> result = new ArrayList<>();
+              client.activateJobs(request).forEachRemaining(result::add);
+              return result;
+            });
+    waitUntil(() -> gateway.getBrokerRequests().size() == 1);
+
+    final CompletableFuture<List<ActivateJobsResponse>> secondResponses =
+        CompletableFuture.supplyAsync(
+            () -> {
+              final List<ActivateJobsResponse> result = new ArrayList<>();
+              client.activateJobs(request).forEachRemaining(result::add);
+              return result;
+            });
+    waitUntil(() -> gateway.getBrokerRequests().size() == 2);
+
+    // when
+    stub.setAvailableJobs(3);
+    gateway.notifyJobsAvailable("testJob");
+
+    // then
+    assertThat(firstResponses.get(10, TimeUnit.SECONDS).get(0).getJobsCount()).isEqualTo(2);
+    assertThat(secondResponses.get(10, TimeUnit.SECONDS).get(0).getJobsCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotActivateJobsOfLongPollingRequestForOtherType() {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    stub.setAvailableJobs(0);
+
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("testJob")
+            .setWorker("testWorker")
+            .setAmount(5)
+            .setTimeout(1000)
+            .setRequestTimeout(500)
+            .build();
+
+    final Iterator<ActivateJobsResponse> responses = client.activateJobs(request);
+    waitUntil(() -> gateway.getBrokerRequests().size() == 1);
+
+    // when
+    gateway.notifyJobsAvailable("otherJob");
+
+    // then
+    assertThat(responses.hasNext()).isFalse();
+    assertThat(gateway.getBrokerRequests()).hasSize(1);
+  }
+
+  @Test
+  public void shouldSplitAmountAcrossPartitions() {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    providePartitions(3);
+
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("testJob")
+            .setWorker("testWorker")
+            .setAmount(10)
+            .setTimeout(1000)
+            .build();
+
+    // when
+    final List<ActivateJobsResponse> responses = new ArrayList<>();
+    client.activateJobs(request).forEachRemaining(responses::add);
+
+    // then
+    assertThat(responses.stream().mapToInt(ActivateJobsResponse::getJobsCount).sum()).isEqualTo(10);
+
+    final List<BrokerActivateJobsRequest> brokerRequests = getBrokerActivateJobsRequests();
+    assertThat(brokerRequests)
+        .extracting(BrokerActivateJobsRequest::getPartitionId)
+        .containsExactlyInAnyOrder(0, 1, 2);
+    assertThat(brokerRequests)
+        .extracting(r -> r.getRequestWriter().getAmount())
+        .containsExactlyInAnyOrder(4, 3, 3);
+  }
+
+  @Test
+  public void shouldAskPartitionsWithJobsLeftForRemainingAmount() {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    stub.setAvailableJobs(5);
+    providePartitions(3);
+
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("testJob")
+            .setWorker("testWorker")
+            .setAmount(10)
+            .setTimeout(1000)
+            .build();
+
+    // when
+    final List<ActivateJobsResponse> responses = new ArrayList<>();
+    client.activateJobs(request).forEachRemaining(responses::add);
+
+    // then
+    assertThat(responses.stream().mapToInt(ActivateJobsResponse::getJobsCount).sum()).isEqualTo(5);
+
+    // the first partition returned all requested jobs and is asked again
+    final List<BrokerActivateJobsRequest> brokerRequests = getBrokerActivateJobsRequests();
+    assertThat(brokerRequests).hasSize(4);
+    assertThat(brokerRequests.get(3).getPartitionId())
+        .isEqualTo(brokerRequests.get(0).getPartitionId());
+    assertThat(brokerRequests.get(3).getRequestWriter().getAmount()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldStartAtNextPartitionsForNextRequest() {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    providePartitions(3);
+
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("testJob")
+            .setWorker("testWorker")
+            .setAmount(2)
+            .setTimeout(1000)
+            .build();
+
+    // when
+    client.activateJobs(request).forEachRemaining(r -> {});
+    client.activateJobs(request).forEachRemaining(r -> {});
+
+    // then
+    assertThat(getBrokerActivateJobsRequests())
+        .extracting(BrokerActivateJobsRequest::getPartitionId)
+        .containsExactly(0, 1, 2, 0);
+  }
+
+  private void providePartitions(int partitionsCount) {
+    final TopologyResponseDto topology = new TopologyResponseDto();
+    topology.setPartitionsCount(partitionsCount).setClusterSize(1).setReplicationFactor(1);
+    gateway.getBrokerClient().getTopologyManager().provideTopology(topology);
+  }
+
+  private List<BrokerActivateJobsRequest> getBrokerActivateJobsRequests() {
+    return gateway
+        .getBrokerRequests()
+        .stream()
+        .map(BrokerActivateJobsRequest.class::cast)
+        .collect(Collectors.toList());
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.job;
+
+import io.zeebe.gateway.api.util.StubbedGateway;
+import io.zeebe.gateway.api.util.StubbedGateway.RequestStub;
+import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobsRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.broker.response.BrokerRejectionResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.intent.JobIntent;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class CompleteJobsStub extends JobRequestStub
+    implements RequestStub<
+        BrokerCompleteJobsRequest, BrokerResponse<List<BrokerResponse<JobRecord>>>> {
+
+  public static final String REJECTION_REASON = "not activated";
+
+  private final Set<Long> rejectedKeys = new HashSet<>();
+
+  public CompleteJobsStub rejectJob(long key) {
+    rejectedKeys.add(key);
+    return this;
+  }
+
+  @Override
+  public BrokerResponse<List<BrokerResponse<JobRecord>>> handle(BrokerCompleteJobsRequest request)
+      throws Exception {
+    final List<BrokerResponse<JobRecord>> responses = new ArrayList<>();
+
+    for (int i = 0; i < request.getCommandCount(); i++) {
+      final long key = request.getKey(i);
+
+      if (rejectedKeys.contains(key)) {
+        final BrokerRejection rejection =
+            new BrokerRejection(
+                JobIntent.COMPLETE, key, RejectionType.NOT_APPLICABLE, REJECTION_REASON);
+        responses.add(new BrokerRejectionResponse<>(rejection));
+      } else {
+        responses.add(new BrokerResponse<>(buildDefaultValue(), request.getPartitionId(), key));
+      }
+    }
+
+    return new BrokerResponse<>(responses, request.getPartitionId(), -1);
+  }
+
+  @Override
+  public void registerWith(StubbedGateway gateway) {
+    gateway.registerHandler(BrokerCompleteJobsRequest.class, this);
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.grpc.Status.Code;
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobsRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.JobCommandResult;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.test.util.JsonUtil;
+import io.zeebe.test.util.MsgPackUtil;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class CompleteJobsTest extends GatewayTest {
+
+  @Test
+  public void shouldSendOneRequestPerPartition() {
+    // given
+    final CompleteJobsStub stub = new CompleteJobsStub();
+    stub.registerWith(gateway);
+
+    final long firstKey = Protocol.encodePartitionId(1, 1);
+    final long secondKey = Protocol.encodePartitionId(2, 1);
+    final long thirdKey = Protocol.encodePartitionId(1, 2);
+
+    final String payload = JsonUtil.toJson(Collections.singletonMap("key", "value"));
+
+    final CompleteJobsRequest request =
+        CompleteJobsRequest.newBuilder()
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(firstKey).setPayload(payload))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(secondKey))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(thirdKey))
+            .build();
+
+    // when
+    final CompleteJobsResponse response = client.completeJobs(request);
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(JobCommandResult::getJobKey, JobCommandResult::getSuccess)
+        .containsExactly(tuple(firstKey, true), tuple(secondKey, true), tuple(thirdKey, true));
+
+    final List<BrokerRequest> brokerRequests = gateway.getBrokerRequests();
+    assertThat(brokerRequests).hasSize(2);
+
+    final BrokerCompleteJobsRequest firstRequest =
+        (BrokerCompleteJobsRequest) brokerRequests.get(0);
+    assertThat(firstRequest.getPartitionId()).isEqualTo(1);
+    assertThat(firstRequest.getIntent()).isEqualTo(JobIntent.COMPLETE);
+    assertThat(firstRequest.getValueType()).isEqualTo(ValueType.JOB);
+    assertThat(firstRequest.getCommandCount()).isEqualTo(2);
+    assertThat(firstRequest.getKey(0)).isEqualTo(firstKey);
+    assertThat(firstRequest.getKey(1)).isEqualTo(thirdKey);
+
+    final JobRecord firstValue = (JobRecord) firstRequest.getCommandWriter(0);
+    MsgPackUtil.assertEqualityExcluding(firstValue.getPayload(), payload);
+    final JobRecord secondValue = (JobRecord) firstRequest.getCommandWriter(1);
+    MsgPackUtil.assertEqualityExcluding(secondValue.getPayload(), "{}");
+
+    final BrokerCompleteJobsRequest secondRequest =
+        (BrokerCompleteJobsRequest) brokerRequests.get(1);
+    assertThat(secondRequest.getPartitionId()).isEqualTo(2);
+    assertThat(secondRequest.getCommandCount()).isEqualTo(1);
+    assertThat(secondRequest.getKey(0)).isEqualTo(secondKey);
+  }
+
+  @Test
+  public void shouldReturnResultPerJob() {
+    // given
+    final long completedKey = Protocol.encodePartitionId(1, 1);
+    final long rejectedKey = Protocol.encodePartitionId(1, 2);
+
+    final CompleteJobsStub stub = new CompleteJobsStub().rejectJob(rejectedKey);
+    stub.registerWith(gateway);
+
+    final CompleteJobsRequest request =
+        CompleteJobsRequest.newBuilder()
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(completedKey))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(rejectedKey))
+            .build();
+
+    // when
+    final CompleteJobsResponse response = client.completeJobs(request);
+
+    // then
+    assertThat(response.getResultsCount()).isEqualTo(2);
+
+    final JobCommandResult completed = response.getResults(0);
+    assertThat(completed.getJobKey()).isEqualTo(completedKey);
+    assertThat(completed.getSuccess()).isTrue();
+    assertThat(completed.getErrorMessage()).isEmpty();
+
+    final JobCommandResult rejected = response.getResults(1);
+    assertThat(rejected.getJobKey()).isEqualTo(rejectedKey);
+    assertThat(rejected.getSuccess()).isFalse();
+    assertThat(rejected.getErrorMessage()).contains(CompleteJobsStub.REJECTION_REASON);
+    assertThat(rejected.getErrorCode()).isEqualTo(Code.INTERNAL.value());
+  }
+
+  @Test
+  public void shouldFailOnlyJobWithInvalidPayload() {
+    // given
+    final CompleteJobsStub stub = new CompleteJobsStub();
+    stub.registerWith(gateway);
+
+    final long validKey = Protocol.encodePartitionId(1, 1);
+    final long invalidKey = Protocol.encodePartitionId(1, 2);
+
+    final CompleteJobsRequest request =
+        CompleteJobsRequest.newBuilder()
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(validKey))
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(invalidKey).setPayload("{ invalid"))
+            .build();
+
+    // when
+    final CompleteJobsResponse response = client.completeJobs(request);
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(JobCommandResult::getJobKey, JobCommandResult::getSuccess)
+        .containsExactly(tuple(validKey, true), tuple(invalidKey, false));
+
+    final JobCommandResult invalid = response.getResults(1);
+    assertThat(invalid.getErrorMessage()).isNotEmpty();
+    assertThat(invalid.getErrorCode()).isEqualTo(Code.INTERNAL.value());
+
+    final List<BrokerRequest> brokerRequests = gateway.getBrokerRequests();
+    assertThat(brokerRequests).hasSize(1);
+
+    final BrokerCompleteJobsRequest brokerRequest =
+        (BrokerCompleteJobsRequest) brokerRequests.get(0);
+    assertThat(brokerRequest.getCommandCount()).isEqualTo(1);
+    assertThat(brokerRequest.getKey(0)).isEqualTo(validKey);
+  }
+
+  @Test
+  public void shouldRespondToEmptyRequest() {
+    // given
+    final CompleteJobsStub stub = new CompleteJobsStub();
+    stub.registerWith(gateway);
+
+    // when
+    final CompleteJobsResponse response =
+        client.completeJobs(CompleteJobsRequest.getDefaultInstance());
+
+    // then
+    assertThat(response.getResultsList()).isEmpty();
+    assertThat(gateway.getBrokerRequests()).isEmpty();
+  }
+}
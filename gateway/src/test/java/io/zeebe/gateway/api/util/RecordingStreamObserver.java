@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.util;
+
+import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class RecordingStreamObserver<T> implements StreamObserver<T> {
+
+  private final List<T> values = new CopyOnWriteArrayList<>();
+  private volatile Throwable error;
+  private volatile boolean isCompleted;
+
+  @Override
+  public void onNext(T value) {
+    values.add(value);
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    error = t;
+  }
+
+  @Override
+  public void onCompleted() {
+    isCompleted = true;
+  }
+
+  public List<T> getValues() {
+    return values;
+  }
+
+  public Throwable getError() {
+    return error;
+  }
+
+  public boolean isCompleted() {
+    return isCompleted;
+  }
+}
@@ -34,14 +34,16 @@ import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
 import io.zeebe.gateway.protocol.GatewayGrpc;
 import io.zeebe.gateway.protocol.GatewayGrpc.GatewayBlockingStub;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayStub;
 import io.zeebe.protocol.PartitionState;
 import io.zeebe.protocol.impl.data.cluster.TopologyResponseDto;
+import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
@@ -50,7 +52,8 @@ public class StubbedGateway extends Gateway {
   private static final String SERVER_NAME = "server";
 
   private Map<Class<?>, RequestHandler> requestHandlers = new HashMap<>();
-  private List<BrokerRequest> brokerRequests = new ArrayList<>();
+  private List<BrokerRequest> brokerRequests = new CopyOnWriteArrayList<>();
+  private List<Consumer<String>> jobsAvailableHandlers = new CopyOnWriteArrayList<>();
 
   public StubbedGateway() {
     super(new GatewayCfg(), cfg -> InProcessServerBuilder.forName(SERVER_NAME));
@@ -68,6 +71,12 @@ public class StubbedGateway extends Gateway {
     return GatewayGrpc.newBlockingStub(channel);
   }
 
+  public GatewayStub buildAsyncClient() {
+    final ManagedChannel channel =
+        InProcessChannelBuilder.forName(SERVER_NAME).directExecutor().build();
+    return GatewayGrpc.newStub(channel);
+  }
+
   @Override
   protected BrokerClient buildBrokerClient() {
     return new StubbedBrokerClient();
@@ -78,12 +87,31 @@ public class StubbedGateway extends Gateway {
     return (T) brokerRequests.get(0);
   }
 
+  public List<BrokerRequest> getBrokerRequests() {
+    return brokerRequests;
+  }
+
+  public void notifyJobsAvailable(String jobType) {
+    jobsAvailableHandlers.forEach(handler -> handler.accept(jobType));
+  }
+
   private class StubbedBrokerClient implements BrokerClient {
 
     BrokerTopologyManager topologyManager = new StubbedTopologyManager();
+    ActorScheduler actorScheduler = ActorScheduler.newActorScheduler().build();
+
+    StubbedBrokerClient() {
+      actorScheduler.start();
+    }
 
     @Override
-    public void close() {}
+    public void close() {
+      try {
+        actorScheduler.stop().get();
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
 
     @Override
     public <T> ActorFuture<BrokerResponse<T>> sendRequest(BrokerRequest<T> request) {
@@ -117,6 +145,16 @@ public class StubbedGateway extends Gateway {
     public BrokerTopologyManager getTopologyManager() {
       return topologyManager;
     }
+
+    @Override
+    public void subscribeJobsAvailableNotification(Consumer<String> handler) {
+      jobsAvailableHandlers.add(handler);
+    }
+
+    @Override
+    public ActorScheduler getScheduler() {
+      return actorScheduler;
+    }
   }
 
   private class StubbedTopologyManager implements BrokerTopologyManager {
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import io.zeebe.gateway.api.util.StubbedGateway;
+import io.zeebe.gateway.api.util.StubbedGateway.RequestStub;
+import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstancesRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.broker.response.BrokerRejectionResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.intent.WorkflowInstanceIntent;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CreateWorkflowInstancesStub
+    implements RequestStub<
+        BrokerCreateWorkflowInstancesRequest,
+        BrokerResponse<List<BrokerResponse<WorkflowInstanceRecord>>>> {
+
+  public static final long WORKFLOW_KEY = 456;
+  public static final String UNKNOWN_PROCESS_ID = "unknown";
+
+  private long nextWorkflowInstanceKey = 1;
+
+  @Override
+  public void registerWith(StubbedGateway gateway) {
+    gateway.registerHandler(BrokerCreateWorkflowInstancesRequest.class, this);
+  }
+
+  @Override
+  public BrokerResponse<List<BrokerResponse<WorkflowInstanceRecord>>> handle(
+      BrokerCreateWorkflowInstancesRequest request) throws Exception {
+    final List<BrokerResponse<WorkflowInstanceRecord>> responses = new ArrayList<>();
+
+    for (int i = 0; i < request.getCommandCount(); i++) {
+      final WorkflowInstanceRecord command = (WorkflowInstanceRecord) request.getCommandWriter(i);
+      final String bpmnProcessId = BufferUtil.bufferAsString(command.getBpmnProcessId());
+
+      if (UNKNOWN_PROCESS_ID.equals(bpmnProcessId)) {
+        final BrokerRejection rejection =
+            new BrokerRejection(
+                WorkflowInstanceIntent.CREATE, -1, RejectionType.BAD_VALUE, "workflow not found");
+        responses.add(new BrokerRejectionResponse<>(rejection));
+      } else {
+        final long workflowInstanceKey = nextWorkflowInstanceKey++;
+
+        final WorkflowInstanceRecord response = new WorkflowInstanceRecord();
+        response.setWorkflowInstanceKey(workflowInstanceKey);
+        response.setBpmnProcessId(bpmnProcessId);
+        response.setVersion(command.getVersion());
+        response.setWorkflowKey(WORKFLOW_KEY);
+
+        responses.add(
+            new BrokerResponse<>(response, request.getPartitionId(), workflowInstanceKey));
+      }
+    }
+
+    return new BrokerResponse<>(responses, request.getPartitionId(), -1);
+  }
+}
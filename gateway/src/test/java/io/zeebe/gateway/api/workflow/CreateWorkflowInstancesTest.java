@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.Status.Code;
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.api.util.RecordingStreamObserver;
+import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstancesRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerRequest;
+import io.zeebe.gateway.impl.bulk.BulkRequestObserver;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceAck;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceResponse;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.intent.WorkflowInstanceIntent;
+import io.zeebe.test.util.MsgPackUtil;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.List;
+import org.junit.Test;
+
+public class CreateWorkflowInstancesTest extends GatewayTest {
+
+  @Test
+  public void shouldAcknowledgeEachWorkflowInstance() {
+    // given
+    final CreateWorkflowInstancesStub stub = new CreateWorkflowInstancesStub();
+    stub.registerWith(gateway);
+
+    final RecordingStreamObserver<CreateWorkflowInstanceAck> acks = new RecordingStreamObserver<>();
+    final StreamObserver<CreateWorkflowInstanceRequest> requests =
+        gateway.buildAsyncClient().createWorkflowInstances(acks);
+
+    // when
+    requests.onNext(
+        CreateWorkflowInstanceRequest.newBuilder()
+            .setBpmnProcessId("process")
+            .setVersion(1)
+            .setPayload("{\"foo\":\"bar\"}")
+            .build());
+    requests.onNext(
+        CreateWorkflowInstanceRequest.newBuilder()
+            .setBpmnProcessId(CreateWorkflowInstancesStub.UNKNOWN_PROCESS_ID)
+            .build());
+    requests.onNext(CreateWorkflowInstanceRequest.newBuilder().setBpmnProcessId("process").build());
+    requests.onCompleted();
+
+    // then
+    waitUntil(acks::isCompleted);
+
+    final List<CreateWorkflowInstanceAck> values = acks.getValues();
+    assertThat(values).extracting(CreateWorkflowInstanceAck::getIndex).containsExactly(0L, 1L, 2L);
+    assertThat(values)
+        .extracting(CreateWorkflowInstanceAck::getSuccess)
+        .containsExactly(true, false, true);
+
+    final CreateWorkflowInstanceResponse firstInstance = values.get(0).getWorkflowInstance();
+    assertThat(firstInstance.getBpmnProcessId()).isEqualTo("process");
+    assertThat(firstInstance.getVersion()).isEqualTo(1);
+    assertThat(firstInstance.getWorkflowKey()).isEqualTo(CreateWorkflowInstancesStub.WORKFLOW_KEY);
+    assertThat(firstInstance.getWorkflowInstanceKey()).isEqualTo(1);
+
+    assertThat(values.get(1).getErrorMessage()).contains("workflow not found");
+    assertThat(values.get(1).getErrorCode()).isEqualTo(Code.INTERNAL.value());
+    assertThat(values.get(2).getWorkflowInstance().getWorkflowInstanceKey()).isEqualTo(2);
+
+    final List<BrokerRequest> brokerRequests = gateway.getBrokerRequests();
+    assertThat(brokerRequests).isNotEmpty();
+
+    final BrokerCreateWorkflowInstancesRequest brokerRequest =
+        (BrokerCreateWorkflowInstancesRequest) brokerRequests.get(0);
+    assertThat(brokerRequest.getIntent()).isEqualTo(WorkflowInstanceIntent.CREATE);
+    assertThat(brokerRequest.getValueType()).isEqualTo(ValueType.WORKFLOW_INSTANCE);
+
+    final WorkflowInstanceRecord brokerRequestValue =
+        (WorkflowInstanceRecord) brokerRequest.getCommandWriter(0);
+    assertThat(BufferUtil.bufferAsString(brokerRequestValue.getBpmnProcessId()))
+        .isEqualTo("process");
+    MsgPackUtil.assertEqualityExcluding(brokerRequestValue.getPayload(), "{\"foo\":\"bar\"}");
+  }
+
+  @Test
+  public void shouldRejectInvalidPayload() {
+    // given
+    final CreateWorkflowInstancesStub stub = new CreateWorkflowInstancesStub();
+    stub.registerWith(gateway);
+
+    final RecordingStreamObserver<CreateWorkflowInstanceAck> acks = new RecordingStreamObserver<>();
+    final StreamObserver<CreateWorkflowInstanceRequest> requests =
+        gateway.buildAsyncClient().createWorkflowInstances(acks);
+
+    // when
+    requests.onNext(
+        CreateWorkflowInstanceRequest.newBuilder()
+            .setBpmnProcessId("process")
+            .setPayload("{invalid")
+            .build());
+    requests.onCompleted();
+
+    // then
+    waitUntil(acks::isCompleted);
+
+    assertThat(acks.getValues()).hasSize(1);
+    assertThat(acks.getValues().get(0).getSuccess()).isFalse();
+    assertThat(acks.getValues().get(0).getErrorMessage()).isNotEmpty();
+    assertThat(acks.getValues().get(0).getErrorCode()).isEqualTo(Code.INTERNAL.value());
+    assertThat(gateway.getBrokerRequests()).isEmpty();
+  }
+
+  @Test
+  public void shouldAcknowledgeMoreRequestsThanBuffered() {
+    // given
+    final CreateWorkflowInstancesStub stub = new CreateWorkflowInstancesStub();
+    stub.registerWith(gateway);
+
+    final RecordingStreamObserver<CreateWorkflowInstanceAck> acks = new RecordingStreamObserver<>();
+    final StreamObserver<CreateWorkflowInstanceRequest> requests =
+        gateway.buildAsyncClient().createWorkflowInstances(acks);
+
+    final int requestCount = 3 * BulkRequestObserver.MAX_BUFFERED_REQUESTS;
+
+    // when
+    for (int i = 0; i < requestCount; i++) {
+      requests.onNext(
+          CreateWorkflowInstanceRequest.newBuilder().setBpmnProcessId("process").build());
+    }
+    requests.onCompleted();
+
+    // then
+    waitUntil(acks::isCompleted);
+
+    assertThat(acks.getError()).isNull();
+    assertThat(acks.getValues())
+        .hasSize(requestCount)
+        .allMatch(CreateWorkflowInstanceAck::getSuccess);
+  }
+
+  @Test
+  public void shouldCompleteEmptyStream() {
+    // given
+    final RecordingStreamObserver<CreateWorkflowInstanceAck> acks = new RecordingStreamObserver<>();
+    final StreamObserver<CreateWorkflowInstanceRequest> requests =
+        gateway.buildAsyncClient().createWorkflowInstances(acks);
+
+    // when
+    requests.onCompleted();
+
+    // then
+    waitUntil(acks::isCompleted);
+    assertThat(acks.getValues()).isEmpty();
+    assertThat(acks.getError()).isNull();
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import io.zeebe.gateway.api.util.StubbedGateway;
+import io.zeebe.gateway.api.util.StubbedGateway.RequestStub;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerError;
+import io.zeebe.gateway.impl.broker.response.BrokerErrorResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerRejection;
+import io.zeebe.gateway.impl.broker.response.BrokerRejectionResponse;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.clientapi.ErrorCode;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.intent.MessageIntent;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PublishMessagesStub
+    implements RequestStub<
+        BrokerPublishMessagesRequest, BrokerResponse<List<BrokerResponse<Void>>>> {
+
+  public static final String DUPLICATE_MESSAGE_ID = "duplicate";
+  public static final String EXHAUSTED_MESSAGE_ID = "exhausted";
+
+  @Override
+  public void registerWith(StubbedGateway gateway) {
+    gateway.registerHandler(BrokerPublishMessagesRequest.class, this);
+  }
+
+  @Override
+  public BrokerResponse<List<BrokerResponse<Void>>> handle(BrokerPublishMessagesRequest request)
+      throws Exception {
+    final List<BrokerResponse<Void>> responses = new ArrayList<>();
+
+    for (int i = 0; i < request.getCommandCount(); i++) {
+      final MessageRecord command = (MessageRecord) request.getCommandWriter(i);
+
+      if (DUPLICATE_MESSAGE_ID.equals(BufferUtil.bufferAsString(command.getMessageId()))) {
+        final BrokerRejection rejection =
+            new BrokerRejection(
+                MessageIntent.PUBLISH, -1, RejectionType.BAD_VALUE, "message already published");
+        responses.add(new BrokerRejectionResponse<>(rejection));
+      } else if (EXHAUSTED_MESSAGE_ID.equals(BufferUtil.bufferAsString(command.getMessageId()))) {
+        final BrokerError error =
+            new BrokerError(ErrorCode.RESOURCE_EXHAUSTED, "partition is overloaded");
+        responses.add(new BrokerErrorResponse<>(error));
+      } else {
+        responses.add(new BrokerResponse<>(null, request.getPartitionId(), i));
+      }
+    }
+
+    return new BrokerResponse<>(responses, request.getPartitionId(), -1);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.Status.Code;
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.api.util.RecordingStreamObserver;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageAck;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.intent.MessageIntent;
+import io.zeebe.test.util.MsgPackUtil;
+import java.util.List;
+import org.junit.Test;
+
+public class PublishMessagesTest extends GatewayTest {
+
+  @Test
+  public void shouldAcknowledgeEachMessage() {
+    // given
+    final PublishMessagesStub stub = new PublishMessagesStub();
+    stub.registerWith(gateway);
+
+    final RecordingStreamObserver<PublishMessageAck> acks = new RecordingStreamObserver<>();
+    final StreamObserver<PublishMessageRequest> requests =
+        gateway.buildAsyncClient().publishMessages(acks);
+
+    // when
+    requests.onNext(
+        PublishMessageRequest.newBuilder()
+            .setName("message")
+            .setCorrelationKey("order-1")
+            .setMessageId("first")
+            .setTimeToLive(123)
+            .setPayload("{\"foo\":\"bar\"}")
+            .build());
+    requests.onNext(
+        PublishMessageRequest.newBuilder()
+            .setName("message")
+            .setCorrelationKey("order-2")
+            .setMessageId(PublishMessagesStub.DUPLICATE_MESSAGE_ID)
+            .build());
+    requests.onCompleted();
+
+    // then
+    waitUntil(acks::isCompleted);
+
+    final List<PublishMessageAck> values = acks.getValues();
+    assertThat(values).extracting(PublishMessageAck::getIndex).containsExactly(0L, 1L);
+    assertThat(values).extracting(PublishMessageAck::getSuccess).containsExactly(true, false);
+    assertThat(values.get(1).getErrorMessage()).contains("message already published");
+    assertThat(values.get(1).getErrorCode()).isEqualTo(Code.INTERNAL.value());
+
+    final BrokerPublishMessagesRequest brokerRequest =
+        (BrokerPublishMessagesRequest) gateway.getBrokerRequests().get(0);
+    assertThat(brokerRequest.getIntent()).isEqualTo(MessageIntent.PUBLISH);
+    assertThat(brokerRequest.getValueType()).isEqualTo(ValueType.MESSAGE);
+    assertThat(brokerRequest.getPartitionId()).isEqualTo(0);
+
+    final MessageRecord brokerRequestValue = (MessageRecord) brokerRequest.getCommandWriter(0);
+    assertThat(bufferAsString(brokerRequestValue.getName())).isEqualTo("message");
+    assertThat(bufferAsString(brokerRequestValue.getCorrelationKey())).isEqualTo("order-1");
+    assertThat(bufferAsString(brokerRequestValue.getMessageId())).isEqualTo("first");
+    assertThat(brokerRequestValue.getTimeToLive()).isEqualTo(123);
+    MsgPackUtil.assertEqualityExcluding(brokerRequestValue.getPayload(), "{\"foo\":\"bar\"}");
+  }
+
+  @Test
+  public void shouldAcknowledgeWithStatusOfSingleRequest() {
+    // given
+    final PublishMessagesStub stub = new PublishMessagesStub();
+    stub.registerWith(gateway);
+
+    final RecordingStreamObserver<PublishMessageAck> acks = new RecordingStreamObserver<>();
+    final StreamObserver<PublishMessageRequest> requests =
+        gateway.buildAsyncClient().publishMessages(acks);
+
+    // when
+    requests.onNext(
+        PublishMessageRequest.newBuilder()
+            .setName("message")
+            .setCorrelationKey("order-1")
+            .setMessageId(PublishMessagesStub.EXHAUSTED_MESSAGE_ID)
+            .build());
+    requests.onCompleted();
+
+    // then
+    waitUntil(acks::isCompleted);
+
+    final PublishMessageAck ack = acks.getValues().get(0);
+    assertThat(ack.getSuccess()).isFalse();
+    assertThat(ack.getErrorCode()).isEqualTo(Code.RESOURCE_EXHAUSTED.value());
+    assertThat(ack.getErrorMessage()).contains("partition is overloaded");
+  }
+
+  @Test
+  public void shouldRejectInvalidPayload() {
+    // given
+    final PublishMessagesStub stub = new PublishMessagesStub();
+    stub.registerWith(gateway);
+
+    final RecordingStreamObserver<PublishMessageAck> acks = new RecordingStreamObserver<>();
+    final StreamObserver<PublishMessageRequest> requests =
+        gateway.buildAsyncClient().publishMessages(acks);
+
+    // when
+    requests.onNext(
+        PublishMessageRequest.newBuilder()
+            .setName("message")
+            .setCorrelationKey("order-1")
+            .setPayload("[1, 2]")
+            .build());
+    requests.onCompleted();
+
+    // then
+    waitUntil(acks::isCompleted);
+
+    assertThat(acks.getValues()).hasSize(1);
+    assertThat(acks.getValues().get(0).getSuccess()).isFalse();
+    assertThat(acks.getValues().get(0).getErrorMessage()).isNotEmpty();
+    assertThat(acks.getValues().get(0).getErrorCode()).isEqualTo(Code.INTERNAL.value());
+    assertThat(gateway.getBrokerRequests()).isEmpty();
+  }
+}
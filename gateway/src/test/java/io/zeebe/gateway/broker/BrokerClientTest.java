@@ -254,6 +254,137 @@ public class BrokerClientTest {
     }
   }
 
+  @Test
+  public void shouldSendRequestsOverSeveralLanes() {
+    // given
+    final GatewayCfg configuration = new GatewayCfg();
+    configuration
+        .getCluster()
+        .setContactPoint(broker.getSocketAddress().toString())
+        .setRequestTimeout("3s");
+    configuration.getThreads().setManagementThreads(2).setRequestLanes(3);
+
+    final BrokerClient multiLaneClient = new BrokerClientImpl(configuration, clock);
+    closeables.manage(multiLaneClient);
+
+    broker.clearTopology();
+    broker.addPartition(0);
+    broker.addPartition(1);
+    broker.addPartition(2);
+
+    registerCreateWfCommand();
+
+    // when
+    final List<ActorFuture<BrokerResponse<WorkflowInstanceRecord>>> futures = new ArrayList<>();
+    for (int i = 0; i < clientMaxRequests; i++) {
+      futures.add(multiLaneClient.sendRequest(new BrokerCreateWorkflowInstanceRequest()));
+    }
+
+    // then
+    for (final ActorFuture<BrokerResponse<WorkflowInstanceRecord>> future : futures) {
+      assertThat(future.join().isResponse()).isTrue();
+    }
+
+    assertThat(broker.getReceivedCommandRequests())
+        .extracting(ExecuteCommandRequest::partitionId)
+        .contains(0, 1, 2);
+  }
+
+  @Test
+  public void shouldSendRequestToNextPartitionIfResourceExhausted() {
+    // given
+    broker.clearTopology();
+    broker.addPartition(0);
+    broker.addPartition(1);
+
+    registerCreateWfCommand();
+    broker
+        .onExecuteCommandRequest(0, ValueType.WORKFLOW_INSTANCE, WorkflowInstanceIntent.CREATE)
+        .respondWithError()
+        .errorCode(ErrorCode.RESOURCE_EXHAUSTED)
+        .errorData("exhausted")
+        .register();
+
+    // when
+    final int requests = 4;
+    for (int i = 0; i < requests; i++) {
+      final BrokerResponse<WorkflowInstanceRecord> response =
+          client.sendRequest(new BrokerCreateWorkflowInstanceRequest()).join();
+
+      // then
+      assertThat(response.isResponse()).isTrue();
+    }
+
+    final List<ExecuteCommandRequest> receivedCommandRequests = broker.getReceivedCommandRequests();
+    assertThat(receivedCommandRequests.size()).isGreaterThan(requests);
+    assertThat(receivedCommandRequests).filteredOn(r -> r.partitionId() == 1).hasSize(requests);
+  }
+
+  @Test
+  public void shouldNotSendRequestToExhaustedPartitionAgain() {
+    // given
+    broker.clearTopology();
+    broker.addPartition(0);
+    broker.addPartition(1);
+    broker.addPartition(2);
+
+    registerCreateWfCommand();
+    for (int partitionId = 0; partitionId < 2; partitionId++) {
+      broker
+          .onExecuteCommandRequest(
+              partitionId, ValueType.WORKFLOW_INSTANCE, WorkflowInstanceIntent.CREATE)
+          .respondWithError()
+          .errorCode(ErrorCode.RESOURCE_EXHAUSTED)
+          .errorData("exhausted")
+          .register();
+    }
+
+    // when
+    final int requests = 10;
+    final List<ActorFuture<BrokerResponse<WorkflowInstanceRecord>>> futures = new ArrayList<>();
+    for (int i = 0; i < requests; i++) {
+      futures.add(client.sendRequest(new BrokerCreateWorkflowInstanceRequest()));
+    }
+
+    // then
+    for (final ActorFuture<BrokerResponse<WorkflowInstanceRecord>> future : futures) {
+      assertThat(future.join().isResponse()).isTrue();
+    }
+
+    // the requests interleave, but each request tries a partition at most once
+    final List<ExecuteCommandRequest> receivedCommandRequests = broker.getReceivedCommandRequests();
+    assertThat(receivedCommandRequests.size()).isLessThanOrEqualTo(3 * requests);
+    assertThat(receivedCommandRequests).filteredOn(r -> r.partitionId() == 2).hasSize(requests);
+  }
+
+  @Test
+  public void shouldReturnErrorIfResourceExhaustedOnAllPartitions() {
+    // given
+    broker.clearTopology();
+    broker.addPartition(0);
+    broker.addPartition(1);
+
+    broker
+        .onExecuteCommandRequest(ValueType.WORKFLOW_INSTANCE, WorkflowInstanceIntent.CREATE)
+        .respondWithError()
+        .errorCode(ErrorCode.RESOURCE_EXHAUSTED)
+        .errorData("exhausted")
+        .register();
+
+    // when
+    final BrokerResponse<WorkflowInstanceRecord> response =
+        client.sendRequest(new BrokerCreateWorkflowInstanceRequest()).join();
+
+    // then
+    assertThat(response.isError()).isTrue();
+    assertThat(response.getError().getCode()).isEqualTo(ErrorCode.RESOURCE_EXHAUSTED);
+
+    // each partition is tried once
+    assertThat(broker.getReceivedCommandRequests())
+        .extracting(ExecuteCommandRequest::partitionId)
+        .containsExactlyInAnyOrder(0, 1);
+  }
+
   @Test
   public void shouldReleaseRequestsOnGet() {
     // given
@@ -19,6 +19,7 @@ import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEW
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_HOST;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_MANAGEMENT_THREADS;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_PORT;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_LANES;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_TIMEOUT;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_TRANSPORT_BUFFER;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,7 +49,7 @@ public class GatewayCfgTest {
         .setContactPoint("foobar:1234")
         .setTransportBuffer("4K")
         .setRequestTimeout("123h");
-    CUSTOM_CFG.getThreads().setManagementThreads(100);
+    CUSTOM_CFG.getThreads().setManagementThreads(100).setRequestLanes(8);
   }
 
   private final Map<String, String> environment = new HashMap<>();
@@ -79,6 +80,7 @@ public class GatewayCfgTest {
     setEnv(ENV_GATEWAY_CONTACT_POINT, "broker:432");
     setEnv(ENV_GATEWAY_TRANSPORT_BUFFER, "12G");
     setEnv(ENV_GATEWAY_MANAGEMENT_THREADS, "32");
+    setEnv(ENV_GATEWAY_REQUEST_LANES, "4");
     setEnv(ENV_GATEWAY_REQUEST_TIMEOUT, "43m");
 
     final GatewayCfg expected = new GatewayCfg();
@@ -88,7 +90,7 @@ public class GatewayCfgTest {
         .setContactPoint("broker:432")
         .setTransportBuffer("12G")
         .setRequestTimeout("43m");
-    expected.getThreads().setManagementThreads(32);
+    expected.getThreads().setManagementThreads(32).setRequestLanes(4);
 
     // when
     final GatewayCfg gatewayCfg = readCustomConfig();
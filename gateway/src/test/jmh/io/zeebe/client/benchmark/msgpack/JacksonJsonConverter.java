@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.benchmark.msgpack;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+/** The Jackson based conversion which was used by the gateway, as baseline for the benchmark. */
+public class JacksonJsonConverter {
+  private final JsonFactory msgPackFactory =
+      new MessagePackFactory().setReuseResourceInGenerator(false).setReuseResourceInParser(false);
+  private final JsonFactory jsonFactory = new MappingJsonFactory();
+
+  public byte[] convertToMsgPack(byte[] json) throws Exception {
+    return convert(new ByteArrayInputStream(json), jsonFactory, msgPackFactory);
+  }
+
+  public byte[] convertToJson(byte[] msgPack) throws Exception {
+    return convert(new ByteArrayInputStream(msgPack), msgPackFactory, jsonFactory);
+  }
+
+  private byte[] convert(InputStream in, JsonFactory inFormat, JsonFactory outFormat)
+      throws Exception {
+    try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      copy(in, out, inFormat, outFormat);
+      return out.toByteArray();
+    }
+  }
+
+  private void copy(InputStream in, OutputStream out, JsonFactory inFormat, JsonFactory outFormat)
+      throws Exception {
+    final JsonParser parser = inFormat.createParser(in);
+    final JsonGenerator generator = outFormat.createGenerator(out, JsonEncoding.UTF8);
+
+    parser.nextToken();
+    generator.copyCurrentStructure(parser);
+    generator.flush();
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.benchmark.msgpack;
+
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares the Jackson based JSON conversion with the streaming transcoder. */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+public class JsonTranscodingBenchmark {
+
+  @Benchmark
+  @Threads(1)
+  public byte[] msgPackToJsonWithJackson(JsonTranscodingContext ctx) throws Exception {
+    return ctx.getJacksonConverter().convertToJson(ctx.getMsgPack());
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int msgPackToJsonWithTranscoder(JsonTranscodingContext ctx) {
+    final DirectBuffer msgPack = ctx.getMsgPackBuffer();
+    return ctx.getTranscoder().toJson(msgPack, 0, msgPack.capacity(), ctx.getTargetBuffer(), 0);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] jsonToMsgPackWithJackson(JsonTranscodingContext ctx) throws Exception {
+    return ctx.getJacksonConverter().convertToMsgPack(ctx.getJson());
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int jsonToMsgPackWithTranscoder(JsonTranscodingContext ctx) {
+    final DirectBuffer json = ctx.getJsonBuffer();
+    return ctx.getTranscoder().toMsgPack(json, 0, json.capacity(), ctx.getTargetBuffer(), 0);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.client.benchmark.msgpack;
+
+import io.zeebe.msgpack.json.MsgPackJsonTranscoder;
+import java.nio.charset.StandardCharsets;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class JsonTranscodingContext {
+  protected static final String PAYLOAD =
+      "{\"orderId\":\"order-4711\",\"customer\":{\"id\":123456789,\"name\":\"Jane Doe\","
+          + "\"vip\":true,\"address\":{\"street\":\"Main Street 1\",\"city\":\"Berlin\"}},"
+          + "\"items\":[{\"sku\":\"a-1\",\"quantity\":2,\"price\":19.99},"
+          + "{\"sku\":\"b-2\",\"quantity\":1,\"price\":5.5},"
+          + "{\"sku\":\"c-3\",\"quantity\":10,\"price\":0.1}],"
+          + "\"total\":46.48,\"paid\":false,\"note\":null,"
+          + "\"tags\":[\"express\",\"gift\",\"fragile\"]}";
+
+  protected final JacksonJsonConverter jacksonConverter = new JacksonJsonConverter();
+  protected final MsgPackJsonTranscoder transcoder = new MsgPackJsonTranscoder();
+  protected final ExpandableArrayBuffer targetBuffer = new ExpandableArrayBuffer();
+
+  protected byte[] json;
+  protected byte[] msgPack;
+  protected DirectBuffer jsonBuffer;
+  protected DirectBuffer msgPackBuffer;
+
+  @Setup
+  public void setUp() throws Exception {
+    json = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+    msgPack = jacksonConverter.convertToMsgPack(json);
+
+    jsonBuffer = new UnsafeBuffer(json);
+    msgPackBuffer = new UnsafeBuffer(msgPack);
+  }
+
+  public JacksonJsonConverter getJacksonConverter() {
+    return jacksonConverter;
+  }
+
+  public MsgPackJsonTranscoder getTranscoder() {
+    return transcoder;
+  }
+
+  public ExpandableArrayBuffer getTargetBuffer() {
+    return targetBuffer;
+  }
+
+  public byte[] getJson() {
+    return json;
+  }
+
+  public byte[] getMsgPack() {
+    return msgPack;
+  }
+
+  public DirectBuffer getJsonBuffer() {
+    return jsonBuffer;
+  }
+
+  public DirectBuffer getMsgPackBuffer() {
+    return msgPackBuffer;
+  }
+}
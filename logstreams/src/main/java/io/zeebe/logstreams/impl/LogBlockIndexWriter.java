@@ -136,7 +136,58 @@ public class LogBlockIndexWriter extends Actor {
             .label("logName", getName())
             .create();
 
-    recoverBlockIndex();
+    if (blockIndex.isPersistent()) {
+      recoverPersistentBlockIndex();
+    } else {
+      recoverBlockIndex();
+    }
+  }
+
+  private void recoverPersistentBlockIndex() {
+    final long firstBlockAddress = logStorage.getFirstBlockAddress();
+
+    if (firstBlockAddress >= 0) {
+      // the index may still contain blocks which are deleted or which were not written completely
+      blockIndex.deleteUpToAddress(firstBlockAddress);
+      removeUnwrittenBlocksFromIndex();
+    } else {
+      blockIndex.reset();
+    }
+
+    final int indexSize = blockIndex.size();
+    if (indexSize > 0) {
+      // continue reading after the last block of the index
+      nextAddress = blockIndex.getAddress(indexSize - 1);
+      lastBlockAddress = nextAddress;
+      lastBlockEventPosition = blockIndex.getLogPosition(indexSize - 1);
+    } else {
+      nextAddress = firstBlockAddress;
+      lastBlockAddress = 0;
+    }
+  }
+
+  private void removeUnwrittenBlocksFromIndex() {
+    while (blockIndex.size() > 0) {
+      final int lastIdx = blockIndex.size() - 1;
+      final long address = blockIndex.getAddress(lastIdx);
+      final long position = blockIndex.getLogPosition(lastIdx);
+
+      ioBuffer.clear();
+      final long result = logStorage.read(ioBuffer, address, completeEventsProcessor);
+
+      if (result == OP_RESULT_INSUFFICIENT_BUFFER_CAPACITY) {
+        increaseBufferSize();
+      } else if (result > address && getPosition(buffer, 0) == position) {
+        break;
+      } else {
+        LOG.debug(
+            "Remove block with position {} and address {} from index, it is not in the log.",
+            position,
+            address);
+
+        blockIndex.truncateFromAddress(address);
+      }
+    }
   }
 
   private void recoverBlockIndex() {
@@ -282,6 +333,12 @@ public class LogBlockIndexWriter extends Actor {
   }
 
   private void createSnapshot() {
+    if (blockIndex.isPersistent()) {
+      // the index is stored in files - no snapshot is needed to recover it
+      blockIndex.flush();
+      return;
+    }
+
     SnapshotWriter snapshotWriter = null;
     try {
       if (lastBlockEventPosition > 0 && lastBlockEventPosition > snapshotEventPosition) {
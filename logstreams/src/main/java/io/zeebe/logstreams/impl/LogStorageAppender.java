@@ -17,16 +17,26 @@ package io.zeebe.logstreams.impl;
 
 import io.zeebe.dispatcher.BlockPeek;
 import io.zeebe.dispatcher.Subscription;
+import io.zeebe.logstreams.log.LogSyncMode;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ScheduledTimer;
 import io.zeebe.util.sched.channel.ActorConditions;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.agrona.MutableDirectBuffer;
 import org.slf4j.Logger;
 
-/** Consume the write buffer and append the blocks on the log storage. */
+/**
+ * Consume the write buffer and append the blocks on the log storage.
+ *
+ * <p>In {@link LogSyncMode#GROUP_COMMIT} mode, the appended blocks are flushed together when the
+ * group commit interval is elapsed or the group commit size is reached. The {@link
+ * #getDurablePosition() durable position} is updated after each flush. In the other modes, a block
+ * is considered as durable when it is appended.
+ */
 public class LogStorageAppender extends Actor {
   public static final Logger LOG = Loggers.LOGSTREAMS_LOGGER;
 
@@ -39,20 +49,52 @@ public class LogStorageAppender extends Actor {
   private final Subscription writeBufferSubscription;
   private final ActorConditions logStorageAppendConditions;
 
+  private final LogSyncMode syncMode;
+  private final Duration groupCommitInterval;
+  private final int groupCommitSize;
+
   private Runnable peekedBlockHandler = this::appendBlock;
   private int maxAppendBlockSize;
 
+  private int pendingBytes;
+  private ScheduledTimer groupCommitTimer;
+  private volatile long durablePosition;
+
   public LogStorageAppender(
       String name,
       LogStorage logStorage,
       Subscription writeBufferSubscription,
       int maxBlockSize,
       ActorConditions logStorageAppendConditions) {
+    this(
+        name,
+        logStorage,
+        writeBufferSubscription,
+        maxBlockSize,
+        logStorageAppendConditions,
+        LogSyncMode.PERIODIC,
+        Duration.ZERO,
+        0);
+  }
+
+  public LogStorageAppender(
+      String name,
+      LogStorage logStorage,
+      Subscription writeBufferSubscription,
+      int maxBlockSize,
+      ActorConditions logStorageAppendConditions,
+      LogSyncMode syncMode,
+      Duration groupCommitInterval,
+      int groupCommitSize) {
     this.name = name;
     this.logStorage = logStorage;
     this.writeBufferSubscription = writeBufferSubscription;
     this.maxAppendBlockSize = maxBlockSize;
     this.logStorageAppendConditions = logStorageAppendConditions;
+    this.syncMode = syncMode;
+    this.groupCommitInterval = groupCommitInterval;
+    this.groupCommitSize = groupCommitSize;
+    this.durablePosition = writeBufferSubscription.getPosition();
   }
 
   @Override
@@ -77,9 +119,18 @@ public class LogStorageAppender extends Actor {
     final ByteBuffer rawBuffer = blockPeek.getRawBuffer();
     final MutableDirectBuffer buffer = blockPeek.getBuffer();
 
+    final int blockLength = rawBuffer.remaining();
+
     final long address = logStorage.append(rawBuffer);
     if (address >= 0) {
       blockPeek.markCompleted();
+
+      if (syncMode == LogSyncMode.GROUP_COMMIT) {
+        addToGroupCommit(blockLength);
+      } else {
+        durablePosition = writeBufferSubscription.getPosition();
+      }
+
       logStorageAppendConditions.signalConsumers();
     } else {
       isFailed.set(true);
@@ -102,6 +153,51 @@ public class LogStorageAppender extends Actor {
     actor.yield();
   }
 
+  private void addToGroupCommit(int blockLength) {
+    pendingBytes += blockLength;
+
+    if (pendingBytes >= groupCommitSize) {
+      flushGroup();
+    } else if (groupCommitTimer == null) {
+      groupCommitTimer = actor.runDelayed(groupCommitInterval, this::flushGroup);
+    }
+  }
+
+  private void flushGroup() {
+    if (groupCommitTimer != null) {
+      groupCommitTimer.cancel();
+      groupCommitTimer = null;
+    }
+
+    if (pendingBytes == 0) {
+      return;
+    }
+
+    // all blocks up to the current position are appended, but maybe not written to disk yet
+    final long appendedPosition = writeBufferSubscription.getPosition();
+
+    try {
+      logStorage.flush();
+    } catch (Exception e) {
+      LOG.error("Failed to flush the log storage. Retry in {}.", groupCommitInterval, e);
+
+      groupCommitTimer = actor.runDelayed(groupCommitInterval, this::flushGroup);
+      return;
+    }
+
+    pendingBytes = 0;
+    durablePosition = appendedPosition;
+
+    logStorageAppendConditions.signalConsumers();
+  }
+
+  @Override
+  protected void onActorClosing() {
+    if (syncMode == LogSyncMode.GROUP_COMMIT) {
+      flushGroup();
+    }
+  }
+
   public ActorFuture<Void> close() {
     return actor.close();
   }
@@ -113,4 +209,17 @@ public class LogStorageAppender extends Actor {
   public long getCurrentAppenderPosition() {
     return writeBufferSubscription.getPosition();
   }
+
+  /**
+   * @return the position up to which the appended blocks are durable, depending on the {@link
+   *     LogSyncMode}. It is equal to the {@link #getCurrentAppenderPosition() current appender
+   *     position} if the blocks are not flushed in groups.
+   */
+  public long getDurablePosition() {
+    return durablePosition;
+  }
+
+  public LogSyncMode getSyncMode() {
+    return syncMode;
+  }
 }
@@ -24,6 +24,7 @@ import static io.zeebe.util.EnsureUtil.ensureFalse;
 import static io.zeebe.util.EnsureUtil.ensureGreaterThanOrEqual;
 
 import io.zeebe.logstreams.fs.FsSnapshotStorageBuilder;
+import io.zeebe.logstreams.impl.log.fs.FsLogSegment;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
@@ -32,6 +33,7 @@ import io.zeebe.logstreams.impl.service.LogBlockIndexService;
 import io.zeebe.logstreams.impl.service.LogBlockIndexWriterService;
 import io.zeebe.logstreams.impl.service.LogStreamService;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogSyncMode;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.logstreams.spi.SnapshotStorage;
 import io.zeebe.servicecontainer.CompositeServiceBuilder;
@@ -64,6 +66,14 @@ public class LogStreamBuilder {
   protected float deviation = LogBlockIndexWriter.DEFAULT_DEVIATION;
   protected int readBlockSize = 1024;
 
+  protected LogSyncMode syncMode = LogSyncMode.PERIODIC;
+  protected Duration groupCommitInterval = Duration.ofMillis(5);
+  protected int groupCommitSize = 1024 * 1024 * 4;
+
+  protected boolean memoryMappedReads = false;
+  protected int preallocatedSegmentCount = 1;
+  protected boolean persistentBlockIndex = true;
+
   protected Duration snapshotPeriod = Duration.ofMinutes(1);
   protected SnapshotStorage snapshotStorage;
 
@@ -146,6 +156,36 @@ public class LogStreamBuilder {
     return this;
   }
 
+  public LogStreamBuilder syncMode(final LogSyncMode syncMode) {
+    this.syncMode = syncMode;
+    return this;
+  }
+
+  public LogStreamBuilder groupCommitInterval(final Duration groupCommitInterval) {
+    this.groupCommitInterval = groupCommitInterval;
+    return this;
+  }
+
+  public LogStreamBuilder groupCommitSize(final int groupCommitSize) {
+    this.groupCommitSize = groupCommitSize;
+    return this;
+  }
+
+  public LogStreamBuilder memoryMappedReads(final boolean memoryMappedReads) {
+    this.memoryMappedReads = memoryMappedReads;
+    return this;
+  }
+
+  public LogStreamBuilder preallocatedSegmentCount(final int preallocatedSegmentCount) {
+    this.preallocatedSegmentCount = preallocatedSegmentCount;
+    return this;
+  }
+
+  public LogStreamBuilder persistentBlockIndex(final boolean persistentBlockIndex) {
+    this.persistentBlockIndex = persistentBlockIndex;
+    return this;
+  }
+
   public LogStreamBuilder logStorageStubber(
       final Function<FsLogStorage, FsLogStorage> logStorageStubber) {
     this.logStorageStubber = logStorageStubber;
@@ -163,6 +203,10 @@ public class LogStreamBuilder {
     return logDirectory;
   }
 
+  public boolean isPersistentBlockIndex() {
+    return persistentBlockIndex;
+  }
+
   public int getPartitionId() {
     return partitionId;
   }
@@ -171,6 +215,18 @@ public class LogStreamBuilder {
     return maxAppendBlockSize;
   }
 
+  public LogSyncMode getSyncMode() {
+    return syncMode;
+  }
+
+  public Duration getGroupCommitInterval() {
+    return groupCommitInterval;
+  }
+
+  public int getGroupCommitSize() {
+    return groupCommitSize;
+  }
+
   public int getIndexBlockSize() {
     return indexBlockSize;
   }
@@ -234,13 +290,19 @@ public class LogStreamBuilder {
 
     final FsLogStorageConfiguration storageConfig =
         new FsLogStorageConfiguration(
-            logSegmentSize, getLogDirectory(), initialLogSegmentId, deleteOnClose);
+            logSegmentSize,
+            getLogDirectory(),
+            initialLogSegmentId,
+            deleteOnClose,
+            syncMode == LogSyncMode.PERIODIC ? FsLogSegment.DEFAULT_FLUSH_RATE : 0,
+            memoryMappedReads,
+            preallocatedSegmentCount);
 
     final FsLogStorageService logStorageService =
         new FsLogStorageService(storageConfig, partitionId, logStorageStubber);
     installOperation.createService(logStorageServiceName, logStorageService).install();
 
-    final LogBlockIndexService logBlockIndexService = new LogBlockIndexService();
+    final LogBlockIndexService logBlockIndexService = new LogBlockIndexService(this);
     installOperation.createService(logBlockIndexServiceName, logBlockIndexService).install();
 
     final LogBlockIndexWriterService logBlockIndexWriterService =
@@ -267,6 +329,8 @@ public class LogStreamBuilder {
     Objects.requireNonNull(logName, "logName");
     ensureGreaterThanOrEqual("partitionId", partitionId, 0);
     ensureFalse("deviation", deviation <= 0f || deviation > 1f);
+    Objects.requireNonNull(syncMode, "syncMode");
+    ensureGreaterThanOrEqual("preallocatedSegmentCount", preallocatedSegmentCount, 0);
 
     if (snapshotStorage == null) {
       snapshotStorage = new FsSnapshotStorageBuilder(getLogDirectory()).build();
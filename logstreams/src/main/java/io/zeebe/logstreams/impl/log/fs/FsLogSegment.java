@@ -21,6 +21,7 @@ import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_ID_
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_SIZE_OFFSET;
 
 import io.zeebe.logstreams.impl.Loggers;
+import io.zeebe.logstreams.spi.MappedBlocks;
 import io.zeebe.util.FileUtil;
 import java.io.File;
 import java.io.IOException;
@@ -28,6 +29,7 @@ import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardCopyOption;
 import org.agrona.IoUtil;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -50,7 +52,7 @@ public class FsLogSegment {
 
   protected volatile short state;
 
-  protected final String fileName;
+  protected String fileName;
 
   protected FileChannel fileChannel;
 
@@ -58,22 +60,51 @@ public class FsLogSegment {
 
   protected MappedByteBuffer mappedBuffer;
 
-  protected final Rater rater =
-      new Rater(
-          1024 * 1024 * 4,
-          () -> {
-            try {
-              this.flush();
-            } catch (IOException e) {
-              throw new RuntimeException(e);
-            }
-          });
+  // the read-only mapping of the filled segment which is shared by the readers, guarded by this
+  private MappedByteBuffer readOnlyMapping;
+  private UnsafeBuffer readOnlyBuffer;
+  private int readOnlyReferences;
+  private boolean isClosed;
+
+  private final Runnable releaseReadOnlyMapping = this::releaseReadOnlyMapping;
+
+  public static final int DEFAULT_FLUSH_RATE = 1024 * 1024 * 4;
+
+  protected final Rater rater;
 
   public FsLogSegment(String fileName) {
+    this(fileName, DEFAULT_FLUSH_RATE);
+  }
+
+  /**
+   * @param fileName the file of the segment
+   * @param flushRate the number of appended bytes after which the segment is flushed, or zero if
+   *     the segment should not be flushed on append
+   */
+  public FsLogSegment(String fileName, int flushRate) {
     this.fileName = fileName;
+
+    if (flushRate > 0) {
+      rater =
+          new Rater(
+              flushRate,
+              () -> {
+                try {
+                  this.flush();
+                } catch (IOException e) {
+                  throw new RuntimeException(e);
+                }
+              });
+    } else {
+      rater = null;
+    }
   }
 
   public boolean openSegment(boolean create) {
+    synchronized (this) {
+      isClosed = false;
+    }
+
     fileChannel = FileUtil.openChannel(fileName, create);
 
     if (fileChannel != null) {
@@ -95,6 +126,13 @@ public class FsLogSegment {
       try {
         this.metadataSection = null;
         IoUtil.unmap(mappedBuffer);
+
+        synchronized (this) {
+          // the read-only mapping is unmapped when the readers do not reference it anymore
+          isClosed = true;
+          unmapReadOnlyMappingIfUnreferenced();
+        }
+
         fileChannel.close();
       } catch (IOException e) {
         LOG.error("Failed to close segment", e);
@@ -151,6 +189,35 @@ public class FsLogSegment {
     return state == STATE_ACTIVE;
   }
 
+  /**
+   * Writes zeros to the whole data section of the allocated segment, so the file has its final size
+   * and the blocks of the file are allocated before the first append.
+   *
+   * @param zeros the buffer to write, which contains only zeros
+   */
+  public void zeroFill(ByteBuffer zeros) throws IOException {
+    final int capacity = getCapacity();
+    int offset = getSize();
+
+    while (offset < capacity) {
+      zeros.clear();
+      zeros.limit(Math.min(zeros.capacity(), capacity - offset));
+      offset += fileChannel.write(zeros, offset);
+    }
+
+    fileChannel.force(true);
+  }
+
+  /**
+   * Renames the file of the segment. The segment stays open.
+   *
+   * @param newFileName the new name of the segment file
+   */
+  public void moveTo(String newFileName) {
+    FileUtil.moveFile(fileName, newFileName, StandardCopyOption.ATOMIC_MOVE);
+    fileName = newFileName;
+  }
+
   public boolean allocate(int segmentId, int segmentSize) {
     boolean allocated = false;
 
@@ -200,7 +267,10 @@ public class FsLogSegment {
     }
 
     setSizeOrdered(newSize);
-    rater.mark(blockLength);
+
+    if (rater != null) {
+      rater.mark(blockLength);
+    }
 
     return currentSize;
   }
@@ -256,6 +326,61 @@ public class FsLogSegment {
     return opResult;
   }
 
+  /**
+   * Wraps the view over the blocks of the segment which start at the given offset. The view is
+   * backed by a read-only memory mapping of the file, which is mapped when the first view is
+   * wrapped and shared by all views. The mapping is unmapped after the segment is closed and all
+   * views are released. Only a filled segment can be mapped since the size of the active segment
+   * still changes.
+   *
+   * @param view the view to wrap over the blocks
+   * @param offset the offset in the file of the first block
+   * @return the size of the segment if the view is wrapped, or an operation result which is either
+   *     {@link #NO_DATA} if the segment is not filled or closed, {@link #END_OF_SEGMENT} if the
+   *     offset is the end of the segment, or {@link #INVALID_ADDR} if the offset is not valid
+   */
+  public synchronized int wrapReadOnlyBlocks(MappedBlocks view, int offset) {
+    if (!isFilled() || isClosed) {
+      return NO_DATA;
+    }
+
+    if (readOnlyBuffer == null) {
+      final int size = getSize();
+      try {
+        readOnlyMapping = fileChannel.map(MapMode.READ_ONLY, 0, size);
+        readOnlyBuffer = new UnsafeBuffer(readOnlyMapping, 0, size);
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to map file " + fileName, e);
+      }
+    }
+
+    final int size = readOnlyBuffer.capacity();
+
+    if (offset < METADATA_LENGTH || offset > size) {
+      return INVALID_ADDR;
+    } else if (offset == size) {
+      return END_OF_SEGMENT;
+    } else {
+      // a filled segment contains only complete blocks
+      readOnlyReferences += 1;
+      view.wrap(readOnlyBuffer, offset, size - offset, releaseReadOnlyMapping);
+      return size;
+    }
+  }
+
+  private synchronized void releaseReadOnlyMapping() {
+    readOnlyReferences -= 1;
+    unmapReadOnlyMappingIfUnreferenced();
+  }
+
+  private void unmapReadOnlyMappingIfUnreferenced() {
+    if (isClosed && readOnlyReferences == 0 && readOnlyMapping != null) {
+      IoUtil.unmap(readOnlyMapping);
+      readOnlyMapping = null;
+      readOnlyBuffer = null;
+    }
+  }
+
   public void setFilled() {
     // invoked by appender when segment is filled
     state = STATE_FILLED;
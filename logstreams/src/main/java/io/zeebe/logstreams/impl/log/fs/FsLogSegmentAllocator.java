@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.fs;
+
+import io.zeebe.logstreams.impl.Loggers;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.slf4j.Logger;
+
+/**
+ * Allocates the next segments of the log storage in the background, so the log storage does not
+ * need to create, size and open the next segment when the current segment is filled.
+ *
+ * <p>An allocated segment is stored with a different file name until it is taken by the log
+ * storage, so it is not read as part of the log when the storage is opened again.
+ */
+public class FsLogSegmentAllocator extends Actor {
+  public static final Logger LOG = Loggers.LOGSTREAMS_LOGGER;
+
+  private static final int ZERO_FILL_BUFFER_SIZE = 1024 * 64;
+
+  private final FsLogStorageConfiguration config;
+  private final String name;
+
+  /** the allocated segments ordered by their ids - taken by the log storage */
+  private final ConcurrentLinkedQueue<FsLogSegment> allocatedSegments =
+      new ConcurrentLinkedQueue<>();
+
+  private ByteBuffer zeros;
+  private int nextSegmentId = -1;
+
+  public FsLogSegmentAllocator(final FsLogStorageConfiguration config, final String name) {
+    this.config = config;
+    this.name = name;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  protected void onActorStarting() {
+    zeros = ByteBuffer.allocateDirect(ZERO_FILL_BUFFER_SIZE);
+  }
+
+  @Override
+  protected void onActorClosing() {
+    FsLogSegment segment;
+    while ((segment = allocatedSegments.poll()) != null) {
+      segment.closeSegment();
+      segment.delete();
+    }
+  }
+
+  /**
+   * Allocates the configured count of segments, starting with the given id. Segments which are
+   * allocated already are not allocated again.
+   *
+   * @param segmentId the id of the first segment to allocate
+   * @return the future which is completed when the segments are allocated
+   */
+  public ActorFuture<Void> allocateAhead(final int segmentId) {
+    return actor.call(
+        () -> {
+          nextSegmentId = Math.max(nextSegmentId, segmentId);
+
+          final int lastSegmentId = segmentId + config.getPreallocatedSegmentCount() - 1;
+          while (nextSegmentId <= lastSegmentId) {
+            if (!allocateSegment(nextSegmentId)) {
+              // try again on the next request, e.g. if there is enough space available then
+              break;
+            }
+
+            nextSegmentId += 1;
+          }
+        });
+  }
+
+  private boolean allocateSegment(final int segmentId) {
+    final FsLogSegment segment =
+        new FsLogSegment(config.allocatedFileName(segmentId), config.getFlushRate());
+
+    if (!segment.allocate(segmentId, config.getSegmentSize())) {
+      LOG.warn("Failed to allocate log segment {} ahead", segmentId);
+      return false;
+    }
+
+    try {
+      segment.zeroFill(zeros);
+    } catch (final Exception e) {
+      LOG.warn("Failed to allocate log segment {} ahead", segmentId, e);
+
+      segment.closeSegment();
+      segment.delete();
+      return false;
+    }
+
+    allocatedSegments.add(segment);
+    return true;
+  }
+
+  /**
+   * Takes the allocated segment with the given id. Allocated segments with a lower id are not used
+   * anymore and deleted. The returned segment still has the file name of an allocated segment.
+   *
+   * <p>This method is invoked by the appender of the log storage.
+   *
+   * @param segmentId the id of the segment
+   * @return the allocated segment, or null if the segment is not allocated yet
+   */
+  public FsLogSegment takeSegment(final int segmentId) {
+    FsLogSegment segment = allocatedSegments.peek();
+
+    while (segment != null && segment.getSegmentId() < segmentId) {
+      allocatedSegments.poll();
+      segment.closeSegment();
+      segment.delete();
+
+      segment = allocatedSegments.peek();
+    }
+
+    if (segment != null && segment.getSegmentId() == segmentId) {
+      return allocatedSegments.poll();
+    } else {
+      return null;
+    }
+  }
+
+  public ActorFuture<Void> close() {
+    return actor.close();
+  }
+}
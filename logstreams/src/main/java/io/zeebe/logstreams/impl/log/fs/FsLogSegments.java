@@ -15,21 +15,31 @@
  */
 package io.zeebe.logstreams.impl.log.fs;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class FsLogSegments {
   protected int initalSegmentId = -1;
 
+  /**
+   * The segments ordered by their id. Deleted segments are replaced by <code>null</code>, so that
+   * the index of a segment never changes while readers access the array.
+   */
   protected FsLogSegment[] segments = new FsLogSegment[0];
 
   protected volatile int segmentCount = 0;
 
+  protected volatile int firstSegmentIdx = 0;
+
   public void init(int initalSegmentId, FsLogSegment[] initialSegments) {
     this.segments = initialSegments;
     this.initalSegmentId = initalSegmentId;
+    this.firstSegmentIdx = 0;
     this.segmentCount = initialSegments.length; // volatile store
   }
 
   /** invoked by the conductor after a new segment has been allocated */
-  public void addSegment(FsLogSegment segment) {
+  public synchronized void addSegment(FsLogSegment segment) {
     final FsLogSegment[] newSegments = new FsLogSegment[segments.length + 1];
 
     System.arraycopy(segments, 0, newSegments, 0, segments.length);
@@ -39,6 +49,30 @@ public class FsLogSegments {
     this.segmentCount = newSegments.length; // volatile store
   }
 
+  /**
+   * Removes all segments which have a smaller id than the given one. The removed segments are not
+   * closed.
+   *
+   * @param segmentId the id of the first segment to keep
+   * @return the removed segments, ordered by their id
+   */
+  public synchronized List<FsLogSegment> removeSegmentsBefore(int segmentId) {
+    final FsLogSegment[] segments = this.segments;
+    final int lastSegmentIdx = Math.min(segmentId - initalSegmentId, segmentCount);
+
+    final List<FsLogSegment> removedSegments = new ArrayList<>();
+    for (int i = firstSegmentIdx; i < lastSegmentIdx; i++) {
+      removedSegments.add(segments[i]);
+      segments[i] = null;
+    }
+
+    if (!removedSegments.isEmpty()) {
+      this.firstSegmentIdx = lastSegmentIdx; // volatile store
+    }
+
+    return removedSegments;
+  }
+
   public FsLogSegment getSegment(int segmentId) {
     final int segmentCount = this.segmentCount; // volatile load
 
@@ -46,7 +80,7 @@ public class FsLogSegments {
 
     final int segmentIdx = segmentId - initalSegmentId;
 
-    if (0 <= segmentIdx && segmentIdx < segmentCount) {
+    if (firstSegmentIdx <= segmentIdx && segmentIdx < segmentCount) {
       return segments[segmentIdx];
     } else {
       return null;
@@ -54,24 +88,28 @@ public class FsLogSegments {
   }
 
   public FsLogSegment getFirst() {
-    if (segmentCount > 0) {
-      return segments[0];
+    final int firstSegmentIdx = this.firstSegmentIdx; // volatile load
+
+    if (firstSegmentIdx < segmentCount) {
+      return segments[firstSegmentIdx];
     } else {
       return null;
     }
   }
 
-  public void closeAll() {
+  public synchronized void closeAll() {
     final FsLogSegment[] segments = this.segments;
-    for (FsLogSegment readableLogSegment : segments) {
-      readableLogSegment.closeSegment();
+    for (int i = firstSegmentIdx; i < segmentCount; i++) {
+      segments[i].closeSegment();
     }
 
     this.segments = new FsLogSegment[0];
+    this.firstSegmentIdx = 0;
     this.segmentCount = 0;
   }
 
+  /** @return the number of segments which are not removed */
   public int getSegmentCount() {
-    return segmentCount;
+    return segmentCount - firstSegmentIdx;
   }
 }
@@ -20,6 +20,7 @@ import static io.zeebe.dispatcher.impl.PositionUtil.partitionOffset;
 import static io.zeebe.dispatcher.impl.PositionUtil.position;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.END_OF_SEGMENT;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.INSUFFICIENT_CAPACITY;
+import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.INVALID_ADDR;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegment.NO_DATA;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.METADATA_LENGTH;
 import static io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor.SEGMENT_SIZE_OFFSET;
@@ -28,6 +29,7 @@ import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.logstreams.spi.MappedBlocks;
 import io.zeebe.logstreams.spi.ReadResultProcessor;
 import io.zeebe.util.FileUtil;
 import io.zeebe.util.metrics.Metric;
@@ -72,16 +74,34 @@ public class FsLogStorage implements LogStorage {
 
   private Metric totalBytesMetric;
   private Metric segmentCountMetric;
+  private Metric reclaimedBytesMetric;
+  private Metric rolloverPreallocatedCountMetric;
+  private Metric rolloverAllocatedCountMetric;
+  private Metric rolloverTimeMetric;
 
   private final int partitionId;
 
+  /** allocates the next segments in the background, or null if it is disabled */
+  private final FsLogSegmentAllocator segmentAllocator;
+
+  private int allocatedAheadForSegmentId = -1;
+
   public FsLogStorage(
       final FsLogStorageConfiguration cfg,
       final MetricsManager metricsManager,
       final int partitionId) {
+    this(cfg, metricsManager, partitionId, null);
+  }
+
+  public FsLogStorage(
+      final FsLogStorageConfiguration cfg,
+      final MetricsManager metricsManager,
+      final int partitionId,
+      final FsLogSegmentAllocator segmentAllocator) {
     this.config = cfg;
     this.metricsManager = metricsManager;
     this.partitionId = partitionId;
+    this.segmentAllocator = segmentAllocator;
   }
 
   @Override
@@ -115,6 +135,8 @@ public class FsLogStorage implements LogStorage {
         opresult = position(currentSegment.getSegmentId(), appendResult);
         markSegmentAsDirty(currentSegment);
         totalBytesMetric.getAndAddOrdered(requiredCapacity);
+
+        allocateNextSegmentsIfHalfFilled();
       } else {
         opresult = appendResult;
       }
@@ -123,14 +145,38 @@ public class FsLogStorage implements LogStorage {
     return opresult;
   }
 
+  private void allocateNextSegmentsIfHalfFilled() {
+    final int segmentId = currentSegment.getSegmentId();
+
+    if (segmentAllocator != null
+        && allocatedAheadForSegmentId != segmentId
+        && currentSegment.getSize() >= currentSegment.getCapacity() / 2) {
+      allocatedAheadForSegmentId = segmentId;
+      segmentAllocator.allocateAhead(segmentId + 1);
+    }
+  }
+
   protected void onSegmentFilled() {
+    final long rolloverStartTime = System.nanoTime();
     final FsLogSegment filledSegment = currentSegment;
 
     final int nextSegmentId = 1 + filledSegment.getSegmentId();
-    final String nextSegmentName = config.fileName(nextSegmentId);
-    final FsLogSegment newSegment = new FsLogSegment(nextSegmentName);
+    FsLogSegment newSegment = takeAllocatedSegment(nextSegmentId);
+
+    if (newSegment != null) {
+      rolloverPreallocatedCountMetric.incrementOrdered();
+    } else {
+      final String nextSegmentName = config.fileName(nextSegmentId);
+      newSegment = new FsLogSegment(nextSegmentName, config.getFlushRate());
+
+      if (newSegment.allocate(nextSegmentId, config.getSegmentSize())) {
+        rolloverAllocatedCountMetric.incrementOrdered();
+      } else {
+        newSegment = null;
+      }
+    }
 
-    if (newSegment.allocate(nextSegmentId, config.getSegmentSize())) {
+    if (newSegment != null) {
       logSegments.addSegment(newSegment);
       currentSegment = newSegment;
       // Do this last so readers do not attempt to advance to next segment yet
@@ -138,6 +184,29 @@ public class FsLogStorage implements LogStorage {
       filledSegment.setFilled();
       segmentCountMetric.setOrdered(logSegments.getSegmentCount());
     }
+
+    rolloverTimeMetric.getAndAddOrdered(System.nanoTime() - rolloverStartTime);
+  }
+
+  private FsLogSegment takeAllocatedSegment(final int segmentId) {
+    if (segmentAllocator == null) {
+      return null;
+    }
+
+    final FsLogSegment segment = segmentAllocator.takeSegment(segmentId);
+    if (segment != null) {
+      try {
+        segment.moveTo(config.fileName(segmentId));
+      } catch (final Exception e) {
+        LOG.warn("Failed to use the allocated log segment {}", segmentId, e);
+
+        segment.closeSegment();
+        segment.delete();
+        return null;
+      }
+    }
+
+    return segment;
   }
 
   @Override
@@ -172,6 +241,46 @@ public class FsLogStorage implements LogStorage {
     initLogSegments(logDir);
   }
 
+  @Override
+  public long delete(final long address) {
+    ensureOpenedStorage();
+
+    // never delete the current segment since new blocks are appended to it
+    final int segmentId = Math.min(partitionId(address), currentSegment.getSegmentId());
+    final List<FsLogSegment> segmentsToDelete = logSegments.removeSegmentsBefore(segmentId);
+
+    long deletedBytes = 0;
+    for (final FsLogSegment segment : segmentsToDelete) {
+      deletedBytes += segment.getSize();
+
+      segment.closeSegment();
+      segment.delete();
+    }
+
+    if (deletedBytes > 0) {
+      totalBytesMetric.getAndAddOrdered(-deletedBytes);
+      reclaimedBytesMetric.getAndAddOrdered(deletedBytes);
+      segmentCountMetric.setOrdered(logSegments.getSegmentCount());
+
+      LOG.debug(
+          "Deleted {} log segments before segment {} ({} bytes)",
+          segmentsToDelete.size(),
+          segmentId,
+          deletedBytes);
+    }
+
+    return deletedBytes;
+  }
+
+  @Override
+  public void rollover() {
+    ensureOpenedStorage();
+
+    if (currentSegment.getSize() > METADATA_LENGTH) {
+      onSegmentFilled();
+    }
+  }
+
   protected void addressCheck(final int segmentId, final int segmentOffset) {
     final FsLogSegment segment = logSegments.getSegment(segmentId);
     if (segment == null || segmentOffset < METADATA_LENGTH || segmentOffset >= segment.getSize()) {
@@ -252,6 +361,38 @@ public class FsLogStorage implements LogStorage {
     return opStatus;
   }
 
+  @Override
+  public long readMapped(final MappedBlocks view, final long addr) {
+    ensureOpenedStorage();
+
+    if (!config.isMemoryMappedReads()) {
+      return OP_RESULT_NOT_MAPPED;
+    }
+
+    final int segmentId = partitionId(addr);
+    final int segmentOffset = partitionOffset(addr);
+
+    final FsLogSegment segment = logSegments.getSegment(segmentId);
+    if (segment == null) {
+      return OP_RESULT_INVALID_ADDR;
+    }
+
+    // the active segment is read by copying its blocks since its size still changes
+    final int result = segment.wrapReadOnlyBlocks(view, segmentOffset);
+    final long nextAddr = position(segmentId + 1, METADATA_LENGTH);
+
+    if (result == NO_DATA) {
+      return OP_RESULT_NOT_MAPPED;
+    } else if (result == INVALID_ADDR) {
+      return OP_RESULT_INVALID_ADDR;
+    } else if (result == END_OF_SEGMENT) {
+      // move to next segment
+      return readMapped(view, nextAddr);
+    } else {
+      return nextAddr;
+    }
+  }
+
   @Override
   public void open() {
     ensureNotOpenedStorage();
@@ -266,12 +407,39 @@ public class FsLogStorage implements LogStorage {
             .newMetric("storage_fs_segment_count")
             .label("partition", String.valueOf(partitionId))
             .create();
+    reclaimedBytesMetric =
+        metricsManager
+            .newMetric("storage_fs_reclaimed_bytes")
+            .type("counter")
+            .label("partition", String.valueOf(partitionId))
+            .create();
+    rolloverPreallocatedCountMetric =
+        metricsManager
+            .newMetric("storage_fs_segment_rollover_count")
+            .type("counter")
+            .label("partition", String.valueOf(partitionId))
+            .label("preallocated", "true")
+            .create();
+    rolloverAllocatedCountMetric =
+        metricsManager
+            .newMetric("storage_fs_segment_rollover_count")
+            .type("counter")
+            .label("partition", String.valueOf(partitionId))
+            .label("preallocated", "false")
+            .create();
+    rolloverTimeMetric =
+        metricsManager
+            .newMetric("storage_fs_segment_rollover_nanos")
+            .type("counter")
+            .label("partition", String.valueOf(partitionId))
+            .create();
 
     final String path = config.getPath();
     final File logDir = new File(path);
     logDir.mkdirs();
 
     deleteBackupFilesIfExist(logDir);
+    deleteAllocatedFilesIfExist(logDir);
     applyTruncatedFileIfExists(logDir);
 
     initLogSegments(logDir);
@@ -289,7 +457,8 @@ public class FsLogStorage implements LogStorage {
 
     logFiles.forEach(
         (file) -> {
-          final FsLogSegment segment = new FsLogSegment(file.getAbsolutePath());
+          final FsLogSegment segment =
+              new FsLogSegment(file.getAbsolutePath(), config.getFlushRate());
           if (segment.openSegment(false)) {
             readableLogSegments.add(segment);
           } else {
@@ -317,7 +486,8 @@ public class FsLogStorage implements LogStorage {
       final String initialSegmentName = config.fileName(initialSegmentId);
       final int segmentSize = config.getSegmentSize();
 
-      final FsLogSegment initialSegment = new FsLogSegment(initialSegmentName);
+      final FsLogSegment initialSegment =
+          new FsLogSegment(initialSegmentName, config.getFlushRate());
 
       if (!initialSegment.allocate(initialSegmentId, segmentSize)) {
 
@@ -333,8 +503,9 @@ public class FsLogStorage implements LogStorage {
     final FsLogSegment[] segmentsArray =
         readableLogSegments.toArray(new FsLogSegment[readableLogSegments.size()]);
 
+    // the first segments may be deleted already by a compaction of the log
     final FsLogSegments logSegments = new FsLogSegments();
-    logSegments.init(config.initialSegmentId, segmentsArray);
+    logSegments.init(segmentsArray[0].getSegmentId(), segmentsArray);
     segmentCountMetric.setOrdered(logSegments.getSegmentCount());
 
     this.logSegments = logSegments;
@@ -361,6 +532,13 @@ public class FsLogStorage implements LogStorage {
     backupFiles.forEach(FileUtil::deleteFile);
   }
 
+  protected void deleteAllocatedFilesIfExist(final File logDir) {
+    // the allocated segments are not part of the log until they are taken
+    final List<File> allocatedFiles =
+        Arrays.asList(logDir.listFiles(config::matchesAllocatedFileNamePattern));
+    allocatedFiles.forEach(FileUtil::deleteFile);
+  }
+
   protected void applyTruncatedFileIfExists(final File logDir) {
     final List<File> truncatedFiles =
         Arrays.asList(logDir.listFiles(config::matchesTruncatedFileNamePattern));
@@ -410,6 +588,10 @@ public class FsLogStorage implements LogStorage {
   public void close() {
     segmentCountMetric.close();
     totalBytesMetric.close();
+    reclaimedBytesMetric.close();
+    rolloverPreallocatedCountMetric.close();
+    rolloverAllocatedCountMetric.close();
+    rolloverTimeMetric.close();
 
     ensureOpenedStorage();
 
@@ -435,7 +617,11 @@ public class FsLogStorage implements LogStorage {
 
     if (dirtySegmentId >= 0) {
       for (int id = dirtySegmentId; id <= currentSegment.getSegmentId(); id++) {
-        logSegments.getSegment(id).flush();
+        final FsLogSegment segment = logSegments.getSegment(id);
+        // the segment may be deleted already
+        if (segment != null) {
+          segment.flush();
+        }
       }
 
       dirtySegmentId = -1;
@@ -24,6 +24,7 @@ public class FsLogStorageConfiguration {
 
   protected static final String SEGMENT_FILE_TRUNCATED_SUFFIX = ".truncated";
   protected static final String SEGMENT_FILE_BACKUP_SUFFIX = ".bak";
+  protected static final String SEGMENT_FILE_ALLOCATED_SUFFIX = ".alloc";
 
   protected static final String BACKUP_FILE_NAME_PATTERN =
       FRAGMENT_FILE_NAME_PATTERN + SEGMENT_FILE_BACKUP_SUFFIX;
@@ -35,17 +36,46 @@ public class FsLogStorageConfiguration {
   protected static final String TRUNCATED_FILE_NAME_TEMPLATE =
       BACKUP_FILE_NAME_TEMPLATE + SEGMENT_FILE_TRUNCATED_SUFFIX;
 
+  protected static final String ALLOCATED_FILE_NAME_PATTERN =
+      FRAGMENT_FILE_NAME_PATTERN + SEGMENT_FILE_ALLOCATED_SUFFIX;
+  protected static final String ALLOCATED_FILE_NAME_TEMPLATE =
+      FRAGMENT_FILE_NAME_TEMPLATE + SEGMENT_FILE_ALLOCATED_SUFFIX;
+
   protected final int segmentSize;
   protected final String path;
   protected final int initialSegmentId;
   protected final boolean deleteOnClose;
+  protected final int flushRate;
+  protected final boolean memoryMappedReads;
+  protected final int preallocatedSegmentCount;
 
   public FsLogStorageConfiguration(
       int segmentSize, String path, int initialSegmentId, boolean deleteOnClose) {
+    this(
+        segmentSize,
+        path,
+        initialSegmentId,
+        deleteOnClose,
+        FsLogSegment.DEFAULT_FLUSH_RATE,
+        false,
+        0);
+  }
+
+  public FsLogStorageConfiguration(
+      int segmentSize,
+      String path,
+      int initialSegmentId,
+      boolean deleteOnClose,
+      int flushRate,
+      boolean memoryMappedReads,
+      int preallocatedSegmentCount) {
     this.segmentSize = segmentSize;
     this.path = path;
     this.initialSegmentId = initialSegmentId;
     this.deleteOnClose = deleteOnClose;
+    this.flushRate = flushRate;
+    this.memoryMappedReads = memoryMappedReads;
+    this.preallocatedSegmentCount = preallocatedSegmentCount;
   }
 
   public String getFragmentFileNameTemplate() {
@@ -72,6 +102,10 @@ public class FsLogStorageConfiguration {
     return String.format(TRUNCATED_FILE_NAME_TEMPLATE, path, segmentId);
   }
 
+  public String allocatedFileName(int segmentId) {
+    return String.format(ALLOCATED_FILE_NAME_TEMPLATE, path, segmentId);
+  }
+
   public boolean matchesFragmentFileNamePattern(File file) {
     return matchesFileNamePattern(file, FRAGMENT_FILE_NAME_PATTERN);
   }
@@ -84,6 +118,10 @@ public class FsLogStorageConfiguration {
     return matchesFileNamePattern(file, TRUNCATED_FILE_NAME_PATTERN);
   }
 
+  public boolean matchesAllocatedFileNamePattern(File file) {
+    return matchesFileNamePattern(file, ALLOCATED_FILE_NAME_PATTERN);
+  }
+
   protected boolean matchesFileNamePattern(File file, String pattern) {
     return file.getName().matches(pattern);
   }
@@ -92,6 +130,27 @@ public class FsLogStorageConfiguration {
     return deleteOnClose;
   }
 
+  /**
+   * @return the number of appended bytes after which a segment is flushed, or zero if the segments
+   *     are not flushed on append
+   */
+  public int getFlushRate() {
+    return flushRate;
+  }
+
+  /** @return true, if the filled segments can be read via a read-only memory mapping */
+  public boolean isMemoryMappedReads() {
+    return memoryMappedReads;
+  }
+
+  /**
+   * @return the number of segments which are allocated ahead in the background, or zero if the next
+   *     segment is allocated when the current segment is filled
+   */
+  public int getPreallocatedSegmentCount() {
+    return preallocatedSegmentCount;
+  }
+
   public int getInitialSegmentId() {
     return initialSegmentId;
   }
@@ -15,17 +15,21 @@
  */
 package io.zeebe.logstreams.impl.log.index;
 
-import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.dataOffset;
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionId;
 import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.entryAddressOffset;
-import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.entryLength;
 import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.entryLogPositionOffset;
 import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.entryOffset;
-import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.indexSizeOffset;
+import static io.zeebe.logstreams.impl.log.index.LogBlockIndexSegment.firstEntryIdx;
+import static io.zeebe.logstreams.impl.log.index.LogBlockIndexSegment.lastEntryIdx;
 
 import io.zeebe.logstreams.spi.SnapshotSupport;
-import io.zeebe.util.StreamUtil;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.function.Function;
 import org.agrona.concurrent.AtomicBuffer;
 
@@ -40,21 +44,80 @@ import org.agrona.concurrent.AtomicBuffer;
  * <p>In order to read an event, the position must be translated into the "physical address" of the
  * block in which it resides in storage. Then, the block can be scanned for the event position
  * requested.
+ *
+ * <p>The index is split into one index segment per segment of the log storage. An index segment
+ * grows when it is full and is dropped when the blocks of its log segment are deleted. If the index
+ * has a directory then each index segment is stored in a memory mapped file, so that the index is
+ * available after a restart without reading the log storage again.
  */
 public class LogBlockIndex implements SnapshotSupport {
-  protected final AtomicBuffer indexBuffer;
+  private static final String SEGMENT_FILE_NAME_TEMPLATE = "%02d.index";
+  private static final String SEGMENT_FILE_NAME_PATTERN = "\\d+.index";
+
+  private static final LogBlockIndexSegment[] NO_SEGMENTS = new LogBlockIndexSegment[0];
 
+  /**
+   * The segments ordered by their ids. The array is replaced when a segment is added or deleted, so
+   * that concurrent lookups are not affected. A lookup must read the field only once.
+   */
+  protected volatile LogBlockIndexSegment[] segments = NO_SEGMENTS;
+
+  /** the initial capacity of an index segment */
   protected final int capacity;
 
+  private final Function<Integer, AtomicBuffer> bufferAllocator;
+
+  /** the directory of the index segment files, or null if the index is kept in memory only */
+  private final File directory;
+
   protected long lastVirtualPosition = -1;
 
   public LogBlockIndex(int capacity, Function<Integer, AtomicBuffer> bufferAllocator) {
-    final int requiredBufferCapacity = dataOffset() + (capacity * entryLength());
+    this.capacity = capacity;
+    this.bufferAllocator = bufferAllocator;
+    this.directory = null;
+  }
 
-    this.indexBuffer = bufferAllocator.apply(requiredBufferCapacity);
+  /**
+   * Creates a block index which stores its segments in the given directory. Existing segments in
+   * the directory are opened.
+   */
+  public LogBlockIndex(int capacity, File directory) {
     this.capacity = capacity;
+    this.bufferAllocator = null;
+    this.directory = directory;
 
-    reset();
+    openSegments();
+  }
+
+  private void openSegments() {
+    directory.mkdirs();
+
+    final File[] files = directory.listFiles(f -> f.getName().matches(SEGMENT_FILE_NAME_PATTERN));
+    final LogBlockIndexSegment[] openedSegments = new LogBlockIndexSegment[files.length];
+
+    int segmentCount = 0;
+    for (final File file : files) {
+      final int segmentId = Integer.parseInt(file.getName().replace(".index", ""));
+      final LogBlockIndexSegment segment = LogBlockIndexSegment.open(segmentId, file);
+
+      if (segment.size() > 0) {
+        openedSegments[segmentCount++] = segment;
+      } else {
+        // the segment was created but no block was added
+        segment.delete();
+      }
+    }
+
+    final LogBlockIndexSegment[] sortedSegments = Arrays.copyOf(openedSegments, segmentCount);
+    Arrays.sort(sortedSegments, Comparator.comparingInt(LogBlockIndexSegment::getSegmentId));
+
+    if (sortedSegments.length > 0) {
+      final LogBlockIndexSegment lastSegment = sortedSegments[sortedSegments.length - 1];
+      lastVirtualPosition = lastSegment.getLogPosition(lastSegment.size() - 1);
+    }
+
+    this.segments = sortedSegments;
   }
 
   /**
@@ -66,8 +129,14 @@ public class LogBlockIndex implements SnapshotSupport {
    *     virtual position
    */
   public long lookupBlockAddress(long position) {
-    final int offset = lookupOffset(position);
-    return offset >= 0 ? indexBuffer.getLong(entryAddressOffset(offset)) : offset;
+    final LogBlockIndexSegment segment = lookupSegment(segments, position);
+    if (segment == null) {
+      return -1;
+    }
+
+    final AtomicBuffer buffer = segment.getBuffer();
+    final int offset = lookupOffset(buffer, position);
+    return offset >= 0 ? buffer.getLong(entryAddressOffset(offset)) : offset;
   }
 
   /**
@@ -79,20 +148,57 @@ public class LogBlockIndex implements SnapshotSupport {
    *     position
    */
   public long lookupBlockPosition(long position) {
-    final int offset = lookupOffset(position);
-    return offset >= 0 ? indexBuffer.getLong(entryLogPositionOffset(offset)) : offset;
+    final LogBlockIndexSegment segment = lookupSegment(segments, position);
+    if (segment == null) {
+      return -1;
+    }
+
+    final AtomicBuffer buffer = segment.getBuffer();
+    final int offset = lookupOffset(buffer, position);
+    return offset >= 0 ? buffer.getLong(entryLogPositionOffset(offset)) : offset;
+  }
+
+  /**
+   * Returns the last segment which contains a block with a position lower or equal to the provided
+   * position, using the position of the first block of each segment.
+   *
+   * @param segments the segments of the index
+   * @param position a virtual log position
+   * @return the segment which may contain the block, or null if no segment contains it
+   */
+  private static LogBlockIndexSegment lookupSegment(
+      LogBlockIndexSegment[] segments, long position) {
+    int low = 0;
+    int high = segments.length - 1;
+
+    LogBlockIndexSegment segment = null;
+
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final LogBlockIndexSegment midSegment = segments[mid];
+
+      if (midSegment.size() > 0 && midSegment.getLogPosition(0) <= position) {
+        segment = midSegment;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+
+    return segment;
   }
 
   /**
    * Returns the offset of the block in which the log entry identified by the provided position
    * resides.
    *
+   * @param indexBuffer the buffer of the index segment
    * @param position a virtual log position
    * @return the offset of the block containing the log entry identified by the provided virtual
    *     position
    */
-  protected int lookupOffset(long position) {
-    final int idx = lookupIndex(position);
+  private static int lookupOffset(AtomicBuffer indexBuffer, long position) {
+    final int idx = lookupIndex(indexBuffer, position);
     return idx >= 0 ? entryOffset(idx) : idx;
   }
 
@@ -100,14 +206,15 @@ public class LogBlockIndex implements SnapshotSupport {
    * Returns the index of the block in which the log entry identified by the provided position
    * resides.
    *
+   * @param indexBuffer the buffer of the index segment
    * @param position a virtual log position
    * @return the index of the block containing the log entry identified by the provided virtual
    *     position
    */
-  protected int lookupIndex(long position) {
-    final int lastEntryIdx = size() - 1;
+  private static int lookupIndex(AtomicBuffer indexBuffer, long position) {
+    final int lastEntryIdx = lastEntryIdx(indexBuffer);
 
-    int low = 0;
+    int low = firstEntryIdx(indexBuffer);
     int high = lastEntryIdx;
 
     int idx = -1;
@@ -157,18 +264,7 @@ public class LogBlockIndex implements SnapshotSupport {
    * @param storageAddr the physical address of the block in the underlying storage
    * @return the new size of the index.
    */
-  public int addBlock(long logPosition, long storageAddr) {
-    final int currentIndexSize =
-        indexBuffer.getInt(indexSizeOffset()); // volatile get not necessary
-    final int entryOffset = entryOffset(currentIndexSize);
-    final int newIndexSize = 1 + currentIndexSize;
-
-    if (newIndexSize > capacity) {
-      throw new RuntimeException(
-          String.format(
-              "LogBlockIndex capacity of %d entries reached. Cannot add new block.", capacity));
-    }
-
+  public synchronized int addBlock(long logPosition, long storageAddr) {
     if (lastVirtualPosition >= logPosition) {
       final String errorMessage =
           String.format(
@@ -177,72 +273,232 @@ public class LogBlockIndex implements SnapshotSupport {
       throw new IllegalArgumentException(errorMessage);
     }
 
+    final LogBlockIndexSegment[] segments = this.segments;
+    final int segmentId = partitionId(storageAddr);
+
+    final LogBlockIndexSegment lastSegment =
+        segments.length > 0 ? segments[segments.length - 1] : null;
+
+    if (lastSegment != null && lastSegment.getSegmentId() == segmentId) {
+      lastSegment.append(logPosition, storageAddr);
+    } else {
+      if (lastSegment != null && lastSegment.getSegmentId() > segmentId) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Illegal value for address. Segment=%d, last segment in index=%d. Must provide addresses in ascending order.",
+                segmentId, lastSegment.getSegmentId()));
+      }
+
+      final LogBlockIndexSegment newSegment = createSegment(segmentId);
+      // add the block before the segment is visible, so that segments are never empty
+      newSegment.append(logPosition, storageAddr);
+
+      final LogBlockIndexSegment[] newSegments = Arrays.copyOf(segments, segments.length + 1);
+      newSegments[segments.length] = newSegment;
+      this.segments = newSegments;
+    }
+
     lastVirtualPosition = logPosition;
 
-    // write next entry
-    indexBuffer.putLong(entryLogPositionOffset(entryOffset), logPosition);
-    indexBuffer.putLong(entryAddressOffset(entryOffset), storageAddr);
+    return size();
+  }
+
+  private LogBlockIndexSegment createSegment(int segmentId) {
+    if (directory != null) {
+      final File file = new File(directory, String.format(SEGMENT_FILE_NAME_TEMPLATE, segmentId));
+      return LogBlockIndexSegment.create(segmentId, capacity, file);
+    } else {
+      return LogBlockIndexSegment.allocate(segmentId, capacity, bufferAllocator);
+    }
+  }
+
+  /**
+   * Deletes the blocks from the index which reside before the given address in storage, e.g. after
+   * they were deleted from the storage. Index segments which contain only deleted blocks are
+   * dropped.
+   *
+   * @param storageAddr the physical address of the first block which is not deleted
+   * @return the number of deleted blocks
+   */
+  public synchronized int deleteUpToAddress(long storageAddr) {
+    final LogBlockIndexSegment[] segments = this.segments;
+
+    int deletedBlocks = 0;
+    int deletedSegments = 0;
+
+    for (final LogBlockIndexSegment segment : segments) {
+      final int segmentSize = segment.size();
+      if (segment.getAddress(segmentSize - 1) < storageAddr) {
+        deletedBlocks += segmentSize;
+        deletedSegments += 1;
+      } else {
+        deletedBlocks += segment.deleteUpToAddress(storageAddr);
+        break;
+      }
+    }
 
-    // increment size
-    indexBuffer.putIntOrdered(indexSizeOffset(), newIndexSize);
+    if (deletedSegments > 0) {
+      this.segments = Arrays.copyOfRange(segments, deletedSegments, segments.length);
 
-    return newIndexSize;
+      for (int i = 0; i < deletedSegments; i++) {
+        segments[i].delete();
+      }
+    }
+
+    return deletedBlocks;
+  }
+
+  /**
+   * Removes the blocks from the index which reside at or after the given address in storage, e.g.
+   * if the index contains blocks which were not written to the storage completely. Must not be
+   * invoked concurrently to lookups.
+   *
+   * @param storageAddr the physical address of the first block which is removed
+   * @return the number of removed blocks
+   */
+  public synchronized int truncateFromAddress(long storageAddr) {
+    final LogBlockIndexSegment[] segments = this.segments;
+
+    int removedBlocks = 0;
+    int remainingSegments = segments.length;
+
+    while (remainingSegments > 0) {
+      final LogBlockIndexSegment segment = segments[remainingSegments - 1];
+      final int segmentSize = segment.size();
+      final int removedSegmentBlocks = segment.truncateFromAddress(storageAddr);
+
+      removedBlocks += removedSegmentBlocks;
+
+      if (removedSegmentBlocks == segmentSize) {
+        remainingSegments -= 1;
+        segment.delete();
+      } else {
+        break;
+      }
+    }
+
+    if (remainingSegments < segments.length) {
+      this.segments = Arrays.copyOf(segments, remainingSegments);
+    }
+
+    if (remainingSegments > 0) {
+      final LogBlockIndexSegment lastSegment = segments[remainingSegments - 1];
+      lastVirtualPosition = lastSegment.getLogPosition(lastSegment.size() - 1);
+    } else {
+      lastVirtualPosition = -1;
+    }
+
+    return removedBlocks;
   }
 
   /** @return the current size of the index */
   public int size() {
-    return indexBuffer.getIntVolatile(indexSizeOffset());
+    int size = 0;
+    for (final LogBlockIndexSegment segment : segments) {
+      size += segment.size();
+    }
+    return size;
   }
 
-  /** @return the capacity of the index */
+  /** @return the initial capacity of an index segment, the segments grow beyond it */
   public int capacity() {
     return capacity;
   }
 
+  /** @return true, if the index is stored in files and is available after a restart */
+  public boolean isPersistent() {
+    return directory != null;
+  }
+
   public long getLogPosition(int idx) {
-    boundsCheck(idx, size());
+    final LogBlockIndexSegment[] segments = this.segments;
+    int segmentIdx = idx;
 
-    final int entryOffset = entryOffset(idx);
+    for (final LogBlockIndexSegment segment : segments) {
+      final int segmentSize = segment.size();
+      if (segmentIdx >= 0 && segmentIdx < segmentSize) {
+        return segment.getLogPosition(segmentIdx);
+      }
+      segmentIdx -= segmentSize;
+    }
 
-    return indexBuffer.getLong(entryLogPositionOffset(entryOffset));
+    throw indexOutOfBounds(idx);
   }
 
   public long getAddress(int idx) {
-    boundsCheck(idx, size());
+    final LogBlockIndexSegment[] segments = this.segments;
+    int segmentIdx = idx;
 
-    final int entryOffset = entryOffset(idx);
+    for (final LogBlockIndexSegment segment : segments) {
+      final int segmentSize = segment.size();
+      if (segmentIdx >= 0 && segmentIdx < segmentSize) {
+        return segment.getAddress(segmentIdx);
+      }
+      segmentIdx -= segmentSize;
+    }
 
-    return indexBuffer.getLong(entryAddressOffset(entryOffset));
+    throw indexOutOfBounds(idx);
   }
 
-  private static void boundsCheck(int idx, int size) {
-    if (idx < 0 || idx >= size) {
-      throw new IllegalArgumentException(
-          String.format("Index out of bounds. index=%d, size=%d.", idx, size));
+  private IllegalArgumentException indexOutOfBounds(int idx) {
+    return new IllegalArgumentException(
+        String.format("Index out of bounds. index=%d, size=%d.", idx, size()));
+  }
+
+  /** Writes the index segments which are stored in files to disk. */
+  public void flush() {
+    for (final LogBlockIndexSegment segment : segments) {
+      segment.flush();
     }
   }
 
   @Override
   public long writeSnapshot(OutputStream outputStream) throws Exception {
-    StreamUtil.write(indexBuffer, outputStream);
-    return indexBuffer.capacity();
+    final LogBlockIndexSegment[] segments = this.segments;
+    final DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+
+    int size = 0;
+    for (final LogBlockIndexSegment segment : segments) {
+      size += segment.size();
+    }
+    dataOutputStream.writeInt(size);
+
+    for (final LogBlockIndexSegment segment : segments) {
+      final int segmentSize = segment.size();
+      for (int i = 0; i < segmentSize; i++) {
+        dataOutputStream.writeLong(segment.getLogPosition(i));
+        dataOutputStream.writeLong(segment.getAddress(i));
+      }
+    }
+
+    dataOutputStream.flush();
+    return dataOutputStream.size();
   }
 
   @Override
-  public void recoverFromSnapshot(InputStream inputStream) throws Exception {
-    final byte[] byteArray = StreamUtil.read(inputStream);
+  public synchronized void recoverFromSnapshot(InputStream inputStream) throws Exception {
+    reset();
+
+    final DataInputStream dataInputStream = new DataInputStream(inputStream);
+    final int size = dataInputStream.readInt();
 
-    indexBuffer.putBytes(0, byteArray);
+    for (int i = 0; i < size; i++) {
+      final long logPosition = dataInputStream.readLong();
+      final long storageAddr = dataInputStream.readLong();
+
+      addBlock(logPosition, storageAddr);
+    }
   }
 
   @Override
-  public void reset() {
-    // verify alignment to ensure atomicity of updates to the index metadata
-    indexBuffer.verifyAlignment();
+  public synchronized void reset() {
+    final LogBlockIndexSegment[] segments = this.segments;
+    this.segments = NO_SEGMENTS;
 
-    // set initial size
-    indexBuffer.putIntVolatile(indexSizeOffset(), 0);
+    for (final LogBlockIndexSegment segment : segments) {
+      segment.delete();
+    }
 
-    indexBuffer.setMemory(dataOffset(), capacity * entryLength(), (byte) 0);
+    lastVirtualPosition = -1;
   }
 }
@@ -69,6 +69,14 @@ public class LogBlockIndexDescriptor {
     return INDEX_SIZE_OFFSET;
   }
 
+  public static int firstEntryIdxOffset() {
+    return METADATA_OFFSET;
+  }
+
+  public static int requiredCapacity(int entries) {
+    return dataOffset() + (entries * entryLength());
+  }
+
   public static int entryOffset(int entryIdx) {
     return dataOffset() + (entryIdx * entryLength());
   }
@@ -0,0 +1,259 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.impl.log.index;
+
+import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.entryAddressOffset;
+import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.entryLength;
+import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.entryLogPositionOffset;
+import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.entryOffset;
+import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.firstEntryIdxOffset;
+import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.indexSizeOffset;
+import static io.zeebe.logstreams.impl.log.index.LogBlockIndexDescriptor.requiredCapacity;
+
+import io.zeebe.util.FileUtil;
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+import org.agrona.LangUtil;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * The part of the block index which contains the blocks of one segment of the log storage. The
+ * entries are appended to a buffer which grows when it is full. If the segment is backed by a file
+ * then the buffer is a memory mapping of the file, so the entries are persisted without writing
+ * them explicitly.
+ *
+ * <p>Deleted entries are not removed from the buffer. Instead, the index of the first entry is
+ * moved, so that concurrent lookups are not affected.
+ */
+final class LogBlockIndexSegment {
+  private final int segmentId;
+
+  /** the file which backs the buffer, or null if the segment is kept in memory only */
+  private final File file;
+
+  private final Function<Integer, AtomicBuffer> bufferAllocator;
+
+  /** replaced when the segment grows - a lookup must read the field only once */
+  private volatile AtomicBuffer buffer;
+
+  private LogBlockIndexSegment(
+      int segmentId,
+      File file,
+      Function<Integer, AtomicBuffer> bufferAllocator,
+      AtomicBuffer buffer) {
+    this.segmentId = segmentId;
+    this.file = file;
+    this.bufferAllocator = bufferAllocator;
+    this.buffer = buffer;
+
+    // verify alignment to ensure atomicity of updates to the index metadata
+    buffer.verifyAlignment();
+  }
+
+  static LogBlockIndexSegment allocate(
+      int segmentId, int capacity, Function<Integer, AtomicBuffer> bufferAllocator) {
+    final AtomicBuffer buffer = bufferAllocator.apply(requiredCapacity(capacity));
+    buffer.setMemory(0, buffer.capacity(), (byte) 0);
+
+    return new LogBlockIndexSegment(segmentId, null, bufferAllocator, buffer);
+  }
+
+  static LogBlockIndexSegment create(int segmentId, int capacity, File file) {
+    // a mapped file is filled with zeros when it is extended
+    final AtomicBuffer buffer = mapFile(file, requiredCapacity(capacity));
+
+    return new LogBlockIndexSegment(segmentId, file, null, buffer);
+  }
+
+  static LogBlockIndexSegment open(int segmentId, File file) {
+    final AtomicBuffer buffer = mapFile(file, (int) file.length());
+
+    final LogBlockIndexSegment segment = new LogBlockIndexSegment(segmentId, file, null, buffer);
+    if (!segment.isConsistent()) {
+      throw new IllegalStateException(
+          String.format("Block index file '%s' is corrupted.", file.getAbsolutePath()));
+    }
+
+    return segment;
+  }
+
+  private static AtomicBuffer mapFile(File file, int capacity) {
+    MappedByteBuffer mappedBuffer = null;
+
+    try (FileChannel channel =
+        FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      mappedBuffer = channel.map(MapMode.READ_WRITE, 0, capacity);
+    } catch (Exception e) {
+      LangUtil.rethrowUnchecked(e);
+    }
+
+    return new UnsafeBuffer(mappedBuffer);
+  }
+
+  private boolean isConsistent() {
+    final int capacity = buffer.capacity();
+    if (capacity < requiredCapacity(0)) {
+      return false;
+    }
+
+    final int firstEntryIdx = buffer.getInt(firstEntryIdxOffset());
+    final int indexSize = buffer.getInt(indexSizeOffset());
+
+    return 0 <= firstEntryIdx
+        && firstEntryIdx <= indexSize
+        && requiredCapacity(indexSize) <= capacity;
+  }
+
+  int getSegmentId() {
+    return segmentId;
+  }
+
+  /** @return the current buffer - the entries between the first and last index are immutable */
+  AtomicBuffer getBuffer() {
+    return buffer;
+  }
+
+  int size() {
+    final AtomicBuffer buffer = this.buffer;
+    return lastEntryIdx(buffer) - firstEntryIdx(buffer) + 1;
+  }
+
+  int capacity() {
+    return (buffer.capacity() - requiredCapacity(0)) / entryLength();
+  }
+
+  long getLogPosition(int idx) {
+    final AtomicBuffer buffer = this.buffer;
+    return buffer.getLong(entryLogPositionOffset(entryOffset(firstEntryIdx(buffer) + idx)));
+  }
+
+  long getAddress(int idx) {
+    final AtomicBuffer buffer = this.buffer;
+    return buffer.getLong(entryAddressOffset(entryOffset(firstEntryIdx(buffer) + idx)));
+  }
+
+  static int firstEntryIdx(AtomicBuffer buffer) {
+    return buffer.getIntVolatile(firstEntryIdxOffset());
+  }
+
+  static int lastEntryIdx(AtomicBuffer buffer) {
+    return buffer.getIntVolatile(indexSizeOffset()) - 1;
+  }
+
+  /** Invoked by the appending thread only. */
+  void append(long logPosition, long storageAddr) {
+    final int currentIndexSize = buffer.getInt(indexSizeOffset()); // volatile get not necessary
+    final int newIndexSize = 1 + currentIndexSize;
+
+    if (requiredCapacity(newIndexSize) > buffer.capacity()) {
+      grow(2 * requiredCapacity(currentIndexSize));
+    }
+
+    final AtomicBuffer buffer = this.buffer;
+    final int entryOffset = entryOffset(currentIndexSize);
+
+    // write next entry
+    buffer.putLong(entryLogPositionOffset(entryOffset), logPosition);
+    buffer.putLong(entryAddressOffset(entryOffset), storageAddr);
+
+    // increment size
+    buffer.putIntOrdered(indexSizeOffset(), newIndexSize);
+  }
+
+  private void grow(int newCapacity) {
+    final AtomicBuffer currentBuffer = this.buffer;
+
+    final AtomicBuffer newBuffer;
+    if (file != null) {
+      // the new mapping shares the entries with the current mapping
+      newBuffer = mapFile(file, newCapacity);
+    } else {
+      newBuffer = bufferAllocator.apply(newCapacity);
+      newBuffer.setMemory(0, newBuffer.capacity(), (byte) 0);
+      newBuffer.putBytes(0, currentBuffer, 0, currentBuffer.capacity());
+    }
+
+    newBuffer.verifyAlignment();
+    this.buffer = newBuffer;
+  }
+
+  /**
+   * Deletes the entries which reside before the given address in storage.
+   *
+   * @return the number of deleted entries
+   */
+  int deleteUpToAddress(long storageAddr) {
+    final AtomicBuffer buffer = this.buffer;
+    final int firstEntryIdx = firstEntryIdx(buffer);
+    final int lastEntryIdx = lastEntryIdx(buffer);
+
+    int newFirstEntryIdx = firstEntryIdx;
+    while (newFirstEntryIdx <= lastEntryIdx
+        && buffer.getLong(entryAddressOffset(entryOffset(newFirstEntryIdx))) < storageAddr) {
+      newFirstEntryIdx += 1;
+    }
+
+    buffer.putIntOrdered(firstEntryIdxOffset(), newFirstEntryIdx);
+
+    return newFirstEntryIdx - firstEntryIdx;
+  }
+
+  /**
+   * Removes the entries which reside at or after the given address in storage. Must not be invoked
+   * concurrently to lookups.
+   *
+   * @return the number of removed entries
+   */
+  int truncateFromAddress(long storageAddr) {
+    final AtomicBuffer buffer = this.buffer;
+    final int firstEntryIdx = firstEntryIdx(buffer);
+    final int indexSize = buffer.getInt(indexSizeOffset());
+
+    int newIndexSize = indexSize;
+    while (newIndexSize > firstEntryIdx
+        && buffer.getLong(entryAddressOffset(entryOffset(newIndexSize - 1))) >= storageAddr) {
+      newIndexSize -= 1;
+    }
+
+    buffer.putIntOrdered(indexSizeOffset(), newIndexSize);
+
+    return indexSize - newIndexSize;
+  }
+
+  /** Writes the entries of a file backed segment to disk. */
+  void flush() {
+    final AtomicBuffer buffer = this.buffer;
+    if (file != null) {
+      ((MappedByteBuffer) buffer.byteBuffer()).force();
+    }
+  }
+
+  /** Deletes the file of the segment, if any. The buffer can still be read afterwards. */
+  void delete() {
+    if (file != null) {
+      FileUtil.deleteFile(file);
+    }
+  }
+}
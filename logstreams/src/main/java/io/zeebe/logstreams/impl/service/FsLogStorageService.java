@@ -15,6 +15,7 @@
  */
 package io.zeebe.logstreams.impl.service;
 
+import io.zeebe.logstreams.impl.log.fs.FsLogSegmentAllocator;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
 import io.zeebe.logstreams.spi.LogStorage;
@@ -22,6 +23,7 @@ import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.SchedulingHints;
 import java.util.function.Function;
 
 public class FsLogStorageService implements Service<LogStorage> {
@@ -30,6 +32,7 @@ public class FsLogStorageService implements Service<LogStorage> {
   private final Function<FsLogStorage, FsLogStorage> logStorageStubber; // for testing only
 
   private FsLogStorage logStorage;
+  private FsLogSegmentAllocator segmentAllocator;
 
   public FsLogStorageService(
       final FsLogStorageConfiguration config,
@@ -43,16 +46,30 @@ public class FsLogStorageService implements Service<LogStorage> {
   @Override
   public void start(final ServiceStartContext startContext) {
     final ActorScheduler scheduler = startContext.getScheduler();
+
+    if (config.getPreallocatedSegmentCount() > 0) {
+      // the segments are allocated on request of the log storage, after it is opened
+      segmentAllocator = new FsLogSegmentAllocator(config, startContext.getName() + "-allocator");
+      scheduler.submitActor(segmentAllocator, true, SchedulingHints.ioBound());
+    }
+
     logStorage =
         logStorageStubber.apply(
-            new FsLogStorage(config, scheduler.getMetricsManager(), partitionId));
+            new FsLogStorage(config, scheduler.getMetricsManager(), partitionId, segmentAllocator));
 
     startContext.run(logStorage::open);
   }
 
   @Override
   public void stop(final ServiceStopContext stopContext) {
-    stopContext.run(logStorage::close);
+    stopContext.run(
+        () -> {
+          logStorage.close();
+
+          if (segmentAllocator != null) {
+            segmentAllocator.close().join();
+          }
+        });
   }
 
   @Override
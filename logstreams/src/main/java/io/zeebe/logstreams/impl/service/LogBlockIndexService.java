@@ -15,24 +15,47 @@
  */
 package io.zeebe.logstreams.impl.service;
 
+import io.zeebe.logstreams.impl.LogStreamBuilder;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
+import java.io.File;
 import java.nio.ByteBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public class LogBlockIndexService implements Service<LogBlockIndex> {
+  private static final int INDEX_SEGMENT_CAPACITY = 1024;
+
+  private final LogStreamBuilder logStreamBuilder;
+
   private LogBlockIndex logBlockIndex;
 
+  public LogBlockIndexService(LogStreamBuilder logStreamBuilder) {
+    this.logStreamBuilder = logStreamBuilder;
+  }
+
   @Override
   public void start(ServiceStartContext startContext) {
-    logBlockIndex = new LogBlockIndex(100000, (c) -> new UnsafeBuffer(ByteBuffer.allocate(c)));
+    if (logStreamBuilder.isPersistentBlockIndex()) {
+      // the index segments are stored next to the segments of the log
+      startContext.run(
+          () ->
+              logBlockIndex =
+                  new LogBlockIndex(
+                      INDEX_SEGMENT_CAPACITY, new File(logStreamBuilder.getLogDirectory())));
+    } else {
+      logBlockIndex =
+          new LogBlockIndex(
+              INDEX_SEGMENT_CAPACITY, (c) -> new UnsafeBuffer(ByteBuffer.allocate(c)));
+    }
   }
 
   @Override
   public void stop(ServiceStopContext stopContext) {
-    logBlockIndex = null;
+    if (logBlockIndex.isPersistent()) {
+      stopContext.run(logBlockIndex::flush);
+    }
   }
 
   @Override
@@ -17,6 +17,7 @@ package io.zeebe.logstreams.impl.service;
 
 import io.zeebe.dispatcher.Subscription;
 import io.zeebe.logstreams.impl.LogStorageAppender;
+import io.zeebe.logstreams.log.LogSyncMode;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
@@ -24,20 +25,31 @@ import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.util.sched.SchedulingHints;
 import io.zeebe.util.sched.channel.ActorConditions;
+import java.time.Duration;
 
 public class LogStorageAppenderService implements Service<LogStorageAppender> {
   private final Injector<LogStorage> logStorageInjector = new Injector<>();
   private final Injector<Subscription> appenderSubscriptionInjector = new Injector<>();
 
   private final int maxAppendBlockSize;
+  private final LogSyncMode syncMode;
+  private final Duration groupCommitInterval;
+  private final int groupCommitSize;
 
   private LogStorageAppender service;
   private ActorConditions onLogStorageAppendedConditions;
 
   public LogStorageAppenderService(
-      ActorConditions onLogStorageAppendedConditions, int maxAppendBlockSize) {
+      ActorConditions onLogStorageAppendedConditions,
+      int maxAppendBlockSize,
+      LogSyncMode syncMode,
+      Duration groupCommitInterval,
+      int groupCommitSize) {
     this.onLogStorageAppendedConditions = onLogStorageAppendedConditions;
     this.maxAppendBlockSize = maxAppendBlockSize;
+    this.syncMode = syncMode;
+    this.groupCommitInterval = groupCommitInterval;
+    this.groupCommitSize = groupCommitSize;
   }
 
   @Override
@@ -51,7 +63,10 @@ public class LogStorageAppenderService implements Service<LogStorageAppender> {
             logStorage,
             subscription,
             maxAppendBlockSize,
-            onLogStorageAppendedConditions);
+            onLogStorageAppendedConditions,
+            syncMode,
+            groupCommitInterval,
+            groupCommitSize);
 
     startContext.async(
         startContext.getScheduler().submitActor(service, true, SchedulingHints.ioBound()));
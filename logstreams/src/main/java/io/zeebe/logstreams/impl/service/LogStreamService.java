@@ -32,6 +32,7 @@ import io.zeebe.logstreams.impl.LogStorageAppender;
 import io.zeebe.logstreams.impl.LogStreamBuilder;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogSyncMode;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.servicecontainer.CompositeServiceBuilder;
 import io.zeebe.servicecontainer.Injector;
@@ -44,6 +45,7 @@ import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.channel.ActorConditions;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
 import org.agrona.concurrent.status.Position;
 
 public class LogStreamService implements LogStream, Service<LogStream> {
@@ -63,6 +65,9 @@ public class LogStreamService implements LogStream, Service<LogStream> {
 
   private final ByteValue writeBufferSize;
   private final int maxAppendBlockSize;
+  private final LogSyncMode syncMode;
+  private final Duration groupCommitInterval;
+  private final int groupCommitSize;
 
   private final Position commitPosition;
   private volatile int term = 0;
@@ -86,6 +91,9 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     this.commitPosition = builder.getCommitPosition();
     this.writeBufferSize = ByteValue.ofBytes(builder.getWriteBufferSize());
     this.maxAppendBlockSize = builder.getMaxAppendBlockSize();
+    this.syncMode = builder.getSyncMode();
+    this.groupCommitInterval = builder.getGroupCommitInterval();
+    this.groupCommitSize = builder.getGroupCommitSize();
   }
 
   @Override
@@ -133,7 +141,12 @@ public class LogStreamService implements LogStream, Service<LogStream> {
         .install();
 
     final LogStorageAppenderService appenderService =
-        new LogStorageAppenderService(onLogStorageAppendedConditions, maxAppendBlockSize);
+        new LogStorageAppenderService(
+            onLogStorageAppendedConditions,
+            maxAppendBlockSize,
+            syncMode,
+            groupCommitInterval,
+            groupCommitSize);
     appenderFuture =
         installOperation
             .createService(logStorageAppenderServiceName, appenderService)
@@ -218,6 +231,21 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     return appender;
   }
 
+  @Override
+  public LogSyncMode getSyncMode() {
+    return syncMode;
+  }
+
+  @Override
+  public Duration getGroupCommitInterval() {
+    return groupCommitInterval;
+  }
+
+  @Override
+  public int getGroupCommitSize() {
+    return groupCommitSize;
+  }
+
   @Override
   public long getCommitPosition() {
     return commitPosition.get();
@@ -238,6 +266,25 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     }
   }
 
+  @Override
+  public long delete(final long position) {
+    if (position > getCommitPosition()) {
+      throw new IllegalArgumentException("Can't delete position which is not committed");
+    }
+
+    long deletedBytes = 0;
+
+    // the block which contains the position is not deleted
+    final long blockAddress = logBlockIndex.lookupBlockAddress(position);
+    if (blockAddress != INVALID_ADDRESS) {
+      deletedBytes = logStorage.delete(blockAddress);
+
+      logBlockIndex.deleteUpToAddress(logStorage.getFirstBlockAddress());
+    }
+
+    return deletedBytes;
+  }
+
   @Override
   public void setCommitPosition(final long commitPosition) {
     this.commitPosition.setOrdered(commitPosition);
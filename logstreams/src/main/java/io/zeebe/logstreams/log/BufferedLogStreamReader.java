@@ -20,6 +20,7 @@ import io.zeebe.logstreams.impl.LogEntryDescriptor;
 import io.zeebe.logstreams.impl.LoggedEventImpl;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.logstreams.spi.MappedBlocks;
 import io.zeebe.logstreams.spi.ReadResultProcessor;
 import io.zeebe.util.allocation.AllocatedBuffer;
 import io.zeebe.util.allocation.BufferAllocator;
@@ -61,6 +62,14 @@ public class BufferedLogStreamReader implements LogStreamReader {
   private int bufferOffset;
   private DirectBuffer directBuffer = new UnsafeBuffer(0, 0);
 
+  // view on blocks of the log storage which are read without copying them into the buffer - the
+  // previous view is released later since the returned event may still reference it
+  private DirectBuffer mappedBlocks;
+  private int mappedBlocksOffset;
+  private MappedBlocks currentMapping = new MappedBlocks();
+  private MappedBlocks previousMapping = new MappedBlocks();
+  private MappedBlocks nextMapping = new MappedBlocks();
+
   public BufferedLogStreamReader() {
     this(false);
   }
@@ -172,6 +181,8 @@ public class BufferedLogStreamReader implements LogStreamReader {
       byteBuffer = null;
       directBuffer.wrap(0, 0);
       bufferOffset = 0;
+      mappedBlocks = null;
+      releaseMappings();
 
       logStream = null;
       logStorage = null;
@@ -205,7 +216,7 @@ public class BufferedLogStreamReader implements LogStreamReader {
     switch (state) {
       case EVENT_AVAILABLE:
         // wrap event for returning
-        wrapReturnedEvent(nextEvent.getFragmentOffset());
+        returnedEvent.wrap(nextEvent.getBuffer(), nextEvent.getFragmentOffset());
         // find next event in log
         readNextEvent();
         return returnedEvent;
@@ -242,8 +253,12 @@ public class BufferedLogStreamReader implements LogStreamReader {
 
       // update buffer and event offsets
       bufferOffset -= offsetToCopy;
-      wrapReturnedEvent(returnedEvent.getFragmentOffset() - offsetToCopy);
-      wrapNextEvent(nextEvent.getFragmentOffset() - offsetToCopy);
+      if (isInBuffer(returnedEvent)) {
+        wrapReturnedEvent(returnedEvent.getFragmentOffset() - offsetToCopy);
+      }
+      if (isInBuffer(nextEvent)) {
+        wrapNextEvent(nextEvent.getFragmentOffset() - offsetToCopy);
+      }
     } else {
       // update buffer offset and invalidate events
       invalidateBufferAndOffsets();
@@ -261,7 +276,7 @@ public class BufferedLogStreamReader implements LogStreamReader {
 
   private void compactBuffer() {
     // check if an event is wrapped and preserve it
-    if (isReturnedEventInitialized() || isNextEventInitialized()) {
+    if (isInBuffer(returnedEvent) || isInBuffer(nextEvent)) {
       final int offsetToCopy = minimalOffsetToPreserve();
 
       // set position to last returned offset
@@ -274,21 +289,50 @@ public class BufferedLogStreamReader implements LogStreamReader {
       bufferOffset -= offsetToCopy;
 
       // update event offsets
-      if (isNextEventInitialized()) {
+      if (isInBuffer(nextEvent)) {
         wrapNextEvent(nextEvent.getFragmentOffset() - offsetToCopy);
       }
 
-      if (isReturnedEventInitialized()) {
+      if (isInBuffer(returnedEvent)) {
         wrapReturnedEvent(returnedEvent.getFragmentOffset() - offsetToCopy);
       }
     } else {
-      // otherwise just clear the buffer
-      invalidateBufferAndOffsets();
+      // otherwise just clear the buffer - the events may still wrap mapped blocks
+      bufferOffset = 0;
       byteBuffer.clear();
     }
   }
 
   private boolean readBlockIntoBuffer(final long blockAddress) {
+    final long mappedResult = logStorage.readMapped(nextMapping, blockAddress);
+
+    if (mappedResult > 0) {
+      // read the blocks without copying them - the current view may still be referenced by the
+      // returned event, the view before is not referenced anymore
+      releaseIfUnreferenced(previousMapping);
+
+      final MappedBlocks releasedMapping =
+          previousMapping.isWrapped() ? new MappedBlocks() : previousMapping;
+      previousMapping = currentMapping;
+      currentMapping = nextMapping;
+      nextMapping = releasedMapping;
+
+      mappedBlocks = currentMapping.getBlocks();
+      mappedBlocksOffset = 0;
+
+      this.nextLogStorageReadAddress = mappedResult;
+      return true;
+    } else if (mappedResult == LogStorage.OP_RESULT_INVALID_ADDR) {
+      throw new IllegalStateException("Invalid address to read from " + blockAddress);
+    } else if (mappedBlocks != null) {
+      // continue with copying the blocks into the buffer
+      mappedBlocks = null;
+      compactBuffer();
+    }
+
+    releaseIfUnreferenced(previousMapping);
+    releaseIfUnreferenced(currentMapping);
+
     if (byteBuffer.remaining() < LogEntryDescriptor.HEADER_BLOCK_LENGTH) {
       compactBuffer();
     }
@@ -355,6 +399,11 @@ public class BufferedLogStreamReader implements LogStreamReader {
     // initially we assume there is not enough data
     state = IteratorState.NOT_ENOUGH_DATA;
 
+    if (mappedBlocks != null) {
+      readNextMappedEvent();
+      return;
+    }
+
     final int remaining = byteBuffer.position() - bufferOffset;
     if (remaining > 0) {
       wrapNextEvent(bufferOffset);
@@ -365,6 +414,16 @@ public class BufferedLogStreamReader implements LogStreamReader {
     }
   }
 
+  private void readNextMappedEvent() {
+    if (mappedBlocksOffset < mappedBlocks.capacity()) {
+      nextEvent.wrap(mappedBlocks, mappedBlocksOffset);
+      mappedBlocksOffset += nextEvent.getFragmentLength();
+      checkIfNextEventIsCommitted();
+    } else {
+      readNextAddress();
+    }
+  }
+
   private boolean isReturnedEventInitialized() {
     return returnedEvent.getFragmentOffset() >= 0;
   }
@@ -373,10 +432,15 @@ public class BufferedLogStreamReader implements LogStreamReader {
     return nextEvent.getFragmentOffset() >= 0;
   }
 
+  /** @return true, if the event is wrapped over the buffer and not over mapped blocks */
+  private boolean isInBuffer(final LoggedEventImpl event) {
+    return event.getFragmentOffset() >= 0 && event.getBuffer() == directBuffer;
+  }
+
   private int minimalOffsetToPreserve() {
-    if (isReturnedEventInitialized()) {
+    if (isInBuffer(returnedEvent)) {
       return returnedEvent.getFragmentOffset();
-    } else if (isNextEventInitialized()) {
+    } else if (isInBuffer(nextEvent)) {
       return nextEvent.getFragmentOffset();
     } else {
       return bufferOffset;
@@ -393,6 +457,23 @@ public class BufferedLogStreamReader implements LogStreamReader {
     if (!isClosed()) {
       byteBuffer.clear();
     }
+
+    mappedBlocks = null;
+    mappedBlocksOffset = 0;
+    releaseMappings();
+  }
+
+  private void releaseIfUnreferenced(final MappedBlocks mapping) {
+    final DirectBuffer blocks = mapping.getBlocks();
+
+    if (returnedEvent.getBuffer() != blocks && nextEvent.getBuffer() != blocks) {
+      mapping.release();
+    }
+  }
+
+  private void releaseMappings() {
+    currentMapping.release();
+    previousMapping.release();
   }
 
   private void wrapNextEvent(final int offset) {
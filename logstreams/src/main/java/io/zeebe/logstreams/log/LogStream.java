@@ -22,6 +22,7 @@ import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
 
 /**
  * Represents a stream of events from a log storage.
@@ -59,6 +60,21 @@ public interface LogStream extends AutoCloseable {
   /** Closes the log stream asynchronous. */
   ActorFuture<Void> closeAsync();
 
+  /** @return the mode which defines when the appended blocks are flushed to disk */
+  LogSyncMode getSyncMode();
+
+  /**
+   * @return the maximum time which an appended block waits until it is flushed in {@link
+   *     LogSyncMode#GROUP_COMMIT} mode
+   */
+  Duration getGroupCommitInterval();
+
+  /**
+   * @return the number of appended bytes which are flushed at once in {@link
+   *     LogSyncMode#GROUP_COMMIT} mode, without waiting for the group commit interval
+   */
+  int getGroupCommitSize();
+
   /** @return the current commit position, or a negative value if no entry is committed. */
   long getCommitPosition();
 
@@ -133,6 +149,18 @@ public interface LogStream extends AutoCloseable {
    */
   void truncate(long position);
 
+  /**
+   * Deletes the events of the log stream before the given position, e.g. if they are not needed
+   * anymore by any consumer. This method will delete the blocks of the log storage and the block
+   * index. Since the blocks are deleted in the granularity of the log storage, some events before
+   * the given position may not be deleted.
+   *
+   * @param position the position of the first event which must not be deleted
+   * @return the number of deleted bytes
+   * @throws IllegalArgumentException if the position is not committed
+   */
+  long delete(long position);
+
   void registerOnCommitPositionUpdatedCondition(ActorCondition condition);
 
   void removeOnCommitPositionUpdatedCondition(ActorCondition condition);
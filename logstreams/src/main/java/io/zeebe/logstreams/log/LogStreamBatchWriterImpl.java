@@ -75,6 +75,8 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
   private BufferWriter metadataWriter;
   private BufferWriter valueWriter;
 
+  public LogStreamBatchWriterImpl() {}
+
   public LogStreamBatchWriterImpl(final LogStream logStream) {
     wrap(logStream);
   }
@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+/** Defines when the appended blocks of the log are flushed to disk. */
+public enum LogSyncMode {
+  /**
+   * The log segments are flushed after a fixed amount of appended bytes. The blocks are considered
+   * as durable when they are appended.
+   */
+  PERIODIC,
+
+  /**
+   * The appender collects the appended blocks for a short time or up to a given size and flushes
+   * them together. The blocks are considered as durable when they are flushed.
+   */
+  GROUP_COMMIT,
+
+  /**
+   * The log is never flushed explicitly, it is up to the operating system when the blocks are
+   * written to disk. Should only be used for benchmarks or tests.
+   */
+  NONE
+}
@@ -27,6 +27,7 @@ import io.zeebe.logstreams.spi.SnapshotController;
 import io.zeebe.servicecontainer.ServiceBuilder;
 import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.servicecontainer.ServiceName;
+import io.zeebe.util.EnsureUtil;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
@@ -42,6 +43,7 @@ public class StreamProcessorBuilder {
   protected ActorScheduler actorScheduler;
 
   protected Duration snapshotPeriod;
+  protected int processingBatchSize = 1;
   protected SnapshotController snapshotController;
 
   protected LogStreamReader logStreamReader;
@@ -87,6 +89,15 @@ public class StreamProcessorBuilder {
     return this;
   }
 
+  /**
+   * @param processingBatchSize the maximum number of events which are processed in one actor job.
+   *     The state changes of these events are written in one batch.
+   */
+  public StreamProcessorBuilder processingBatchSize(int processingBatchSize) {
+    this.processingBatchSize = processingBatchSize;
+    return this;
+  }
+
   public StreamProcessorBuilder snapshotController(SnapshotController snapshotController) {
     this.snapshotController = snapshotController;
     return this;
@@ -141,6 +152,7 @@ public class StreamProcessorBuilder {
     Objects.requireNonNull(actorScheduler, "No task scheduler provided.");
     Objects.requireNonNull(serviceContainer, "No service container provided.");
     Objects.requireNonNull(snapshotController, "No snapshot controller provided.");
+    EnsureUtil.ensureGreaterThan("processing batch size", processingBatchSize, 0);
   }
 
   private StreamProcessorContext createContext() {
@@ -161,6 +173,7 @@ public class StreamProcessorBuilder {
     }
 
     ctx.setSnapshotPeriod(snapshotPeriod);
+    ctx.setProcessingBatchSize(processingBatchSize);
     ctx.setSnapshotController(snapshotController);
 
     logStreamReader = new BufferedLogStreamReader();
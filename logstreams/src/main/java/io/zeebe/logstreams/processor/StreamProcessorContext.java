@@ -35,6 +35,7 @@ public class StreamProcessorContext {
   protected LogStreamRecordWriter logStreamWriter;
 
   protected Duration snapshotPeriod;
+  protected int processingBatchSize;
   protected SnapshotController snapshotController;
 
   protected ActorScheduler actorScheduler;
@@ -101,6 +102,14 @@ public class StreamProcessorContext {
     this.snapshotPeriod = snapshotPeriod;
   }
 
+  public int getProcessingBatchSize() {
+    return processingBatchSize;
+  }
+
+  public void setProcessingBatchSize(int processingBatchSize) {
+    this.processingBatchSize = processingBatchSize;
+  }
+
   public SnapshotController getSnapshotController() {
     return snapshotController;
   }
@@ -16,6 +16,7 @@
 package io.zeebe.logstreams.processor;
 
 import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
@@ -58,6 +59,7 @@ public class StreamProcessorController extends Actor {
   private final LogStreamRecordWriter logStreamWriter;
 
   private final Duration snapshotPeriod;
+  private final int processingBatchSize;
 
   private final ActorScheduler actorScheduler;
   private final AtomicBoolean isOpened = new AtomicBoolean(false);
@@ -79,8 +81,11 @@ public class StreamProcessorController extends Actor {
   private ActorCondition onCommitPositionUpdatedCondition;
 
   private boolean suspended = false;
+  private boolean isSnapshotPending = false;
 
   private StreamProcessorMetrics metrics;
+  private ZeebeDb zeebeDb;
+  private ZeebeDbTransaction transaction;
 
   public StreamProcessorController(final StreamProcessorContext context) {
     this.streamProcessorContext = context;
@@ -97,6 +102,7 @@ public class StreamProcessorController extends Actor {
     this.logStreamReader = context.getLogStreamReader();
     this.logStreamWriter = context.getLogStreamWriter();
     this.snapshotPeriod = context.getSnapshotPeriod();
+    this.processingBatchSize = context.getProcessingBatchSize();
     this.eventFilter = context.getEventFilter();
     this.isReadOnlyProcessor = context.isReadOnlyProcessor();
   }
@@ -132,7 +138,7 @@ public class StreamProcessorController extends Actor {
       snapshotPosition = recoverFromSnapshot(logStream.getCommitPosition(), logStream.getTerm());
       lastSourceEventPosition = seekFromSnapshotPositionToLastSourceEvent();
 
-      final ZeebeDb zeebeDb = snapshotController.openDb();
+      zeebeDb = snapshotController.openDb();
       streamProcessor = streamProcessorFactory.createProcessor(zeebeDb);
       streamProcessor.onOpen(streamProcessorContext);
     } catch (final Exception e) {
@@ -214,6 +220,27 @@ public class StreamProcessorController extends Actor {
 
   private void reprocessNextEvent() {
     try {
+      // the state changes of all reprocessed events are written together
+      openTransaction();
+      reprocessNextEvents();
+      commitTransaction();
+    } catch (final RuntimeException e) {
+      onFailure();
+      throw e;
+    }
+
+    if (currentEvent.getPosition() == lastSourceEventPosition) {
+      onRecovered();
+    } else {
+      actor.submit(this::reprocessNextEvent);
+    }
+  }
+
+  private void reprocessNextEvents() {
+    int reprocessedEvents = 0;
+    boolean isRecovered = false;
+
+    while (!isRecovered && reprocessedEvents < processingBatchSize) {
       if (logStreamReader.hasNext()) {
         currentEvent = logStreamReader.next();
         if (currentEvent.getPosition() > lastSourceEventPosition) {
@@ -223,14 +250,14 @@ public class StreamProcessorController extends Actor {
         }
 
         reprocessEvent(currentEvent);
+
+        reprocessedEvents += 1;
+        isRecovered = currentEvent.getPosition() == lastSourceEventPosition;
       } else {
         throw new IllegalStateException(
             String.format(
                 ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT, getName(), lastSourceEventPosition));
       }
-    } catch (final RuntimeException e) {
-      onFailure();
-      throw e;
     }
   }
 
@@ -243,24 +270,11 @@ public class StreamProcessorController extends Actor {
           // don't execute side effects or write events
           eventProcessor.processEvent();
           eventProcessor.updateState();
-          onRecordReprocessed(currentEvent);
-        } else {
-          onRecordReprocessed(currentEvent);
         }
       } catch (final Exception e) {
         throw new RuntimeException(
             String.format(ERROR_MESSAGE_REPROCESSING_FAILED, getName(), currentEvent), e);
       }
-    } else {
-      onRecordReprocessed(currentEvent);
-    }
-  }
-
-  private void onRecordReprocessed(final LoggedEvent currentEvent) {
-    if (currentEvent.getPosition() == lastSourceEventPosition) {
-      onRecovered();
-    } else {
-      actor.submit(this::reprocessNextEvent);
     }
   }
 
@@ -280,15 +294,45 @@ public class StreamProcessorController extends Actor {
   }
 
   private void readNextEvent() {
-    if (isOpened() && !isSuspended() && logStreamReader.hasNext() && eventProcessor == null) {
+    if (canProcessNextEvent()) {
+      try {
+        // the state changes of all events of the batch are written together, the transaction is
+        // never kept open after the actor job so that other jobs don't read uncommitted changes
+        openTransaction();
+        processNextEvents();
+        commitTransaction();
+      } catch (final Exception e) {
+        LOG.error(ERROR_MESSAGE_PROCESSING_FAILED, getName(), e);
+        onFailure();
+        return;
+      }
+
+      if (eventProcessor == null) {
+        // continue with the next batch
+        actor.submit(readNextEvent);
+      }
+    }
+  }
+
+  private boolean canProcessNextEvent() {
+    return isOpened() && !isSuspended() && logStreamReader.hasNext() && eventProcessor == null;
+  }
+
+  /**
+   * Processes up to {@link #processingBatchSize} events without leaving the current actor job. If
+   * the side effects of an event can't be executed or its follow-up events can't be written then
+   * the batch ends and the remaining steps of the event are retried until done.
+   */
+  private void processNextEvents() {
+    int readEvents = 0;
+
+    while (readEvents < processingBatchSize && canProcessNextEvent()) {
       currentEvent = logStreamReader.next();
+      readEvents += 1;
 
       if (eventFilter == null || eventFilter.applies(currentEvent)) {
         processEvent(currentEvent);
       } else {
-        // continue with the next event
-        actor.submit(readNextEvent);
-
         metrics.incrementEventsSkippedCount();
       }
     }
@@ -298,19 +342,18 @@ public class StreamProcessorController extends Actor {
     eventProcessor = streamProcessor.onEvent(event);
 
     if (eventProcessor != null) {
-      try {
-        metrics.incrementEventsProcessedCount();
+      metrics.incrementEventsProcessedCount();
+
+      eventProcessor.processEvent();
 
-        eventProcessor.processEvent();
+      if (!eventProcessor.executeSideEffects()) {
         actor.runUntilDone(this::executeSideEffects);
-      } catch (final Exception e) {
-        LOG.error(ERROR_MESSAGE_PROCESSING_FAILED, getName(), e);
-        onFailure();
+      } else if (!tryWriteEvent()) {
+        actor.runUntilDone(this::writeEvent);
+      } else {
+        onEventProcessed();
       }
     } else {
-      // continue with the next event
-      actor.submit(readNextEvent);
-
       metrics.incrementEventsSkippedCount();
     }
   }
@@ -338,17 +381,9 @@ public class StreamProcessorController extends Actor {
 
   private void writeEvent() {
     try {
-      logStreamWriter
-          .producerId(streamProcessorContext.getId())
-          .sourceRecordPosition(currentEvent.getPosition());
-
-      eventPosition = eventProcessor.writeEvent(logStreamWriter);
-
-      if (eventPosition >= 0) {
+      if (tryWriteEvent()) {
         actor.done();
 
-        metrics.incrementEventsWrittenCount();
-
         updateState();
       } else if (isOpened()) {
         // try again
@@ -364,19 +399,32 @@ public class StreamProcessorController extends Actor {
     }
   }
 
+  private boolean tryWriteEvent() {
+    logStreamWriter
+        .producerId(streamProcessorContext.getId())
+        .sourceRecordPosition(currentEvent.getPosition());
+
+    eventPosition = eventProcessor.writeEvent(logStreamWriter);
+
+    final boolean isWritten = eventPosition >= 0;
+    if (isWritten) {
+      metrics.incrementEventsWrittenCount();
+    }
+    return isWritten;
+  }
+
   private void updateState() {
     try {
-      eventProcessor.updateState();
-
-      lastSuccessfulProcessedEventPosition = currentEvent.getPosition();
+      openTransaction();
+      onEventProcessed();
+      commitTransaction();
 
-      final boolean hasWrittenEvent = eventPosition > 0;
-      if (hasWrittenEvent) {
-        lastWrittenEventPosition = eventPosition;
+      if (isSnapshotPending) {
+        isSnapshotPending = false;
+        createSnapshot();
       }
 
       // continue with next event
-      eventProcessor = null;
       actor.submit(readNextEvent);
     } catch (final Exception e) {
       LOG.error(ERROR_MESSAGE_PROCESSING_FAILED, getName(), e);
@@ -384,6 +432,19 @@ public class StreamProcessorController extends Actor {
     }
   }
 
+  private void onEventProcessed() {
+    eventProcessor.updateState();
+
+    lastSuccessfulProcessedEventPosition = currentEvent.getPosition();
+
+    final boolean hasWrittenEvent = eventPosition > 0;
+    if (hasWrittenEvent) {
+      lastWrittenEventPosition = eventPosition;
+    }
+
+    eventProcessor = null;
+  }
+
   private void createSnapshot() {
     if (actor.getLifecyclePhase() == ActorLifecyclePhase.STARTED) {
       // run as io-bound actor while writing snapshot
@@ -395,7 +456,11 @@ public class StreamProcessorController extends Actor {
   }
 
   private void doCreateSnapshot() {
-    if (currentEvent != null) {
+    if (eventProcessor != null) {
+      // the snapshot must not contain the state changes of an event which is not processed
+      // completely, it is taken after the event is processed
+      isSnapshotPending = true;
+    } else if (currentEvent != null) {
       final long lastWrittenPosition =
           lastWrittenEventPosition > lastSuccessfulProcessedEventPosition
               ? lastWrittenEventPosition
@@ -474,7 +539,30 @@ public class StreamProcessorController extends Actor {
     onCommitPositionUpdatedCondition = null;
   }
 
+  private void openTransaction() {
+    if (transaction == null) {
+      transaction = zeebeDb.transaction();
+    }
+  }
+
+  private void commitTransaction() {
+    if (transaction != null) {
+      transaction.commit();
+      transaction = null;
+    }
+  }
+
+  private void rollbackTransaction() {
+    if (transaction != null) {
+      transaction.rollback();
+      transaction = null;
+    }
+  }
+
   private void onFailure() {
+    // drop the state changes of the failed events
+    rollbackTransaction();
+
     phase = Phase.FAILED;
 
     isOpened.set(false);
@@ -49,6 +49,13 @@ public interface LogStorage {
    */
   long OP_RESULT_BLOCK_SIZE_TOO_BIG = -4L;
 
+  /**
+   * Status code returned by the {@link #readMapped(MappedBlocks, long)} operation in case the
+   * blocks at the provided address can not be accessed without copying them. The blocks must be
+   * read by {@link #read(ByteBuffer, long, ReadResultProcessor)} instead.
+   */
+  long OP_RESULT_NOT_MAPPED = -5L;
+
   /**
    * Writes a block containing one or multiple log entries in the storage and returns the address at
    * which the block has been written.
@@ -71,6 +78,26 @@ public interface LogStorage {
    */
   void truncate(long address);
 
+  /**
+   * Deletes the blocks before the given address, e.g. when they are not needed anymore. A storage
+   * implementation may keep some of these blocks if it can only delete them together with blocks
+   * which are not deleted, for example because they are stored in the same file.
+   *
+   * <p>This method is invoked concurrently to consumer threads of the log. The caller must
+   * guarantee that no consumer reads the deleted blocks anymore.
+   *
+   * @param address the address of the first block which must not be deleted
+   * @return the number of deleted bytes
+   */
+  long delete(long address);
+
+  /**
+   * Appends the next blocks to a new unit of the storage (e.g. a new file), so that all blocks
+   * which are written before can be deleted by {@link #delete(long)} with the address of the next
+   * block. Does nothing if the current unit contains no blocks.
+   */
+  void rollover();
+
   /**
    * Naive implementation of the {@link #read(ByteBuffer, long, ReadResultProcessor)} method. Does
    * not process the bytes which are read.
@@ -122,6 +149,31 @@ public interface LogStorage {
    */
   long read(ByteBuffer readBuffer, long addr, ReadResultProcessor processor);
 
+  /**
+   * Wraps the given view over the blocks starting at addr, without copying them. If this method
+   * returns with a positive status code, the view contains only complete blocks and the blocks stay
+   * readable until the view is released. The caller must release the view when it doesn't read the
+   * blocks anymore, so that the storage can free them.
+   *
+   * <p>Returns an operation result status code which is either
+   *
+   * <ul>
+   *   <li>positive long representing the next address at which the next block of data can be read
+   *   <li>{@link #OP_RESULT_INVALID_ADDR}: in case the provided address does not exist
+   *   <li>{@link #OP_RESULT_NOT_MAPPED}: in case the blocks can not be accessed directly, e.g.
+   *       because the storage does not support it or blocks are still appended
+   * </ul>
+   *
+   * <p>This method is invoked concurrently by consumer threads of the log.
+   *
+   * @param view the buffer to wrap over the blocks
+   * @param addr the address in the underlying storage from which the blocks should be wrapped
+   * @return the next address from which bytes can be read or error status code.
+   */
+  default long readMapped(MappedBlocks view, long addr) {
+    return OP_RESULT_NOT_MAPPED;
+  }
+
   /**
    * @return true if the storage is byte addressable (each byte managed in the underlying storage
    *     can be uniquely addressed using a long addr. False in case the storage is block
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.spi;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A view over blocks of a {@link LogStorage} which are read without copying them (see {@link
+ * LogStorage#readMapped(MappedBlocks, long)}). The blocks stay readable until the view is released
+ * or wrapped again. The view can be reused after it is released.
+ */
+public final class MappedBlocks {
+  private final UnsafeBuffer blocks = new UnsafeBuffer(0, 0);
+  private Runnable releaseHandler;
+
+  /**
+   * Wraps the view over the given blocks. The previously wrapped blocks are released.
+   *
+   * @param buffer the buffer which contains the blocks
+   * @param offset the offset of the first block in the buffer
+   * @param length the length of the blocks
+   * @param releaseHandler invoked when the view is released, e.g. to free the buffer
+   */
+  public void wrap(
+      final DirectBuffer buffer,
+      final int offset,
+      final int length,
+      final Runnable releaseHandler) {
+    release();
+
+    blocks.wrap(buffer, offset, length);
+    this.releaseHandler = releaseHandler;
+  }
+
+  /** @return the wrapped blocks, which must not be accessed after the view is released */
+  public DirectBuffer getBlocks() {
+    return blocks;
+  }
+
+  /** @return true, if the view wraps blocks which are not released yet */
+  public boolean isWrapped() {
+    return releaseHandler != null;
+  }
+
+  /** Releases the wrapped blocks. Does nothing if the view wraps no blocks. */
+  public void release() {
+    final Runnable handler = releaseHandler;
+
+    if (handler != null) {
+      releaseHandler = null;
+      blocks.wrap(0, 0);
+
+      handler.run();
+    }
+  }
+}
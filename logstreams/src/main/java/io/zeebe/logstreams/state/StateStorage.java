@@ -34,6 +34,32 @@ public class StateStorage {
   private final File runtimeDirectory;
   private final File snapshotsDirectory;
 
+  /**
+   * Lists the storages of all stream processors in the given directory, which contains one
+   * directory per stream processor with a runtime and a snapshots directory.
+   *
+   * @param rootDirectory the directory which contains the directories of the stream processors
+   * @return the storages of all stream processors which have a snapshots directory
+   */
+  public static List<StateStorage> list(final File rootDirectory) {
+    final List<StateStorage> storages = new ArrayList<>();
+    final File[] processorDirectories = rootDirectory.listFiles(File::isDirectory);
+
+    if (processorDirectories != null) {
+      for (final File processorDirectory : processorDirectories) {
+        final File snapshotsDirectory = new File(processorDirectory, DEFAULT_SNAPSHOTS_DIRECTORY);
+
+        if (snapshotsDirectory.isDirectory()) {
+          storages.add(
+              new StateStorage(
+                  new File(processorDirectory, DEFAULT_RUNTIME_DIRECTORY), snapshotsDirectory));
+        }
+      }
+    }
+
+    return storages;
+  }
+
   public StateStorage(final String rootDirectory) {
     this.runtimeDirectory = new File(rootDirectory, DEFAULT_RUNTIME_DIRECTORY);
     this.snapshotsDirectory = new File(rootDirectory, DEFAULT_SNAPSHOTS_DIRECTORY);
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.fs.log;
+
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionId;
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.impl.log.fs.FsLogSegment;
+import io.zeebe.logstreams.impl.log.fs.FsLogSegmentAllocator;
+import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
+import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
+import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.io.File;
+import java.nio.ByteBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FsLogSegmentAllocatorTest {
+  private static final int SEGMENT_SIZE = 1024 * 16;
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+  @Rule public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule();
+
+  private FsLogStorageConfiguration config;
+  private FsLogSegmentAllocator allocator;
+  private FsLogStorage storage;
+
+  @Before
+  public void init() {
+    config =
+        new FsLogStorageConfiguration(
+            SEGMENT_SIZE,
+            tempFolder.getRoot().getAbsolutePath(),
+            0,
+            false,
+            FsLogSegment.DEFAULT_FLUSH_RATE,
+            false,
+            2);
+
+    allocator = new FsLogSegmentAllocator(config, "allocator");
+    actorSchedulerRule.submitActor(allocator).join();
+
+    storage = new FsLogStorage(config, new MetricsManager(), 0, allocator);
+  }
+
+  @After
+  public void cleanUp() {
+    if (storage.isOpen()) {
+      storage.close();
+    }
+  }
+
+  @Test
+  public void shouldAllocateSegmentsAhead() {
+    // when
+    allocator.allocateAhead(1).join();
+
+    // then
+    assertThat(new File(config.allocatedFileName(1)).length()).isEqualTo(SEGMENT_SIZE);
+    assertThat(new File(config.allocatedFileName(2)).length()).isEqualTo(SEGMENT_SIZE);
+  }
+
+  @Test
+  public void shouldTakeAllocatedSegment() {
+    // given
+    allocator.allocateAhead(1).join();
+
+    // when
+    final FsLogSegment segment = allocator.takeSegment(1);
+
+    // then
+    assertThat(segment).isNotNull();
+    assertThat(segment.getSegmentId()).isEqualTo(1);
+    assertThat(segment.getCapacity()).isEqualTo(SEGMENT_SIZE);
+  }
+
+  @Test
+  public void shouldNotTakeSegmentIfNotAllocated() {
+    // given
+    allocator.allocateAhead(2).join();
+
+    // when
+    final FsLogSegment segment = allocator.takeSegment(1);
+
+    // then
+    assertThat(segment).isNull();
+  }
+
+  @Test
+  public void shouldDeleteSegmentsWithLowerIdOnTake() {
+    // given
+    allocator.allocateAhead(1).join();
+
+    // when
+    final FsLogSegment segment = allocator.takeSegment(2);
+
+    // then
+    assertThat(segment.getSegmentId()).isEqualTo(2);
+    assertThat(new File(config.allocatedFileName(1))).doesNotExist();
+  }
+
+  @Test
+  public void shouldDeleteAllocatedSegmentsOnClose() {
+    // given
+    allocator.allocateAhead(1).join();
+
+    // when
+    allocator.close().join();
+
+    // then
+    assertThat(tempFolder.getRoot().listFiles(config::matchesAllocatedFileNamePattern)).isEmpty();
+  }
+
+  @Test
+  public void shouldUseAllocatedSegmentWhenSegmentIsFilled() {
+    // given
+    storage.open();
+    storage.append(ByteBuffer.wrap(new byte[SEGMENT_SIZE / 2]));
+
+    final File allocatedSegment = new File(config.allocatedFileName(1));
+    waitUntil(() -> new File(config.allocatedFileName(2)).length() == SEGMENT_SIZE);
+
+    // when
+    final long address = storage.append(ByteBuffer.wrap(new byte[SEGMENT_SIZE / 2]));
+
+    // then
+    assertThat(partitionId(address)).isEqualTo(1);
+    assertThat(allocatedSegment).doesNotExist();
+    assertThat(new File(config.fileName(1))).exists();
+
+    final ByteBuffer readBuffer = ByteBuffer.allocate(SEGMENT_SIZE / 2);
+    assertThat(storage.read(readBuffer, address)).isGreaterThan(address);
+    assertThat(readBuffer.position()).isEqualTo(SEGMENT_SIZE / 2);
+  }
+
+  @Test
+  public void shouldAllocateSegmentWhenSegmentIsFilledBeforeAllocated() {
+    // given
+    allocator.close().join();
+    storage.open();
+
+    // when
+    storage.append(ByteBuffer.wrap(new byte[SEGMENT_SIZE / 2]));
+    final long address = storage.append(ByteBuffer.wrap(new byte[SEGMENT_SIZE / 2]));
+
+    // then
+    assertThat(partitionId(address)).isEqualTo(1);
+    assertThat(new File(config.fileName(1))).exists();
+  }
+
+  @Test
+  public void shouldDeleteAllocatedFilesOnOpen() {
+    // given
+    allocator.allocateAhead(1).join();
+
+    // when
+    storage.open();
+
+    // then
+    assertThat(tempFolder.getRoot().listFiles(config::matchesAllocatedFileNamePattern)).isEmpty();
+    assertThat(tempFolder.getRoot().listFiles(config::matchesFragmentFileNamePattern)).hasSize(1);
+  }
+}
@@ -15,16 +15,19 @@
  */
 package io.zeebe.logstreams.fs.log;
 
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionId;
 import static io.zeebe.dispatcher.impl.PositionUtil.partitionOffset;
 import static io.zeebe.util.StringUtil.getBytes;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
 import io.zeebe.dispatcher.impl.PositionUtil;
+import io.zeebe.logstreams.impl.log.fs.FsLogSegment;
 import io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorage;
 import io.zeebe.logstreams.impl.log.fs.FsLogStorageConfiguration;
 import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.logstreams.spi.MappedBlocks;
 import io.zeebe.util.FileUtil;
 import io.zeebe.util.metrics.MetricsManager;
 import java.io.File;
@@ -68,6 +71,25 @@ public class FsLogStorageTest {
     fsLogStorage = new FsLogStorage(fsStorageConfig, new MetricsManager(), 0);
   }
 
+  private FsLogStorage openStorageWithMemoryMappedReads() {
+    final FsLogStorageConfiguration config =
+        new FsLogStorageConfiguration(
+            SEGMENT_SIZE, logPath, 0, false, FsLogSegment.DEFAULT_FLUSH_RATE, true, 0);
+    final FsLogStorage storage = new FsLogStorage(config, new MetricsManager(), 0);
+    storage.open();
+    return storage;
+  }
+
+  /** @return the address of the block which is appended on the next segment */
+  private long fillSegment(final FsLogStorage storage) {
+    final long address = storage.append(ByteBuffer.wrap(new byte[SEGMENT_SIZE / 2]));
+    final long nextSegmentAddress = storage.append(ByteBuffer.wrap(new byte[SEGMENT_SIZE / 2]));
+
+    assertThat(partitionId(address)).isEqualTo(0);
+    assertThat(partitionId(nextSegmentAddress)).isEqualTo(1);
+    return nextSegmentAddress;
+  }
+
   @Test
   public void shouldGetConfig() {
     assertThat(fsLogStorage.getConfig()).isEqualTo(fsStorageConfig);
@@ -347,6 +369,105 @@ public class FsLogStorageTest {
     assertThat(readBuffer.array()).isEqualTo(new byte[MSG.length]);
   }
 
+  @Test
+  public void shouldReadMappedBlockOfFilledSegment() {
+    // given
+    final FsLogStorage fsLogStorage = openStorageWithMemoryMappedReads();
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    fillSegment(fsLogStorage);
+
+    final MappedBlocks view = new MappedBlocks();
+
+    // when
+    final long result = fsLogStorage.readMapped(view, address);
+
+    // then
+    assertThat(result).isEqualTo(PositionUtil.position(1, FsLogSegmentDescriptor.METADATA_LENGTH));
+    assertThat(view.isWrapped()).isTrue();
+    assertThat(view.getBlocks().capacity()).isEqualTo(MSG.length + SEGMENT_SIZE / 2);
+
+    final byte[] readBytes = new byte[MSG.length];
+    view.getBlocks().getBytes(0, readBytes);
+    assertThat(readBytes).isEqualTo(MSG);
+  }
+
+  @Test
+  public void shouldReleaseMappedBlock() {
+    // given
+    final FsLogStorage fsLogStorage = openStorageWithMemoryMappedReads();
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    final long nextSegmentAddress = fillSegment(fsLogStorage);
+
+    final MappedBlocks view = new MappedBlocks();
+    fsLogStorage.readMapped(view, address);
+    fsLogStorage.delete(nextSegmentAddress);
+
+    // when
+    view.release();
+
+    // then
+    assertThat(view.isWrapped()).isFalse();
+    assertThat(view.getBlocks().capacity()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldNotReadMappedBlockOfActiveSegment() {
+    // given
+    final FsLogStorage fsLogStorage = openStorageWithMemoryMappedReads();
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+
+    // when
+    final long result = fsLogStorage.readMapped(new MappedBlocks(), address);
+
+    // then
+    assertThat(result).isEqualTo(LogStorage.OP_RESULT_NOT_MAPPED);
+  }
+
+  @Test
+  public void shouldNotReadMappedBlockIfNotEnabled() {
+    // given
+    fsLogStorage.open();
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    fillSegment(fsLogStorage);
+
+    // when
+    final long result = fsLogStorage.readMapped(new MappedBlocks(), address);
+
+    // then
+    assertThat(result).isEqualTo(LogStorage.OP_RESULT_NOT_MAPPED);
+  }
+
+  @Test
+  public void shouldNotReadMappedBlockIfAddressIsInvalid() {
+    // given
+    final FsLogStorage fsLogStorage = openStorageWithMemoryMappedReads();
+
+    // when
+    final long result = fsLogStorage.readMapped(new MappedBlocks(), -1);
+
+    // then
+    assertThat(result).isEqualTo(LogStorage.OP_RESULT_INVALID_ADDR);
+  }
+
+  @Test
+  public void shouldReadMappedBlockAfterSegmentIsDeleted() {
+    // given
+    final FsLogStorage fsLogStorage = openStorageWithMemoryMappedReads();
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    final long nextSegmentAddress = fillSegment(fsLogStorage);
+
+    final MappedBlocks view = new MappedBlocks();
+    fsLogStorage.readMapped(view, address);
+
+    // when
+    fsLogStorage.delete(nextSegmentAddress);
+
+    // then
+    final byte[] readBytes = new byte[MSG.length];
+    view.getBlocks().getBytes(0, readBytes);
+    assertThat(readBytes).isEqualTo(MSG);
+  }
+
   @Test
   public void shouldNotReadBlockIfNotOpen() {
     final ByteBuffer readBuffer = ByteBuffer.allocate(MSG.length);
@@ -731,6 +852,112 @@ public class FsLogStorageTest {
     fsLogStorage.close();
   }
 
+  @Test
+  public void shouldDeleteSegmentsBeforeAddress() {
+    // given
+    fsLogStorage.open();
+
+    final byte[] oneSegment = new byte[SEGMENT_SIZE - FsLogSegmentDescriptor.METADATA_LENGTH];
+    fsLogStorage.append(ByteBuffer.wrap(oneSegment));
+    fsLogStorage.append(ByteBuffer.wrap(oneSegment));
+    final long address = fsLogStorage.append(ByteBuffer.wrap(oneSegment));
+    fsLogStorage.append(ByteBuffer.wrap(MSG));
+
+    // when
+    final long deletedBytes = fsLogStorage.delete(address);
+
+    // then
+    assertThat(deletedBytes).isEqualTo(2L * SEGMENT_SIZE);
+    assertThat(logDirectory.listFiles().length).isEqualTo(2);
+    assertThat(fsLogStorage.getFirstBlockAddress()).isEqualTo(address);
+    assertThat(fsLogStorage.read(ByteBuffer.allocate(MSG.length), PositionUtil.position(0, 0)))
+        .isEqualTo(LogStorage.OP_RESULT_INVALID_ADDR);
+
+    fsLogStorage.close();
+  }
+
+  @Test
+  public void shouldNotDeleteCurrentSegment() {
+    // given
+    fsLogStorage.open();
+
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    final long nextSegmentAddress = PositionUtil.position(partitionId(address) + 1, 0);
+
+    // when
+    final long deletedBytes = fsLogStorage.delete(nextSegmentAddress);
+
+    // then
+    assertThat(deletedBytes).isEqualTo(0);
+    assertThat(fsLogStorage.getFirstBlockAddress()).isEqualTo(address);
+    assertMessage(address, MSG);
+
+    fsLogStorage.close();
+  }
+
+  @Test
+  public void shouldAppendBlockOnNextSegmentAfterRollover() {
+    // given
+    fsLogStorage.open();
+
+    final long firstAddress = fsLogStorage.append(ByteBuffer.wrap(MSG));
+
+    // when
+    fsLogStorage.rollover();
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+
+    // then
+    assertThat(partitionId(address)).isEqualTo(partitionId(firstAddress) + 1);
+    assertThat(fsLogStorage.read(ByteBuffer.allocate(MSG.length), firstAddress + MSG.length))
+        .isEqualTo(address + MSG.length);
+    assertMessage(address, MSG);
+
+    assertThat(fsLogStorage.delete(address)).isGreaterThan(0);
+    assertThat(fsLogStorage.getFirstBlockAddress()).isEqualTo(address);
+
+    fsLogStorage.close();
+  }
+
+  @Test
+  public void shouldNotRolloverEmptySegment() {
+    // given
+    fsLogStorage.open();
+
+    // when
+    fsLogStorage.rollover();
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+
+    // then
+    assertThat(partitionId(address)).isEqualTo(0);
+    assertThat(logDirectory.listFiles().length).isEqualTo(1);
+
+    fsLogStorage.close();
+  }
+
+  @Test
+  public void shouldRestoreLogWithDeletedSegmentsOnReOpenedStorage() {
+    // given
+    fsLogStorage.open();
+
+    final byte[] oneSegment = new byte[SEGMENT_SIZE - FsLogSegmentDescriptor.METADATA_LENGTH];
+    fsLogStorage.append(ByteBuffer.wrap(oneSegment));
+    final long address = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    fsLogStorage.delete(address);
+
+    // when
+    fsLogStorage.close();
+    fsLogStorage.open();
+
+    // then
+    assertThat(fsLogStorage.getFirstBlockAddress()).isEqualTo(address);
+    assertMessage(address, MSG);
+
+    final long nextAddress = fsLogStorage.append(ByteBuffer.wrap(MSG));
+    assertMessage(nextAddress, MSG);
+
+    fsLogStorage.close();
+  }
+
   protected byte[] readLogFile(final String logFilePath, final long address, final int capacity) {
     final ByteBuffer buffer = ByteBuffer.allocate(capacity);
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static io.zeebe.dispatcher.impl.PositionUtil.position;
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.dispatcher.impl.log.DataFrameDescriptor;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
+import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
+import io.zeebe.logstreams.util.LogStreamRule;
+import io.zeebe.logstreams.util.LogStreamWriterRule;
+import java.io.File;
+import org.agrona.DirectBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+public class LogBlockIndexPersistenceTest {
+  private static final int CAPACITY = 4;
+
+  private static final DirectBuffer EVENT = wrapString("FOO");
+
+  private static final int FRAGMENT_SIZE =
+      DataFrameDescriptor.alignedFramedLength(
+          LogEntryDescriptor.HEADER_BLOCK_LENGTH + EVENT.capacity());
+  private static final int INDEX_BLOCK_SIZE = 2 * FRAGMENT_SIZE;
+
+  private TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private LogStreamRule logStreamRule =
+      new LogStreamRule(
+          temporaryFolder, b -> b.indexBlockSize(INDEX_BLOCK_SIZE).readBlockSize(FRAGMENT_SIZE));
+
+  private LogStreamWriterRule writer = new LogStreamWriterRule(logStreamRule);
+
+  @Rule
+  public RuleChain ruleChain =
+      RuleChain.outerRule(temporaryFolder).around(logStreamRule).around(writer);
+
+  @Test
+  public void shouldOpenIndexFromFiles() throws Exception {
+    // given
+    final File directory = temporaryFolder.newFolder();
+    final LogBlockIndex blockIndex = new LogBlockIndex(CAPACITY, directory);
+
+    for (int i = 1; i <= 10; i++) {
+      blockIndex.addBlock(i * 10, position(i / 4, i * 100));
+    }
+
+    // when
+    final LogBlockIndex reopenedIndex = new LogBlockIndex(CAPACITY, directory);
+
+    // then
+    assertThat(reopenedIndex.size()).isEqualTo(10);
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(reopenedIndex.getLogPosition(i)).isEqualTo(blockIndex.getLogPosition(i));
+      assertThat(reopenedIndex.getAddress(i)).isEqualTo(blockIndex.getAddress(i));
+    }
+
+    assertThat(reopenedIndex.lookupBlockAddress(75)).isEqualTo(position(1, 700));
+  }
+
+  @Test
+  public void shouldGrowIndexFile() throws Exception {
+    // given
+    final File directory = temporaryFolder.newFolder();
+    final LogBlockIndex blockIndex = new LogBlockIndex(CAPACITY, directory);
+
+    // when
+    for (int i = 1; i <= 3 * CAPACITY; i++) {
+      blockIndex.addBlock(i, position(0, i));
+    }
+
+    // then
+    final LogBlockIndex reopenedIndex = new LogBlockIndex(CAPACITY, directory);
+    assertThat(reopenedIndex.size()).isEqualTo(3 * CAPACITY);
+    assertThat(reopenedIndex.lookupBlockAddress(3 * CAPACITY)).isEqualTo(position(0, 3 * CAPACITY));
+  }
+
+  @Test
+  public void shouldDeleteIndexFileOfDeletedSegment() throws Exception {
+    // given
+    final File directory = temporaryFolder.newFolder();
+    final LogBlockIndex blockIndex = new LogBlockIndex(CAPACITY, directory);
+
+    blockIndex.addBlock(10, position(0, 100));
+    blockIndex.addBlock(20, position(1, 100));
+    assertThat(directory.list()).containsExactlyInAnyOrder("00.index", "01.index");
+
+    // when
+    blockIndex.deleteUpToAddress(position(1, 100));
+
+    // then
+    assertThat(directory.list()).containsExactly("01.index");
+    assertThat(new LogBlockIndex(CAPACITY, directory).size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRecoverIndexWithoutSnapshot() {
+    // given
+    writer.writeEvents(4, EVENT, true);
+    waitUntil(() -> logStreamRule.getLogStream().getLogBlockIndex().size() == 2);
+
+    logStreamRule.closeLogStream();
+
+    // when
+    logStreamRule.openLogStream();
+
+    // then
+    final LogBlockIndex blockIndex = logStreamRule.getLogStream().getLogBlockIndex();
+    assertThat(blockIndex.isPersistent()).isTrue();
+    assertThat(blockIndex.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldAppendBlockAfterRecover() {
+    // given
+    writer.writeEvents(4, EVENT, true);
+    waitUntil(() -> logStreamRule.getLogStream().getLogBlockIndex().size() == 2);
+
+    logStreamRule.closeLogStream();
+    logStreamRule.openLogStream();
+
+    final LogBlockIndex blockIndex = logStreamRule.getLogStream().getLogBlockIndex();
+    final long lastBlockPosition = blockIndex.getLogPosition(1);
+
+    // when
+    writer.wrap(logStreamRule);
+    final long position = writer.writeEvents(2, EVENT, true);
+
+    // then
+    waitUntil(() -> blockIndex.size() == 3);
+    assertThat(blockIndex.getLogPosition(1)).isEqualTo(lastBlockPosition);
+    assertThat(blockIndex.lookupBlockPosition(position)).isGreaterThan(lastBlockPosition);
+  }
+
+  @Test
+  public void shouldRemoveBlocksWhichAreNotInTheLog() {
+    // given
+    writer.writeEvents(4, EVENT, true);
+    final LogBlockIndex blockIndex = logStreamRule.getLogStream().getLogBlockIndex();
+    waitUntil(() -> blockIndex.size() == 2);
+
+    final long lastAddress = blockIndex.getAddress(1);
+    logStreamRule.closeLogStream();
+
+    // a block which was indexed but not written to the log, e.g. because of a crash
+    final File logDirectory = temporaryFolder.getRoot();
+    new LogBlockIndex(CAPACITY, logDirectory).addBlock(Long.MAX_VALUE, lastAddress + 1024 * 1024);
+
+    // when
+    logStreamRule.openLogStream();
+
+    // then
+    final LogBlockIndex recoveredIndex = logStreamRule.getLogStream().getLogBlockIndex();
+    assertThat(recoveredIndex.size()).isEqualTo(2);
+    assertThat(recoveredIndex.getAddress(1)).isEqualTo(lastAddress);
+  }
+}
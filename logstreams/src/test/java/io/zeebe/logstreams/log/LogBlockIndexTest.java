@@ -15,6 +15,7 @@
  */
 package io.zeebe.logstreams.log;
 
+import static io.zeebe.dispatcher.impl.PositionUtil.position;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
@@ -74,22 +75,79 @@ public class LogBlockIndexTest {
   }
 
   @Test
-  public void shouldNotAddBlockIfCapacityReached() {
+  public void shouldGrowIfCapacityReached() {
     // given
     final int capacity = blockIndex.capacity();
 
     while (capacity > blockIndex.size()) {
-      blockIndex.addBlock(blockIndex.size(), 0);
+      blockIndex.addBlock(blockIndex.size(), blockIndex.size());
     }
 
+    // when
+    blockIndex.addBlock(capacity, capacity);
+
+    // then
+    assertThat(blockIndex.size()).isEqualTo(capacity + 1);
+    assertThat(blockIndex.lookupBlockAddress(capacity - 1)).isEqualTo(capacity - 1);
+    assertThat(blockIndex.lookupBlockAddress(capacity)).isEqualTo(capacity);
+  }
+
+  @Test
+  public void shouldLookupBlocksInMultipleSegments() {
+    // given
+    blockIndex.addBlock(10, position(0, 100));
+    blockIndex.addBlock(20, position(0, 200));
+    blockIndex.addBlock(30, position(1, 100));
+    blockIndex.addBlock(40, position(2, 100));
+    blockIndex.addBlock(50, position(2, 200));
+
+    // then
+    assertThat(blockIndex.size()).isEqualTo(5);
+    assertThat(blockIndex.lookupBlockAddress(5)).isEqualTo(-1);
+    assertThat(blockIndex.lookupBlockAddress(25)).isEqualTo(position(0, 200));
+    assertThat(blockIndex.lookupBlockAddress(30)).isEqualTo(position(1, 100));
+    assertThat(blockIndex.lookupBlockAddress(35)).isEqualTo(position(1, 100));
+    assertThat(blockIndex.lookupBlockAddress(45)).isEqualTo(position(2, 100));
+    assertThat(blockIndex.lookupBlockAddress(55)).isEqualTo(position(2, 200));
+    assertThat(blockIndex.getAddress(2)).isEqualTo(position(1, 100));
+  }
+
+  @Test
+  public void shouldDeleteSegmentsUpToAddress() {
+    // given
+    blockIndex.addBlock(10, position(0, 100));
+    blockIndex.addBlock(20, position(1, 100));
+    blockIndex.addBlock(30, position(1, 200));
+    blockIndex.addBlock(40, position(2, 100));
+
+    // when
+    final int deletedBlocks = blockIndex.deleteUpToAddress(position(1, 200));
+
     // then
-    exception.expect(RuntimeException.class);
-    exception.expectMessage(
-        String.format(
-            "LogBlockIndex capacity of %d entries reached. Cannot add new block.", capacity));
+    assertThat(deletedBlocks).isEqualTo(2);
+    assertThat(blockIndex.size()).isEqualTo(2);
+    assertThat(blockIndex.lookupBlockAddress(25)).isEqualTo(-1);
+    assertThat(blockIndex.lookupBlockAddress(35)).isEqualTo(position(1, 200));
+    assertThat(blockIndex.lookupBlockAddress(45)).isEqualTo(position(2, 100));
+  }
+
+  @Test
+  public void shouldTruncateFromAddress() {
+    // given
+    blockIndex.addBlock(10, position(0, 100));
+    blockIndex.addBlock(20, position(0, 200));
+    blockIndex.addBlock(30, position(1, 100));
 
     // when
-    blockIndex.addBlock(blockIndex.size(), 0);
+    final int removedBlocks = blockIndex.truncateFromAddress(position(0, 200));
+
+    // then
+    assertThat(removedBlocks).isEqualTo(2);
+    assertThat(blockIndex.size()).isEqualTo(1);
+    assertThat(blockIndex.lookupBlockAddress(35)).isEqualTo(position(0, 100));
+
+    blockIndex.addBlock(20, position(0, 200));
+    assertThat(blockIndex.lookupBlockAddress(35)).isEqualTo(position(0, 200));
   }
 
   @Test
@@ -220,6 +278,56 @@ public class LogBlockIndexTest {
     }
   }
 
+  @Test
+  public void shouldDeleteBlocksUpToAddress() {
+    // given
+    for (int i = 1; i <= 10; i++) {
+      blockIndex.addBlock(i * 10, i * 100);
+    }
+
+    // when
+    final int deletedBlocks = blockIndex.deleteUpToAddress(450);
+
+    // then
+    assertThat(deletedBlocks).isEqualTo(4);
+    assertThat(blockIndex.size()).isEqualTo(6);
+    assertThat(blockIndex.getLogPosition(0)).isEqualTo(50);
+    assertThat(blockIndex.getAddress(0)).isEqualTo(500);
+
+    assertThat(blockIndex.lookupBlockAddress(45)).isEqualTo(-1);
+    assertThat(blockIndex.lookupBlockAddress(55)).isEqualTo(500);
+    assertThat(blockIndex.lookupBlockAddress(105)).isEqualTo(1000);
+  }
+
+  @Test
+  public void shouldAddBlockAfterDelete() {
+    // given
+    blockIndex.addBlock(10, 100);
+    blockIndex.addBlock(20, 200);
+    blockIndex.deleteUpToAddress(200);
+
+    // when
+    blockIndex.addBlock(30, 300);
+
+    // then
+    assertThat(blockIndex.size()).isEqualTo(2);
+    assertThat(blockIndex.lookupBlockAddress(25)).isEqualTo(200);
+    assertThat(blockIndex.lookupBlockAddress(35)).isEqualTo(300);
+  }
+
+  @Test
+  public void shouldNotDeleteBlocksAfterAddress() {
+    // given
+    blockIndex.addBlock(10, 100);
+
+    // when
+    final int deletedBlocks = blockIndex.deleteUpToAddress(100);
+
+    // then
+    assertThat(deletedBlocks).isEqualTo(0);
+    assertThat(blockIndex.lookupBlockAddress(10)).isEqualTo(100);
+  }
+
   @Test
   public void shouldRecoverIndexFromSnapshot() throws Exception {
     final int capacity = blockIndex.capacity();
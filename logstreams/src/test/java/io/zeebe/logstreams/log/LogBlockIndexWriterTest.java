@@ -59,7 +59,8 @@ public class LogBlockIndexWriterTest {
           b ->
               b.indexBlockSize(INDEX_BLOCK_SIZE)
                   .readBlockSize(FRAGMENT_SIZE)
-                  .snapshotPeriod(SNAPSHOT_INTERVAL));
+                  .snapshotPeriod(SNAPSHOT_INTERVAL)
+                  .persistentBlockIndex(false));
 
   private LogStreamWriterRule writer = new LogStreamWriterRule(logStreamRule);
 
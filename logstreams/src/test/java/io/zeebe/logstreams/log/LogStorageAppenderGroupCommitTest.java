@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import io.zeebe.logstreams.impl.LogStorageAppender;
+import io.zeebe.logstreams.spi.LogStorage;
+import io.zeebe.logstreams.util.LogStreamRule;
+import io.zeebe.logstreams.util.LogStreamWriterRule;
+import java.io.IOException;
+import java.time.Duration;
+import org.agrona.DirectBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+public class LogStorageAppenderGroupCommitTest {
+  private static final DirectBuffer EVENT = wrapString("FOO");
+  private static final Duration GROUP_COMMIT_INTERVAL = Duration.ofSeconds(10);
+
+  private TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private LogStreamRule logStreamRule =
+      new LogStreamRule(
+          temporaryFolder,
+          b ->
+              b.syncMode(LogSyncMode.GROUP_COMMIT)
+                  .groupCommitInterval(GROUP_COMMIT_INTERVAL)
+                  .logStorageStubber(logStorage -> spy(logStorage)));
+
+  private LogStreamWriterRule writer = new LogStreamWriterRule(logStreamRule);
+
+  @Rule
+  public RuleChain ruleChain =
+      RuleChain.outerRule(temporaryFolder).around(logStreamRule).around(writer);
+
+  private LogStream logStream;
+  private LogStorage logStorageSpy;
+  private LogStorageAppender appender;
+
+  @Before
+  public void setup() {
+    logStream = logStreamRule.getLogStream();
+    logStorageSpy = logStream.getLogStorage();
+    appender = logStream.getLogStorageAppender();
+  }
+
+  @Test
+  public void shouldNotUpdateDurablePositionBeforeFlush() throws Exception {
+    // given
+    final long durablePositionBefore = appender.getDurablePosition();
+
+    // when
+    writer.writeEvent(EVENT);
+    waitUntil(() -> appender.getCurrentAppenderPosition() > durablePositionBefore);
+
+    // then
+    assertThat(appender.getDurablePosition()).isEqualTo(durablePositionBefore);
+    verify(logStorageSpy, never()).flush();
+  }
+
+  @Test
+  public void shouldFlushAfterGroupCommitInterval() throws Exception {
+    // given
+    writer.writeEvents(3, EVENT);
+    waitUntil(() -> appender.getCurrentAppenderPosition() > appender.getDurablePosition());
+
+    // when
+    awaitFlush();
+
+    // then
+    assertThat(appender.getDurablePosition()).isEqualTo(appender.getCurrentAppenderPosition());
+    verify(logStorageSpy).flush();
+  }
+
+  @Test
+  public void shouldNotUpdateDurablePositionIfFlushFails() throws Exception {
+    // given
+    doThrow(new IOException("expected")).when(logStorageSpy).flush();
+
+    final long durablePositionBefore = appender.getDurablePosition();
+    writer.writeEvent(EVENT);
+    waitUntil(() -> appender.getCurrentAppenderPosition() > durablePositionBefore);
+
+    // when
+    waitUntil(
+        () -> {
+          logStreamRule.getClock().addTime(GROUP_COMMIT_INTERVAL);
+          return mockingDetails(logStorageSpy)
+              .getInvocations()
+              .stream()
+              .anyMatch(i -> i.getMethod().getName().equals("flush"));
+        });
+
+    // then
+    assertThat(appender.getDurablePosition()).isEqualTo(durablePositionBefore);
+
+    // and retry the flush
+    doCallRealMethod().when(logStorageSpy).flush();
+    awaitFlush();
+
+    assertThat(appender.getDurablePosition()).isEqualTo(appender.getCurrentAppenderPosition());
+  }
+
+  private void awaitFlush() {
+    // the clock is moved until the timer is scheduled by the appender
+    waitUntil(
+        () -> {
+          logStreamRule.getClock().addTime(GROUP_COMMIT_INTERVAL);
+          return appender.getDurablePosition() == appender.getCurrentAppenderPosition();
+        });
+  }
+}
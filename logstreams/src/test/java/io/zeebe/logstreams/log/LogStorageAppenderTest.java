@@ -85,6 +85,18 @@ public class LogStorageAppenderTest {
     waitUntil(() -> storageAppender.getCurrentAppenderPosition() > positionBefore);
   }
 
+  @Test
+  public void shouldUpdateDurablePositionOnAppend() {
+    final LogStorageAppender storageAppender = logStream.getLogStorageAppender();
+    final long positionBefore = storageAppender.getCurrentAppenderPosition();
+
+    writer.writeEvent(EVENT);
+
+    waitUntil(() -> storageAppender.getDurablePosition() > positionBefore);
+    assertThat(storageAppender.getDurablePosition())
+        .isEqualTo(storageAppender.getCurrentAppenderPosition());
+  }
+
   @Test
   public void shouldInvokeOnAppendConditions() {
     final AtomicInteger counter = new AtomicInteger();
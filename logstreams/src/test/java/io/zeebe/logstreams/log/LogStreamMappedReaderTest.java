@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static io.zeebe.util.StringUtil.getBytes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.util.LogStreamReaderRule;
+import io.zeebe.logstreams.util.LogStreamRule;
+import io.zeebe.logstreams.util.LogStreamWriterRule;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+public class LogStreamMappedReaderTest {
+  private static final UnsafeBuffer EVENT_VALUE = new UnsafeBuffer(getBytes("test"));
+  private static final int SEGMENT_SIZE = 1024 * 16;
+  private static final int EVENT_COUNT = 1_000;
+
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+  public LogStreamRule logStreamRule =
+      new LogStreamRule(
+          temporaryFolder,
+          b ->
+              b.logSegmentSize(SEGMENT_SIZE)
+                  .maxAppendBlockSize(SEGMENT_SIZE / 4)
+                  .memoryMappedReads(true));
+  public LogStreamWriterRule writer = new LogStreamWriterRule(logStreamRule);
+  public LogStreamReaderRule readerRule = new LogStreamReaderRule(logStreamRule);
+
+  @Rule
+  public RuleChain ruleChain =
+      RuleChain.outerRule(temporaryFolder).around(logStreamRule).around(readerRule).around(writer);
+
+  private LogStreamReader reader;
+
+  @Before
+  public void setUp() {
+    reader = readerRule.getLogStreamReader();
+    logStreamRule.setCommitPosition(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void shouldReadEventsOfFilledAndActiveSegments() {
+    // given
+    writer.writeEvents(EVENT_COUNT, EVENT_VALUE);
+
+    // when - then
+    readerRule.assertEvents(EVENT_COUNT, EVENT_VALUE);
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldWrapEventsOfFilledSegmentWithoutCopy() {
+    // given
+    writer.writeEvents(EVENT_COUNT, EVENT_VALUE);
+
+    // when
+    reader.seekToFirstEvent();
+    final LoggedEvent event = readerRule.nextEvent();
+
+    // then
+    assertThat(event.getValueBuffer().byteBuffer().isReadOnly()).isTrue();
+  }
+
+  @Test
+  public void shouldKeepReturnedEventWhenReadingNextSegment() {
+    // given
+    writer.writeEvents(EVENT_COUNT, EVENT_VALUE);
+
+    // when
+    long previousKey = 0;
+    long previousPosition = -1;
+    while (reader.hasNext()) {
+      final LoggedEvent event = reader.next();
+      final long key = event.getKey();
+      final long position = event.getPosition();
+
+      // the next event is read ahead - the returned event must not change
+      reader.hasNext();
+
+      // then
+      assertThat(event.getKey()).isEqualTo(key).isEqualTo(previousKey + 1);
+      assertThat(event.getPosition()).isEqualTo(position).isGreaterThan(previousPosition);
+
+      previousKey = key;
+      previousPosition = position;
+    }
+
+    assertThat(previousKey).isEqualTo(EVENT_COUNT);
+  }
+
+  @Test
+  public void shouldSeekToEventOfFilledSegment() {
+    // given
+    writer.writeEvents(EVENT_COUNT / 2, EVENT_VALUE);
+    final long position = writer.writeEvent(EVENT_VALUE);
+    writer.writeEvents(EVENT_COUNT / 2, EVENT_VALUE);
+
+    // when
+    final boolean found = reader.seek(position);
+
+    // then
+    assertThat(found).isTrue();
+    assertThat(reader.hasNext()).isTrue();
+    assertThat(reader.next().getPosition()).isEqualTo(position);
+  }
+
+  @Test
+  public void shouldContinueReadingAppendedEvents() {
+    // given
+    writer.writeEvents(EVENT_COUNT, EVENT_VALUE);
+    readerRule.assertEvents(EVENT_COUNT, EVENT_VALUE);
+
+    // when
+    final long position = writer.writeEvent(EVENT_VALUE);
+
+    // then
+    assertThat(reader.hasNext()).isTrue();
+    assertThat(reader.next().getPosition()).isEqualTo(position);
+  }
+}
@@ -15,6 +15,7 @@
  */
 package io.zeebe.logstreams.log;
 
+import static io.zeebe.dispatcher.impl.PositionUtil.partitionId;
 import static io.zeebe.test.util.TestUtil.waitUntil;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.zeebe.dispatcher.Dispatcher;
 import io.zeebe.logstreams.impl.LogStreamBuilder;
+import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.servicecontainer.testing.ServiceContainerRule;
 import io.zeebe.test.util.AutoCloseableRule;
 import io.zeebe.util.sched.testing.ActorSchedulerRule;
@@ -309,6 +311,57 @@ public class LogStreamTest {
         .hasMessage("Truncation failed! Position " + nonExistingPosition + " was not found.");
   }
 
+  @Test
+  public void shouldDeleteEventsBeforePosition() {
+    // given
+    final LogStream logStream =
+        buildLogStream(
+            b -> b.logSegmentSize(1024 * 16).maxAppendBlockSize(1024 * 4).indexBlockSize(1024));
+
+    logStream.openAppender().join();
+    closeables.manage(logStream);
+
+    final long firstPosition = writeEvent(logStream);
+    final long lastPosition = writeEvents(logStream, 500);
+
+    logStream.setCommitPosition(lastPosition);
+
+    // wait until the block of the last event in the next segment is indexed
+    final LogBlockIndex blockIndex = logStream.getLogBlockIndex();
+    waitUntil(
+        () ->
+            partitionId(blockIndex.lookupBlockAddress(lastPosition))
+                > partitionId(blockIndex.lookupBlockAddress(firstPosition)));
+    final int indexSize = blockIndex.size();
+
+    // when
+    final long deletedBytes = logStream.delete(lastPosition);
+
+    // then
+    assertThat(deletedBytes).isGreaterThan(0);
+    assertThat(blockIndex.size()).isLessThan(indexSize);
+    assertThat(blockIndex.lookupBlockAddress(firstPosition)).isEqualTo(-1);
+
+    final LoggedEvent firstEvent = events(logStream).findFirst().get();
+    assertThat(firstEvent.getPosition()).isGreaterThan(firstPosition);
+    assertThat(events(logStream).anyMatch(e -> e.getPosition() == lastPosition)).isTrue();
+  }
+
+  @Test
+  public void shouldNotDeleteIfPositionIsNotCommitted() {
+    // given
+    final LogStream logStream = buildLogStream();
+
+    closeables.manage(logStream);
+
+    logStream.setCommitPosition(100L);
+
+    // when
+    assertThatThrownBy(() -> logStream.delete(101L))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Can't delete position which is not committed");
+  }
+
   private Stream<LoggedEvent> events(final LogStream stream) {
     final BufferedLogStreamReader reader = new BufferedLogStreamReader(stream, true);
     closeables.manage(reader);
@@ -318,6 +371,26 @@ public class LogStreamTest {
     return StreamSupport.stream(iterable.spliterator(), false);
   }
 
+  private long writeEvents(final LogStream logStream, final int count) {
+    final LogStreamWriterImpl writer = new LogStreamWriterImpl(logStream);
+
+    long position = -1L;
+
+    for (int i = 0; i < count; i++) {
+      position = -1L;
+      while (position < 0) {
+        position = writer.positionAsKey().value(wrapString("event")).tryWrite();
+      }
+    }
+
+    final long writtenEventPosition = position;
+    waitUntil(
+        () ->
+            logStream.getLogStorageAppender().getCurrentAppenderPosition() > writtenEventPosition);
+
+    return position;
+  }
+
   private long writeEvent(final LogStream logStream) {
     final LogStreamWriterImpl writer = new LogStreamWriterImpl(logStream);
 
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
@@ -373,6 +374,21 @@ public class StreamProcessorControllerTest {
         .isEqualTo(logStreamRule.getLogStream().getTerm());
   }
 
+  @Test
+  public void shouldNotWriteSnapshotOfPartiallyProcessedEvent() throws Exception {
+    // given
+    changeMockInActorContext(() -> when(eventProcessor.writeEvent(any())).thenReturn(-1L));
+    writer.writeEvent(EVENT_1, true);
+
+    verify(eventProcessor, timeout(5000).atLeast(2)).writeEvent(any());
+
+    // when
+    streamProcessorController.closeAsync().join();
+
+    // then
+    verify(snapshotController, never()).takeSnapshot(any());
+  }
+
   @Test
   public void shouldNotRecoverFromSnapshotWithInvalidLastWrittenTerm() throws Exception {
     // given
@@ -595,6 +611,80 @@ public class StreamProcessorControllerTest {
     assertThat(args.getValue()).isEqualTo(expectedState);
   }
 
+  @Test
+  public void shouldProcessEventsInBatch() {
+    // given
+    streamProcessorController.closeAsync().join();
+
+    streamProcessorController =
+        LogStreams.createStreamProcessor("batch", PROCESSOR_ID)
+            .logStream(logStreamRule.getLogStream())
+            .actorScheduler(logStreamRule.getActorScheduler())
+            .serviceContainer(logStreamRule.getServiceContainer())
+            .snapshotController(snapshotController)
+            .streamProcessorFactory(
+                (db) -> {
+                  streamProcessor = RecordingStreamProcessor.createSpy(db);
+                  eventProcessor = streamProcessor.getEventProcessorSpy();
+                  columnFamily = db.createColumnFamily(DefaultColumnFamily.DEFAULT, key, value);
+                  return streamProcessor;
+                })
+            .processingBatchSize(10)
+            .build()
+            .join()
+            .getController();
+
+    // each event appends to the state which was written by the previous events of the batch
+    changeMockInActorContext(
+        () ->
+            doAnswer(
+                    i -> {
+                      final String state = getState();
+                      setState(state == null ? "a" : state + "a");
+                      return null;
+                    })
+                .when(eventProcessor)
+                .processEvent());
+
+    // when
+    streamProcessor.suspend();
+    writer.writeEvents(3, EVENT_1, true);
+    streamProcessor.resume();
+
+    // then
+    waitUntil(() -> streamProcessor.getProcessedEventCount() == 3);
+    assertThat(getState()).isEqualTo("aaa");
+
+    final InOrder inOrder = inOrder(eventProcessor);
+    for (int i = 0; i < 3; i++) {
+      inOrder.verify(eventProcessor, times(1)).processEvent();
+      inOrder.verify(eventProcessor, times(1)).executeSideEffects();
+      inOrder.verify(eventProcessor, times(1)).writeEvent(any());
+      inOrder.verify(eventProcessor, times(1)).updateState();
+    }
+  }
+
+  @Test
+  public void shouldNotWriteStateOfFailedEvent() {
+    // given
+    changeMockInActorContext(
+        () ->
+            doAnswer(
+                    i -> {
+                      setState("failed");
+                      throw new RuntimeException("expected");
+                    })
+                .when(eventProcessor)
+                .processEvent());
+
+    // when
+    writer.writeEvent(EVENT_1, true);
+
+    // then
+    waitUntil(() -> streamProcessorController.isFailed());
+    assertThat(getState()).isNull();
+  }
+
   private void installStreamProcessorService() throws IOException {
     snapshotController =
         spy(
@@ -0,0 +1,476 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.json;
+
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Writes a JSON document as MessagePack without intermediate objects.
+ *
+ * <p>As MessagePack maps and arrays are prefixed with their size, the document is parsed twice: the
+ * first pass validates the document and counts the elements of each object and array, the second
+ * pass writes it.
+ */
+class JsonToMsgPack {
+  private static final String DOCUMENT_START_ERROR =
+      "Document does not begin with an object or array";
+
+  private final MsgPackWriter writer = new MsgPackWriter();
+  private final ExpandableArrayBuffer stringBuffer = new ExpandableArrayBuffer();
+
+  // the sizes of all objects and arrays of the document, in order of appearance
+  private int[] containerSizes = new int[16];
+  private int containerCount;
+
+  // the indexes of the open objects and arrays in containerSizes
+  private int[] openContainers = new int[16];
+  private boolean[] isObject = new boolean[16];
+  private int depth;
+
+  private DirectBuffer json;
+  private int offset;
+  private int limit;
+  private boolean isWriting;
+
+  /**
+   * @param json the buffer containing the JSON document, encoded as UTF-8
+   * @param offset the offset of the document
+   * @param length the length of the document
+   * @param msgPack the buffer to write the MessagePack document to; should be expandable
+   * @param msgPackOffset the offset to write the MessagePack document at
+   * @return the length of the written MessagePack document
+   */
+  int transcode(
+      final DirectBuffer json,
+      final int offset,
+      final int length,
+      final MutableDirectBuffer msgPack,
+      final int msgPackOffset) {
+    this.json = json;
+    this.limit = offset + length;
+
+    isWriting = false;
+    parseDocument(offset);
+
+    isWriting = true;
+    writer.wrap(msgPack, msgPackOffset);
+    parseDocument(offset);
+
+    return writer.getOffset() - msgPackOffset;
+  }
+
+  private void parseDocument(final int documentOffset) {
+    offset = documentOffset;
+    containerCount = 0;
+    depth = 0;
+
+    skipWhitespace();
+    if (offset == limit) {
+      throw new RuntimeException(DOCUMENT_START_ERROR);
+    }
+
+    final byte first = json.getByte(offset);
+    if (first != '{' && first != '[' && first != 'n') {
+      throw new RuntimeException(DOCUMENT_START_ERROR);
+    }
+
+    boolean isDocumentComplete = false;
+    while (!isDocumentComplete) {
+      final boolean isValueComplete = parseValue();
+
+      if (isValueComplete) {
+        isDocumentComplete = completeValue();
+      }
+    }
+
+    skipWhitespace();
+    if (offset < limit) {
+      throw new RuntimeException("Document has more content than a single object/array");
+    }
+  }
+
+  /** @return true if the value is complete, i.e. not the start of a non-empty object or array */
+  private boolean parseValue() {
+    skipWhitespace();
+    final byte b = nextByte();
+
+    switch (b) {
+      case '{':
+        return openContainer(true);
+      case '[':
+        return openContainer(false);
+      case '"':
+        parseString();
+        break;
+      case 't':
+        parseLiteral("rue");
+        if (isWriting) {
+          writer.writeBoolean(true);
+        }
+        break;
+      case 'f':
+        parseLiteral("alse");
+        if (isWriting) {
+          writer.writeBoolean(false);
+        }
+        break;
+      case 'n':
+        parseLiteral("ull");
+        if (isWriting) {
+          writer.writeNil();
+        }
+        break;
+      default:
+        if (b == '-' || (b >= '0' && b <= '9')) {
+          parseNumber(offset - 1);
+        } else {
+          throw unexpectedCharacter(b, offset - 1);
+        }
+    }
+
+    return true;
+  }
+
+  private boolean openContainer(final boolean isObject) {
+    if (containerCount == containerSizes.length) {
+      containerSizes = Arrays.copyOf(containerSizes, containerCount * 2);
+    }
+
+    final int container = containerCount;
+    containerCount += 1;
+
+    skipWhitespace();
+    final boolean isEmpty = offset < limit && json.getByte(offset) == (isObject ? '}' : ']');
+
+    if (!isWriting) {
+      containerSizes[container] = isEmpty ? 0 : 1;
+    } else if (isObject) {
+      writer.writeMapHeader(containerSizes[container]);
+    } else {
+      writer.writeArrayHeader(containerSizes[container]);
+    }
+
+    if (isEmpty) {
+      offset += 1;
+      return true;
+    }
+
+    if (depth == openContainers.length) {
+      openContainers = Arrays.copyOf(openContainers, depth * 2);
+      this.isObject = Arrays.copyOf(this.isObject, depth * 2);
+    }
+
+    openContainers[depth] = container;
+    this.isObject[depth] = isObject;
+    depth += 1;
+
+    if (isObject) {
+      parseKey();
+    }
+
+    return false;
+  }
+
+  /**
+   * Closes all objects and arrays which are complete with the current value and consumes the
+   * separator to the next element.
+   *
+   * @return true if the document is complete
+   */
+  private boolean completeValue() {
+    while (depth > 0) {
+      final int index = depth - 1;
+      final boolean isInObject = isObject[index];
+
+      skipWhitespace();
+      final byte b = nextByte();
+
+      if (b == ',') {
+        if (!isWriting) {
+          containerSizes[openContainers[index]] += 1;
+        }
+
+        if (isInObject) {
+          parseKey();
+        }
+
+        return false;
+      } else if (b == (isInObject ? '}' : ']')) {
+        depth -= 1;
+      } else {
+        throw unexpectedCharacter(b, offset - 1);
+      }
+    }
+
+    return true;
+  }
+
+  private void parseKey() {
+    skipWhitespace();
+    final byte quote = nextByte();
+    if (quote != '"') {
+      throw unexpectedCharacter(quote, offset - 1);
+    }
+
+    parseString();
+
+    skipWhitespace();
+    final byte colon = nextByte();
+    if (colon != ':') {
+      throw unexpectedCharacter(colon, offset - 1);
+    }
+  }
+
+  private void parseString() {
+    final int start = offset;
+    boolean hasEscapes = false;
+
+    byte b = nextByte();
+    while (b != '"') {
+      if (b == '\\') {
+        hasEscapes = true;
+        // skip the escaped character, it is validated while unescaping
+        nextByte();
+      } else if (b >= 0 && b < 0x20) {
+        throw unexpectedCharacter(b, offset - 1);
+      }
+
+      b = nextByte();
+    }
+
+    final int length = offset - 1 - start;
+    if (hasEscapes) {
+      final int unescapedLength = unescape(start, length);
+      if (isWriting) {
+        writer.writeString(stringBuffer, 0, unescapedLength);
+      }
+    } else if (isWriting) {
+      writer.writeString(json, start, length);
+    }
+  }
+
+  private int unescape(final int start, final int length) {
+    final int end = start + length;
+    int writeOffset = 0;
+
+    for (int i = start; i < end; i++) {
+      final byte b = json.getByte(i);
+      if (b != '\\') {
+        stringBuffer.putByte(writeOffset++, b);
+        continue;
+      }
+
+      i += 1;
+      final byte escaped = json.getByte(i);
+      switch (escaped) {
+        case '"':
+        case '\\':
+        case '/':
+          stringBuffer.putByte(writeOffset++, escaped);
+          break;
+        case 'n':
+          stringBuffer.putByte(writeOffset++, (byte) '\n');
+          break;
+        case 'r':
+          stringBuffer.putByte(writeOffset++, (byte) '\r');
+          break;
+        case 't':
+          stringBuffer.putByte(writeOffset++, (byte) '\t');
+          break;
+        case 'b':
+          stringBuffer.putByte(writeOffset++, (byte) '\b');
+          break;
+        case 'f':
+          stringBuffer.putByte(writeOffset++, (byte) '\f');
+          break;
+        case 'u':
+          int codePoint = parseHex(i + 1, end);
+          i += 4;
+
+          final boolean isSurrogatePair =
+              Character.isHighSurrogate((char) codePoint)
+                  && i + 6 < end
+                  && json.getByte(i + 1) == '\\'
+                  && json.getByte(i + 2) == 'u';
+          if (isSurrogatePair) {
+            final int low = parseHex(i + 3, end);
+            if (Character.isLowSurrogate((char) low)) {
+              codePoint = Character.toCodePoint((char) codePoint, (char) low);
+              i += 6;
+            }
+          }
+
+          writeOffset += putUtf8(writeOffset, codePoint);
+          break;
+        default:
+          throw unexpectedCharacter(escaped, i);
+      }
+    }
+
+    return writeOffset;
+  }
+
+  private int parseHex(final int start, final int end) {
+    if (start + 4 > end) {
+      throw new RuntimeException(
+          String.format("Unexpected end of unicode escape sequence at offset %d", start));
+    }
+
+    int value = 0;
+    for (int i = start; i < start + 4; i++) {
+      final byte b = json.getByte(i);
+      final int digit = Character.digit(b, 16);
+      if (digit < 0) {
+        throw unexpectedCharacter(b, i);
+      }
+
+      value = (value << 4) | digit;
+    }
+
+    return value;
+  }
+
+  private int putUtf8(final int index, final int codePoint) {
+    if (codePoint < 0x80) {
+      stringBuffer.putByte(index, (byte) codePoint);
+      return 1;
+    } else if (codePoint < 0x800) {
+      stringBuffer.putByte(index, (byte) (0xC0 | (codePoint >> 6)));
+      stringBuffer.putByte(index + 1, (byte) (0x80 | (codePoint & 0x3F)));
+      return 2;
+    } else if (codePoint < 0x10000) {
+      stringBuffer.putByte(index, (byte) (0xE0 | (codePoint >> 12)));
+      stringBuffer.putByte(index + 1, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+      stringBuffer.putByte(index + 2, (byte) (0x80 | (codePoint & 0x3F)));
+      return 3;
+    } else {
+      stringBuffer.putByte(index, (byte) (0xF0 | (codePoint >> 18)));
+      stringBuffer.putByte(index + 1, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+      stringBuffer.putByte(index + 2, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+      stringBuffer.putByte(index + 3, (byte) (0x80 | (codePoint & 0x3F)));
+      return 4;
+    }
+  }
+
+  private void parseLiteral(final String remainder) {
+    for (int i = 0; i < remainder.length(); i++) {
+      final byte b = nextByte();
+      if (b != remainder.charAt(i)) {
+        throw unexpectedCharacter(b, offset - 1);
+      }
+    }
+  }
+
+  private void parseNumber(final int start) {
+    offset = start;
+
+    final boolean isNegative = json.getByte(offset) == '-';
+    if (isNegative) {
+      offset += 1;
+    }
+
+    final int digitsStart = offset;
+    long integerValue = 0;
+    boolean isOverflow = false;
+    while (offset < limit && isDigit(json.getByte(offset))) {
+      final int digit = json.getByte(offset) - '0';
+      // accumulate negatively to be able to represent Long.MIN_VALUE
+      if (integerValue < Long.MIN_VALUE / 10
+          || (integerValue == Long.MIN_VALUE / 10 && digit > -(Long.MIN_VALUE % 10))) {
+        isOverflow = true;
+      }
+      integerValue = integerValue * 10 - digit;
+      offset += 1;
+    }
+
+    final int digits = offset - digitsStart;
+    if (digits == 0 || (digits > 1 && json.getByte(digitsStart) == '0')) {
+      throw new RuntimeException(String.format("Invalid number at offset %d", start));
+    }
+
+    boolean isInteger = true;
+    if (offset < limit && json.getByte(offset) == '.') {
+      isInteger = false;
+      offset += 1;
+      skipDigits(start);
+    }
+
+    if (offset < limit && (json.getByte(offset) == 'e' || json.getByte(offset) == 'E')) {
+      isInteger = false;
+      offset += 1;
+      if (offset < limit && (json.getByte(offset) == '+' || json.getByte(offset) == '-')) {
+        offset += 1;
+      }
+      skipDigits(start);
+    }
+
+    if (!isWriting) {
+      return;
+    }
+
+    if (isInteger && !isOverflow && (isNegative || integerValue != Long.MIN_VALUE)) {
+      writer.writeInteger(isNegative ? integerValue : -integerValue);
+    } else {
+      final String number = json.getStringWithoutLengthAscii(start, offset - start);
+      writer.writeFloat(Double.parseDouble(number));
+    }
+  }
+
+  private void skipDigits(final int numberStart) {
+    final int digitsStart = offset;
+    while (offset < limit && isDigit(json.getByte(offset))) {
+      offset += 1;
+    }
+
+    if (offset == digitsStart) {
+      throw new RuntimeException(String.format("Invalid number at offset %d", numberStart));
+    }
+  }
+
+  private static boolean isDigit(final byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  private void skipWhitespace() {
+    while (offset < limit) {
+      final byte b = json.getByte(offset);
+      if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+        return;
+      }
+
+      offset += 1;
+    }
+  }
+
+  private byte nextByte() {
+    if (offset >= limit) {
+      throw new RuntimeException(String.format("Unexpected end of document at offset %d", offset));
+    }
+
+    final byte b = json.getByte(offset);
+    offset += 1;
+    return b;
+  }
+
+  private static RuntimeException unexpectedCharacter(final byte b, final int offset) {
+    return new RuntimeException(
+        String.format("Unexpected character '%c' at offset %d", (char) (b & 0xFF), offset));
+  }
+}
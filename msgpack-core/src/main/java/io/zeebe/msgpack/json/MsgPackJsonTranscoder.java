@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.json;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Transcodes documents between MessagePack and JSON by streaming the tokens of one format directly
+ * into the other. Only objects, arrays and null are accepted as documents.
+ *
+ * <p>Instances keep reusable scratch buffers and are not thread-safe. The buffers returned by
+ * {@link #toJson(DirectBuffer)} and {@link #toMsgPack(DirectBuffer)} are only valid until the next
+ * call of the same method.
+ */
+public class MsgPackJsonTranscoder {
+  private final MsgPackToJson msgPackToJson = new MsgPackToJson();
+  private final JsonToMsgPack jsonToMsgPack = new JsonToMsgPack();
+
+  private final ExpandableArrayBuffer jsonBuffer = new ExpandableArrayBuffer();
+  private final ExpandableArrayBuffer msgPackBuffer = new ExpandableArrayBuffer();
+  private final UnsafeBuffer jsonView = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer msgPackView = new UnsafeBuffer(0, 0);
+
+  /**
+   * Writes the given MessagePack document as JSON, encoded as UTF-8.
+   *
+   * @param msgPack the buffer containing the MessagePack document
+   * @param offset the offset of the document
+   * @param length the length of the document
+   * @param json the buffer to write the JSON document to; should be expandable
+   * @param jsonOffset the offset to write the JSON document at
+   * @return the length of the written JSON document
+   */
+  public int toJson(
+      final DirectBuffer msgPack,
+      final int offset,
+      final int length,
+      final MutableDirectBuffer json,
+      final int jsonOffset) {
+    return msgPackToJson.transcode(msgPack, offset, length, json, jsonOffset);
+  }
+
+  /**
+   * Writes the given JSON document, encoded as UTF-8, as MessagePack.
+   *
+   * @param json the buffer containing the JSON document
+   * @param offset the offset of the document
+   * @param length the length of the document
+   * @param msgPack the buffer to write the MessagePack document to; should be expandable
+   * @param msgPackOffset the offset to write the MessagePack document at
+   * @return the length of the written MessagePack document
+   */
+  public int toMsgPack(
+      final DirectBuffer json,
+      final int offset,
+      final int length,
+      final MutableDirectBuffer msgPack,
+      final int msgPackOffset) {
+    return jsonToMsgPack.transcode(json, offset, length, msgPack, msgPackOffset);
+  }
+
+  /**
+   * @param msgPack the MessagePack document
+   * @return a view of the JSON document, valid until the next call
+   */
+  public DirectBuffer toJson(final DirectBuffer msgPack) {
+    final int length = toJson(msgPack, 0, msgPack.capacity(), jsonBuffer, 0);
+    jsonView.wrap(jsonBuffer, 0, length);
+    return jsonView;
+  }
+
+  /**
+   * @param json the JSON document
+   * @return a view of the MessagePack document, valid until the next call
+   */
+  public DirectBuffer toMsgPack(final DirectBuffer json) {
+    final int length = toMsgPack(json, 0, json.capacity(), msgPackBuffer, 0);
+    msgPackView.wrap(msgPackBuffer, 0, length);
+    return msgPackView;
+  }
+
+  /**
+   * @param msgPack the MessagePack document
+   * @return the JSON document
+   */
+  public String toJsonString(final DirectBuffer msgPack) {
+    final int length = toJson(msgPack, 0, msgPack.capacity(), jsonBuffer, 0);
+    return jsonBuffer.getStringWithoutLengthUtf8(0, length);
+  }
+}
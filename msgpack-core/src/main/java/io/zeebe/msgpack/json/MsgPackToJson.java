@@ -0,0 +1,294 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.json;
+
+import static io.zeebe.msgpack.spec.MsgPackCodes.FLOAT32;
+
+import io.zeebe.msgpack.spec.MsgPackFormat;
+import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import io.zeebe.msgpack.spec.MsgPackType;
+import java.util.Arrays;
+import java.util.Base64;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/** Writes a MessagePack document as JSON, token by token and without intermediate objects. */
+class MsgPackToJson {
+  private static final byte[] HEX_DIGITS = {
+    '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
+  };
+
+  private final MsgPackReader reader = new MsgPackReader();
+
+  // the open maps and arrays; a map has two remaining elements per entry, the key and the value
+  private int[] remainingElements = new int[16];
+  private boolean[] isMap = new boolean[16];
+  private int depth;
+
+  private MutableDirectBuffer json;
+  private int jsonOffset;
+
+  /**
+   * @param msgPack the buffer containing the MessagePack document
+   * @param offset the offset of the document
+   * @param length the length of the document
+   * @param json the buffer to write the JSON document to; should be expandable
+   * @param jsonOffset the offset to write the JSON document at
+   * @return the length of the written JSON document
+   */
+  int transcode(
+      final DirectBuffer msgPack,
+      final int offset,
+      final int length,
+      final MutableDirectBuffer json,
+      final int jsonOffset) {
+    this.json = json;
+    this.jsonOffset = jsonOffset;
+    this.depth = 0;
+
+    if (length == 0 || !isDocument(msgPack.getByte(offset))) {
+      throw new RuntimeException("Document does not begin with an object or array");
+    }
+
+    reader.wrap(msgPack, offset, length);
+
+    boolean isDocumentComplete = false;
+    while (!isDocumentComplete) {
+      final boolean isKey = depth > 0 && isMap[depth - 1] && remainingElements[depth - 1] % 2 == 0;
+      final boolean isValueComplete = writeNextToken(isKey);
+
+      if (isValueComplete) {
+        isDocumentComplete = completeValue();
+      }
+    }
+
+    if (reader.getOffset() < length) {
+      throw new RuntimeException("Document has more content than a single object/array");
+    }
+
+    return this.jsonOffset - jsonOffset;
+  }
+
+  private static boolean isDocument(final byte headerByte) {
+    final MsgPackType type = MsgPackFormat.valueOf(headerByte).getType();
+    return type == MsgPackType.MAP || type == MsgPackType.ARRAY || type == MsgPackType.NIL;
+  }
+
+  /** @return true if the token is a complete value, i.e. not the start of a non-empty container */
+  private boolean writeNextToken(final boolean isKey) {
+    final boolean isFloat32 = reader.getBuffer().getByte(reader.getOffset()) == FLOAT32;
+    final MsgPackToken token = reader.readToken();
+    final MsgPackType type = token.getType();
+
+    if (isKey) {
+      writeKey(token, isFloat32);
+      return true;
+    }
+
+    switch (type) {
+      case MAP:
+        return openContainer('{', '}', token.getSize(), true);
+      case ARRAY:
+        return openContainer('[', ']', token.getSize(), false);
+      case STRING:
+        writeString(token.getValueBuffer());
+        break;
+      case INTEGER:
+        jsonOffset += json.putLongAscii(jsonOffset, token.getIntegerValue());
+        break;
+      case FLOAT:
+        writeFloat(token.getFloatValue(), isFloat32);
+        break;
+      case BOOLEAN:
+        writeAscii(token.getBooleanValue() ? "true" : "false");
+        break;
+      case NIL:
+        writeAscii("null");
+        break;
+      case BINARY:
+        writeBinary(token.getValueBuffer());
+        break;
+      default:
+        throw new RuntimeException("Unsupported token type " + type);
+    }
+
+    return true;
+  }
+
+  private void writeKey(final MsgPackToken token, final boolean isFloat32) {
+    // JSON only knows string keys, other scalar keys are written as strings
+    switch (token.getType()) {
+      case STRING:
+        writeString(token.getValueBuffer());
+        break;
+      case INTEGER:
+        writeByte('"');
+        jsonOffset += json.putLongAscii(jsonOffset, token.getIntegerValue());
+        writeByte('"');
+        break;
+      case FLOAT:
+        writeByte('"');
+        writeAscii(floatToString(token.getFloatValue(), isFloat32));
+        writeByte('"');
+        break;
+      case BOOLEAN:
+        writeAscii(token.getBooleanValue() ? "\"true\"" : "\"false\"");
+        break;
+      case NIL:
+        writeAscii("\"null\"");
+        break;
+      default:
+        throw new RuntimeException("Unsupported map key of type " + token.getType());
+    }
+  }
+
+  private boolean openContainer(
+      final char open, final char close, final int size, final boolean isMap) {
+    writeByte(open);
+
+    if (size == 0) {
+      writeByte(close);
+      return true;
+    }
+
+    if (depth == remainingElements.length) {
+      remainingElements = Arrays.copyOf(remainingElements, depth * 2);
+      this.isMap = Arrays.copyOf(this.isMap, depth * 2);
+    }
+
+    remainingElements[depth] = isMap ? size * 2 : size;
+    this.isMap[depth] = isMap;
+    depth += 1;
+
+    return false;
+  }
+
+  /**
+   * Closes all containers which are complete with the current value and writes the separator to the
+   * next element.
+   *
+   * @return true if the document is complete
+   */
+  private boolean completeValue() {
+    while (depth > 0) {
+      final int index = depth - 1;
+      remainingElements[index] -= 1;
+
+      if (remainingElements[index] > 0) {
+        final boolean isValueNext = isMap[index] && remainingElements[index] % 2 == 1;
+        writeByte(isValueNext ? ':' : ',');
+        return false;
+      }
+
+      writeByte(isMap[index] ? '}' : ']');
+      depth -= 1;
+    }
+
+    return true;
+  }
+
+  private void writeString(final DirectBuffer value) {
+    final int length = value.capacity();
+    writeByte('"');
+
+    int unescapedStart = 0;
+    for (int i = 0; i < length; i++) {
+      final byte b = value.getByte(i);
+
+      // multi-byte UTF-8 characters are negative and don't need to be escaped
+      if (b == '"' || b == '\\' || (b >= 0 && b < 0x20)) {
+        writeBytes(value, unescapedStart, i - unescapedStart);
+        writeEscaped(b);
+        unescapedStart = i + 1;
+      }
+    }
+
+    writeBytes(value, unescapedStart, length - unescapedStart);
+    writeByte('"');
+  }
+
+  private void writeEscaped(final byte b) {
+    writeByte('\\');
+
+    switch (b) {
+      case '"':
+      case '\\':
+        writeByte(b);
+        break;
+      case '\n':
+        writeByte('n');
+        break;
+      case '\r':
+        writeByte('r');
+        break;
+      case '\t':
+        writeByte('t');
+        break;
+      case '\b':
+        writeByte('b');
+        break;
+      case '\f':
+        writeByte('f');
+        break;
+      default:
+        writeAscii("u00");
+        writeByte(HEX_DIGITS[b >> 4]);
+        writeByte(HEX_DIGITS[b & 0xF]);
+    }
+  }
+
+  private void writeFloat(final double value, final boolean isFloat32) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      // not a valid JSON number
+      writeByte('"');
+      writeAscii(floatToString(value, isFloat32));
+      writeByte('"');
+    } else {
+      writeAscii(floatToString(value, isFloat32));
+    }
+  }
+
+  private static String floatToString(final double value, final boolean isFloat32) {
+    // avoid printing the precision loss of the widening conversion, e.g. 1.100000023841858
+    return isFloat32 ? Float.toString((float) value) : Double.toString(value);
+  }
+
+  private void writeBinary(final DirectBuffer value) {
+    final byte[] bytes = new byte[value.capacity()];
+    value.getBytes(0, bytes);
+
+    final byte[] encoded = Base64.getEncoder().encode(bytes);
+    writeByte('"');
+    json.putBytes(jsonOffset, encoded);
+    jsonOffset += encoded.length;
+    writeByte('"');
+  }
+
+  private void writeAscii(final String value) {
+    jsonOffset += json.putStringWithoutLengthAscii(jsonOffset, value);
+  }
+
+  private void writeBytes(final DirectBuffer buffer, final int offset, final int length) {
+    json.putBytes(jsonOffset, buffer, offset, length);
+    jsonOffset += length;
+  }
+
+  private void writeByte(final int b) {
+    json.putByte(jsonOffset, (byte) b);
+    jsonOffset += 1;
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.validation;
+
+import io.zeebe.msgpack.spec.MsgPackCodes;
+import io.zeebe.msgpack.spec.MsgPackFormat;
+import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.msgpack.spec.MsgPackType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+
+/**
+ * Describes the expected structure of a msgpack value. A structure checks a value with the same
+ * rules that apply when the value is read into an object of msgpack-value, but it only walks over
+ * the encoded bytes, without copying or allocating anything.
+ */
+public abstract class MsgPackStructure {
+
+  /** Any value, e.g. a packed value or an undeclared property. */
+  public static final MsgPackStructure ANY =
+      new MsgPackStructure() {
+        @Override
+        public void validate(MsgPackReader reader) {
+          reader.skipValue();
+          ensureInBounds(reader, 0);
+        }
+      };
+
+  public static final MsgPackStructure STRING =
+      new MsgPackStructure() {
+        @Override
+        public void validate(MsgPackReader reader) {
+          skipBytes(reader, reader.readStringLength());
+        }
+      };
+
+  public static final MsgPackStructure BINARY =
+      new MsgPackStructure() {
+        @Override
+        public void validate(MsgPackReader reader) {
+          skipBytes(reader, reader.readBinaryLength());
+        }
+      };
+
+  public static final MsgPackStructure BOOLEAN =
+      new MsgPackStructure() {
+        @Override
+        public void validate(MsgPackReader reader) {
+          reader.readBoolean();
+        }
+      };
+
+  public static final MsgPackStructure LONG =
+      new MsgPackStructure() {
+        @Override
+        public void validate(MsgPackReader reader) {
+          reader.readInteger();
+        }
+      };
+
+  public static final MsgPackStructure INTEGER =
+      new MsgPackStructure() {
+        @Override
+        public void validate(MsgPackReader reader) {
+          final long value = reader.readInteger();
+
+          if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new RuntimeException(
+                String.format("Value doesn't fit into an integer: %s.", value));
+          }
+        }
+      };
+
+  /** A binary value which contains an encoded document, i.e. a map, or nothing. */
+  public static final MsgPackStructure DOCUMENT =
+      new MsgPackStructure() {
+        @Override
+        public void validate(MsgPackReader reader) {
+          final int length = reader.readBinaryLength();
+          final int offset = reader.getOffset();
+          skipBytes(reader, length);
+
+          final DirectBuffer buffer = reader.getBuffer();
+          final boolean isNil =
+              length == 0 || (length == 1 && buffer.getByte(offset) == MsgPackCodes.NIL);
+
+          if (!isNil
+              && MsgPackFormat.valueOf(buffer.getByte(offset)).getType() != MsgPackType.MAP) {
+            throw new IllegalArgumentException(
+                "Document has invalid format. On root level an object is only allowed.");
+          }
+        }
+      };
+
+  /**
+   * Reads the value at the current offset of the reader.
+   *
+   * @throws RuntimeException if the value doesn't match the structure
+   */
+  public abstract void validate(MsgPackReader reader);
+
+  public static MsgPackStructure enumeration(String... values) {
+    return new EnumStructure(values);
+  }
+
+  public static MsgPackStructure array(MsgPackStructure elementStructure) {
+    return new ArrayStructure(elementStructure);
+  }
+
+  public static ObjectStructure object() {
+    return new ObjectStructure();
+  }
+
+  protected static void skipBytes(MsgPackReader reader, int length) {
+    ensureInBounds(reader, length);
+    reader.skipBytes(length);
+  }
+
+  protected static void ensureInBounds(MsgPackReader reader, int length) {
+    final int capacity = reader.getBuffer().capacity();
+    final int offset = reader.getOffset();
+
+    if (length < 0 || offset > capacity || length > capacity - offset) {
+      throw new IndexOutOfBoundsException(
+          String.format("offset=%d length=%d capacity=%d", offset, length, capacity));
+    }
+  }
+
+  protected static boolean equals(
+      DirectBuffer buffer, int offset, int length, byte[] expectedBytes) {
+    if (length != expectedBytes.length) {
+      return false;
+    }
+
+    for (int i = 0; i < length; i++) {
+      if (buffer.getByte(offset + i) != expectedBytes[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static final class EnumStructure extends MsgPackStructure {
+    private final byte[][] values;
+
+    private EnumStructure(String... values) {
+      this.values = new byte[values.length][];
+      for (int i = 0; i < values.length; i++) {
+        this.values[i] = values[i].getBytes(StandardCharsets.UTF_8);
+      }
+    }
+
+    @Override
+    public void validate(MsgPackReader reader) {
+      final int length = reader.readStringLength();
+      final int offset = reader.getOffset();
+      skipBytes(reader, length);
+
+      for (byte[] value : values) {
+        if (equals(reader.getBuffer(), offset, length, value)) {
+          return;
+        }
+      }
+
+      throw new RuntimeException(
+          String.format(
+              "Illegal enum value: %s.",
+              reader.getBuffer().getStringWithoutLengthUtf8(offset, length)));
+    }
+  }
+
+  private static final class ArrayStructure extends MsgPackStructure {
+    private final MsgPackStructure elementStructure;
+
+    private ArrayStructure(MsgPackStructure elementStructure) {
+      this.elementStructure = elementStructure;
+    }
+
+    @Override
+    public void validate(MsgPackReader reader) {
+      final int size = reader.readArrayHeader();
+
+      for (int i = 0; i < size; i++) {
+        elementStructure.validate(reader);
+      }
+    }
+  }
+
+  /**
+   * A map with string keys. Declared properties must match their structure, required ones must be
+   * present. Other properties may have any value.
+   */
+  public static final class ObjectStructure extends MsgPackStructure {
+    private static final int MAX_PROPERTIES = Long.SIZE;
+
+    private final List<String> keys = new ArrayList<>();
+    private final List<byte[]> keyBytes = new ArrayList<>();
+    private final List<MsgPackStructure> structures = new ArrayList<>();
+    private long requiredProperties;
+
+    private ObjectStructure() {}
+
+    public ObjectStructure property(String key, MsgPackStructure structure, boolean isRequired) {
+      final int index = keys.size();
+      if (index >= MAX_PROPERTIES) {
+        throw new IllegalStateException(
+            String.format(
+                "Expected at most %d properties, but '%s' exceeds it", MAX_PROPERTIES, key));
+      }
+
+      keys.add(key);
+      keyBytes.add(key.getBytes(StandardCharsets.UTF_8));
+      structures.add(structure);
+
+      if (isRequired) {
+        requiredProperties |= 1L << index;
+      }
+
+      return this;
+    }
+
+    @Override
+    public void validate(MsgPackReader reader) {
+      final DirectBuffer buffer = reader.getBuffer();
+      final int mapSize = reader.readMapHeader();
+
+      long readProperties = 0;
+
+      for (int i = 0; i < mapSize; ++i) {
+        final int keyLength = reader.readStringLength();
+        final int keyOffset = reader.getOffset();
+        skipBytes(reader, keyLength);
+
+        final int index = indexOf(buffer, keyOffset, keyLength);
+        final MsgPackStructure structure = index >= 0 ? structures.get(index) : ANY;
+
+        try {
+          structure.validate(reader);
+        } catch (Exception e) {
+          throw new RuntimeException(
+              String.format(
+                  "Could not read property '%s'.",
+                  buffer.getStringWithoutLengthUtf8(keyOffset, keyLength)),
+              e);
+        }
+
+        if (index >= 0) {
+          readProperties |= 1L << index;
+        }
+      }
+
+      final long missingProperties = requiredProperties & ~readProperties;
+      if (missingProperties != 0) {
+        final int index = Long.numberOfTrailingZeros(missingProperties);
+        throw new RuntimeException(
+            String.format("Property '%s' has no valid value", keys.get(index)));
+      }
+    }
+
+    private int indexOf(DirectBuffer buffer, int keyOffset, int keyLength) {
+      for (int k = 0; k < keyBytes.size(); k++) {
+        if (equals(buffer, keyOffset, keyLength, keyBytes.get(k))) {
+          return k;
+        }
+      }
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.validation;
+
+import io.zeebe.msgpack.spec.MsgPackReader;
+import org.agrona.DirectBuffer;
+
+/**
+ * Checks that encoded msgpack matches a {@link MsgPackStructure}, without deserializing it. Not
+ * thread-safe; use one validator per thread.
+ */
+public class MsgPackStructureValidator {
+  private final MsgPackReader reader = new MsgPackReader();
+
+  /** @throws RuntimeException if the value doesn't match the structure */
+  public void validate(MsgPackStructure structure, DirectBuffer buffer, int offset, int length) {
+    reader.wrap(buffer, offset, length);
+
+    try {
+      structure.validate(reader);
+    } catch (final Exception e) {
+      throw new RuntimeException(
+          "Could not validate object. Validation stuck at offset "
+              + reader.getOffset()
+              + " of length "
+              + length,
+          e);
+    }
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import java.nio.charset.StandardCharsets;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+public class MsgPackJsonTranscoderTest {
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+  private static final ObjectMapper MSGPACK_MAPPER = new ObjectMapper(new MessagePackFactory());
+
+  @Rule public ExpectedException exception = ExpectedException.none();
+
+  private final MsgPackJsonTranscoder transcoder = new MsgPackJsonTranscoder();
+
+  @Test
+  public void shouldTranscodeDocuments() throws Exception {
+    assertRoundTrip("{}");
+    assertRoundTrip("[]");
+    assertRoundTrip("null");
+    assertRoundTrip("{\"key1\":1,\"key2\":2}");
+    assertRoundTrip("[1,-2,true,false,null,\"foo\"]");
+    assertRoundTrip("{\"a\":{\"b\":[{},[],{\"c\":[1,[2,[3]]]}]},\"d\":{}}");
+    assertRoundTrip("[9223372036854775807,-9223372036854775808,0,-1,127,128,65536]");
+  }
+
+  @Test
+  public void shouldTranscodeLargeContainers() throws Exception {
+    final StringBuilder json = new StringBuilder("{");
+    for (int i = 0; i < 70_000; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("\"k").append(i).append("\":[").append(i).append(']');
+    }
+    json.append('}');
+
+    assertRoundTrip(json.toString());
+  }
+
+  @Test
+  public void shouldEscapeStrings() throws Exception {
+    assertRoundTrip("{\"quote\\\"\":\"back\\\\slash\",\"control\":\"\\n\\r\\t\\b\\f\\u0001\"}");
+  }
+
+  @Test
+  public void shouldUnescapeStrings() throws Exception {
+    // given
+    final String json = "[\"\\/\\u00e4\\u20ac\\ud83d\\ude00\"]";
+
+    // when
+    final DirectBuffer msgPack = transcoder.toMsgPack(wrap(json));
+
+    // then
+    assertThat(MSGPACK_MAPPER.readTree(toBytes(msgPack)).get(0).textValue()).isEqualTo("/ä€😀");
+    assertThat(transcoder.toJsonString(msgPack)).isEqualTo("[\"/ä€😀\"]");
+  }
+
+  @Test
+  public void shouldKeepUtf8Strings() throws Exception {
+    assertRoundTrip("{\"äöü\":\"€ 😀\"}");
+  }
+
+  @Test
+  public void shouldTranscodeFloats() {
+    assertThat(transcode("[1.5,0.1,-2.25e3,1E-7,1.0]")).isEqualTo("[1.5,0.1,-2250.0,1.0E-7,1.0]");
+  }
+
+  @Test
+  public void shouldTranscodeIntegerOutOfLongRangeAsFloat() {
+    assertThat(transcode("[9223372036854775808]")).isEqualTo("[9.223372E18]");
+  }
+
+  @Test
+  public void shouldIgnoreWhitespace() {
+    assertThat(transcode(" \n{ \"a\" : [ 1 , { } ] ,\t\"b\":null }\r\n"))
+        .isEqualTo("{\"a\":[1,{}],\"b\":null}");
+  }
+
+  @Test
+  public void shouldWriteNonStringKeysAsStrings() {
+    // given
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final MsgPackWriter writer = new MsgPackWriter().wrap(buffer, 0);
+    writer.writeMapHeader(2).writeInteger(1).writeBoolean(true).writeNil().writeFloat(1.5);
+
+    // when
+    final String json = transcoder.toJsonString(new UnsafeBuffer(buffer, 0, writer.getOffset()));
+
+    // then
+    assertThat(json).isEqualTo("{\"1\":true,\"null\":1.5}");
+  }
+
+  @Test
+  public void shouldWriteBinaryAsBase64() {
+    // given
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final MsgPackWriter writer = new MsgPackWriter().wrap(buffer, 0);
+    writer.writeArrayHeader(1).writeBinary(new UnsafeBuffer(new byte[] {1, 2, 3}));
+
+    // when
+    final String json = transcoder.toJsonString(new UnsafeBuffer(buffer, 0, writer.getOffset()));
+
+    // then
+    assertThat(json).isEqualTo("[\"AQID\"]");
+  }
+
+  @Test
+  public void shouldWriteToOffset() {
+    // given
+    final DirectBuffer msgPack = copy(transcoder.toMsgPack(wrap("{\"a\":1}")));
+    final ExpandableArrayBuffer json = new ExpandableArrayBuffer(4);
+
+    // when
+    final int length = transcoder.toJson(msgPack, 0, msgPack.capacity(), json, 3);
+
+    // then
+    assertThat(json.getStringWithoutLengthUtf8(3, length)).isEqualTo("{\"a\":1}");
+  }
+
+  @Test
+  public void shouldRejectScalarJsonDocument() {
+    // then
+    exception.expect(RuntimeException.class);
+    exception.expectMessage("Document does not begin with an object or array");
+
+    // when
+    transcode("123");
+  }
+
+  @Test
+  public void shouldRejectScalarMsgPackDocument() {
+    // given
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+    final int length = new MsgPackWriter().wrap(buffer, 0).writeInteger(123).getOffset();
+
+    // then
+    exception.expect(RuntimeException.class);
+    exception.expectMessage("Document does not begin with an object or array");
+
+    // when
+    transcoder.toJsonString(new UnsafeBuffer(buffer, 0, length));
+  }
+
+  @Test
+  public void shouldRejectMoreThanOneJsonDocument() {
+    // then
+    exception.expect(RuntimeException.class);
+    exception.expectMessage("Document has more content than a single object/array");
+
+    // when
+    transcode("{}{}");
+  }
+
+  @Test
+  public void shouldRejectMoreThanOneMsgPackDocument() {
+    // then
+    exception.expect(RuntimeException.class);
+    exception.expectMessage("Document has more content than a single object/array");
+
+    // when
+    transcoder.toJsonString(new UnsafeBuffer(new byte[] {(byte) 0x80, (byte) 0x80}));
+  }
+
+  @Test
+  public void shouldRejectTrailingComma() {
+    // then
+    exception.expect(RuntimeException.class);
+    exception.expectMessage("Unexpected character ']' at offset 3");
+
+    // when
+    transcode("[1,]");
+  }
+
+  @Test
+  public void shouldRejectUnterminatedDocument() {
+    // then
+    exception.expect(RuntimeException.class);
+    exception.expectMessage("Unexpected end of document at offset 8");
+
+    // when
+    transcode("{\"a\":[1]");
+  }
+
+  @Test
+  public void shouldRejectInvalidLiteral() {
+    // then
+    exception.expect(RuntimeException.class);
+    exception.expectMessage("Unexpected character 'x' at offset 3");
+
+    // when
+    transcode("[trxe]");
+  }
+
+  @Test
+  public void shouldRejectInvalidNumber() {
+    // then
+    exception.expect(RuntimeException.class);
+    exception.expectMessage("Invalid number at offset 1");
+
+    // when
+    transcode("[01]");
+  }
+
+  private void assertRoundTrip(final String json) throws Exception {
+    // the MessagePack document is the same as written by Jackson
+    final DirectBuffer msgPack = copy(transcoder.toMsgPack(wrap(json)));
+    assertThat(MSGPACK_MAPPER.readTree(toBytes(msgPack))).isEqualTo(JSON_MAPPER.readTree(json));
+
+    assertThat(transcoder.toJsonString(msgPack)).isEqualTo(json);
+  }
+
+  private String transcode(final String json) {
+    final DirectBuffer msgPack = copy(transcoder.toMsgPack(wrap(json)));
+    return transcoder.toJsonString(msgPack);
+  }
+
+  private static DirectBuffer wrap(final String json) {
+    return new UnsafeBuffer(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static DirectBuffer copy(final DirectBuffer buffer) {
+    return new UnsafeBuffer(toBytes(buffer));
+  }
+
+  private static byte[] toBytes(final DirectBuffer buffer) {
+    final byte[] bytes = new byte[buffer.capacity()];
+    buffer.getBytes(0, bytes);
+    return bytes;
+  }
+}
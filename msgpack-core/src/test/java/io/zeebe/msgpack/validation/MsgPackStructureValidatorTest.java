@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class MsgPackStructureValidatorTest {
+
+  private static final MsgPackStructure STRUCTURE =
+      MsgPackStructure.object()
+          .property("name", MsgPackStructure.STRING, true)
+          .property("count", MsgPackStructure.INTEGER, false)
+          .property("state", MsgPackStructure.enumeration("ACTIVE", "DONE"), false)
+          .property("payload", MsgPackStructure.DOCUMENT, false)
+          .property("keys", MsgPackStructure.array(MsgPackStructure.LONG), false);
+
+  private final MsgPackStructureValidator validator = new MsgPackStructureValidator();
+
+  @Test
+  public void shouldAcceptMatchingStructure() {
+    // given
+    final DirectBuffer buffer =
+        encode(
+            w -> {
+              w.writeMapHeader(6);
+              w.writeString(utf8("name"));
+              w.writeString(utf8("foo"));
+              w.writeString(utf8("count"));
+              w.writeInteger(3);
+              w.writeString(utf8("state"));
+              w.writeString(utf8("DONE"));
+              w.writeString(utf8("payload"));
+              w.writeBinary(encode(p -> p.writeMapHeader(0)));
+              w.writeString(utf8("keys"));
+              w.writeArrayHeader(2);
+              w.writeInteger(1L);
+              w.writeInteger(2L);
+              w.writeString(utf8("other"));
+              w.writeFloat(1.5);
+            });
+
+    // when
+    final Throwable error = validate(buffer);
+
+    // then
+    assertThat(error).isNull();
+  }
+
+  @Test
+  public void shouldRejectMissingRequiredProperty() {
+    // given
+    final DirectBuffer buffer =
+        encode(
+            w -> {
+              w.writeMapHeader(1);
+              w.writeString(utf8("count"));
+              w.writeInteger(3);
+            });
+
+    // when
+    final Throwable error = validate(buffer);
+
+    // then
+    assertThat(error)
+        .hasMessageStartingWith("Could not validate object. Validation stuck at offset 8");
+    assertThat(error.getCause()).hasMessage("Property 'name' has no valid value");
+  }
+
+  @Test
+  public void shouldRejectWrongPropertyType() {
+    // given
+    final DirectBuffer buffer =
+        encode(
+            w -> {
+              w.writeMapHeader(1);
+              w.writeString(utf8("name"));
+              w.writeInteger(3);
+            });
+
+    // when
+    final Throwable error = validate(buffer);
+
+    // then
+    assertThat(error.getCause()).hasMessage("Could not read property 'name'.");
+  }
+
+  @Test
+  public void shouldRejectIllegalEnumValue() {
+    // given
+    final DirectBuffer buffer =
+        encode(
+            w -> {
+              w.writeMapHeader(2);
+              w.writeString(utf8("name"));
+              w.writeString(utf8("foo"));
+              w.writeString(utf8("state"));
+              w.writeString(utf8("UNKNOWN"));
+            });
+
+    // when
+    final Throwable error = validate(buffer);
+
+    // then
+    assertThat(error.getCause().getCause()).hasMessage("Illegal enum value: UNKNOWN.");
+  }
+
+  @Test
+  public void shouldRejectDocumentWhichIsNoMap() {
+    // given
+    final DirectBuffer buffer =
+        encode(
+            w -> {
+              w.writeMapHeader(2);
+              w.writeString(utf8("name"));
+              w.writeString(utf8("foo"));
+              w.writeString(utf8("payload"));
+              w.writeBinary(encode(p -> p.writeArrayHeader(0)));
+            });
+
+    // when
+    final Throwable error = validate(buffer);
+
+    // then
+    assertThat(error.getCause()).hasMessage("Could not read property 'payload'.");
+  }
+
+  @Test
+  public void shouldRejectInvalidArrayElement() {
+    // given
+    final DirectBuffer buffer =
+        encode(
+            w -> {
+              w.writeMapHeader(2);
+              w.writeString(utf8("name"));
+              w.writeString(utf8("foo"));
+              w.writeString(utf8("keys"));
+              w.writeArrayHeader(1);
+              w.writeString(utf8("1"));
+            });
+
+    // when
+    final Throwable error = validate(buffer);
+
+    // then
+    assertThat(error.getCause()).hasMessage("Could not read property 'keys'.");
+  }
+
+  @Test
+  public void shouldRejectStringExceedingBuffer() {
+    // given
+    final DirectBuffer buffer =
+        encode(
+            w -> {
+              w.writeMapHeader(1);
+              w.writeString(utf8("name"));
+              w.writeString(utf8("foo"));
+            });
+
+    // when
+    final Throwable error =
+        catchThrowable(() -> validator.validate(STRUCTURE, buffer, 0, buffer.capacity() - 1));
+
+    // then
+    assertThat(error).isInstanceOf(RuntimeException.class);
+  }
+
+  private Throwable validate(DirectBuffer buffer) {
+    return catchThrowable(() -> validator.validate(STRUCTURE, buffer, 0, buffer.capacity()));
+  }
+
+  private static DirectBuffer encode(Consumer<MsgPackWriter> encoder) {
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[1024]);
+    final MsgPackWriter writer = new MsgPackWriter();
+    writer.wrap(buffer, 0);
+    encoder.accept(writer);
+    return new UnsafeBuffer(buffer, 0, writer.getOffset());
+  }
+
+  private static DirectBuffer utf8(String value) {
+    return new UnsafeBuffer(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -33,6 +33,12 @@ public class ArrayProperty<T extends BaseValue> extends BaseProperty<ArrayValue<
     isSet = true;
   }
 
+  @Override
+  public boolean isRequired() {
+    // an array is always set, i.e. it is empty if it is missing
+    return false;
+  }
+
   @Override
   public Iterator<T> iterator() {
     return resolveValue().iterator();
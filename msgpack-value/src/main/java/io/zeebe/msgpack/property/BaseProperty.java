@@ -18,6 +18,7 @@ package io.zeebe.msgpack.property;
 import io.zeebe.msgpack.Recyclable;
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 import io.zeebe.msgpack.value.BaseValue;
 import io.zeebe.msgpack.value.StringValue;
 import java.util.Objects;
@@ -63,6 +64,15 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     return key;
   }
 
+  /** @return true if the property must be present when it is read, i.e. it has no default value */
+  public boolean isRequired() {
+    return defaultValue == null;
+  }
+
+  public MsgPackStructure getStructure() {
+    return value.getStructure();
+  }
+
   protected T resolveValue() {
     if (isSet) {
       return value;
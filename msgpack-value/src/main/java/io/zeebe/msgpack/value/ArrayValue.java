@@ -17,6 +17,7 @@ package io.zeebe.msgpack.value;
 
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import org.agrona.ExpandableArrayBuffer;
@@ -273,4 +274,9 @@ public class ArrayValue<T extends BaseValue> extends BaseValue implements Iterat
     Insert,
     Modify,
   }
+
+  @Override
+  public MsgPackStructure getStructure() {
+    return MsgPackStructure.array(innerValue.getStructure());
+  }
 }
@@ -18,6 +18,7 @@ package io.zeebe.msgpack.value;
 import io.zeebe.msgpack.Recyclable;
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 
 public abstract class BaseValue implements Recyclable {
   public abstract void writeJSON(StringBuilder builder);
@@ -28,6 +29,9 @@ public abstract class BaseValue implements Recyclable {
 
   public abstract int getEncodedLength();
 
+  /** @return the structure which the encoded value must have to be readable by this value */
+  public abstract MsgPackStructure getStructure();
+
   @Override
   public String toString() {
     final StringBuilder stringBuilder = new StringBuilder();
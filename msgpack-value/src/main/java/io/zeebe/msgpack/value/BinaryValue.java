@@ -17,6 +17,7 @@ package io.zeebe.msgpack.value;
 
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import org.agrona.DirectBuffer;
@@ -90,4 +91,9 @@ public class BinaryValue extends BaseValue {
   public int getEncodedLength() {
     return MsgPackWriter.getEncodedBinaryValueLength(length);
   }
+
+  @Override
+  public MsgPackStructure getStructure() {
+    return MsgPackStructure.BINARY;
+  }
 }
@@ -17,6 +17,7 @@ package io.zeebe.msgpack.value;
 
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 
 public class BooleanValue extends BaseValue {
   protected boolean val = false;
@@ -61,4 +62,9 @@ public class BooleanValue extends BaseValue {
   public int getEncodedLength() {
     return MsgPackWriter.getEncodedBooleanValueLength();
   }
+
+  @Override
+  public MsgPackStructure getStructure() {
+    return MsgPackStructure.BOOLEAN;
+  }
 }
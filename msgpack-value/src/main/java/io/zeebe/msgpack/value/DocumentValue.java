@@ -19,6 +19,7 @@ import io.zeebe.msgpack.spec.MsgPackCodes;
 import io.zeebe.msgpack.spec.MsgPackFormat;
 import io.zeebe.msgpack.spec.MsgPackHelper;
 import io.zeebe.msgpack.spec.MsgPackType;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -53,4 +54,9 @@ public class DocumentValue extends BinaryValue {
 
     super.wrap(buff, offset, length);
   }
+
+  @Override
+  public MsgPackStructure getStructure() {
+    return MsgPackStructure.DOCUMENT;
+  }
 }
@@ -17,6 +17,7 @@ package io.zeebe.msgpack.value;
 
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 
 public class EnumValue<E extends Enum<E>> extends BaseValue {
   private final StringValue decodedValue = new StringValue();
@@ -85,4 +86,14 @@ public class EnumValue<E extends Enum<E>> extends BaseValue {
   public int getEncodedLength() {
     return binaryEnumValues[value.ordinal()].getEncodedLength();
   }
+
+  @Override
+  public MsgPackStructure getStructure() {
+    final String[] values = new String[enumConstants.length];
+    for (int i = 0; i < enumConstants.length; i++) {
+      values[i] = enumConstants[i].toString();
+    }
+
+    return MsgPackStructure.enumeration(values);
+  }
 }
@@ -17,6 +17,7 @@ package io.zeebe.msgpack.value;
 
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 
 public class IntegerValue extends BaseValue {
   protected int value;
@@ -68,4 +69,9 @@ public class IntegerValue extends BaseValue {
   public int getEncodedLength() {
     return MsgPackWriter.getEncodedLongValueLength(value);
   }
+
+  @Override
+  public MsgPackStructure getStructure() {
+    return MsgPackStructure.INTEGER;
+  }
 }
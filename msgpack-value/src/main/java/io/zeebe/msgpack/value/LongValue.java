@@ -17,6 +17,7 @@ package io.zeebe.msgpack.value;
 
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 
 public class LongValue extends BaseValue {
   protected long value;
@@ -61,4 +62,9 @@ public class LongValue extends BaseValue {
   public int getEncodedLength() {
     return MsgPackWriter.getEncodedLongValueLength(value);
   }
+
+  @Override
+  public MsgPackStructure getStructure() {
+    return MsgPackStructure.LONG;
+  }
 }
@@ -19,6 +19,8 @@ import io.zeebe.msgpack.property.BaseProperty;
 import io.zeebe.msgpack.property.UndeclaredProperty;
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
+import io.zeebe.msgpack.validation.MsgPackStructure.ObjectStructure;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,8 +31,11 @@ public class ObjectValue extends BaseValue {
 
   private final StringValue decodedKey = new StringValue();
 
+  private ObjectStructure structure;
+
   public ObjectValue declareProperty(BaseProperty<? extends BaseValue> prop) {
     declaredProperties.add(prop);
+    structure = null;
     return this;
   }
 
@@ -171,4 +176,20 @@ public class ObjectValue extends BaseValue {
     }
     return length;
   }
+
+  @Override
+  public MsgPackStructure getStructure() {
+    if (structure == null) {
+      final ObjectStructure objectStructure = MsgPackStructure.object();
+
+      for (int i = 0; i < declaredProperties.size(); i++) {
+        final BaseProperty<? extends BaseValue> prop = declaredProperties.get(i);
+        objectStructure.property(prop.getKey().toString(), prop.getStructure(), prop.isRequired());
+      }
+
+      structure = objectStructure;
+    }
+
+    return structure;
+  }
 }
@@ -17,6 +17,7 @@ package io.zeebe.msgpack.value;
 
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -71,4 +72,9 @@ public class PackedValue extends BaseValue {
     builder.append(length);
     builder.append(")]");
   }
+
+  @Override
+  public MsgPackStructure getStructure() {
+    return MsgPackStructure.ANY;
+  }
 }
@@ -19,6 +19,7 @@ import static io.zeebe.util.buffer.BufferUtil.wrapString;
 
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructure;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -138,4 +139,9 @@ public class StringValue extends BaseValue {
   public int getEncodedLength() {
     return MsgPackWriter.getEncodedStringLength(length);
   }
+
+  @Override
+  public MsgPackStructure getStructure() {
+    return MsgPackStructure.STRING;
+  }
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack;
+
+import static io.zeebe.msgpack.MsgPackUtil.encodeMsgPack;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import io.zeebe.msgpack.POJO.POJOEnum;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.msgpack.validation.MsgPackStructureValidator;
+import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+/** Verifies that the structure of an object accepts exactly what the object can read. */
+public class ObjectValueStructureTest {
+
+  private final MsgPackStructureValidator validator = new MsgPackStructureValidator();
+
+  @Test
+  public void shouldAcceptValidObject() {
+    assertValidationMatchesDeserialization(
+        w -> {
+          writeRequiredProperties(w, 6);
+          w.writeString(wrapString("intProp"));
+          w.writeInteger(123);
+        },
+        true);
+  }
+
+  @Test
+  public void shouldAcceptUndeclaredAndNestedProperties() {
+    assertValidationMatchesDeserialization(
+        w -> {
+          writeRequiredProperties(w, 8);
+          w.writeString(wrapString("intProp"));
+          w.writeInteger(123);
+          w.writeString(wrapString("objectProp"));
+          w.writeMapHeader(1);
+          w.writeString(wrapString("foo"));
+          w.writeInteger(24L);
+          w.writeString(wrapString("undeclared"));
+          w.writeArrayHeader(2);
+          w.writeBoolean(true);
+          w.writeNil();
+        },
+        true);
+  }
+
+  @Test
+  public void shouldRejectMissingRequiredProperty() {
+    final Throwable error = assertValidationMatchesDeserialization(w -> w.writeMapHeader(0), false);
+
+    assertThat(error.getCause()).hasMessage("Property 'enumProp' has no valid value");
+  }
+
+  @Test
+  public void shouldRejectWrongValueType() {
+    final Throwable error =
+        assertValidationMatchesDeserialization(
+            w -> {
+              writeRequiredProperties(w, 6);
+              w.writeString(wrapString("intProp"));
+              w.writeFloat(123.123d);
+            },
+            false);
+
+    assertThat(error.getCause()).hasMessage("Could not read property 'intProp'.");
+  }
+
+  @Test
+  public void shouldRejectOversizedInteger() {
+    assertValidationMatchesDeserialization(
+        w -> {
+          writeRequiredProperties(w, 6);
+          w.writeString(wrapString("intProp"));
+          w.writeInteger(Integer.MAX_VALUE + 1L);
+        },
+        false);
+  }
+
+  @Test
+  public void shouldRejectIllegalEnumValue() {
+    assertValidationMatchesDeserialization(
+        w -> {
+          w.writeMapHeader(1);
+          w.writeString(wrapString("enumProp"));
+          w.writeString(wrapString("BAZ"));
+        },
+        false);
+  }
+
+  @Test
+  public void shouldRejectInvalidNestedObject() {
+    assertValidationMatchesDeserialization(
+        w -> {
+          writeRequiredProperties(w, 7);
+          w.writeString(wrapString("intProp"));
+          w.writeInteger(123);
+          w.writeString(wrapString("objectProp"));
+          w.writeMapHeader(1);
+          w.writeString(wrapString("foo"));
+          w.writeString(wrapString("bar"));
+        },
+        false);
+  }
+
+  @Test
+  public void shouldAcceptMissingArray() {
+    final DirectBuffer buffer = encodeMsgPack(w -> w.writeMapHeader(0));
+    final POJOArray pojo = new POJOArray();
+
+    pojo.wrap(buffer);
+    validator.validate(pojo.getStructure(), buffer, 0, buffer.capacity());
+
+    assertThat(pojo.simpleArray()).isEmpty();
+  }
+
+  @Test
+  public void shouldRejectInvalidArrayElement() {
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            w -> {
+              w.writeMapHeader(1);
+              w.writeString(wrapString("simpleArray"));
+              w.writeArrayHeader(1);
+              w.writeMapHeader(1);
+              w.writeString(wrapString("longProp"));
+              w.writeString(wrapString("foo"));
+            });
+    final POJOArray pojo = new POJOArray();
+
+    assertThat(catchThrowable(() -> pojo.wrap(buffer))).isNotNull();
+    assertThat(
+            catchThrowable(
+                () -> validator.validate(pojo.getStructure(), buffer, 0, buffer.capacity())))
+        .isInstanceOf(RuntimeException.class);
+  }
+
+  @Test
+  public void shouldRejectNonMap() {
+    assertValidationMatchesDeserialization(w -> w.writeString(wrapString("foo")), false);
+  }
+
+  @Test
+  public void shouldRejectTruncatedObject() {
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            w -> {
+              writeRequiredProperties(w, 6);
+              w.writeString(wrapString("intProp"));
+              w.writeInteger(123);
+            });
+
+    assertValidationMatchesDeserialization(buffer, buffer.capacity() - 3, false);
+  }
+
+  private static void writeRequiredProperties(MsgPackWriter writer, int mapSize) {
+    writer.writeMapHeader(mapSize);
+
+    writer.writeString(wrapString("enumProp"));
+    writer.writeString(wrapString(POJOEnum.BAR.toString()));
+
+    writer.writeString(wrapString("binaryProp"));
+    writer.writeBinary(wrapString("foo"));
+
+    writer.writeString(wrapString("stringProp"));
+    writer.writeString(wrapString("bar"));
+
+    writer.writeString(wrapString("packedProp"));
+    writer.writeMapHeader(0);
+
+    writer.writeString(wrapString("longProp"));
+    writer.writeInteger(88888L);
+  }
+
+  private Throwable assertValidationMatchesDeserialization(
+      Consumer<MsgPackWriter> encoder, boolean isValid) {
+    final DirectBuffer buffer = encodeMsgPack(encoder);
+    return assertValidationMatchesDeserialization(buffer, buffer.capacity(), isValid);
+  }
+
+  private Throwable assertValidationMatchesDeserialization(
+      DirectBuffer buffer, int length, boolean isValid) {
+    final POJO pojo = new POJO();
+
+    final Throwable deserializationError = catchThrowable(() -> pojo.wrap(buffer, 0, length));
+    final Throwable validationError =
+        catchThrowable(() -> validator.validate(pojo.getStructure(), buffer, 0, length));
+
+    if (isValid) {
+      assertThat(deserializationError).isNull();
+      assertThat(validationError).isNull();
+    } else {
+      assertThat(deserializationError).isNotNull();
+      assertThat(validationError).isInstanceOf(RuntimeException.class);
+    }
+
+    return validationError;
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import static io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestEncoder.partitionIdNullValue;
+
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestDecoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestDecoder.CommandsDecoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestEncoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchRequestEncoder.CommandsEncoder;
+import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
+import io.zeebe.protocol.clientapi.MessageHeaderEncoder;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+public class ExecuteCommandBatchRequest implements BufferReader, BufferWriter {
+
+  private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+
+  private final ExecuteCommandBatchRequestEncoder bodyEncoder =
+      new ExecuteCommandBatchRequestEncoder();
+  private final ExecuteCommandBatchRequestDecoder bodyDecoder =
+      new ExecuteCommandBatchRequestDecoder();
+
+  private int partitionId;
+  private ValueType valueType;
+  private Intent intent;
+  private final List<Command> commands = new ArrayList<>();
+
+  public ExecuteCommandBatchRequest() {
+    reset();
+  }
+
+  public ExecuteCommandBatchRequest reset() {
+    partitionId = partitionIdNullValue();
+    valueType = ValueType.NULL_VAL;
+    intent = Intent.UNKNOWN;
+    commands.clear();
+
+    return this;
+  }
+
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  public ExecuteCommandBatchRequest setPartitionId(int partitionId) {
+    this.partitionId = partitionId;
+    return this;
+  }
+
+  public ValueType getValueType() {
+    return valueType;
+  }
+
+  public ExecuteCommandBatchRequest setValueType(ValueType valueType) {
+    this.valueType = valueType;
+    return this;
+  }
+
+  public Intent getIntent() {
+    return intent;
+  }
+
+  public ExecuteCommandBatchRequest setIntent(Intent intent) {
+    this.intent = intent;
+    return this;
+  }
+
+  public ExecuteCommandBatchRequest addCommand(
+      long key, DirectBuffer buffer, int offset, int length) {
+    final Command command = new Command(key);
+    command.value.wrap(buffer, offset, length);
+    commands.add(command);
+    return this;
+  }
+
+  public int getCommandCount() {
+    return commands.size();
+  }
+
+  public long getKey(int index) {
+    return commands.get(index).key;
+  }
+
+  public DirectBuffer getValue(int index) {
+    return commands.get(index).value;
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    reset();
+
+    final int frameEnd = offset + length;
+
+    headerDecoder.wrap(buffer, offset);
+
+    offset += headerDecoder.encodedLength();
+
+    bodyDecoder.wrap(buffer, offset, headerDecoder.blockLength(), headerDecoder.version());
+
+    partitionId = bodyDecoder.partitionId();
+    valueType = bodyDecoder.valueType();
+    intent = Intent.fromProtocolValue(valueType, bodyDecoder.intent());
+
+    for (final CommandsDecoder commandsDecoder : bodyDecoder.commands()) {
+      final Command command = new Command(commandsDecoder.key());
+
+      if (commandsDecoder.valueLength() > 0) {
+        commandsDecoder.wrapValue(command.value);
+      } else {
+        bodyDecoder.limit(bodyDecoder.limit() + CommandsDecoder.valueHeaderLength());
+      }
+
+      commands.add(command);
+    }
+
+    assert bodyDecoder.limit() == frameEnd
+        : "Decoder read only to position "
+            + bodyDecoder.limit()
+            + " but expected "
+            + frameEnd
+            + " as final position";
+  }
+
+  @Override
+  public int getLength() {
+    int length =
+        MessageHeaderEncoder.ENCODED_LENGTH
+            + ExecuteCommandBatchRequestEncoder.BLOCK_LENGTH
+            + CommandsEncoder.sbeHeaderSize();
+
+    for (int i = 0; i < commands.size(); i++) {
+      length +=
+          CommandsEncoder.sbeBlockLength()
+              + CommandsEncoder.valueHeaderLength()
+              + commands.get(i).value.capacity();
+    }
+
+    return length;
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    headerEncoder
+        .wrap(buffer, offset)
+        .blockLength(bodyEncoder.sbeBlockLength())
+        .templateId(bodyEncoder.sbeTemplateId())
+        .schemaId(bodyEncoder.sbeSchemaId())
+        .version(bodyEncoder.sbeSchemaVersion());
+
+    offset += headerEncoder.encodedLength();
+
+    bodyEncoder
+        .wrap(buffer, offset)
+        .partitionId(partitionId)
+        .valueType(valueType)
+        .intent(intent.value());
+
+    final CommandsEncoder commandsEncoder = bodyEncoder.commandsCount(commands.size());
+    for (int i = 0; i < commands.size(); i++) {
+      final Command command = commands.get(i);
+      commandsEncoder.next().key(command.key).putValue(command.value, 0, command.value.capacity());
+    }
+  }
+
+  private static final class Command {
+    private final long key;
+    private final UnsafeBuffer value = new UnsafeBuffer(0, 0);
+
+    Command(long key) {
+      this.key = key;
+    }
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import static io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseEncoder.partitionIdNullValue;
+
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseDecoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseDecoder.ResultsDecoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseEncoder;
+import io.zeebe.protocol.clientapi.ExecuteCommandBatchResponseEncoder.ResultsEncoder;
+import io.zeebe.protocol.clientapi.MessageHeaderDecoder;
+import io.zeebe.protocol.clientapi.MessageHeaderEncoder;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+public class ExecuteCommandBatchResponse implements BufferReader, BufferWriter {
+
+  private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+
+  private final ExecuteCommandBatchResponseEncoder bodyEncoder =
+      new ExecuteCommandBatchResponseEncoder();
+  private final ExecuteCommandBatchResponseDecoder bodyDecoder =
+      new ExecuteCommandBatchResponseDecoder();
+
+  private int partitionId;
+  private ValueType valueType;
+  private final List<Result> results = new ArrayList<>();
+
+  public ExecuteCommandBatchResponse() {
+    reset();
+  }
+
+  public ExecuteCommandBatchResponse reset() {
+    partitionId = partitionIdNullValue();
+    valueType = ValueType.NULL_VAL;
+    results.clear();
+
+    return this;
+  }
+
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  public ExecuteCommandBatchResponse setPartitionId(int partitionId) {
+    this.partitionId = partitionId;
+    return this;
+  }
+
+  public ValueType getValueType() {
+    return valueType;
+  }
+
+  public ExecuteCommandBatchResponse setValueType(ValueType valueType) {
+    this.valueType = valueType;
+    return this;
+  }
+
+  /** Adds the result of the next command of the batch and returns it to be filled in. */
+  public Result addResult() {
+    final Result result = new Result();
+    results.add(result);
+    return result;
+  }
+
+  public int getResultCount() {
+    return results.size();
+  }
+
+  public Result getResult(int index) {
+    return results.get(index);
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    reset();
+
+    final int frameEnd = offset + length;
+
+    headerDecoder.wrap(buffer, offset);
+
+    offset += headerDecoder.encodedLength();
+
+    bodyDecoder.wrap(buffer, offset, headerDecoder.blockLength(), headerDecoder.version());
+
+    partitionId = bodyDecoder.partitionId();
+    valueType = bodyDecoder.valueType();
+
+    for (final ResultsDecoder resultsDecoder : bodyDecoder.results()) {
+      final Result result = addResult();
+      result.key = resultsDecoder.key();
+      result.recordType = resultsDecoder.recordType();
+      result.intent = Intent.fromProtocolValue(valueType, resultsDecoder.intent());
+      result.rejectionType = resultsDecoder.rejectionType();
+
+      final int valueLength = resultsDecoder.valueLength();
+      if (valueLength > 0) {
+        resultsDecoder.wrapValue(result.value);
+      } else {
+        bodyDecoder.limit(bodyDecoder.limit() + ResultsDecoder.valueHeaderLength());
+      }
+
+      final int rejectionReasonLength = resultsDecoder.rejectionReasonLength();
+      if (rejectionReasonLength > 0) {
+        resultsDecoder.wrapRejectionReason(result.rejectionReason);
+      } else {
+        bodyDecoder.limit(bodyDecoder.limit() + ResultsDecoder.rejectionReasonHeaderLength());
+      }
+    }
+
+    assert bodyDecoder.limit() == frameEnd
+        : "Decoder read only to position "
+            + bodyDecoder.limit()
+            + " but expected "
+            + frameEnd
+            + " as final position";
+  }
+
+  @Override
+  public int getLength() {
+    int length =
+        MessageHeaderEncoder.ENCODED_LENGTH
+            + ExecuteCommandBatchResponseEncoder.BLOCK_LENGTH
+            + ResultsEncoder.sbeHeaderSize();
+
+    for (int i = 0; i < results.size(); i++) {
+      final Result result = results.get(i);
+      length +=
+          ResultsEncoder.sbeBlockLength()
+              + ResultsEncoder.valueHeaderLength()
+              + result.value.capacity()
+              + ResultsEncoder.rejectionReasonHeaderLength()
+              + result.rejectionReason.capacity();
+    }
+
+    return length;
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    headerEncoder
+        .wrap(buffer, offset)
+        .blockLength(bodyEncoder.sbeBlockLength())
+        .templateId(bodyEncoder.sbeTemplateId())
+        .schemaId(bodyEncoder.sbeSchemaId())
+        .version(bodyEncoder.sbeSchemaVersion());
+
+    offset += headerEncoder.encodedLength();
+
+    bodyEncoder.wrap(buffer, offset).partitionId(partitionId).valueType(valueType);
+
+    final ResultsEncoder resultsEncoder = bodyEncoder.resultsCount(results.size());
+    for (int i = 0; i < results.size(); i++) {
+      final Result result = results.get(i);
+      resultsEncoder
+          .next()
+          .key(result.key)
+          .recordType(result.recordType)
+          .intent(result.intent.value())
+          .rejectionType(result.rejectionType)
+          .putValue(result.value, 0, result.value.capacity())
+          .putRejectionReason(result.rejectionReason, 0, result.rejectionReason.capacity());
+    }
+  }
+
+  public static final class Result {
+    private long key = ResultsEncoder.keyNullValue();
+    private RecordType recordType = RecordType.NULL_VAL;
+    private Intent intent = Intent.UNKNOWN;
+    private RejectionType rejectionType = RejectionType.NULL_VAL;
+    private final UnsafeBuffer value = new UnsafeBuffer(0, 0);
+    private final UnsafeBuffer rejectionReason = new UnsafeBuffer(0, 0);
+
+    public long getKey() {
+      return key;
+    }
+
+    public Result setKey(long key) {
+      this.key = key;
+      return this;
+    }
+
+    public RecordType getRecordType() {
+      return recordType;
+    }
+
+    public Result setRecordType(RecordType recordType) {
+      this.recordType = recordType;
+      return this;
+    }
+
+    public Intent getIntent() {
+      return intent;
+    }
+
+    public Result setIntent(Intent intent) {
+      this.intent = intent;
+      return this;
+    }
+
+    public RejectionType getRejectionType() {
+      return rejectionType;
+    }
+
+    public Result setRejectionType(RejectionType rejectionType) {
+      this.rejectionType = rejectionType;
+      return this;
+    }
+
+    public DirectBuffer getValue() {
+      return value;
+    }
+
+    public Result setValue(DirectBuffer buffer, int offset, int length) {
+      this.value.wrap(buffer, offset, length);
+      return this;
+    }
+
+    public DirectBuffer getRejectionReason() {
+      return rejectionReason;
+    }
+
+    public Result setRejectionReason(DirectBuffer buffer, int offset, int length) {
+      this.rejectionReason.wrap(buffer, offset, length);
+      return this;
+    }
+  }
+}
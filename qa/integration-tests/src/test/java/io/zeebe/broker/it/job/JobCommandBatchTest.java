@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.broker.it.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.zeebe.broker.it.GrpcClientRule;
+import io.zeebe.broker.test.EmbeddedBrokerRule;
+import io.zeebe.client.api.response.ActivateJobsResponse;
+import io.zeebe.gateway.protocol.GatewayGrpc;
+import io.zeebe.gateway.protocol.GatewayGrpc.GatewayBlockingStub;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.JobCommandResult;
+import io.zeebe.transport.SocketAddress;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.Timeout;
+
+public class JobCommandBatchTest {
+
+  private static final String JOB_TYPE = "test";
+
+  public EmbeddedBrokerRule brokerRule = new EmbeddedBrokerRule();
+  public GrpcClientRule clientRule = new GrpcClientRule(brokerRule);
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(brokerRule).around(clientRule);
+
+  @Rule public Timeout testTimeout = Timeout.seconds(15);
+
+  private ManagedChannel channel;
+  private GatewayBlockingStub gateway;
+
+  private long firstJobKey;
+  private long secondJobKey;
+
+  @Before
+  public void init() {
+    final SocketAddress gatewayAddress = brokerRule.getGatewayAddress();
+    channel =
+        ManagedChannelBuilder.forAddress(gatewayAddress.host(), gatewayAddress.port())
+            .usePlaintext()
+            .build();
+    gateway = GatewayGrpc.newBlockingStub(channel);
+
+    clientRule.createSingleJob(JOB_TYPE);
+    clientRule.createSingleJob(JOB_TYPE);
+
+    final ActivateJobsResponse response =
+        clientRule
+            .getClient()
+            .newActivateJobsCommand()
+            .jobType(JOB_TYPE)
+            .amount(2)
+            .workerName("worker")
+            .send()
+            .join();
+    assertThat(response.getJobs()).hasSize(2);
+
+    firstJobKey = response.getJobs().get(0).getKey();
+    secondJobKey = response.getJobs().get(1).getKey();
+  }
+
+  @After
+  public void closeChannel() {
+    channel.shutdownNow();
+  }
+
+  @Test
+  public void shouldCompleteJobs() {
+    // when
+    final CompleteJobsResponse response =
+        gateway.completeJobs(
+            CompleteJobsRequest.newBuilder()
+                .addJobs(
+                    CompleteJobRequest.newBuilder()
+                        .setJobKey(firstJobKey)
+                        .setPayload("{\"foo\":\"bar\"}"))
+                .addJobs(CompleteJobRequest.newBuilder().setJobKey(secondJobKey))
+                .build());
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(JobCommandResult::getJobKey, JobCommandResult::getSuccess)
+        .containsExactly(tuple(firstJobKey, true), tuple(secondJobKey, true));
+  }
+
+  @Test
+  public void shouldRejectOnlyInvalidCommandsOfBatch() {
+    // given
+    gateway.completeJobs(
+        CompleteJobsRequest.newBuilder()
+            .addJobs(CompleteJobRequest.newBuilder().setJobKey(firstJobKey))
+            .build());
+
+    // when
+    final CompleteJobsResponse response =
+        gateway.completeJobs(
+            CompleteJobsRequest.newBuilder()
+                .addJobs(CompleteJobRequest.newBuilder().setJobKey(firstJobKey))
+                .addJobs(CompleteJobRequest.newBuilder().setJobKey(secondJobKey))
+                .build());
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(JobCommandResult::getJobKey, JobCommandResult::getSuccess)
+        .containsExactly(tuple(firstJobKey, false), tuple(secondJobKey, true));
+    assertThat(response.getResults(0).getErrorMessage()).contains("was rejected");
+  }
+
+  @Test
+  public void shouldFailJobs() {
+    // when
+    final FailJobsResponse response =
+        gateway.failJobs(
+            FailJobsRequest.newBuilder()
+                .addJobs(
+                    FailJobRequest.newBuilder()
+                        .setJobKey(firstJobKey)
+                        .setRetries(0)
+                        .setErrorMessage("failed"))
+                .addJobs(FailJobRequest.newBuilder().setJobKey(secondJobKey).setRetries(1))
+                .build());
+
+    // then
+    assertThat(response.getResultsList())
+        .extracting(JobCommandResult::getJobKey, JobCommandResult::getSuccess)
+        .containsExactly(tuple(firstJobKey, true), tuple(secondJobKey, true));
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.broker.it.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.zeebe.broker.it.GrpcClientRule;
+import io.zeebe.broker.test.EmbeddedBrokerRule;
+import io.zeebe.client.api.ZeebeFuture;
+import io.zeebe.client.api.commands.BulkCommand;
+import io.zeebe.client.api.commands.CreateWorkflowInstanceCommandStep1;
+import io.zeebe.client.api.commands.PublishMessageCommandStep1;
+import io.zeebe.client.api.events.DeploymentEvent;
+import io.zeebe.client.api.events.WorkflowInstanceEvent;
+import io.zeebe.client.cmd.ClientException;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.protocol.intent.WorkflowInstanceIntent;
+import io.zeebe.test.util.record.RecordingExporter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BulkCommandTest {
+
+  private static final int COMMAND_COUNT = 250;
+
+  public EmbeddedBrokerRule brokerRule = new EmbeddedBrokerRule();
+  public GrpcClientRule clientRule = new GrpcClientRule(brokerRule);
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(brokerRule).around(clientRule);
+
+  @Before
+  public void deployProcess() {
+    final DeploymentEvent deployment =
+        clientRule
+            .getClient()
+            .newDeployCommand()
+            .addWorkflowModel(
+                Bpmn.createExecutableProcess("process")
+                    .startEvent()
+                    .intermediateCatchEvent("catch")
+                    .message(m -> m.name("message").zeebeCorrelationKey("$.key"))
+                    .endEvent()
+                    .done(),
+                "workflow.bpmn")
+            .send()
+            .join();
+
+    clientRule.waitUntilDeploymentIsDone(deployment.getKey());
+  }
+
+  @Test
+  public void shouldCreateWorkflowInstances() {
+    // given
+    final BulkCommand<CreateWorkflowInstanceCommandStep1> bulk =
+        clientRule.getClient().newBulkCreateInstanceCommand();
+
+    // when
+    final List<ZeebeFuture<WorkflowInstanceEvent>> futures = new ArrayList<>();
+    for (int i = 0; i < COMMAND_COUNT; i++) {
+      futures.add(
+          bulk.add()
+              .bpmnProcessId("process")
+              .latestVersion()
+              .payload("{\"key\":\"key-" + i + "\"}")
+              .send());
+    }
+    bulk.complete().join();
+
+    // then
+    final List<Long> workflowInstanceKeys =
+        futures
+            .stream()
+            .map(ZeebeFuture::join)
+            .map(WorkflowInstanceEvent::getWorkflowInstanceKey)
+            .collect(Collectors.toList());
+
+    assertThat(workflowInstanceKeys).hasSize(COMMAND_COUNT).doesNotHaveDuplicates();
+    assertThat(
+            RecordingExporter.workflowInstanceRecords(WorkflowInstanceIntent.EVENT_ACTIVATED)
+                .withElementId("catch")
+                .limit(COMMAND_COUNT)
+                .count())
+        .isEqualTo(COMMAND_COUNT);
+  }
+
+  @Test
+  public void shouldRejectUnknownWorkflow() {
+    // given
+    final BulkCommand<CreateWorkflowInstanceCommandStep1> bulk =
+        clientRule.getClient().newBulkCreateInstanceCommand();
+
+    // when
+    final ZeebeFuture<WorkflowInstanceEvent> created =
+        bulk.add().bpmnProcessId("process").latestVersion().send();
+    final ZeebeFuture<WorkflowInstanceEvent> rejected =
+        bulk.add().bpmnProcessId("unknown").latestVersion().send();
+    bulk.complete().join();
+
+    // then
+    assertThat(created.join().getWorkflowInstanceKey()).isGreaterThan(0);
+    assertThatThrownBy(rejected::join).isInstanceOf(ClientException.class);
+  }
+
+  @Test
+  public void shouldPublishMessages() {
+    // given
+    final BulkCommand<CreateWorkflowInstanceCommandStep1> instances =
+        clientRule.getClient().newBulkCreateInstanceCommand();
+    for (int i = 0; i < COMMAND_COUNT; i++) {
+      instances
+          .add()
+          .bpmnProcessId("process")
+          .latestVersion()
+          .payload("{\"key\":\"key-" + i + "\"}")
+          .send();
+    }
+    instances.complete().join();
+
+    final BulkCommand<PublishMessageCommandStep1> messages =
+        clientRule.getClient().newBulkPublishMessageCommand();
+
+    // when
+    final List<ZeebeFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < COMMAND_COUNT; i++) {
+      futures.add(messages.add().messageName("message").correlationKey("key-" + i).send());
+    }
+    messages.complete().join();
+
+    // then
+    futures.forEach(ZeebeFuture::join);
+
+    assertThat(
+            RecordingExporter.workflowInstanceRecords(WorkflowInstanceIntent.ELEMENT_COMPLETED)
+                .withElementId("process")
+                .limit(COMMAND_COUNT)
+                .count())
+        .isEqualTo(COMMAND_COUNT);
+  }
+
+  @Test
+  public void shouldRejectDuplicatedMessage() {
+    // given
+    final BulkCommand<PublishMessageCommandStep1> bulk =
+        clientRule.getClient().newBulkPublishMessageCommand();
+
+    // when
+    final ZeebeFuture<Void> published =
+        bulk.add().messageName("message").correlationKey("key").messageId("id").send();
+    final ZeebeFuture<Void> rejected =
+        bulk.add().messageName("message").correlationKey("key").messageId("id").send();
+    bulk.complete().join();
+
+    // then
+    published.join();
+    assertThatThrownBy(rejected::join).isInstanceOf(ClientException.class);
+  }
+}
@@ -21,7 +21,9 @@ import static io.zeebe.raft.AppendRequestEncoder.previousEventTermNullValue;
 import io.zeebe.logstreams.impl.LoggedEventImpl;
 import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogSyncMode;
 import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.raft.event.RaftConfigurationEvent;
@@ -29,7 +31,11 @@ import io.zeebe.raft.protocol.AppendRequest;
 import io.zeebe.raft.protocol.AppendResponse;
 import io.zeebe.util.allocation.AllocatedBuffer;
 import io.zeebe.util.allocation.BufferAllocators;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ScheduledTimer;
 import java.nio.ByteBuffer;
+import java.time.Duration;
+import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
@@ -41,13 +47,21 @@ public class BufferedLogStorageAppender {
   private final RecordMetadata metadata = new RecordMetadata();
   private final RaftConfigurationEvent configuration = new RaftConfigurationEvent();
   private final AppendResponse appendResponse = new AppendResponse();
+  private final LoggedEventImpl event = new LoggedEventImpl();
 
   private final Raft raft;
+  private final ActorControl actor;
   private final LogStream logStream;
   private final BufferedLogStreamReader reader;
 
   private final DeferredAck deferredAck = new DeferredAck();
 
+  // in group commit mode, the ack waits until the written events are flushed together
+  private final DeferredAck groupCommitAck = new DeferredAck();
+  private long groupCommitAckPosition;
+  private int unflushedBytes;
+  private ScheduledTimer groupCommitTimer;
+
   // event buffer and offset
   private AllocatedBuffer allocatedBuffer;
   private final MutableDirectBuffer buffer = new UnsafeBuffer(0, 0);
@@ -62,8 +76,14 @@ public class BufferedLogStorageAppender {
   private int lastBufferedTerm;
   private boolean closed;
 
-  public BufferedLogStorageAppender(final Raft raft) {
+  // the events before the next appended block are discarded after this block is committed
+  private boolean discardEventsOnNextAppend;
+  private long discardEventsBeforeAddress = -1;
+  private long discardEventsOnCommitPosition = -1;
+
+  public BufferedLogStorageAppender(final Raft raft, final ActorControl actor) {
     this.raft = raft;
+    this.actor = actor;
     this.logStream = raft.getLogStream();
     this.reader = new BufferedLogStreamReader(logStream, true);
 
@@ -95,6 +115,10 @@ public class BufferedLogStorageAppender {
   }
 
   public void close() {
+    // the events are flushed but not acknowledged anymore
+    groupCommitAck.reset();
+    flushGroup();
+
     closed = true;
     reader.close();
     allocatedBuffer.close();
@@ -125,54 +149,30 @@ public class BufferedLogStorageAppender {
     }
   }
 
-  public void appendEvent(final AppendRequest appendRequest, final LoggedEventImpl event) {
+  /**
+   * Appends the events of the request, which must follow the last event. The request is
+   * acknowledged with the position of the last event after the events are written.
+   */
+  public void appendEvents(final AppendRequest appendRequest) {
     deferredAck.reset();
 
-    if (event != null) {
-      final long previousPosition = appendRequest.getPreviousEventPosition();
-      final long previousTerm = appendRequest.getPreviousEventTerm();
+    final DirectBuffer events = appendRequest.getEvents();
 
-      if (previousPosition == lastWrittenPosition && previousTerm == lastWrittenTerm) {
-        discardBufferedEvents();
-      }
+    if (events.capacity() > 0) {
+      long previousPosition = appendRequest.getPreviousEventPosition();
+      int previousTerm = appendRequest.getPreviousEventTerm();
+      int eventOffset = 0;
 
-      if (previousPosition == lastBufferedPosition && previousTerm == lastBufferedTerm) {
-        final int eventLength = event.getFragmentLength();
-        if (remainingCapacity() < eventLength) {
-          if (!flushBufferedEvents()) {
-            // unable to flush events, abort and try again with last buffered position
-            rejectAppendRequest(lastBufferedPosition, appendRequest.getNodeId());
-            return;
-          } else {
-            acceptAppendRequest(
-                lastWrittenPosition, appendRequest.getCommitPosition(), appendRequest.getNodeId());
-          }
-        }
+      while (eventOffset < events.capacity()) {
+        event.wrap(events, eventOffset);
 
-        if (remainingCapacity() < eventLength) {
-          allocateMemory(eventLength);
+        if (!appendEvent(appendRequest, previousPosition, previousTerm, event)) {
+          return;
         }
 
-        buffer.putBytes(offset, event.getBuffer(), event.getFragmentOffset(), eventLength);
-        offset += eventLength;
-
-        event.readMetadata(metadata);
-
-        lastBufferedPosition = event.getPosition();
-        lastBufferedTerm = event.getRaftTerm();
-
-        if (metadata.getValueType() == ValueType.RAFT) {
-          // update configuration
-          event.readValue(configuration);
-          raft.replaceMembersOnConfigurationChange(configuration.members());
-        }
-      } else {
-        LOG.warn(
-            "Event to append does not follow previous event {}/{} != {}/{}",
-            lastBufferedPosition,
-            lastBufferedTerm,
-            previousPosition,
-            previousTerm);
+        previousPosition = event.getPosition();
+        previousTerm = event.getRaftTerm();
+        eventOffset += event.getFragmentLength();
       }
 
       if (lastWrittenPosition != lastBufferedPosition) {
@@ -184,9 +184,63 @@ public class BufferedLogStorageAppender {
     }
   }
 
-  public void truncateLog(final AppendRequest appendRequest, final LoggedEventImpl event) {
+  /** @return false if the event could not be appended, and the request is rejected */
+  private boolean appendEvent(
+      final AppendRequest appendRequest,
+      final long previousPosition,
+      final int previousTerm,
+      final LoggedEventImpl event) {
+    if (previousPosition == lastWrittenPosition && previousTerm == lastWrittenTerm) {
+      discardBufferedEvents();
+    }
+
+    if (previousPosition == lastBufferedPosition && previousTerm == lastBufferedTerm) {
+      final int eventLength = event.getFragmentLength();
+      if (remainingCapacity() < eventLength) {
+        if (!flushBufferedEvents()) {
+          // unable to flush events, abort and try again with last buffered position
+          rejectAppendRequest(lastBufferedPosition, appendRequest.getNodeId());
+          return false;
+        } else {
+          acceptAppendRequest(
+              lastWrittenPosition, appendRequest.getCommitPosition(), appendRequest.getNodeId());
+        }
+      }
+
+      if (remainingCapacity() < eventLength) {
+        allocateMemory(eventLength);
+      }
+
+      buffer.putBytes(offset, event.getBuffer(), event.getFragmentOffset(), eventLength);
+      offset += eventLength;
+
+      event.readMetadata(metadata);
+
+      lastBufferedPosition = event.getPosition();
+      lastBufferedTerm = event.getRaftTerm();
+
+      if (metadata.getValueType() == ValueType.RAFT) {
+        // update configuration
+        event.readValue(configuration);
+        raft.replaceMembersOnConfigurationChange(configuration.members());
+      }
+    } else {
+      LOG.warn(
+          "Event to append does not follow previous event {}/{} != {}/{}",
+          lastBufferedPosition,
+          lastBufferedTerm,
+          previousPosition,
+          previousTerm);
+    }
+
+    return true;
+  }
+
+  public void truncateLog(final AppendRequest appendRequest) {
     deferredAck.reset();
 
+    final LoggedEventImpl event = appendRequest.getEvent();
+
     final long currentCommit = logStream.getCommitPosition();
 
     final long previousEventPosition = appendRequest.getPreviousEventPosition();
@@ -228,7 +282,7 @@ public class BufferedLogStorageAppender {
               lastBufferedPosition = lastWrittenPosition;
               lastBufferedTerm = lastWrittenTerm;
 
-              appendEvent(appendRequest, event);
+              appendEvents(appendRequest);
             }
           }
         } else {
@@ -283,7 +337,18 @@ public class BufferedLogStorageAppender {
         lastWrittenPosition = lastBufferedPosition;
         lastWrittenTerm = lastBufferedTerm;
 
+        if (logStream.getSyncMode() == LogSyncMode.GROUP_COMMIT) {
+          unflushedBytes += offset;
+        }
+
+        if (discardEventsOnNextAppend) {
+          discardEventsOnNextAppend = false;
+          discardEventsBeforeAddress = address;
+          discardEventsOnCommitPosition = lastWrittenPosition;
+        }
+
         discardBufferedEvents();
+
         return true;
       } else {
         byteBuffer.clear();
@@ -294,12 +359,72 @@ public class BufferedLogStorageAppender {
     return true;
   }
 
+  /**
+   * In group commit mode, the events are acknowledged after they are flushed. Like the log storage
+   * appender of the leader, the written events are flushed together when enough bytes are written
+   * or the group commit interval is over. Only the last ack is sent since it includes the previous
+   * ones.
+   */
+  private void acceptAppendRequestAfterFlush(long position, long commitPosition, int nodeId) {
+    groupCommitAck.nodeId = nodeId;
+    groupCommitAck.commitPosition = commitPosition;
+    groupCommitAckPosition = position;
+
+    if (unflushedBytes >= logStream.getGroupCommitSize()) {
+      flushGroup();
+    } else if (groupCommitTimer == null) {
+      groupCommitTimer = actor.runDelayed(logStream.getGroupCommitInterval(), this::flushGroup);
+    }
+  }
+
+  private void flushGroup() {
+    cancelGroupCommitTimer();
+
+    if (closed || unflushedBytes == 0) {
+      return;
+    }
+
+    try {
+      logStream.getLogStorage().flush();
+    } catch (final Exception e) {
+      final Duration groupCommitInterval = logStream.getGroupCommitInterval();
+      LOG.error("Failed to flush the log storage. Retry in {}.", groupCommitInterval, e);
+
+      groupCommitTimer = actor.runDelayed(groupCommitInterval, this::flushGroup);
+      return;
+    }
+
+    unflushedBytes = 0;
+
+    if (groupCommitAck.hasDeferredAck()) {
+      final int nodeId = groupCommitAck.nodeId;
+      final long commitPosition = groupCommitAck.commitPosition;
+      groupCommitAck.reset();
+
+      acceptAppendRequest(groupCommitAckPosition, commitPosition, nodeId);
+    }
+  }
+
+  private void cancelGroupCommitTimer() {
+    if (groupCommitTimer != null) {
+      groupCommitTimer.cancel();
+      groupCommitTimer = null;
+    }
+  }
+
   protected void acceptAppendRequest(long position, long commitPosition, int nodeId) {
+    if (unflushedBytes > 0) {
+      acceptAppendRequestAfterFlush(position, commitPosition, nodeId);
+      return;
+    }
+
     final long currentCommitPosition = logStream.getCommitPosition();
     final long nextCommitPosition = Math.min(position, commitPosition);
 
     if (nextCommitPosition >= 0 && nextCommitPosition > currentCommitPosition) {
       logStream.setCommitPosition(nextCommitPosition);
+
+      discardEventsIfCommitted(nextCommitPosition);
     }
 
     appendResponse.reset().setRaft(raft).setPreviousEventPosition(position).setSucceeded(true);
@@ -313,10 +438,72 @@ public class BufferedLogStorageAppender {
     raft.sendMessage(nodeId, appendResponse);
   }
 
+  /**
+   * Removes all events which are not committed, e.g. before the events after an installed snapshot
+   * are replicated. Committed events are never removed.
+   */
+  public void truncateUncommittedEvents() {
+    deferredAck.reset();
+    discardBufferedEvents();
+
+    final long commitPosition = logStream.getCommitPosition();
+    boolean hasUncommittedEvent;
+
+    if (commitPosition < 0) {
+      reader.seekToFirstEvent();
+      hasUncommittedEvent = reader.hasNext();
+    } else {
+      hasUncommittedEvent = reader.seek(commitPosition) && reader.hasNext();
+
+      if (hasUncommittedEvent) {
+        // skip the committed event
+        reader.next();
+        hasUncommittedEvent = reader.hasNext();
+      }
+    }
+
+    if (hasUncommittedEvent) {
+      logStream.truncate(reader.next().getPosition());
+    }
+
+    reset();
+  }
+
+  /**
+   * Discards all events of the log after the next appended events are committed, e.g. if the events
+   * are replaced by an installed snapshot. The next events are appended to a new segment of the log
+   * storage, so that the log starts with them afterwards.
+   */
+  public void discardEventsOnNextAppend() {
+    logStream.getLogStorage().rollover();
+
+    discardEventsOnNextAppend = true;
+    discardEventsBeforeAddress = -1;
+    discardEventsOnCommitPosition = -1;
+  }
+
+  private void discardEventsIfCommitted(final long commitPosition) {
+    if (discardEventsBeforeAddress >= 0 && commitPosition >= discardEventsOnCommitPosition) {
+      final LogStorage logStorage = logStream.getLogStorage();
+
+      final long deletedBytes = logStorage.delete(discardEventsBeforeAddress);
+      logStream.getLogBlockIndex().deleteUpToAddress(logStorage.getFirstBlockAddress());
+
+      LOG.info("Discarded {} bytes of events before the installed snapshot", deletedBytes);
+
+      discardEventsBeforeAddress = -1;
+      discardEventsOnCommitPosition = -1;
+    }
+  }
+
   public long getLastPosition() {
     return lastBufferedPosition;
   }
 
+  public int getLastTerm() {
+    return lastBufferedTerm;
+  }
+
   class DeferredAck {
     long commitPosition = -1;
     Integer nodeId;
@@ -40,6 +40,7 @@ import io.zeebe.raft.controller.RaftPollService;
 import io.zeebe.raft.event.RaftConfigurationEventMember;
 import io.zeebe.raft.protocol.HasNodeId;
 import io.zeebe.raft.protocol.HasTerm;
+import io.zeebe.raft.snapshot.RaftSnapshotStorage;
 import io.zeebe.raft.state.AbstractRaftState;
 import io.zeebe.raft.state.CandidateState;
 import io.zeebe.raft.state.FollowerState;
@@ -104,6 +105,7 @@ public class Raft extends Actor
   // persistent state
   private LogStream logStream;
   private final RaftPersistentStorage persistentStorage;
+  private final RaftSnapshotStorage snapshotStorage;
 
   // volatile state
   private final List<RaftStateListener> raftStateListeners = new ArrayList<>();
@@ -125,12 +127,14 @@ public class Raft extends Actor
       final int nodeId,
       final ClientTransport clientTransport,
       final RaftPersistentStorage persistentStorage,
+      final RaftSnapshotStorage snapshotStorage,
       final OneToOneRingBufferChannel messageReceiveBuffer,
       final RaftStateListener... listeners) {
     this.configuration = configuration;
     this.nodeId = nodeId;
     this.clientTransport = clientTransport;
     this.persistentStorage = persistentStorage;
+    this.snapshotStorage = snapshotStorage;
     this.messageReceiveBuffer = messageReceiveBuffer;
     this.raftName = raftName;
 
@@ -529,6 +533,11 @@ public class Raft extends Actor
     return raftMembers;
   }
 
+  /** @return the storage of the snapshots which are sent to followers, or null if not available */
+  public RaftSnapshotStorage getSnapshotStorage() {
+    return snapshotStorage;
+  }
+
   public int getMemberSize() {
     return raftMembers.getMemberSize();
   }
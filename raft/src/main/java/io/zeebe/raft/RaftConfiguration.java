@@ -15,6 +15,7 @@
  */
 package io.zeebe.raft;
 
+import io.zeebe.util.ByteValue;
 import io.zeebe.util.DurationUtil;
 import java.time.Duration;
 
@@ -22,6 +23,7 @@ public class RaftConfiguration {
   private String heartbeatInterval = "250ms";
   private String electionInterval = "1s";
   private String leaveTimeout = "1s";
+  private String maxAppendBatchSize = "32K";
 
   public String getHeartbeatInterval() {
     return heartbeatInterval;
@@ -62,6 +64,20 @@ public class RaftConfiguration {
     return this;
   }
 
+  public String getMaxAppendBatchSize() {
+    return maxAppendBatchSize;
+  }
+
+  /** @return the maximum size of the events which are replicated in one append request */
+  public int getMaxAppendBatchSizeInBytes() {
+    return (int) new ByteValue(maxAppendBatchSize).toBytes();
+  }
+
+  public RaftConfiguration setMaxAppendBatchSize(String maxAppendBatchSize) {
+    this.maxAppendBatchSize = maxAppendBatchSize;
+    return this;
+  }
+
   @Override
   public String toString() {
     return "RaftConfiguration{"
@@ -74,6 +90,9 @@ public class RaftConfiguration {
         + ", leaveTimeout='"
         + leaveTimeout
         + '\''
+        + ", maxAppendBatchSize='"
+        + maxAppendBatchSize
+        + '\''
         + '}';
   }
 }
@@ -40,6 +40,12 @@ public class RaftMember {
     replicationController.onFollowerHasFailedPosition(position);
   }
 
+  public void onFollowerHasInstalledSnapshotChunk(
+      int chunkIndex, boolean succeeded, long lastEventPosition, int lastEventTerm) {
+    replicationController.onFollowerHasInstalledSnapshotChunk(
+        chunkIndex, succeeded, lastEventPosition, lastEventTerm);
+  }
+
   public long getMatchPosition() {
     return matchPosition;
   }
@@ -28,6 +28,10 @@ import io.zeebe.raft.Raft;
 import io.zeebe.raft.RaftMember;
 import io.zeebe.raft.backpressure.BackpressureHelper;
 import io.zeebe.raft.protocol.AppendRequest;
+import io.zeebe.raft.protocol.InstallSnapshotRequest;
+import io.zeebe.raft.snapshot.RaftSnapshot;
+import io.zeebe.raft.snapshot.RaftSnapshotReader;
+import io.zeebe.raft.snapshot.RaftSnapshotStorage;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
@@ -37,7 +41,10 @@ import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.ActorPriority;
 import io.zeebe.util.sched.clock.ActorClock;
+import java.io.IOException;
 import java.time.Duration;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.slf4j.Logger;
 
 /** Per-follower replication controller */
@@ -45,10 +52,14 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
   /** TODO: remove constant, follower should tell us on join or other request */
   public static final int REMOTE_BUFFER_SIZE = 1024 * 1024 * 2;
 
+  /** the maximum size of the data of a snapshot chunk, must fit into a single message */
+  public static final int SNAPSHOT_CHUNK_SIZE = 1024 * 32;
+
   private static final Logger LOG = Loggers.RAFT_LOGGER;
   private static final boolean IS_TRACE_ENABLED = LOG.isTraceEnabled();
 
   private final AppendRequest appendRequest = new AppendRequest();
+  private final InstallSnapshotRequest installSnapshotRequest = new InstallSnapshotRequest();
 
   private final BackpressureHelper backpressureHelper = new BackpressureHelper(REMOTE_BUFFER_SIZE);
 
@@ -64,9 +75,24 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
 
   private final BufferedLogStreamReader reader;
   private LoggedEventImpl bufferedEvent;
+
+  // events which are sent with the next append request
+  private final int maxBatchSize;
+  private final MutableDirectBuffer batchBuffer = new ExpandableArrayBuffer();
+  private int batchLength;
+  private long batchLastPosition;
+  private int batchLastTerm;
   private long previousPosition;
   private int previousTerm;
 
+  // snapshot which is sent to the follower if it is behind the first event of the log
+  private final RaftSnapshotStorage snapshotStorage;
+  private RaftSnapshotReader snapshotReader;
+  private boolean isChunkBuffered;
+  private int nextChunkIndex;
+  private int firstChunkIndex;
+  private int lastChunkIndex;
+
   private ActorCondition appenderCondition;
   private final String name;
 
@@ -85,6 +111,11 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
     this.clientOutput = clientTransport.getOutput();
     this.logStream = raft.getLogStream();
     this.reader = new BufferedLogStreamReader(logStream, true);
+    this.snapshotStorage = raft.getSnapshotStorage();
+    this.maxBatchSize =
+        Math.min(
+            raft.getConfiguration().getMaxAppendBatchSizeInBytes(),
+            AppendRequest.MAX_EVENTS_LENGTH);
   }
 
   @Override
@@ -133,6 +164,7 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
     }
 
     reader.close();
+    closeSnapshotReader();
   }
 
   private void onHeartbeatTimerFired() {
@@ -157,6 +189,12 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
           if (IS_TRACE_ENABLED) {
             LOG.trace("follower acknowledged position {}", position);
           }
+
+          if (isInstallingSnapshot()) {
+            // response to a request which was sent before the snapshot
+            return;
+          }
+
           backpressureHelper.onEventAcknowledged(position);
           actor.runUntilDone(sendNextEventsFn);
         });
@@ -168,12 +206,52 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
           if (IS_TRACE_ENABLED) {
             LOG.trace("follower failed position {}", position);
           }
+
+          if (isInstallingSnapshot()) {
+            return;
+          }
+
           backpressureHelper.reset();
           resetToPosition(position);
           actor.runUntilDone(sendNextEventsFn);
         });
   }
 
+  public void onFollowerHasInstalledSnapshotChunk(
+      int chunkIndex, boolean succeeded, long lastEventPosition, int lastEventTerm) {
+    actor.run(
+        () -> {
+          if (IS_TRACE_ENABLED) {
+            LOG.trace("follower installed snapshot chunk {}: {}", chunkIndex, succeeded);
+          }
+
+          if (!isInstallingSnapshot() || chunkIndex < firstChunkIndex) {
+            // response to a previous transfer
+            return;
+          }
+
+          if (!succeeded) {
+            restartSnapshotTransfer();
+          } else {
+            backpressureHelper.onEventAcknowledged(chunkIndex);
+
+            if (chunkIndex == lastChunkIndex) {
+              LOG.debug(
+                  "Node {} installed snapshot with position {}",
+                  nodeId,
+                  snapshotReader.getSnapshot().getPosition());
+
+              closeSnapshotReader();
+              backpressureHelper.reset();
+
+              continueAfterSnapshot(lastEventPosition, lastEventTerm);
+            }
+          }
+
+          actor.runUntilDone(sendNextEventsFn);
+        });
+  }
+
   private void sendNextEvents() {
     if (IS_TRACE_ENABLED) {
       LOG.trace("try send next event to node {}", nodeId);
@@ -181,32 +259,39 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
 
     actor.setPriority(ActorPriority.REGULAR);
 
-    final LoggedEventImpl nextEvent = getNextEvent();
+    if (isInstallingSnapshot()) {
+      sendNextSnapshotChunk();
+      return;
+    }
+
+    readNextBatch();
 
     appendRequest
         .reset()
         .setRaft(raft)
         .setPreviousEventPosition(previousPosition)
         .setPreviousEventTerm(previousTerm)
-        .setEvent(nextEvent);
+        .setEvents(batchBuffer, 0, batchLength);
 
     final int requestSize = appendRequest.getLength();
     final long now = ActorClock.currentTimeMillis();
     final boolean isHeartbeatTimeout = now - lastRequestTimestamp >= heartbeatInterval.toMillis();
     final boolean isBackpressured = !backpressureHelper.canSend(requestSize);
-    final boolean trySend = isHeartbeatTimeout || (nextEvent != null && !isBackpressured);
+    final boolean trySend = isHeartbeatTimeout || (batchLength > 0 && !isBackpressured);
 
     if (trySend && !isClosing) {
       if (clientOutput.sendMessage(nodeId, appendRequest)) {
         lastRequestTimestamp = now;
 
-        if (nextEvent != null) {
-          backpressureHelper.onEventSent(nextEvent.getPosition(), requestSize);
-          setPreviousEvent(nextEvent);
+        if (batchLength > 0) {
+          backpressureHelper.onEventSent(batchLastPosition, requestSize);
+
+          previousPosition = batchLastPosition;
+          previousTerm = batchLastTerm;
+          batchLength = 0;
         }
       } else {
-        setBufferedEvent(nextEvent);
-
+        // the batch is sent again on the next try
         if (isHeartbeatTimeout) {
           actor.setPriority(ActorPriority.HIGH);
         } else {
@@ -220,14 +305,190 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
     }
   }
 
+  private void sendNextSnapshotChunk() {
+    final long now = ActorClock.currentTimeMillis();
+    final boolean isHeartbeatTimeout = now - lastRequestTimestamp >= heartbeatInterval.toMillis();
+
+    if (isHeartbeatTimeout && nextChunkIndex > firstChunkIndex) {
+      // the follower did not acknowledge the sent chunks in time, they may be lost
+      restartSnapshotTransfer();
+
+      if (!isInstallingSnapshot()) {
+        actor.done();
+        return;
+      }
+    }
+
+    try {
+      if (!isChunkBuffered) {
+        if (!snapshotReader.hasNextChunk()) {
+          // wait for the acknowledgement of the last chunk
+          actor.done();
+          return;
+        }
+
+        snapshotReader.readNextChunk();
+        isChunkBuffered = true;
+      }
+    } catch (final IOException e) {
+      // the snapshot may be deleted in the meantime
+      LOG.debug("Failed to read snapshot for node {}, restart transfer", nodeId, e);
+      restartSnapshotTransfer();
+      actor.done();
+      return;
+    }
+
+    final RaftSnapshot snapshot = snapshotReader.getSnapshot();
+    installSnapshotRequest
+        .reset()
+        .setRaft(raft)
+        .setSnapshotPosition(snapshot.getPosition())
+        .setChunkIndex(nextChunkIndex)
+        .setFirstChunk(nextChunkIndex == firstChunkIndex)
+        .setLastChunk(snapshotReader.isLastChunk())
+        .setFileName(snapshotReader.getFileName())
+        .setFileOffset(snapshotReader.getFileOffset())
+        .setData(snapshotReader.getData(), 0, snapshotReader.getData().capacity());
+
+    final int requestSize = installSnapshotRequest.getLength();
+
+    if (!backpressureHelper.canSend(requestSize) || isClosing) {
+      actor.done();
+    } else if (clientOutput.sendMessage(nodeId, installSnapshotRequest)) {
+      lastRequestTimestamp = now;
+      backpressureHelper.onEventSent(nextChunkIndex, requestSize);
+
+      if (snapshotReader.isLastChunk()) {
+        lastChunkIndex = nextChunkIndex;
+      }
+
+      isChunkBuffered = false;
+      nextChunkIndex += 1;
+    } else {
+      actor.setPriority(ActorPriority.LOW);
+      actor.yield();
+    }
+  }
+
+  private boolean isInstallingSnapshot() {
+    return snapshotReader != null;
+  }
+
+  /**
+   * Starts to send the latest snapshot to the follower.
+   *
+   * @return false if no snapshot is available which contains the state up to the first event of the
+   *     log
+   */
+  private boolean startSnapshotTransfer(final long firstEventPosition) {
+    closeSnapshotReader();
+
+    final RaftSnapshot snapshot;
+    try {
+      snapshot = snapshotStorage.getLatestSnapshot(logStream.getCommitPosition());
+    } catch (final IOException e) {
+      LOG.warn("Failed to read the latest snapshot", e);
+      return false;
+    }
+
+    if (snapshot == null || snapshot.getPosition() < firstEventPosition) {
+      return false;
+    }
+
+    LOG.debug("Send snapshot with position {} to node {}", snapshot.getPosition(), nodeId);
+
+    backpressureHelper.reset();
+    snapshotReader = new RaftSnapshotReader(snapshot, SNAPSHOT_CHUNK_SIZE);
+    isChunkBuffered = false;
+    // the chunk index is not reset, to ignore responses of a previous transfer
+    firstChunkIndex = nextChunkIndex;
+    lastChunkIndex = -1;
+
+    return true;
+  }
+
+  private void restartSnapshotTransfer() {
+    final long firstEventPosition = getFirstEventPosition();
+
+    if (!startSnapshotTransfer(firstEventPosition)) {
+      // should not happen since snapshots are only deleted if a newer one exists
+      LOG.warn("No snapshot available for node {}, continue with the first event", nodeId);
+      backpressureHelper.reset();
+      setPreviousEventToStartOfLog();
+    }
+  }
+
+  private void continueAfterSnapshot(final long lastEventPosition, final int lastEventTerm) {
+    final long firstEventPosition = getFirstEventPosition();
+
+    if (firstEventPosition >= 0 && lastEventPosition < firstEventPosition) {
+      // the events between the last event of the follower and the first event of the log are
+      // contained in the snapshot
+      reader.seekToFirstEvent();
+
+      discardBufferedEvent();
+      previousPosition = lastEventPosition;
+      previousTerm = lastEventTerm;
+    } else {
+      resetToPosition(lastEventPosition);
+    }
+  }
+
+  private void closeSnapshotReader() {
+    if (snapshotReader != null) {
+      snapshotReader.close();
+      snapshotReader = null;
+    }
+  }
+
+  private long getFirstEventPosition() {
+    reader.seekToFirstEvent();
+
+    if (reader.hasNext()) {
+      return reader.next().getPosition();
+    } else {
+      return -1;
+    }
+  }
+
+  /**
+   * Copies the next events into the batch buffer, until the next event would exceed the maximum
+   * batch size. The first event is always added, also if it exceeds the maximum batch size.
+   */
+  private void readNextBatch() {
+    if (batchLength > 0) {
+      // the batch was not sent yet
+      return;
+    }
+
+    LoggedEventImpl nextEvent = getNextEvent();
+
+    while (nextEvent != null) {
+      final int eventLength = nextEvent.getFragmentLength();
+
+      if (batchLength > 0 && batchLength + eventLength > maxBatchSize) {
+        setBufferedEvent(nextEvent);
+        break;
+      }
+
+      batchBuffer.putBytes(
+          batchLength, nextEvent.getBuffer(), nextEvent.getFragmentOffset(), eventLength);
+      batchLength += eventLength;
+
+      batchLastPosition = nextEvent.getPosition();
+      batchLastTerm = nextEvent.getRaftTerm();
+
+      nextEvent = getNextEvent();
+    }
+  }
+
   private void setBufferedEvent(final LoggedEventImpl bufferedEvent) {
     this.bufferedEvent = bufferedEvent;
   }
 
-  private LoggedEventImpl discardBufferedEvent() {
-    final LoggedEventImpl event = bufferedEvent;
+  private void discardBufferedEvent() {
     bufferedEvent = null;
-    return event;
+    batchLength = 0;
   }
 
   private void reset() {
@@ -236,7 +497,9 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
 
   private LoggedEventImpl getNextEvent() {
     if (bufferedEvent != null) {
-      return discardBufferedEvent();
+      final LoggedEventImpl event = bufferedEvent;
+      bufferedEvent = null;
+      return event;
     } else if (reader.hasNext()) {
       return (LoggedEventImpl) reader.next();
     } else {
@@ -245,6 +508,15 @@ public class MemberReplicateLogController extends Actor implements Service<Void>
   }
 
   private void resetToPosition(final long eventPosition) {
+    if (snapshotStorage != null) {
+      final long firstEventPosition = getFirstEventPosition();
+
+      if (eventPosition < firstEventPosition && startSnapshotTransfer(firstEventPosition)) {
+        // the follower needs events which are already deleted
+        return;
+      }
+    }
+
     if (eventPosition >= 0) {
       final LoggedEvent previousEvent = getEventAtPosition(eventPosition);
       if (previousEvent != null) {
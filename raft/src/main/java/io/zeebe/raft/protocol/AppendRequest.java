@@ -32,7 +32,13 @@ import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
+/**
+ * Replicates a contiguous run of events to a follower. The events are written one after another
+ * into the data field, each of them as complete log entry fragment.
+ */
 public class AppendRequest extends AbstractRaftMessage implements HasNodeId, HasTerm, HasPartition {
+  /** the maximum length of the events of a request, limited by the length of the data field */
+  public static final int MAX_EVENTS_LENGTH = 65534;
 
   protected final AppendRequestDecoder bodyDecoder = new AppendRequestDecoder();
   protected final AppendRequestEncoder bodyEncoder = new AppendRequestEncoder();
@@ -50,7 +56,7 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
   protected final LoggedEventImpl readEvent = new LoggedEventImpl();
 
   // write
-  private LoggedEventImpl writeEvent;
+  protected final DirectBuffer writeData = new UnsafeBuffer(0, 0);
 
   public AppendRequest() {
     reset();
@@ -67,7 +73,7 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
     readData.wrap(0, 0);
     readEvent.wrap(null, -1);
 
-    writeEvent = null;
+    writeData.wrap(0, 0);
 
     return this;
   }
@@ -124,6 +130,7 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
     return nodeId;
   }
 
+  /** @return the first event of the request, or null if the request contains no events */
   public LoggedEventImpl getEvent() {
     if (readEvent.getBuffer() != null) {
       return readEvent;
@@ -132,8 +139,30 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
     }
   }
 
+  /**
+   * @return the buffer which contains all events of the request, can be read by wrapping a {@link
+   *     LoggedEventImpl} at each fragment offset
+   */
+  public DirectBuffer getEvents() {
+    return readData;
+  }
+
   public AppendRequest setEvent(final LoggedEventImpl event) {
-    writeEvent = event;
+    if (event != null) {
+      writeData.wrap(event.getBuffer(), event.getFragmentOffset(), event.getFragmentLength());
+    } else {
+      writeData.wrap(0, 0);
+    }
+    return this;
+  }
+
+  /** Sets a contiguous run of events, which are written one after another in the buffer. */
+  public AppendRequest setEvents(final DirectBuffer buffer, final int offset, final int length) {
+    if (length > 0) {
+      writeData.wrap(buffer, offset, length);
+    } else {
+      writeData.wrap(0, 0);
+    }
     return this;
   }
 
@@ -150,13 +179,10 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
 
   @Override
   public int getLength() {
-    int length = headerEncoder.encodedLength() + bodyEncoder.sbeBlockLength() + dataHeaderLength();
-
-    if (writeEvent != null) {
-      length += writeEvent.getFragmentLength();
-    }
-
-    return length;
+    return headerEncoder.encodedLength()
+        + bodyEncoder.sbeBlockLength()
+        + dataHeaderLength()
+        + writeData.capacity();
   }
 
   @Override
@@ -212,11 +238,7 @@ public class AppendRequest extends AbstractRaftMessage implements HasNodeId, Has
         .previousEventPosition(previousEventPosition)
         .previousEventTerm(previousEventTerm)
         .commitPosition(commitPosition)
-        .nodeId(nodeId);
-
-    if (writeEvent != null) {
-      bodyEncoder.putData(
-          writeEvent.getBuffer(), writeEvent.getFragmentOffset(), writeEvent.getFragmentLength());
-    }
+        .nodeId(nodeId)
+        .putData(writeData, 0, writeData.capacity());
   }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft.protocol;
+
+import static io.zeebe.raft.InstallSnapshotRequestDecoder.chunkIndexNullValue;
+import static io.zeebe.raft.InstallSnapshotRequestDecoder.dataHeaderLength;
+import static io.zeebe.raft.InstallSnapshotRequestDecoder.fileNameHeaderLength;
+import static io.zeebe.raft.InstallSnapshotRequestDecoder.fileOffsetNullValue;
+import static io.zeebe.raft.InstallSnapshotRequestDecoder.nodeIdNullValue;
+import static io.zeebe.raft.InstallSnapshotRequestDecoder.partitionIdNullValue;
+import static io.zeebe.raft.InstallSnapshotRequestDecoder.snapshotPositionNullValue;
+import static io.zeebe.raft.InstallSnapshotRequestDecoder.termNullValue;
+
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.raft.BooleanType;
+import io.zeebe.raft.InstallSnapshotRequestDecoder;
+import io.zeebe.raft.InstallSnapshotRequestEncoder;
+import io.zeebe.raft.Raft;
+import io.zeebe.util.buffer.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Sends a chunk of a snapshot file to a follower. The chunks of a snapshot are sent in order,
+ * starting with the first chunk which resets a previous, incomplete installation.
+ */
+public class InstallSnapshotRequest extends AbstractRaftMessage
+    implements HasNodeId, HasTerm, HasPartition {
+
+  protected final InstallSnapshotRequestDecoder bodyDecoder = new InstallSnapshotRequestDecoder();
+  protected final InstallSnapshotRequestEncoder bodyEncoder = new InstallSnapshotRequestEncoder();
+
+  // read + write
+  protected int partitionId;
+  protected int term;
+  protected int nodeId;
+  protected long snapshotPosition;
+  protected int chunkIndex;
+  protected boolean firstChunk;
+  protected boolean lastChunk;
+  protected long fileOffset;
+  protected final DirectBuffer fileName = new UnsafeBuffer(0, 0);
+  protected final DirectBuffer data = new UnsafeBuffer(0, 0);
+
+  public InstallSnapshotRequest() {
+    reset();
+  }
+
+  public InstallSnapshotRequest reset() {
+    partitionId = partitionIdNullValue();
+    term = termNullValue();
+    nodeId = nodeIdNullValue();
+    snapshotPosition = snapshotPositionNullValue();
+    chunkIndex = chunkIndexNullValue();
+    firstChunk = false;
+    lastChunk = false;
+    fileOffset = fileOffsetNullValue();
+
+    fileName.wrap(0, 0);
+    data.wrap(0, 0);
+
+    return this;
+  }
+
+  @Override
+  protected int getVersion() {
+    return bodyDecoder.sbeSchemaVersion();
+  }
+
+  @Override
+  protected int getSchemaId() {
+    return bodyDecoder.sbeSchemaId();
+  }
+
+  @Override
+  protected int getTemplateId() {
+    return bodyDecoder.sbeTemplateId();
+  }
+
+  @Override
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  @Override
+  public int getTerm() {
+    return term;
+  }
+
+  @Override
+  public int getNodeId() {
+    return nodeId;
+  }
+
+  public long getSnapshotPosition() {
+    return snapshotPosition;
+  }
+
+  public InstallSnapshotRequest setSnapshotPosition(final long snapshotPosition) {
+    this.snapshotPosition = snapshotPosition;
+    return this;
+  }
+
+  public int getChunkIndex() {
+    return chunkIndex;
+  }
+
+  public InstallSnapshotRequest setChunkIndex(final int chunkIndex) {
+    this.chunkIndex = chunkIndex;
+    return this;
+  }
+
+  public boolean isFirstChunk() {
+    return firstChunk;
+  }
+
+  public InstallSnapshotRequest setFirstChunk(final boolean firstChunk) {
+    this.firstChunk = firstChunk;
+    return this;
+  }
+
+  public boolean isLastChunk() {
+    return lastChunk;
+  }
+
+  public InstallSnapshotRequest setLastChunk(final boolean lastChunk) {
+    this.lastChunk = lastChunk;
+    return this;
+  }
+
+  public long getFileOffset() {
+    return fileOffset;
+  }
+
+  public InstallSnapshotRequest setFileOffset(final long fileOffset) {
+    this.fileOffset = fileOffset;
+    return this;
+  }
+
+  public String getFileName() {
+    return BufferUtil.bufferAsString(fileName);
+  }
+
+  public InstallSnapshotRequest setFileName(final DirectBuffer fileName) {
+    this.fileName.wrap(fileName);
+    return this;
+  }
+
+  public DirectBuffer getData() {
+    return data;
+  }
+
+  public InstallSnapshotRequest setData(
+      final DirectBuffer buffer, final int offset, final int length) {
+    if (length > 0) {
+      data.wrap(buffer, offset, length);
+    } else {
+      data.wrap(0, 0);
+    }
+    return this;
+  }
+
+  public InstallSnapshotRequest setRaft(final Raft raft) {
+    final LogStream logStream = raft.getLogStream();
+
+    partitionId = logStream.getPartitionId();
+    term = raft.getTerm();
+    nodeId = raft.getNodeId();
+
+    return this;
+  }
+
+  @Override
+  public int getLength() {
+    return headerEncoder.encodedLength()
+        + bodyEncoder.sbeBlockLength()
+        + fileNameHeaderLength()
+        + fileName.capacity()
+        + dataHeaderLength()
+        + data.capacity();
+  }
+
+  @Override
+  public void wrap(final DirectBuffer buffer, int offset, final int length) {
+    reset();
+
+    final int frameEnd = offset + length;
+
+    headerDecoder.wrap(buffer, offset);
+    offset += headerDecoder.encodedLength();
+
+    bodyDecoder.wrap(buffer, offset, headerDecoder.blockLength(), headerDecoder.version());
+
+    partitionId = bodyDecoder.partitionId();
+    term = bodyDecoder.term();
+    nodeId = bodyDecoder.nodeId();
+    snapshotPosition = bodyDecoder.snapshotPosition();
+    chunkIndex = bodyDecoder.chunkIndex();
+    firstChunk = bodyDecoder.firstChunk() == BooleanType.TRUE;
+    lastChunk = bodyDecoder.lastChunk() == BooleanType.TRUE;
+    fileOffset = bodyDecoder.fileOffset();
+
+    offset += bodyDecoder.sbeBlockLength();
+
+    final int fileNameLength = bodyDecoder.fileNameLength();
+    offset += wrapVarData(buffer, offset, fileName, fileNameHeaderLength(), fileNameLength);
+    bodyDecoder.limit(offset);
+
+    final int dataLength = bodyDecoder.dataLength();
+    offset += wrapVarData(buffer, offset, data, dataHeaderLength(), dataLength);
+    bodyDecoder.limit(offset);
+
+    assert bodyDecoder.limit() == frameEnd
+        : "Decoder read only to position "
+            + bodyDecoder.limit()
+            + " but expected "
+            + frameEnd
+            + " as final position";
+  }
+
+  @Override
+  public void write(final MutableDirectBuffer buffer, int offset) {
+    headerEncoder
+        .wrap(buffer, offset)
+        .blockLength(bodyEncoder.sbeBlockLength())
+        .templateId(bodyEncoder.sbeTemplateId())
+        .schemaId(bodyEncoder.sbeSchemaId())
+        .version(bodyEncoder.sbeSchemaVersion());
+
+    offset += headerEncoder.encodedLength();
+
+    bodyEncoder
+        .wrap(buffer, offset)
+        .partitionId(partitionId)
+        .term(term)
+        .nodeId(nodeId)
+        .snapshotPosition(snapshotPosition)
+        .chunkIndex(chunkIndex)
+        .firstChunk(firstChunk ? BooleanType.TRUE : BooleanType.FALSE)
+        .lastChunk(lastChunk ? BooleanType.TRUE : BooleanType.FALSE)
+        .fileOffset(fileOffset)
+        .putFileName(fileName, 0, fileName.capacity())
+        .putData(data, 0, data.capacity());
+  }
+}
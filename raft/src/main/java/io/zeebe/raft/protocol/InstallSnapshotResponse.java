@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft.protocol;
+
+import static io.zeebe.raft.InstallSnapshotResponseEncoder.chunkIndexNullValue;
+import static io.zeebe.raft.InstallSnapshotResponseEncoder.lastEventPositionNullValue;
+import static io.zeebe.raft.InstallSnapshotResponseEncoder.lastEventTermNullValue;
+import static io.zeebe.raft.InstallSnapshotResponseEncoder.nodeIdNullValue;
+import static io.zeebe.raft.InstallSnapshotResponseEncoder.partitionIdNullValue;
+import static io.zeebe.raft.InstallSnapshotResponseEncoder.termNullValue;
+
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.raft.BooleanType;
+import io.zeebe.raft.InstallSnapshotResponseDecoder;
+import io.zeebe.raft.InstallSnapshotResponseEncoder;
+import io.zeebe.raft.Raft;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Acknowledges a chunk of a snapshot. The response to the last chunk of a snapshot contains the
+ * last event of the follower's log, after which the leader resumes the log replication.
+ */
+public class InstallSnapshotResponse extends AbstractRaftMessage
+    implements HasNodeId, HasTerm, HasPartition {
+
+  protected final InstallSnapshotResponseDecoder bodyDecoder = new InstallSnapshotResponseDecoder();
+  protected final InstallSnapshotResponseEncoder bodyEncoder = new InstallSnapshotResponseEncoder();
+
+  protected int partitionId;
+  protected int term;
+  protected int nodeId;
+  protected boolean succeeded;
+  protected int chunkIndex;
+  protected long lastEventPosition;
+  protected int lastEventTerm;
+
+  public InstallSnapshotResponse() {
+    reset();
+  }
+
+  public InstallSnapshotResponse reset() {
+    partitionId = partitionIdNullValue();
+    term = termNullValue();
+    nodeId = nodeIdNullValue();
+    succeeded = false;
+    chunkIndex = chunkIndexNullValue();
+    lastEventPosition = lastEventPositionNullValue();
+    lastEventTerm = lastEventTermNullValue();
+
+    return this;
+  }
+
+  @Override
+  protected int getVersion() {
+    return bodyDecoder.sbeSchemaVersion();
+  }
+
+  @Override
+  protected int getSchemaId() {
+    return bodyDecoder.sbeSchemaId();
+  }
+
+  @Override
+  protected int getTemplateId() {
+    return bodyDecoder.sbeTemplateId();
+  }
+
+  @Override
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  @Override
+  public int getTerm() {
+    return term;
+  }
+
+  @Override
+  public int getNodeId() {
+    return nodeId;
+  }
+
+  public boolean isSucceeded() {
+    return succeeded;
+  }
+
+  public InstallSnapshotResponse setSucceeded(final boolean succeeded) {
+    this.succeeded = succeeded;
+    return this;
+  }
+
+  public int getChunkIndex() {
+    return chunkIndex;
+  }
+
+  public InstallSnapshotResponse setChunkIndex(final int chunkIndex) {
+    this.chunkIndex = chunkIndex;
+    return this;
+  }
+
+  public long getLastEventPosition() {
+    return lastEventPosition;
+  }
+
+  public InstallSnapshotResponse setLastEventPosition(final long lastEventPosition) {
+    this.lastEventPosition = lastEventPosition;
+    return this;
+  }
+
+  public int getLastEventTerm() {
+    return lastEventTerm;
+  }
+
+  public InstallSnapshotResponse setLastEventTerm(final int lastEventTerm) {
+    this.lastEventTerm = lastEventTerm;
+    return this;
+  }
+
+  public InstallSnapshotResponse setRaft(final Raft raft) {
+    final LogStream logStream = raft.getLogStream();
+
+    partitionId = logStream.getPartitionId();
+    term = raft.getTerm();
+    nodeId = raft.getNodeId();
+
+    return this;
+  }
+
+  @Override
+  public int getLength() {
+    return headerEncoder.encodedLength() + bodyEncoder.sbeBlockLength();
+  }
+
+  @Override
+  public void wrap(final DirectBuffer buffer, int offset, final int length) {
+    reset();
+
+    final int frameEnd = offset + length;
+
+    headerDecoder.wrap(buffer, offset);
+    offset += headerDecoder.encodedLength();
+
+    bodyDecoder.wrap(buffer, offset, headerDecoder.blockLength(), headerDecoder.version());
+
+    partitionId = bodyDecoder.partitionId();
+    term = bodyDecoder.term();
+    nodeId = bodyDecoder.nodeId();
+    succeeded = bodyDecoder.succeeded() == BooleanType.TRUE;
+    chunkIndex = bodyDecoder.chunkIndex();
+    lastEventPosition = bodyDecoder.lastEventPosition();
+    lastEventTerm = bodyDecoder.lastEventTerm();
+
+    assert bodyDecoder.limit() == frameEnd
+        : "Decoder read only to position "
+            + bodyDecoder.limit()
+            + " but expected "
+            + frameEnd
+            + " as final position";
+  }
+
+  @Override
+  public void write(final MutableDirectBuffer buffer, int offset) {
+    headerEncoder
+        .wrap(buffer, offset)
+        .blockLength(bodyEncoder.sbeBlockLength())
+        .templateId(bodyEncoder.sbeTemplateId())
+        .schemaId(bodyEncoder.sbeSchemaId())
+        .version(bodyEncoder.sbeSchemaVersion());
+
+    offset += headerEncoder.encodedLength();
+
+    bodyEncoder
+        .wrap(buffer, offset)
+        .partitionId(partitionId)
+        .term(term)
+        .nodeId(nodeId)
+        .succeeded(succeeded ? BooleanType.TRUE : BooleanType.FALSE)
+        .chunkIndex(chunkIndex)
+        .lastEventPosition(lastEventPosition)
+        .lastEventTerm(lastEventTerm);
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft.snapshot;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A snapshot of the state of a partition which can be sent to a follower. It contains the state of
+ * all stream processors up to the snapshot position, so that a follower which installs it only
+ * needs the events after this position.
+ */
+public class RaftSnapshot {
+  private final long position;
+  private final Path rootDirectory;
+  private final List<Path> files;
+
+  public RaftSnapshot(final long position, final Path rootDirectory, final List<Path> files) {
+    this.position = position;
+    this.rootDirectory = rootDirectory;
+    this.files = files;
+  }
+
+  /** @return the position of the last event which is contained in the snapshot */
+  public long getPosition() {
+    return position;
+  }
+
+  public Path getRootDirectory() {
+    return rootDirectory;
+  }
+
+  /** @return the files of the snapshot, relative to the root directory */
+  public List<Path> getFiles() {
+    return files;
+  }
+
+  @Override
+  public String toString() {
+    return "RaftSnapshot{" + "position=" + position + ", files=" + files.size() + '}';
+  }
+}
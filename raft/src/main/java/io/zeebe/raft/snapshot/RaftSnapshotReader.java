@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft.snapshot;
+
+import io.zeebe.util.buffer.BufferUtil;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Reads the files of a snapshot in chunks of a fixed maximum size. The chunks are read in order,
+ * one file after another. Each file is read as at least one chunk, so that also empty files are
+ * transferred.
+ */
+public class RaftSnapshotReader implements AutoCloseable {
+  private final RaftSnapshot snapshot;
+  private final ByteBuffer chunkBuffer;
+  private final UnsafeBuffer chunkView = new UnsafeBuffer(0, 0);
+  private final UnsafeBuffer fileNameBuffer = new UnsafeBuffer(0, 0);
+
+  private int nextFileIndex;
+  private FileChannel currentChannel;
+  private long currentFileOffset;
+
+  private long chunkFileOffset;
+  private boolean lastChunk;
+
+  public RaftSnapshotReader(final RaftSnapshot snapshot, final int chunkSize) {
+    this.snapshot = snapshot;
+    this.chunkBuffer = ByteBuffer.allocate(chunkSize);
+  }
+
+  public RaftSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  public boolean hasNextChunk() {
+    return currentChannel != null || nextFileIndex < snapshot.getFiles().size();
+  }
+
+  /**
+   * Reads the next chunk of the snapshot. The chunk can be accessed by {@link #getFileName()},
+   * {@link #getFileOffset()} and {@link #getData()} until the next chunk is read.
+   */
+  public void readNextChunk() throws IOException {
+    if (currentChannel == null) {
+      openNextFile();
+    }
+
+    chunkBuffer.clear();
+    chunkFileOffset = currentFileOffset;
+
+    while (chunkBuffer.hasRemaining()) {
+      final int read = currentChannel.read(chunkBuffer, currentFileOffset);
+      if (read < 0) {
+        break;
+      }
+      currentFileOffset += read;
+    }
+
+    chunkView.wrap(chunkBuffer.array(), 0, chunkBuffer.position());
+
+    if (currentFileOffset >= currentChannel.size()) {
+      closeCurrentFile();
+    }
+
+    lastChunk = !hasNextChunk();
+  }
+
+  private void openNextFile() throws IOException {
+    final List<Path> files = snapshot.getFiles();
+    final Path file = files.get(nextFileIndex);
+    nextFileIndex += 1;
+
+    currentChannel =
+        FileChannel.open(snapshot.getRootDirectory().resolve(file), StandardOpenOption.READ);
+    currentFileOffset = 0;
+
+    // use the same separator on every node
+    final String fileName = file.toString().replace(file.getFileSystem().getSeparator(), "/");
+    fileNameBuffer.wrap(BufferUtil.wrapString(fileName));
+  }
+
+  private void closeCurrentFile() throws IOException {
+    currentChannel.close();
+    currentChannel = null;
+  }
+
+  public DirectBuffer getFileName() {
+    return fileNameBuffer;
+  }
+
+  public long getFileOffset() {
+    return chunkFileOffset;
+  }
+
+  public DirectBuffer getData() {
+    return chunkView;
+  }
+
+  public boolean isLastChunk() {
+    return lastChunk;
+  }
+
+  @Override
+  public void close() {
+    if (currentChannel != null) {
+      try {
+        closeCurrentFile();
+      } catch (final IOException e) {
+        // ignore
+      }
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft.snapshot;
+
+import io.zeebe.logstreams.state.StateSnapshotMetadata;
+import io.zeebe.logstreams.state.StateStorage;
+import io.zeebe.raft.Loggers;
+import io.zeebe.util.FileUtil;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.agrona.DirectBuffer;
+import org.slf4j.Logger;
+
+/**
+ * Provides the snapshots of the stream processors of a partition to raft. The root directory
+ * contains one directory per stream processor, which contains a runtime and a snapshots directory
+ * (see {@link StateStorage}).
+ *
+ * <p>A snapshot is installed by writing its files into a temporary directory first. When all files
+ * are written, the snapshot directories are moved into the directories of the stream processors, so
+ * that an incomplete snapshot is never recovered.
+ */
+public class RaftSnapshotStorage {
+  private static final Logger LOG = Loggers.RAFT_LOGGER;
+
+  public static final String INSTALL_DIRECTORY = ".install-snapshot";
+
+  private final Path rootDirectory;
+  private final Path installDirectory;
+
+  // reused for the chunks of the installed snapshot, grows with the largest chunk
+  private ByteBuffer chunkBuffer = ByteBuffer.allocate(0);
+
+  public RaftSnapshotStorage(final File rootDirectory) {
+    this.rootDirectory = rootDirectory.toPath();
+    this.installDirectory = this.rootDirectory.resolve(INSTALL_DIRECTORY);
+  }
+
+  /**
+   * Returns the latest snapshot which can be sent to a follower. It contains the latest recoverable
+   * snapshot of each stream processor.
+   *
+   * @param commitPosition the current commit position of the log
+   * @return the latest snapshot, or null if not every stream processor has a recoverable snapshot
+   */
+  public RaftSnapshot getLatestSnapshot(final long commitPosition) throws IOException {
+    final List<Path> snapshotDirectories = new ArrayList<>();
+    long position = Long.MAX_VALUE;
+
+    for (final StateStorage stateStorage : StateStorage.list(rootDirectory.toFile())) {
+      StateSnapshotMetadata latestSnapshot = null;
+      for (final StateSnapshotMetadata snapshot : stateStorage.listRecoverable(commitPosition)) {
+        if (latestSnapshot == null || snapshot.compareTo(latestSnapshot) > 0) {
+          latestSnapshot = snapshot;
+        }
+      }
+
+      if (latestSnapshot == null) {
+        return null;
+      }
+
+      snapshotDirectories.add(stateStorage.getSnapshotDirectoryFor(latestSnapshot).toPath());
+      position = Math.min(position, latestSnapshot.getLastSuccessfulProcessedEventPosition());
+    }
+
+    final List<Path> files = new ArrayList<>();
+    for (final Path snapshotDirectory : snapshotDirectories) {
+      try (Stream<Path> paths = Files.walk(snapshotDirectory)) {
+        files.addAll(
+            paths
+                .filter(Files::isRegularFile)
+                .map(rootDirectory::relativize)
+                .collect(Collectors.toList()));
+      }
+    }
+
+    if (files.isEmpty()) {
+      return null;
+    }
+
+    return new RaftSnapshot(position, rootDirectory, files);
+  }
+
+  /** Starts a new installation and discards the files of a previous, incomplete one. */
+  public void beginInstall() throws IOException {
+    abortInstall();
+    Files.createDirectories(installDirectory);
+  }
+
+  /**
+   * Writes a chunk of a snapshot file.
+   *
+   * @param fileName the name of the file, relative to the root directory
+   * @param fileOffset the offset in the file to write the chunk at
+   * @param data the content of the chunk
+   */
+  public void writeChunk(final String fileName, final long fileOffset, final DirectBuffer data)
+      throws IOException {
+    final Path file = installDirectory.resolve(fileName).normalize();
+    if (!file.startsWith(installDirectory)) {
+      throw new IOException(
+          String.format("Snapshot file '%s' is not located in the snapshot directory", fileName));
+    }
+
+    Files.createDirectories(file.getParent());
+
+    final int chunkLength = data.capacity();
+    if (chunkBuffer.capacity() < chunkLength) {
+      chunkBuffer = ByteBuffer.allocate(chunkLength);
+    }
+
+    chunkBuffer.clear();
+    data.getBytes(0, chunkBuffer, chunkLength);
+    chunkBuffer.flip();
+
+    try (FileChannel channel =
+        FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      long position = fileOffset;
+
+      while (chunkBuffer.hasRemaining()) {
+        position += channel.write(chunkBuffer, position);
+      }
+    }
+  }
+
+  /**
+   * Completes the installation by moving the installed snapshots into the directories of the stream
+   * processors. An existing snapshot with the same name is replaced.
+   */
+  public void completeInstall() throws IOException {
+    final List<Path> installedSnapshots = new ArrayList<>();
+
+    try (Stream<Path> processorDirectories = Files.list(installDirectory)) {
+      for (final Path processorDirectory : processorDirectories.collect(Collectors.toList())) {
+        final Path snapshotsDirectory =
+            processorDirectory.resolve(StateStorage.DEFAULT_SNAPSHOTS_DIRECTORY);
+
+        if (Files.isDirectory(snapshotsDirectory)) {
+          try (Stream<Path> snapshots = Files.list(snapshotsDirectory)) {
+            installedSnapshots.addAll(snapshots.collect(Collectors.toList()));
+          }
+        }
+      }
+    }
+
+    for (final Path installedSnapshot : installedSnapshots) {
+      try (Stream<Path> files = Files.walk(installedSnapshot)) {
+        for (final Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+          try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+          }
+        }
+      }
+    }
+
+    for (final Path installedSnapshot : installedSnapshots) {
+      final Path target = rootDirectory.resolve(installDirectory.relativize(installedSnapshot));
+
+      if (Files.exists(target)) {
+        FileUtil.deleteFolder(target.toString());
+      }
+
+      Files.createDirectories(target.getParent());
+      Files.move(installedSnapshot, target, StandardCopyOption.ATOMIC_MOVE);
+
+      LOG.debug("Installed snapshot {}", target);
+    }
+
+    abortInstall();
+  }
+
+  /** Discards the files of an incomplete installation. */
+  public void abortInstall() throws IOException {
+    if (Files.exists(installDirectory)) {
+      FileUtil.deleteFolder(installDirectory.toString());
+    }
+  }
+}
@@ -27,6 +27,8 @@ import io.zeebe.raft.protocol.AppendResponse;
 import io.zeebe.raft.protocol.ConfigurationRequest;
 import io.zeebe.raft.protocol.ConfigurationResponse;
 import io.zeebe.raft.protocol.HasNodeId;
+import io.zeebe.raft.protocol.InstallSnapshotRequest;
+import io.zeebe.raft.protocol.InstallSnapshotResponse;
 import io.zeebe.raft.protocol.PollRequest;
 import io.zeebe.raft.protocol.PollResponse;
 import io.zeebe.raft.protocol.VoteRequest;
@@ -56,11 +58,13 @@ public abstract class AbstractRaftState implements Service<AbstractRaftState>, M
   protected final VoteResponse voteResponse = new VoteResponse();
 
   protected final AppendResponse appendResponse = new AppendResponse();
+  protected final InstallSnapshotResponse installSnapshotResponse = new InstallSnapshotResponse();
 
   protected final ConfigurationRequest configurationRequest = new ConfigurationRequest();
   protected final PollRequest pollRequest = new PollRequest();
   protected final VoteRequest voteRequest = new VoteRequest();
   protected final AppendRequest appendRequest = new AppendRequest();
+  protected final InstallSnapshotRequest installSnapshotRequest = new InstallSnapshotRequest();
 
   protected final BufferedLogStreamReader reader;
 
@@ -76,7 +80,7 @@ public abstract class AbstractRaftState implements Service<AbstractRaftState>, M
     this.requestQueue = raft.getRequestQueue();
     this.messageBuffer = raft.getMessageReceiveBuffer();
     this.logStream = raft.getLogStream();
-    this.appender = new BufferedLogStorageAppender(raft);
+    this.appender = new BufferedLogStorageAppender(raft, raftActor);
     this.heartbeat = raft.getHeartbeat();
     this.raftMembers = raft.getRaftMembers();
 
@@ -141,6 +145,10 @@ public abstract class AbstractRaftState implements Service<AbstractRaftState>, M
       appendRequest(appendRequest);
     } else if (appendResponse.tryWrap(buffer, index, length)) {
       appendResponse(appendResponse);
+    } else if (installSnapshotRequest.tryWrap(buffer, index, length)) {
+      installSnapshotRequest(installSnapshotRequest);
+    } else if (installSnapshotResponse.tryWrap(buffer, index, length)) {
+      installSnapshotResponse(installSnapshotResponse);
     }
   }
 
@@ -220,6 +228,15 @@ public abstract class AbstractRaftState implements Service<AbstractRaftState>, M
     raft.mayStepDown(appendResponse);
   }
 
+  protected void installSnapshotRequest(final InstallSnapshotRequest installSnapshotRequest) {
+    raft.mayStepDown(installSnapshotRequest);
+    rejectInstallSnapshotRequest(installSnapshotRequest);
+  }
+
+  protected void installSnapshotResponse(final InstallSnapshotResponse installSnapshotResponse) {
+    raft.mayStepDown(installSnapshotResponse);
+  }
+
   protected void acceptConfigurationRequest(
       final ServerOutput serverOutput, final RemoteAddress remoteAddress, final long requestId) {
     configurationResponse.reset().setSucceeded(true).setRaft(raft);
@@ -267,4 +284,14 @@ public abstract class AbstractRaftState implements Service<AbstractRaftState>, M
 
     raft.sendMessage(hasNodeId.getNodeId(), appendResponse);
   }
+
+  protected void rejectInstallSnapshotRequest(final InstallSnapshotRequest request) {
+    installSnapshotResponse
+        .reset()
+        .setRaft(raft)
+        .setChunkIndex(request.getChunkIndex())
+        .setSucceeded(false);
+
+    raft.sendMessage(request.getNodeId(), installSnapshotResponse);
+  }
 }
@@ -15,16 +15,29 @@
  */
 package io.zeebe.raft.state;
 
-import io.zeebe.logstreams.impl.LoggedEventImpl;
+import io.zeebe.raft.Loggers;
 import io.zeebe.raft.Raft;
 import io.zeebe.raft.protocol.AppendRequest;
+import io.zeebe.raft.protocol.InstallSnapshotRequest;
+import io.zeebe.raft.snapshot.RaftSnapshotStorage;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ActorPriority;
 import io.zeebe.util.sched.SchedulingHints;
+import java.io.IOException;
+import org.slf4j.Logger;
 
 public class FollowerState extends AbstractRaftState {
+  private static final Logger LOG = Loggers.RAFT_LOGGER;
+
+  private final RaftSnapshotStorage snapshotStorage;
+
+  private boolean isInstallingSnapshot;
+  private long installingSnapshotPosition;
+  private int expectedChunkIndex;
+
   public FollowerState(Raft raft, ActorControl raftActor) {
     super(raft, raftActor);
+    this.snapshotStorage = raft.getSnapshotStorage();
   }
 
   @Override
@@ -40,6 +53,7 @@ public class FollowerState extends AbstractRaftState {
 
   @Override
   protected void onLeaveState() {
+    abortSnapshotInstallation();
     raftActor.setSchedulingHints(SchedulingHints.cpuBound(ActorPriority.REGULAR));
     super.onLeaveState();
   }
@@ -49,7 +63,7 @@ public class FollowerState extends AbstractRaftState {
     super.consumeMessage();
 
     // when there are no more append requests immediately available,
-    // flush now and send the ack immediately
+    // write the events now and send the ack - in group commit mode, after they are flushed
     if (!appender.isClosed() && !messageBuffer.hasAvailable()) {
       appender.flushAndAck();
     }
@@ -61,17 +75,101 @@ public class FollowerState extends AbstractRaftState {
 
     final long previousEventPosition = appendRequest.getPreviousEventPosition();
     final int previousEventTerm = appendRequest.getPreviousEventTerm();
-    final LoggedEventImpl event = appendRequest.getEvent();
 
     if (!appender.isClosed() && raft.isTermCurrent(appendRequest)) {
       final boolean lastEvent = appender.isLastEvent(previousEventPosition, previousEventTerm);
       if (lastEvent) {
-        appender.appendEvent(appendRequest, event);
+        appender.appendEvents(appendRequest);
       } else {
-        appender.truncateLog(appendRequest, event);
+        appender.truncateLog(appendRequest);
       }
     } else {
       rejectAppendRequest(appendRequest, appender.getLastPosition());
     }
   }
+
+  @Override
+  protected void installSnapshotRequest(final InstallSnapshotRequest installSnapshotRequest) {
+    raft.mayStepDown(installSnapshotRequest);
+
+    if (snapshotStorage == null
+        || appender.isClosed()
+        || !raft.isTermCurrent(installSnapshotRequest)) {
+      rejectInstallSnapshotRequest(installSnapshotRequest);
+      return;
+    }
+
+    final long snapshotPosition = installSnapshotRequest.getSnapshotPosition();
+    final int chunkIndex = installSnapshotRequest.getChunkIndex();
+
+    try {
+      if (installSnapshotRequest.isFirstChunk()) {
+        snapshotStorage.beginInstall();
+
+        isInstallingSnapshot = true;
+        installingSnapshotPosition = snapshotPosition;
+        expectedChunkIndex = chunkIndex;
+      }
+
+      if (!isInstallingSnapshot
+          || installingSnapshotPosition != snapshotPosition
+          || expectedChunkIndex != chunkIndex) {
+        // a chunk was lost, the leader has to restart the transfer
+        rejectInstallSnapshotRequest(installSnapshotRequest);
+        return;
+      }
+
+      snapshotStorage.writeChunk(
+          installSnapshotRequest.getFileName(),
+          installSnapshotRequest.getFileOffset(),
+          installSnapshotRequest.getData());
+      expectedChunkIndex += 1;
+
+      if (installSnapshotRequest.isLastChunk()) {
+        snapshotStorage.completeInstall();
+        isInstallingSnapshot = false;
+
+        // the events after the snapshot are replicated from the leader
+        appender.truncateUncommittedEvents();
+
+        if (appender.getLastPosition() >= 0 && appender.getLastPosition() <= snapshotPosition) {
+          // the remaining events are replaced by the snapshot, the log starts with the next event
+          appender.discardEventsOnNextAppend();
+        }
+
+        LOG.info("Installed snapshot with position {}", snapshotPosition);
+      }
+
+      acceptInstallSnapshotRequest(installSnapshotRequest);
+    } catch (final IOException e) {
+      LOG.error("Failed to install snapshot with position {}", snapshotPosition, e);
+
+      abortSnapshotInstallation();
+      rejectInstallSnapshotRequest(installSnapshotRequest);
+    }
+  }
+
+  private void acceptInstallSnapshotRequest(final InstallSnapshotRequest request) {
+    installSnapshotResponse
+        .reset()
+        .setRaft(raft)
+        .setChunkIndex(request.getChunkIndex())
+        .setSucceeded(true)
+        .setLastEventPosition(appender.getLastPosition())
+        .setLastEventTerm(appender.getLastTerm());
+
+    raft.sendMessage(request.getNodeId(), installSnapshotResponse);
+  }
+
+  private void abortSnapshotInstallation() {
+    if (isInstallingSnapshot) {
+      isInstallingSnapshot = false;
+
+      try {
+        snapshotStorage.abortInstall();
+      } catch (final IOException e) {
+        LOG.warn("Failed to abort the installation of snapshot", e);
+      }
+    }
+  }
 }
@@ -22,6 +22,7 @@ import io.zeebe.raft.RaftMember;
 import io.zeebe.raft.controller.AppendRaftEventController;
 import io.zeebe.raft.protocol.AppendResponse;
 import io.zeebe.raft.protocol.ConfigurationRequest;
+import io.zeebe.raft.protocol.InstallSnapshotResponse;
 import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.util.sched.ActorCondition;
@@ -165,6 +166,21 @@ public class LeaderState extends AbstractRaftState {
     }
   }
 
+  @Override
+  protected void installSnapshotResponse(final InstallSnapshotResponse installSnapshotResponse) {
+    if (!raft.mayStepDown(installSnapshotResponse)) {
+      final RaftMember member = raftMembers.getMember(installSnapshotResponse.getNodeId());
+
+      if (member != null) {
+        member.onFollowerHasInstalledSnapshotChunk(
+            installSnapshotResponse.getChunkIndex(),
+            installSnapshotResponse.isSucceeded(),
+            installSnapshotResponse.getLastEventPosition(),
+            installSnapshotResponse.getLastEventTerm());
+      }
+    }
+  }
+
   private void commit() {
     final List<RaftMember> memberList = raftMembers.getMemberList();
 
@@ -180,7 +196,8 @@ public class LeaderState extends AbstractRaftState {
     // position is the next position which is written. This means in a single node cluster the log
     // already committed an event which will be written in the future. `- 1` is a hotfix for this.
     // see https://github.com/zeebe-io/zeebe/issues/501
-    positions[memberSize] = logStream.getLogStorageAppender().getCurrentAppenderPosition() - 1;
+    // the leader only counts the events which are durable depending on the log sync mode
+    positions[memberSize] = logStream.getLogStorageAppender().getDurablePosition() - 1;
 
     Arrays.sort(positions);
 
@@ -196,7 +213,7 @@ public class LeaderState extends AbstractRaftState {
   }
 
   private void commitPositionOnSingleNode() {
-    final long commitPosition = logStream.getLogStorageAppender().getCurrentAppenderPosition() - 1;
+    final long commitPosition = logStream.getLogStorageAppender().getDurablePosition() - 1;
 
     if (initialEventPosition >= 0
         && commitPosition >= initialEventPosition
@@ -114,6 +114,7 @@ public class ThroughPutTestRaft implements RaftStateListener {
             nodeId,
             clientTransport,
             persistentStorage,
+            null,
             messageBuffer,
             this);
     raft.addMembersWhenJoined(
@@ -16,6 +16,7 @@
 package io.zeebe.raft.protocol;
 
 import static io.zeebe.test.util.BufferWriterUtil.writeAndRead;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.dispatcher.impl.log.DataFrameDescriptor;
@@ -200,6 +201,40 @@ public class RaftProtocolMessageTest {
     assertThat(actual.getBuffer()).isEqualTo(data);
   }
 
+  @Test
+  public void shouldReadAndWriteAppendRequestWithMultipleEvents() {
+    // given
+    final int msgLength = BitUtil.SIZE_OF_LONG;
+    final int fragmentLength = DataFrameDescriptor.alignedFramedLength(msgLength);
+
+    final MutableDirectBuffer data = new UnsafeBuffer(new byte[fragmentLength * 2]);
+    for (int i = 0; i < 2; i++) {
+      final int offset = i * fragmentLength;
+      data.putInt(
+          DataFrameDescriptor.lengthOffset(offset), DataFrameDescriptor.framedLength(msgLength));
+      data.putLong(DataFrameDescriptor.messageOffset(offset), 123L + i);
+    }
+
+    AppendRequest appendRequest =
+        new AppendRequest()
+            .setRaft(raft)
+            .setPreviousEventPosition(111)
+            .setPreviousEventTerm(222)
+            .setEvents(data, 0, data.capacity());
+
+    // when
+    appendRequest = writeAndRead(appendRequest);
+
+    // then
+    assertThat(appendRequest.getPreviousEventPosition()).isEqualTo(111);
+    assertThat(appendRequest.getPreviousEventTerm()).isEqualTo(222);
+    assertThat(appendRequest.getEvents()).isEqualTo(data);
+
+    final LoggedEventImpl first = appendRequest.getEvent();
+    assertThat(first).isNotNull();
+    assertThat(first.getFragmentLength()).isEqualTo(fragmentLength);
+  }
+
   @Test
   public void shouldReadWriteAppendResponse() {
     // given
@@ -217,6 +252,63 @@ public class RaftProtocolMessageTest {
     assertThat(appendResponse.isSucceeded()).isTrue();
   }
 
+  @Test
+  public void shouldReadWriteInstallSnapshotRequest() {
+    // given
+    final MutableDirectBuffer data = new UnsafeBuffer(new byte[] {1, 2, 3});
+
+    InstallSnapshotRequest installSnapshotRequest =
+        new InstallSnapshotRequest()
+            .setRaft(raft)
+            .setSnapshotPosition(111)
+            .setChunkIndex(3)
+            .setFirstChunk(false)
+            .setLastChunk(true)
+            .setFileName(wrapString("1_processor/snapshots/1_2_3/data.sst"))
+            .setFileOffset(222)
+            .setData(data, 0, data.capacity());
+
+    // when
+    installSnapshotRequest = writeAndRead(installSnapshotRequest);
+
+    // then
+    assertPartition(installSnapshotRequest);
+    assertTerm(installSnapshotRequest);
+    assertNodeId(installSnapshotRequest);
+    assertThat(installSnapshotRequest.getSnapshotPosition()).isEqualTo(111);
+    assertThat(installSnapshotRequest.getChunkIndex()).isEqualTo(3);
+    assertThat(installSnapshotRequest.isFirstChunk()).isFalse();
+    assertThat(installSnapshotRequest.isLastChunk()).isTrue();
+    assertThat(installSnapshotRequest.getFileName())
+        .isEqualTo("1_processor/snapshots/1_2_3/data.sst");
+    assertThat(installSnapshotRequest.getFileOffset()).isEqualTo(222);
+    assertThat(installSnapshotRequest.getData()).isEqualTo(data);
+  }
+
+  @Test
+  public void shouldReadWriteInstallSnapshotResponse() {
+    // given
+    InstallSnapshotResponse installSnapshotResponse =
+        new InstallSnapshotResponse()
+            .setRaft(raft)
+            .setChunkIndex(3)
+            .setSucceeded(true)
+            .setLastEventPosition(111)
+            .setLastEventTerm(222);
+
+    // when
+    installSnapshotResponse = writeAndRead(installSnapshotResponse);
+
+    // then
+    assertPartition(installSnapshotResponse);
+    assertTerm(installSnapshotResponse);
+    assertNodeId(installSnapshotResponse);
+    assertThat(installSnapshotResponse.getChunkIndex()).isEqualTo(3);
+    assertThat(installSnapshotResponse.isSucceeded()).isTrue();
+    assertThat(installSnapshotResponse.getLastEventPosition()).isEqualTo(111);
+    assertThat(installSnapshotResponse.getLastEventTerm()).isEqualTo(222);
+  }
+
   protected void assertPartition(final HasPartition hasPartition) {
     assertThat(hasPartition.getPartitionId()).isEqualTo(logStream.getPartitionId());
   }
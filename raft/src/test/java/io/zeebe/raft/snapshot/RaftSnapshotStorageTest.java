@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.raft.snapshot;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RaftSnapshotStorageTest {
+  private static final int CHUNK_SIZE = 4;
+
+  @Rule public TemporaryFolder leaderFolder = new TemporaryFolder();
+  @Rule public TemporaryFolder followerFolder = new TemporaryFolder();
+
+  private RaftSnapshotStorage leaderStorage;
+  private RaftSnapshotStorage followerStorage;
+
+  @Before
+  public void setUp() {
+    leaderStorage = new RaftSnapshotStorage(leaderFolder.getRoot());
+    followerStorage = new RaftSnapshotStorage(followerFolder.getRoot());
+  }
+
+  @Test
+  public void shouldNotGetSnapshotIfNoProcessorHasSnapshot() throws Exception {
+    // when
+    final RaftSnapshot snapshot = leaderStorage.getLatestSnapshot(100);
+
+    // then
+    assertThat(snapshot).isNull();
+  }
+
+  @Test
+  public void shouldNotGetSnapshotIfOneProcessorHasNoSnapshot() throws Exception {
+    // given
+    createSnapshotFile("1_processor", "10_20_1", "data", "foo");
+    Files.createDirectories(processorSnapshots("2_processor"));
+
+    // when
+    final RaftSnapshot snapshot = leaderStorage.getLatestSnapshot(100);
+
+    // then
+    assertThat(snapshot).isNull();
+  }
+
+  @Test
+  public void shouldGetLatestRecoverableSnapshots() throws Exception {
+    // given
+    createSnapshotFile("1_processor", "10_20_1", "data", "foo");
+    createSnapshotFile("1_processor", "30_40_1", "data", "bar");
+    createSnapshotFile("1_processor", "50_200_1", "data", "uncommitted");
+    createSnapshotFile("2_processor", "15_25_1", "data", "baz");
+
+    // when
+    final RaftSnapshot snapshot = leaderStorage.getLatestSnapshot(100);
+
+    // then
+    assertThat(snapshot.getPosition()).isEqualTo(15);
+    assertThat(snapshot.getFiles())
+        .containsOnly(
+            Paths.get("1_processor", "snapshots", "30_40_1", "data"),
+            Paths.get("2_processor", "snapshots", "15_25_1", "data"));
+  }
+
+  @Test
+  public void shouldTransferSnapshotInChunks() throws Exception {
+    // given
+    createSnapshotFile("1_processor", "10_20_1", "data", "0123456789");
+    createSnapshotFile("1_processor", "10_20_1", "empty", "");
+    createSnapshotFile("2_processor", "15_25_1", "data", "abc");
+
+    final RaftSnapshot snapshot = leaderStorage.getLatestSnapshot(100);
+
+    // when
+    int chunks = 0;
+    followerStorage.beginInstall();
+
+    try (RaftSnapshotReader reader = new RaftSnapshotReader(snapshot, CHUNK_SIZE)) {
+      while (reader.hasNextChunk()) {
+        reader.readNextChunk();
+        chunks += 1;
+
+        assertThat(reader.getData().capacity()).isLessThanOrEqualTo(CHUNK_SIZE);
+        assertThat(reader.isLastChunk()).isEqualTo(!reader.hasNextChunk());
+
+        followerStorage.writeChunk(
+            bufferAsString(reader.getFileName()), reader.getFileOffset(), reader.getData());
+      }
+    }
+
+    followerStorage.completeInstall();
+
+    // then
+    assertThat(chunks).isEqualTo(5);
+    assertThat(readFile(followerFolder.getRoot(), "1_processor", "10_20_1", "data"))
+        .isEqualTo("0123456789");
+    assertThat(readFile(followerFolder.getRoot(), "1_processor", "10_20_1", "empty")).isEmpty();
+    assertThat(readFile(followerFolder.getRoot(), "2_processor", "15_25_1", "data"))
+        .isEqualTo("abc");
+    assertThat(new File(followerFolder.getRoot(), RaftSnapshotStorage.INSTALL_DIRECTORY))
+        .doesNotExist();
+  }
+
+  @Test
+  public void shouldDiscardIncompleteInstallation() throws Exception {
+    // given
+    followerStorage.beginInstall();
+    followerStorage.writeChunk("1_processor/snapshots/10_20_1/data", 0, wrapString("foo"));
+
+    // when
+    followerStorage.beginInstall();
+    followerStorage.completeInstall();
+
+    // then
+    assertThat(processorSnapshots(followerFolder.getRoot(), "1_processor")).doesNotExist();
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldRejectFileOutsideOfInstallDirectory() throws Exception {
+    // given
+    followerStorage.beginInstall();
+
+    // when
+    followerStorage.writeChunk("../../data", 0, wrapString("foo"));
+  }
+
+  private Path processorSnapshots(final String processor) {
+    return processorSnapshots(leaderFolder.getRoot(), processor);
+  }
+
+  private Path processorSnapshots(final File root, final String processor) {
+    return root.toPath().resolve(processor).resolve("snapshots");
+  }
+
+  private void createSnapshotFile(
+      final String processor, final String snapshot, final String file, final String content)
+      throws IOException {
+    final Path snapshotDirectory = processorSnapshots(processor).resolve(snapshot);
+    Files.createDirectories(snapshotDirectory);
+    Files.write(snapshotDirectory.resolve(file), content.getBytes());
+  }
+
+  private String readFile(
+      final File root, final String processor, final String snapshot, final String file)
+      throws IOException {
+    return new String(
+        Files.readAllBytes(processorSnapshots(root, processor).resolve(snapshot).resolve(file)));
+  }
+}
@@ -146,6 +146,7 @@ public class RaftRule extends ExternalResource implements RaftStateListener {
             nodeId,
             clientTransport,
             persistentStorage,
+            null,
             messageBuffer,
             this);
     raftApiMessageHandler.registerRaft(raft);
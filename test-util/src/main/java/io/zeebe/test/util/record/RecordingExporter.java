@@ -57,7 +57,7 @@ public class RecordingExporter implements Exporter {
 
   @Override
   public void export(final Record record) {
-    RECORDS.add(record);
+    RECORDS.add(record.copy());
     synchronized (EXPORT_MONITOR) {
       EXPORT_MONITOR.notifyAll();
     }
@@ -29,6 +29,8 @@ import java.io.File;
 import java.io.InputStream;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
@@ -46,6 +48,7 @@ public class ExporterTestHarness {
   private final int partitionId = 0;
 
   private long position = 1;
+  private MockContext context;
 
   /** @param exporter the exporter to be tested */
   public ExporterTestHarness(Exporter exporter) {
@@ -62,7 +65,8 @@ public class ExporterTestHarness {
     final MockConfiguration<Object> configuration = new MockConfiguration<>();
     configuration.setId(id);
 
-    exporter.configure(newContext(configuration));
+    context = newContext(configuration);
+    exporter.configure(context);
   }
 
   /**
@@ -118,7 +122,8 @@ public class ExporterTestHarness {
     final MockConfiguration<T> configuration = new MockConfiguration<>(config);
     configuration.setId(id);
 
-    exporter.configure(newContext(configuration));
+    context = newContext(configuration);
+    exporter.configure(context);
   }
 
   /**
@@ -196,6 +201,11 @@ public class ExporterTestHarness {
     controller.runScheduledTasks(elapsed);
   }
 
+  /** @return the context which was passed to the exporter on the last configuration */
+  public MockContext getContext() {
+    return context;
+  }
+
   /** @return underlying mock controller */
   public MockController getController() {
     return controller;
@@ -227,7 +237,8 @@ public class ExporterTestHarness {
       final MockConfiguration<Object> configuration = new MockConfiguration<>();
       configuration.setId(id);
       configuration.setArguments(config.get().getArgs());
-      exporter.configure(newContext(configuration));
+      context = newContext(configuration);
+      exporter.configure(context);
     } else {
       throw new IllegalArgumentException(String.format("No exporter with ID %s found", id));
     }
@@ -263,5 +274,23 @@ public class ExporterTestHarness {
     public void export(int count) {
       limit(count).forEach(ExporterTestHarness.this::export);
     }
+
+    /**
+     * Short-circuiting method; will export exactly {@param count} records from this stream to the
+     * exporter as a single batch. Should be called as the last method a chain.
+     *
+     * @param count amount of records to export
+     * @return the exported records
+     */
+    public List<MockRecord> exportBatch(int count) {
+      final List<MockRecord> records = limit(count).asList();
+      exporter.exportBatch(new ArrayList<Record>(records));
+
+      if (!records.isEmpty()) {
+        position = records.get(records.size() - 1).getPosition();
+      }
+
+      return records;
+    }
   }
 }
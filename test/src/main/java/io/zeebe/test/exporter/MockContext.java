@@ -23,6 +23,7 @@ public class MockContext implements Context {
 
   private Logger logger;
   private Configuration configuration;
+  private RecordFilter filter;
 
   public MockContext() {}
 
@@ -48,4 +49,14 @@ public class MockContext implements Context {
   public void setConfiguration(Configuration configuration) {
     this.configuration = configuration;
   }
+
+  @Override
+  public void setFilter(RecordFilter filter) {
+    this.filter = filter;
+  }
+
+  /** @return the filter set by the exporter, or null if it accepts all records */
+  public RecordFilter getFilter() {
+    return filter;
+  }
 }
@@ -34,10 +34,26 @@ public interface ZeebeDb<ColumnFamilyType extends Enum<ColumnFamilyType>> extend
    * Runs the commands like delete, put etc. in a batch operation. Access of different column
    * families inside this batch are possible.
    *
+   * <p>Reads inside of the batch see the changes which were done before in the same batch. If the
+   * batch is called inside of another batch then the operations become part of the outer batch,
+   * which means that the changes are written together when the outer batch completes.
+   *
    * @param operations the operations
    */
   void batch(Runnable operations);
 
+  /**
+   * Opens a transaction. All commands like delete, put etc. which are done until the transaction is
+   * committed or rolled back are part of the transaction, also if they are done in a {@link
+   * #batch(Runnable)}. Reads see the changes of the open transaction.
+   *
+   * <p>Only one transaction can be open at the same time.
+   *
+   * @return the opened transaction
+   * @throws IllegalStateException if a transaction or batch is already open
+   */
+  ZeebeDbTransaction transaction();
+
   /**
    * Creates an instance of a specific column family to access and store key-value pairs in that
    * column family. The key and value instances are used to ensure type safety.
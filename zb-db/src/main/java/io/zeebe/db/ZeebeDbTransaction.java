@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db;
+
+/**
+ * A transaction on a {@link ZeebeDb}. All changes which are done on any column family while the
+ * transaction is open become part of it. Reads see these changes before they are committed.
+ */
+public interface ZeebeDbTransaction {
+
+  /**
+   * Writes all changes of the transaction at once and closes the transaction.
+   *
+   * @throws IllegalStateException if the transaction is already committed or rolled back
+   */
+  void commit();
+
+  /**
+   * Drops all changes of the transaction and closes it. Does nothing if the transaction is already
+   * committed or rolled back.
+   */
+  void rollback();
+}
@@ -45,10 +45,13 @@ class RocksDbBatch extends WriteBatch {
 
   private final MutableDirectBuffer keyBuffer;
   private final MutableDirectBuffer valueBuffer;
+  private final RocksDbBatchIndex index;
 
-  RocksDbBatch(MutableDirectBuffer keyBuffer, MutableDirectBuffer valueBuffer) {
+  RocksDbBatch(
+      MutableDirectBuffer keyBuffer, MutableDirectBuffer valueBuffer, RocksDbBatchIndex index) {
     this.keyBuffer = keyBuffer;
     this.valueBuffer = valueBuffer;
+    this.index = index;
   }
 
   public void put(long columnFamilyHandle, DbKey key, DbValue value) {
@@ -67,6 +70,13 @@ class RocksDbBatch extends WriteBatch {
     } catch (IllegalAccessException | InvocationTargetException e) {
       throw new RuntimeException(e);
     }
+
+    index.put(
+        columnFamilyHandle,
+        keyBuffer.byteArray(),
+        key.getLength(),
+        valueBuffer.byteArray(),
+        value.getLength());
   }
 
   public void delete(long columnFamilyHandle, DbKey key) {
@@ -78,5 +88,11 @@ class RocksDbBatch extends WriteBatch {
     } catch (IllegalAccessException | InvocationTargetException e) {
       throw new RuntimeException(e);
     }
+
+    index.delete(columnFamilyHandle, keyBuffer.byteArray(), key.getLength());
+  }
+
+  public RocksDbBatchIndex getIndex() {
+    return index;
   }
 }
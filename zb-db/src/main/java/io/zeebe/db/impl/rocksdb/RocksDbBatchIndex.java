@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.agrona.collections.Long2ObjectHashMap;
+
+/**
+ * Indexes the uncommitted changes of a {@link RocksDbBatch} per column family, so that reads inside
+ * of the batch can see the writes which were done before in the same batch.
+ *
+ * <p>The keys are ordered like the default byte-wise comparator of RocksDB orders them, which makes
+ * it possible to merge the changes with a RocksDB iterator. A skip list map is used since its
+ * iterators are weakly consistent, which means the changes can be modified while iterating over
+ * them.
+ *
+ * <p>Lookups don't copy the given key. Instead, the key is compared with the given length while the
+ * map is searched for it.
+ */
+final class RocksDbBatchIndex {
+
+  /** Marks a key which was deleted in the batch. Compared by identity. */
+  static final byte[] DELETED = new byte[0];
+
+  private final Long2ObjectHashMap<NavigableMap<byte[], byte[]>> changesByColumnFamily =
+      new Long2ObjectHashMap<>();
+
+  // the key of the current lookup, which is compared with its given length instead of its array
+  // length
+  private byte[] lookupKey;
+  private int lookupKeyLength;
+
+  void put(long columnFamilyHandle, byte[] key, int keyLength, byte[] value, int valueLength) {
+    getOrCreateChanges(columnFamilyHandle)
+        .put(Arrays.copyOf(key, keyLength), Arrays.copyOf(value, valueLength));
+  }
+
+  void delete(long columnFamilyHandle, byte[] key, int keyLength) {
+    getOrCreateChanges(columnFamilyHandle).put(Arrays.copyOf(key, keyLength), DELETED);
+  }
+
+  /**
+   * @return the value which was written in the batch, {@link #DELETED} if the key was deleted in
+   *     the batch, or <code>null</code> if the key was not changed in the batch
+   */
+  byte[] get(long columnFamilyHandle, byte[] key, int keyLength) {
+    final NavigableMap<byte[], byte[]> changes = changesByColumnFamily.get(columnFamilyHandle);
+    if (changes == null || changes.isEmpty()) {
+      return null;
+    }
+    try {
+      return changes.get(lookupKey(key, keyLength));
+    } finally {
+      lookupKey = null;
+    }
+  }
+
+  /**
+   * @return the changes of the column family in key order, starting with the given key (inclusive)
+   */
+  NavigableMap<byte[], byte[]> changesFrom(long columnFamilyHandle, byte[] key, int keyLength) {
+    final NavigableMap<byte[], byte[]> changes = changesByColumnFamily.get(columnFamilyHandle);
+    if (changes == null || changes.isEmpty()) {
+      return Collections.emptyNavigableMap();
+    }
+    final byte[] fromKey;
+    try {
+      // the view must not be bound to the lookup key, which is reused
+      fromKey = changes.ceilingKey(lookupKey(key, keyLength));
+    } finally {
+      lookupKey = null;
+    }
+    return fromKey == null ? Collections.emptyNavigableMap() : changes.tailMap(fromKey, true);
+  }
+
+  /** @return all changes of the column family in key order */
+  NavigableMap<byte[], byte[]> changes(long columnFamilyHandle) {
+    final NavigableMap<byte[], byte[]> changes = changesByColumnFamily.get(columnFamilyHandle);
+    return changes == null ? Collections.emptyNavigableMap() : changes;
+  }
+
+  void clear() {
+    changesByColumnFamily.clear();
+  }
+
+  static boolean isDeleted(Entry<byte[], byte[]> change) {
+    return change.getValue() == DELETED;
+  }
+
+  /** Compares the keys like the byte-wise comparator of RocksDB, i.e. as unsigned bytes. */
+  static int compareKeys(byte[] key, byte[] otherKey) {
+    return compareKeys(key, key.length, otherKey, otherKey.length);
+  }
+
+  private static int compareKeys(byte[] key, int keyLength, byte[] otherKey, int otherKeyLength) {
+    final int length = Math.min(keyLength, otherKeyLength);
+    for (int i = 0; i < length; i++) {
+      final int result = Integer.compare(key[i] & 0xFF, otherKey[i] & 0xFF);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(keyLength, otherKeyLength);
+  }
+
+  private byte[] lookupKey(byte[] key, int keyLength) {
+    lookupKey = key;
+    lookupKeyLength = keyLength;
+    return key;
+  }
+
+  private int keyLength(byte[] key) {
+    return key == lookupKey ? lookupKeyLength : key.length;
+  }
+
+  private int compareIndexedKeys(byte[] key, byte[] otherKey) {
+    return compareKeys(key, keyLength(key), otherKey, keyLength(otherKey));
+  }
+
+  private NavigableMap<byte[], byte[]> getOrCreateChanges(long columnFamilyHandle) {
+    NavigableMap<byte[], byte[]> changes = changesByColumnFamily.get(columnFamilyHandle);
+    if (changes == null) {
+      changes = new ConcurrentSkipListMap<>(this::compareIndexedKeys);
+      changesByColumnFamily.put(columnFamilyHandle, changes);
+    }
+    return changes;
+  }
+}
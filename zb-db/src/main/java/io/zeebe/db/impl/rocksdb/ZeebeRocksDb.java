@@ -15,6 +15,8 @@
  */
 package io.zeebe.db.impl.rocksdb;
 
+import static io.zeebe.db.impl.rocksdb.RocksDbBatchIndex.compareKeys;
+import static io.zeebe.db.impl.rocksdb.RocksDbBatchIndex.isDeleted;
 import static io.zeebe.util.buffer.BufferUtil.startsWith;
 
 import io.zeebe.db.ColumnFamily;
@@ -22,11 +24,17 @@ import io.zeebe.db.DbKey;
 import io.zeebe.db.DbValue;
 import io.zeebe.db.KeyValuePairVisitor;
 import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbTransaction;
 import java.io.File;
 import java.lang.reflect.Field;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
@@ -112,6 +120,7 @@ class ZeebeRocksDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>> extends Ro
   // buffers used inside the batch
   private final ExpandableArrayBuffer keyBatchBuffer = new ExpandableArrayBuffer();
   private final ExpandableArrayBuffer valueBatchBuffer = new ExpandableArrayBuffer();
+  private final RocksDbBatchIndex batchIndex = new RocksDbBatchIndex();
 
   private final EnumMap<ColumnFamilyNames, Long> columnFamilyMap;
 
@@ -173,17 +182,80 @@ class ZeebeRocksDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>> extends Ro
 
   @Override
   public void batch(Runnable operations) {
-    try (WriteOptions options = new WriteOptions()) {
-      batch = new RocksDbBatch(keyBatchBuffer, valueBatchBuffer);
+    if (isInBatch()) {
+      // the operations become part of the outer batch, which is written when it completes
+      operations.run();
+      return;
+    }
 
+    final ZeebeDbTransaction transaction = transaction();
+    try {
       operations.run();
+      transaction.commit();
+    } finally {
+      // does nothing if the transaction is committed
+      transaction.rollback();
+    }
+  }
+
+  @Override
+  public ZeebeDbTransaction transaction() {
+    if (isInBatch()) {
+      throw new IllegalStateException(
+          "Expected to open a new transaction, but a transaction is already open.");
+    }
+
+    batch = new RocksDbBatch(keyBatchBuffer, valueBatchBuffer, batchIndex);
+    return new RocksDbTransaction(batch);
+  }
+
+  private void commitBatch() {
+    try (WriteOptions options = new WriteOptions()) {
       write(options, batch);
     } catch (RocksDBException e) {
       throw new RuntimeException(e);
     } finally {
-      if (batch != null) {
-        batch.close();
-        batch = null;
+      closeBatch();
+    }
+  }
+
+  private void closeBatch() {
+    if (batch != null) {
+      batch.close();
+      batch = null;
+    }
+    batchIndex.clear();
+  }
+
+  /**
+   * A handle of one transaction. It can't affect a later transaction after it is committed or
+   * rolled back.
+   */
+  private final class RocksDbTransaction implements ZeebeDbTransaction {
+    private final RocksDbBatch transactionBatch;
+
+    private RocksDbTransaction(RocksDbBatch transactionBatch) {
+      this.transactionBatch = transactionBatch;
+    }
+
+    private boolean isOpen() {
+      return batch == transactionBatch;
+    }
+
+    @Override
+    public void commit() {
+      if (!isOpen()) {
+        throw new IllegalStateException(
+            "Expected to commit the transaction, but the transaction is already closed.");
+      }
+
+      commitBatch();
+    }
+
+    @Override
+    public void rollback() {
+      if (isOpen()) {
+        closeBatch();
       }
     }
   }
@@ -195,9 +267,27 @@ class ZeebeRocksDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>> extends Ro
   protected DirectBuffer get(long columnFamilyHandle, DbKey key) {
     key.write(keyBuffer, 0);
     final int keyLength = key.getLength();
+
+    if (isInBatch()) {
+      final byte[] value = batchIndex.get(columnFamilyHandle, keyBuffer.byteArray(), keyLength);
+      if (value != null) {
+        return getValueFromBatch(value);
+      }
+    }
+
     return getValue(columnFamilyHandle, keyLength);
   }
 
+  private DirectBuffer getValueFromBatch(byte[] value) {
+    if (value == RocksDbBatchIndex.DELETED) {
+      return null;
+    }
+
+    valueBuffer.putBytes(0, value);
+    valueViewBuffer.wrap(valueBuffer, 0, value.length);
+    return valueViewBuffer;
+  }
+
   private DirectBuffer getValue(long columnFamilyHandle, int keyLength) {
     final int valueLength = valueBuffer.capacity();
     try {
@@ -229,6 +319,14 @@ class ZeebeRocksDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>> extends Ro
   protected boolean exists(long columnFamilyHandle, DbKey key) {
     key.write(keyBuffer, 0);
 
+    if (isInBatch()) {
+      final byte[] value =
+          batchIndex.get(columnFamilyHandle, keyBuffer.byteArray(), key.getLength());
+      if (value != null) {
+        return value != RocksDbBatchIndex.DELETED;
+      }
+    }
+
     if (!keyMayExist(
         nativeHandle_,
         keyBuffer.byteArray(),
@@ -313,11 +411,16 @@ class ZeebeRocksDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>> extends Ro
   private void foreach(
       long columnFamilyHandle, BiConsumer<DirectBuffer, DirectBuffer> keyValuePairConsumer) {
     try (RocksDbIterator iterator = newIterator(columnFamilyHandle)) {
-      for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
-        keyViewBuffer.wrap(iterator.key());
-        valueViewBuffer.wrap(iterator.value());
-        keyValuePairConsumer.accept(keyViewBuffer, valueViewBuffer);
-      }
+      iterator.seekToFirst();
+      iterate(
+          iterator,
+          batchChanges(columnFamilyHandle),
+          null,
+          0,
+          (keyBuffer, valueBuffer) -> {
+            keyValuePairConsumer.accept(keyBuffer, valueBuffer);
+            return true;
+          });
     }
   }
 
@@ -328,10 +431,13 @@ class ZeebeRocksDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>> extends Ro
       KeyValuePairVisitor<KeyType, ValueType> visitor) {
 
     try (RocksDbIterator iterator = newIterator(columnFamilyHandle)) {
-      boolean shouldVisitNext = true;
-      for (iterator.seekToFirst(); iterator.isValid() && shouldVisitNext; iterator.next()) {
-        shouldVisitNext = visit(keyInstance, valueInstance, visitor, iterator);
-      }
+      iterator.seekToFirst();
+      iterate(
+          iterator,
+          batchChanges(columnFamilyHandle),
+          null,
+          0,
+          (keyBuffer, valueBuffer) -> visit(keyInstance, valueInstance, visitor));
     }
   }
 
@@ -372,28 +478,97 @@ class ZeebeRocksDb<ColumnFamilyNames extends Enum<ColumnFamilyNames>> extends Ro
         RocksDbIterator iterator = newIterator(columnFamilyHandle, options)) {
       prefix.write(prefixKeyBuffer, 0);
       final int prefixLength = prefix.getLength();
+      final byte[] prefixBytes = prefixKeyBuffer.byteArray();
+
+      final NavigableMap<byte[], byte[]> batchChanges =
+          isInBatch()
+              ? batchIndex.changesFrom(columnFamilyHandle, prefixBytes, prefixLength)
+              : Collections.emptyNavigableMap();
+
+      iterator.seek(prefixBytes, prefixLength);
+      iterate(
+          iterator,
+          batchChanges,
+          prefixBytes,
+          prefixLength,
+          (keyBuffer, valueBuffer) -> visit(keyInstance, valueInstance, visitor));
+    }
+  }
+
+  private NavigableMap<byte[], byte[]> batchChanges(long columnFamilyHandle) {
+    return isInBatch() ? batchIndex.changes(columnFamilyHandle) : Collections.emptyNavigableMap();
+  }
 
-      boolean shouldVisitNext = true;
-      for (iterator.seek(prefixKeyBuffer.byteArray(), prefixLength);
-          iterator.isValid() && shouldVisitNext;
-          iterator.next()) {
-        final byte[] keyBytes = iterator.key();
-        if (startsWith(
-            prefixKeyBuffer.byteArray(), 0, prefix.getLength(), keyBytes, 0, keyBytes.length)) {
-          shouldVisitNext = visit(keyInstance, valueInstance, visitor, iterator);
+  /**
+   * Visits the key-value pairs of the positioned iterator, merged with the given uncommitted
+   * changes of the current batch. A change overrides the stored pair with the same key and deleted
+   * keys are skipped. If a prefix is given then only the keys with this prefix are visited.
+   *
+   * <p>The key and value are wrapped by {@link #keyViewBuffer} and {@link #valueViewBuffer}.
+   */
+  private void iterate(
+      RocksDbIterator iterator,
+      NavigableMap<byte[], byte[]> batchChanges,
+      byte[] prefix,
+      int prefixLength,
+      BiPredicate<DirectBuffer, DirectBuffer> visitor) {
+    final Iterator<Entry<byte[], byte[]>> changes = batchChanges.entrySet().iterator();
+    Entry<byte[], byte[]> change = nextChange(changes, prefix, prefixLength);
+
+    boolean shouldVisitNext = true;
+    while (shouldVisitNext && (iterator.isValid() || change != null)) {
+      final byte[] storedKey = iterator.isValid() ? iterator.key() : null;
+
+      final int comparison;
+      if (storedKey == null) {
+        comparison = 1;
+      } else if (change == null) {
+        comparison = -1;
+      } else {
+        comparison = compareKeys(storedKey, change.getKey());
+      }
+
+      if (comparison < 0) {
+        if (prefix == null || startsWith(prefix, 0, prefixLength, storedKey, 0, storedKey.length)) {
+          keyViewBuffer.wrap(storedKey);
+          valueViewBuffer.wrap(iterator.value());
+          shouldVisitNext = visitor.test(keyViewBuffer, valueViewBuffer);
+        }
+        iterator.next();
+      } else {
+        if (comparison == 0) {
+          // the stored pair is overridden by the change
+          iterator.next();
         }
+
+        if (!isDeleted(change)) {
+          keyViewBuffer.wrap(change.getKey());
+          valueViewBuffer.wrap(change.getValue());
+          shouldVisitNext = visitor.test(keyViewBuffer, valueViewBuffer);
+        }
+        change = nextChange(changes, prefix, prefixLength);
+      }
+    }
+  }
+
+  private static Entry<byte[], byte[]> nextChange(
+      Iterator<Entry<byte[], byte[]>> changes, byte[] prefix, int prefixLength) {
+    if (changes.hasNext()) {
+      final Entry<byte[], byte[]> change = changes.next();
+      final byte[] key = change.getKey();
+
+      // the changes are ordered, so no further key has the prefix if this one has not
+      if (prefix == null || startsWith(prefix, 0, prefixLength, key, 0, key.length)) {
+        return change;
       }
     }
+    return null;
   }
 
   private <KeyType extends DbKey, ValueType extends DbValue> boolean visit(
       KeyType keyInstance,
       ValueType valueInstance,
-      KeyValuePairVisitor<KeyType, ValueType> iteratorConsumer,
-      RocksDbIterator iterator) {
-    keyViewBuffer.wrap(iterator.key());
-    valueViewBuffer.wrap(iterator.value());
-
+      KeyValuePairVisitor<KeyType, ValueType> iteratorConsumer) {
     keyInstance.wrap(keyViewBuffer, 0, keyViewBuffer.capacity());
     valueInstance.wrap(valueViewBuffer, 0, valueViewBuffer.capacity());
 
@@ -21,6 +21,8 @@ import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbFactory;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -156,4 +158,163 @@ public class DbBatchTest {
     assertThat(twoColumnFamily.exists(twoKey)).isTrue();
     assertThat(threeColumnFamily.exists(threeKey)).isFalse();
   }
+
+  @Test
+  public void shouldGetValueWrittenInBatch() {
+    // given
+    oneKey.wrapLong(1);
+    oneValue.wrapLong(-1);
+
+    final List<Long> values = new ArrayList<>();
+
+    // when
+    zeebeDb.batch(
+        () -> {
+          oneColumnFamily.put(oneKey, oneValue);
+
+          values.add(oneColumnFamily.get(oneKey).getValue());
+          assertThat(oneColumnFamily.exists(oneKey)).isTrue();
+        });
+
+    // then
+    assertThat(values).containsExactly(-1L);
+  }
+
+  @Test
+  public void shouldNotGetValueDeletedInBatch() {
+    // given
+    oneKey.wrapLong(1);
+    oneValue.wrapLong(-1);
+    oneColumnFamily.put(oneKey, oneValue);
+
+    // when
+    zeebeDb.batch(
+        () -> {
+          oneColumnFamily.delete(oneKey);
+
+          // then
+          assertThat(oneColumnFamily.get(oneKey)).isNull();
+          assertThat(oneColumnFamily.exists(oneKey)).isFalse();
+        });
+
+    assertThat(oneColumnFamily.exists(oneKey)).isFalse();
+  }
+
+  @Test
+  public void shouldIterateOverValuesChangedInBatch() {
+    // given
+    putOne(1, 10);
+    putOne(3, 30);
+    putOne(5, 50);
+
+    final List<Long> keys = new ArrayList<>();
+    final List<Long> values = new ArrayList<>();
+
+    // when
+    zeebeDb.batch(
+        () -> {
+          putOne(2, 20);
+          putOne(3, 31);
+          oneKey.wrapLong(5);
+          oneColumnFamily.delete(oneKey);
+          putOne(6, 60);
+
+          oneColumnFamily.forEach(
+              (key, value) -> {
+                keys.add(key.getValue());
+                values.add(value.getValue());
+              });
+        });
+
+    // then
+    assertThat(keys).containsExactly(1L, 2L, 3L, 6L);
+    assertThat(values).containsExactly(10L, 20L, 31L, 60L);
+  }
+
+  @Test
+  public void shouldIterateWithPrefixOverValuesChangedInBatch() {
+    // given
+    final DbLong firstKey = new DbLong();
+    final DbLong secondKey = new DbLong();
+    final DbCompositeKey<DbLong, DbLong> compositeKey = new DbCompositeKey<>(firstKey, secondKey);
+    final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> columnFamily =
+        zeebeDb.createColumnFamily(ColumnFamilies.THREE, compositeKey, DbNil.INSTANCE);
+
+    firstKey.wrapLong(1);
+    secondKey.wrapLong(1);
+    columnFamily.put(compositeKey, DbNil.INSTANCE);
+    secondKey.wrapLong(3);
+    columnFamily.put(compositeKey, DbNil.INSTANCE);
+
+    final List<Long> visitedKeys = new ArrayList<>();
+
+    // when
+    zeebeDb.batch(
+        () -> {
+          firstKey.wrapLong(1);
+          secondKey.wrapLong(2);
+          columnFamily.put(compositeKey, DbNil.INSTANCE);
+          secondKey.wrapLong(3);
+          columnFamily.delete(compositeKey);
+
+          firstKey.wrapLong(2);
+          secondKey.wrapLong(1);
+          columnFamily.put(compositeKey, DbNil.INSTANCE);
+
+          firstKey.wrapLong(1);
+          columnFamily.whileEqualPrefix(
+              firstKey,
+              (key, value) -> {
+                visitedKeys.add(key.getSecond().getValue());
+              });
+        });
+
+    // then
+    assertThat(visitedKeys).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void shouldWriteNestedBatchWithOuterBatch() {
+    // given
+    oneKey.wrapLong(1);
+    oneValue.wrapLong(-1);
+
+    twoKey.wrapLong(2);
+    twoValue.wrapLong(-2);
+
+    // when
+    try {
+      zeebeDb.batch(
+          () -> {
+            zeebeDb.batch(() -> oneColumnFamily.put(oneKey, oneValue));
+
+            twoColumnFamily.put(twoKey, twoValue);
+            throw new RuntimeException();
+          });
+    } catch (Exception e) {
+      // ignore
+    }
+
+    // then
+    assertThat(oneColumnFamily.exists(oneKey)).isFalse();
+    assertThat(twoColumnFamily.exists(twoKey)).isFalse();
+
+    // when
+    zeebeDb.batch(
+        () -> {
+          zeebeDb.batch(() -> oneColumnFamily.put(oneKey, oneValue));
+
+          twoColumnFamily.put(twoKey, twoValue);
+        });
+
+    // then
+    assertThat(oneColumnFamily.exists(oneKey)).isTrue();
+    assertThat(twoColumnFamily.exists(twoKey)).isTrue();
+  }
+
+  private void putOne(long key, long value) {
+    oneKey.wrapLong(key);
+    oneValue.wrapLong(value);
+    oneColumnFamily.put(oneKey, oneValue);
+  }
 }
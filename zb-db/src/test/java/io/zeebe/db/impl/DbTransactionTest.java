@@ -0,0 +1,237 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.ZeebeDbTransaction;
+import java.io.File;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DbTransactionTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ZeebeDbFactory<ColumnFamilies> dbFactory =
+      DefaultZeebeDbFactory.getDefaultFactory(ColumnFamilies.class);
+
+  private ZeebeDb<ColumnFamilies> zeebeDb;
+
+  private ColumnFamily<DbLong, DbLong> oneColumnFamily;
+  private ColumnFamily<DbLong, DbLong> twoColumnFamily;
+
+  private DbLong oneKey;
+  private DbLong oneValue;
+  private DbLong twoKey;
+  private DbLong twoValue;
+
+  private enum ColumnFamilies {
+    DEFAULT, // rocksDB needs a default column family
+    ONE,
+    TWO
+  }
+
+  @Before
+  public void setup() throws Exception {
+    final File pathName = temporaryFolder.newFolder();
+    zeebeDb = dbFactory.createDb(pathName);
+
+    oneKey = new DbLong();
+    oneValue = new DbLong();
+    oneColumnFamily = zeebeDb.createColumnFamily(ColumnFamilies.ONE, oneKey, oneValue);
+
+    twoKey = new DbLong();
+    twoValue = new DbLong();
+    twoColumnFamily = zeebeDb.createColumnFamily(ColumnFamilies.TWO, twoKey, twoValue);
+  }
+
+  @Test
+  public void shouldWriteChangesOnCommit() {
+    // given
+    final ZeebeDbTransaction transaction = zeebeDb.transaction();
+    putOne(1, 10);
+    putTwo(2, 20);
+
+    // when
+    transaction.commit();
+
+    // then
+    oneKey.wrapLong(1);
+    assertThat(oneColumnFamily.get(oneKey).getValue()).isEqualTo(10);
+    twoKey.wrapLong(2);
+    assertThat(twoColumnFamily.get(twoKey).getValue()).isEqualTo(20);
+  }
+
+  @Test
+  public void shouldDropChangesOnRollback() {
+    // given
+    putOne(1, 10);
+
+    final ZeebeDbTransaction transaction = zeebeDb.transaction();
+    putOne(1, 11);
+    putTwo(2, 20);
+
+    // when
+    transaction.rollback();
+
+    // then
+    oneKey.wrapLong(1);
+    assertThat(oneColumnFamily.get(oneKey).getValue()).isEqualTo(10);
+    twoKey.wrapLong(2);
+    assertThat(twoColumnFamily.exists(twoKey)).isFalse();
+  }
+
+  @Test
+  public void shouldReadChangesOfOpenTransaction() {
+    // given
+    putOne(1, 10);
+    putOne(2, 20);
+
+    // when
+    final ZeebeDbTransaction transaction = zeebeDb.transaction();
+    putOne(1, 11);
+    oneKey.wrapLong(2);
+    oneColumnFamily.delete(oneKey);
+
+    // then
+    oneKey.wrapLong(1);
+    assertThat(oneColumnFamily.get(oneKey).getValue()).isEqualTo(11);
+    oneKey.wrapLong(2);
+    assertThat(oneColumnFamily.exists(oneKey)).isFalse();
+
+    transaction.rollback();
+  }
+
+  @Test
+  public void shouldJoinTransactionWithBatch() {
+    // given
+    final ZeebeDbTransaction transaction = zeebeDb.transaction();
+
+    // when
+    zeebeDb.batch(() -> putOne(1, 10));
+    transaction.rollback();
+
+    // then
+    oneKey.wrapLong(1);
+    assertThat(oneColumnFamily.exists(oneKey)).isFalse();
+  }
+
+  @Test
+  public void shouldOpenNewTransactionAfterCommit() {
+    // given
+    zeebeDb.transaction().commit();
+
+    // when
+    final ZeebeDbTransaction transaction = zeebeDb.transaction();
+    putOne(1, 10);
+    transaction.commit();
+
+    // then
+    oneKey.wrapLong(1);
+    assertThat(oneColumnFamily.get(oneKey).getValue()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldNotOpenTransactionIfAlreadyOpen() {
+    // given
+    zeebeDb.transaction();
+
+    // when - then
+    assertThatThrownBy(() -> zeebeDb.transaction()).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void shouldNotCommitClosedTransaction() {
+    // given
+    final ZeebeDbTransaction transaction = zeebeDb.transaction();
+    transaction.rollback();
+
+    // when - then
+    assertThatThrownBy(transaction::commit).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void shouldNotCommitNextTransactionWithClosedTransaction() {
+    // given
+    final ZeebeDbTransaction closedTransaction = zeebeDb.transaction();
+    closedTransaction.commit();
+
+    final ZeebeDbTransaction transaction = zeebeDb.transaction();
+    putOne(1, 10);
+
+    // when - then
+    assertThatThrownBy(closedTransaction::commit).isInstanceOf(IllegalStateException.class);
+
+    oneKey.wrapLong(1);
+    assertThat(oneColumnFamily.get(oneKey).getValue()).isEqualTo(10);
+    transaction.commit();
+  }
+
+  @Test
+  public void shouldNotRollbackNextTransactionWithClosedTransaction() {
+    // given
+    final ZeebeDbTransaction closedTransaction = zeebeDb.transaction();
+    closedTransaction.rollback();
+
+    final ZeebeDbTransaction transaction = zeebeDb.transaction();
+    putOne(1, 10);
+
+    // when
+    closedTransaction.rollback();
+    transaction.commit();
+
+    // then
+    oneKey.wrapLong(1);
+    assertThat(oneColumnFamily.get(oneKey).getValue()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldDropChangesOfFailedBatch() {
+    // when
+    assertThatThrownBy(
+            () ->
+                zeebeDb.batch(
+                    () -> {
+                      putOne(1, 10);
+                      throw new RuntimeException("expected");
+                    }))
+        .hasMessage("expected");
+
+    // then
+    oneKey.wrapLong(1);
+    assertThat(oneColumnFamily.exists(oneKey)).isFalse();
+    zeebeDb.transaction().rollback();
+  }
+
+  private void putOne(long key, long value) {
+    oneKey.wrapLong(key);
+    oneValue.wrapLong(value);
+    oneColumnFamily.put(oneKey, oneValue);
+  }
+
+  private void putTwo(long key, long value) {
+    twoKey.wrapLong(key);
+    twoValue.wrapLong(value);
+    twoColumnFamily.put(twoKey, twoValue);
+  }
+}